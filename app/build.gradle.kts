@@ -35,6 +35,17 @@ android {
         sourceCompatibility = JavaVersion.VERSION_1_8
         targetCompatibility = JavaVersion.VERSION_1_8
     }
+
+    testOptions {
+        // android.util.Log and friends return defaults instead of throwing in JVM tests
+        unitTests.isReturnDefaultValues = true
+        unitTests.all { test ->
+            // Pass -Dsmartserve.* through to the JVM tests (fixture recording, see FixtureRecordingTest)
+            System.getProperties().stringPropertyNames()
+                .filter { it.startsWith("smartserve.") }
+                .forEach { test.systemProperty(it, System.getProperty(it)) }
+        }
+    }
 }
 
 dependencies {
@@ -60,6 +71,10 @@ dependencies {
     
     // Image loading
     implementation("com.github.bumptech.glide:glide:4.16.0")
+    annotationProcessor("com.github.bumptech.glide:compiler:4.16.0") // generates the AppGlideModule hook
+    implementation("com.github.bumptech.glide:recyclerview-integration:4.16.0") {
+        isTransitive = false // only RecyclerViewPreloader; recyclerview and glide are declared here
+    }
     
     // RecyclerView and CardView
     implementation("androidx.recyclerview:recyclerview:1.3.2")
@@ -77,6 +92,7 @@ dependencies {
     
     // Testing
     testImplementation(libs.junit)
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
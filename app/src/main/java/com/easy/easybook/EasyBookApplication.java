@@ -0,0 +1,78 @@
+package com.easy.easybook;
+
+import android.app.Application;
+import android.util.Log;
+
+import com.bumptech.glide.Glide;
+import com.easy.easybook.concurrent.TaskScope;
+import com.easy.easybook.concurrent.AppExecutors;
+import com.easy.easybook.data.HomeFeedSnapshotStore;
+import com.easy.easybook.data.LocalDataManager;
+import com.easy.easybook.data.ServiceManager;
+import com.easy.easybook.network.ApiClient;
+import com.easy.easybook.network.budget.DataBudget;
+import com.easy.easybook.startup.StartupGraph;
+import com.easy.easybook.utils.SharedPrefsManager;
+import com.google.firebase.auth.FirebaseAuth;
+
+/**
+ * Starts the singletons every session needs on background threads, so the first screen finds
+ * them ready instead of creating them on the main thread.
+ */
+public class EasyBookApplication extends Application {
+    private static final String TAG = "Startup";
+
+    // Task names, for await()
+    public static final String TASK_PREFS = "prefs";
+    public static final String TASK_LOCAL_DATA = "localData";
+    public static final String TASK_CATALOG = "catalog";
+    public static final String TASK_DATA_BUDGET = "dataBudget";
+    public static final String TASK_API_CLIENT = "apiClient";
+    public static final String TASK_FIREBASE_AUTH = "firebaseAuth";
+    public static final String TASK_IMAGES = "images";
+    public static final String TASK_HOME_SNAPSHOT = "homeSnapshot";
+
+    private StartupGraph startup;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // FirebaseApp itself is still set up by its content provider before this runs,
+        // which messaging relies on; only the per-feature instances are warmed here
+        startup = new StartupGraph.Builder()
+                // Reading a value waits for the prefs file to load, so this is where the disk read happens
+                .add(TASK_PREFS, () -> SharedPrefsManager.getInstance(this).isLoggedIn())
+                .add(TASK_LOCAL_DATA, () -> LocalDataManager.getInstance(this).getCurrentUser())
+                // Also has Gson build its Service adapters before the home screen first asks
+                .add(TASK_CATALOG, () -> ServiceManager.getInstance(this).getServiceCategories(), TASK_LOCAL_DATA)
+                .add(TASK_DATA_BUDGET, () -> DataBudget.getInstance(this))
+                .add(TASK_API_CLIENT, () -> ApiClient.getInstance(this).getApiService(), TASK_DATA_BUDGET)
+                .add(TASK_FIREBASE_AUTH, () -> FirebaseAuth.getInstance().getCurrentUser())
+                .add(TASK_IMAGES, () -> Glide.get(this))
+                // Read now so the home screen can draw last session's feed in its first frame
+                .add(TASK_HOME_SNAPSHOT, () -> HomeFeedSnapshotStore.getInstance(this)
+                        .load(SharedPrefsManager.getInstance(this).getUserId()), TASK_PREFS)
+                .build();
+        startup.setListener(new StartupGraph.Listener() {
+            @Override
+            public void onTaskFinished(String name, long waitedMicros, long ranMicros, Throwable failure) {
+                if (failure != null) {
+                    Log.w(TAG, name + " failed after " + ranMicros / 1000 + " ms", failure);
+                } else {
+                    Log.d(TAG, name + " took " + ranMicros / 1000 + " ms (queued " + waitedMicros / 1000 + " ms)");
+                }
+            }
+
+            @Override
+            public void onAllFinished(long totalMicros) {
+                Log.d(TAG, "All startup tasks done in " + totalMicros / 1000 + " ms");
+            }
+        });
+        startup.start(AppExecutors.getInstance().io());
+    }
+
+    /** The start-up tasks; a screen awaits only the ones its first frame reads. */
+    public StartupGraph getStartup() {
+        return startup;
+    }
+}
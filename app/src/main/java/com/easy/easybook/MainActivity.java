@@ -16,10 +16,17 @@ import com.easy.easybook.utils.SharedPrefsManager;
  */
 public class MainActivity extends AppCompatActivity {
 
+    // Past this, read the prefs here anyway rather than hold the launch
+    private static final long STARTUP_WAIT_MS = 500;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         
+        // The login check is all this screen reads, so it waits on the prefs and nothing else
+        ((EasyBookApplication) getApplication()).getStartup()
+                .await(EasyBookApplication.TASK_PREFS, STARTUP_WAIT_MS);
+        
         // Check if user is already logged in
         SharedPrefsManager prefsManager = SharedPrefsManager.getInstance(this);
         
@@ -0,0 +1,162 @@
+package com.easy.easybook.chat;
+
+import com.easy.easybook.config.ApiConfig;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * Streams chat completions from the OpenAI API as server-sent events.
+ *
+ * Each "data:" event carries a delta of the answer, which is handed to the listener as soon
+ * as it is parsed, so the first words show while the rest is still being generated.
+ * The read timeout applies between chunks rather than to the whole answer.
+ */
+public class ChatCompletionClient {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    /** Called on an OkHttp thread; at most one of onComplete/onError, never after cancel. */
+    public interface StreamListener {
+        void onDelta(String text);
+
+        void onComplete(String fullText);
+
+        void onError(IOException error);
+    }
+
+    private static ChatCompletionClient instance;
+
+    private final OkHttpClient client;
+    private final String url;
+    private final String apiKey;
+
+    public ChatCompletionClient(OkHttpClient client, String url, String apiKey) {
+        this.client = client;
+        this.url = url;
+        this.apiKey = apiKey;
+    }
+
+    public static synchronized ChatCompletionClient getInstance() {
+        if (instance == null) {
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .connectTimeout(15, TimeUnit.SECONDS)
+                    .readTimeout(30, TimeUnit.SECONDS)
+                    .writeTimeout(15, TimeUnit.SECONDS)
+                    .build();
+            instance = new ChatCompletionClient(client, ApiConfig.OPENAI_API_URL, ApiConfig.OPENAI_API_KEY);
+        }
+        return instance;
+    }
+
+    /**
+     * Starts a streamed completion for {@code messages} (role/content objects).
+     * Cancel the returned call to stop generation, e.g. when the screen goes away.
+     */
+    public Call stream(JsonArray messages, final StreamListener listener) {
+        JsonObject body = new JsonObject();
+        body.addProperty("model", ApiConfig.MODEL_NAME);
+        body.addProperty("max_tokens", ApiConfig.MAX_TOKENS);
+        body.addProperty("temperature", ApiConfig.TEMPERATURE);
+        body.addProperty("stream", true);
+        body.add("messages", messages);
+
+        Request request = new Request.Builder()
+                .url(url)
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Accept", "text/event-stream")
+                .post(RequestBody.create(body.toString(), JSON))
+                .build();
+
+        Call call = client.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (!call.isCanceled()) {
+                    listener.onError(e);
+                }
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody responseBody = response.body()) {
+                    if (!response.isSuccessful() || responseBody == null) {
+                        String detail = responseBody != null ? responseBody.string() : "";
+                        throw new IOException("HTTP " + response.code() + " " + detail);
+                    }
+                    String text = readEvents(responseBody.source(), call, listener);
+                    if (!call.isCanceled()) {
+                        listener.onComplete(text);
+                    }
+                } catch (IOException e) {
+                    if (!call.isCanceled()) {
+                        listener.onError(e);
+                    }
+                }
+            }
+        });
+        return call;
+    }
+
+    /**
+     * Reads events until [DONE] or end of stream and returns the whole answer.
+     */
+    static String readEvents(BufferedSource source, Call call, StreamListener listener) throws IOException {
+        StringBuilder text = new StringBuilder();
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (call != null && call.isCanceled()) {
+                break;
+            }
+            // Blank lines end an event, ':' lines are keep-alive comments; neither carries data
+            if (!line.startsWith(DATA_PREFIX)) {
+                continue;
+            }
+            String data = line.substring(DATA_PREFIX.length()).trim();
+            if (DONE.equals(data)) {
+                break;
+            }
+            String delta = parseDelta(data);
+            if (delta != null && !delta.isEmpty()) {
+                text.append(delta);
+                listener.onDelta(delta);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String parseDelta(String data) throws IOException {
+        try {
+            JsonObject event = JsonParser.parseString(data).getAsJsonObject();
+            if (event.has("error")) {
+                throw new IOException("Stream error: " + event.get("error"));
+            }
+            JsonArray choices = event.getAsJsonArray("choices");
+            if (choices == null || choices.size() == 0) {
+                return null;
+            }
+            JsonObject delta = choices.get(0).getAsJsonObject().getAsJsonObject("delta");
+            JsonElement content = delta != null ? delta.get("content") : null;
+            return content != null && !content.isJsonNull() ? content.getAsString() : null;
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Malformed stream event: " + data, e);
+        }
+    }
+}
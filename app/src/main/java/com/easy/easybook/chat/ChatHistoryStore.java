@@ -0,0 +1,180 @@
+package com.easy.easybook.chat;
+
+import android.content.Context;
+
+import com.easy.easybook.models.ChatMessage;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A user's chat transcript on disk, append-only and split into fixed-size segments.
+ *
+ * Message n lives on line n % SEGMENT_SIZE of segment n / SEGMENT_SIZE (one JSON object per
+ * line), so any page can be read by opening at most two small files and nothing ever has to
+ * hold the whole transcript. Segments are only appended to; a torn last line from a crash is
+ * cut off when the store opens. Blocking I/O: call from a background thread.
+ */
+public class ChatHistoryStore {
+
+    static final int SEGMENT_SIZE = 100;
+
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final Map<String, ChatHistoryStore> STORES = new HashMap<>();
+
+    private final File dir;
+    private final Gson gson = new Gson();
+    // -1 until the directory has been scanned
+    private int size = -1;
+
+    ChatHistoryStore(File dir) {
+        this.dir = dir;
+    }
+
+    /** One store per user, shared so writes from an old screen and reads from a new one don't interleave. */
+    public static ChatHistoryStore forUser(Context context, String userId) {
+        String key = userId == null || userId.isEmpty() ? "guest" : userId.replaceAll("[^A-Za-z0-9_-]", "_");
+        synchronized (STORES) {
+            ChatHistoryStore store = STORES.get(key);
+            if (store == null) {
+                store = new ChatHistoryStore(new File(context.getFilesDir(), "chat/" + key));
+                STORES.put(key, store);
+            }
+            return store;
+        }
+    }
+
+    /** Number of messages stored. */
+    public synchronized int size() throws IOException {
+        if (size < 0) {
+            size = scan();
+        }
+        return size;
+    }
+
+    public synchronized void append(ChatMessage message) throws IOException {
+        int index = size();
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        byte[] line = (gson.toJson(message) + "\n").getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = new FileOutputStream(segment(index / SEGMENT_SIZE), true)) {
+            out.write(line);
+        }
+        size = index + 1;
+    }
+
+    /**
+     * Messages [from, to), clamped to what is stored. Lines that fail to parse are skipped,
+     * so the result can be shorter than the range.
+     */
+    public synchronized List<ChatMessage> read(int from, int to) throws IOException {
+        List<ChatMessage> messages = new ArrayList<>();
+        from = Math.max(0, from);
+        to = Math.min(to, size());
+        int index = from;
+        while (index < to) {
+            int segment = index / SEGMENT_SIZE;
+            int end = Math.min(to, (segment + 1) * SEGMENT_SIZE);
+            readSegment(segment, index % SEGMENT_SIZE, end - segment * SEGMENT_SIZE, messages);
+            index = end;
+        }
+        return messages;
+    }
+
+    /** Deletes the transcript. */
+    public synchronized void clear() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        size = 0;
+    }
+
+    private void readSegment(int segment, int fromLine, int toLine, List<ChatMessage> into) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(segment(segment)), StandardCharsets.UTF_8))) {
+            String line;
+            for (int i = 0; i < toLine && (line = reader.readLine()) != null; i++) {
+                if (i < fromLine) {
+                    continue;
+                }
+                try {
+                    ChatMessage message = gson.fromJson(line, ChatMessage.class);
+                    if (message != null && message.getMessage() != null) {
+                        into.add(message);
+                    }
+                } catch (JsonParseException e) {
+                    // A damaged line costs one message, not the page
+                }
+            }
+        }
+    }
+
+    // Full segments before the last one hold SEGMENT_SIZE lines each; only the last is counted
+    private int scan() throws IOException {
+        int last = -1;
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        last = Math.max(last, Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                    } catch (NumberFormatException ignored) {
+                        // Not ours
+                    }
+                }
+            }
+        }
+        if (last < 0) {
+            return 0;
+        }
+        return last * SEGMENT_SIZE + countLines(segment(last));
+    }
+
+    private static int countLines(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            byte[] buffer = new byte[8192];
+            int lines = 0;
+            long lastNewline = -1;
+            long position = 0;
+            int read;
+            while ((read = raf.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                        lastNewline = position + i;
+                    }
+                }
+                position += read;
+            }
+            if (lastNewline + 1 < raf.length()) {
+                // Torn write: drop the partial line so the next append starts clean
+                raf.setLength(lastNewline + 1);
+            }
+            return lines;
+        }
+    }
+
+    private File segment(int index) {
+        return new File(dir, String.format(Locale.ROOT, "%08d%s", index, SEGMENT_SUFFIX));
+    }
+}
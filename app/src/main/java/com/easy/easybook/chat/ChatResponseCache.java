@@ -0,0 +1,212 @@
+package com.easy.easybook.chat;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Answers to chatbot questions, reused when the same question comes up again.
+ *
+ * Questions are keyed by their normalised form (lowercase, punctuation and stop words
+ * removed, whitespace collapsed). So "How do I cancel a booking?" and "how to cancel my
+ * booking" share one entry. The cache is an LRU with a TTL, saved to SharedPreferences,
+ * so FAQs and the welcome message are answered instantly across app restarts.
+ */
+public class ChatResponseCache {
+    private static final String PREFS_NAME = "EasyBookChatCache";
+    private static final String KEY_ENTRIES = "entries";
+
+    static final int DEFAULT_MAX_ENTRIES = 100;
+    static final long DEFAULT_TTL_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "the", "i", "me", "my", "we", "our", "you", "your", "it", "its", "is", "are", "was",
+            "be", "am", "do", "does", "did", "can", "could", "would", "should", "will", "to", "of", "in",
+            "on", "for", "with", "at", "by", "from", "about", "and", "or", "so", "that", "this", "there",
+            "what", "how", "please", "hi", "hello", "hey", "tell", "know", "want", "like", "just", "some", "any"));
+
+    /** Where the entries live between launches. */
+    public interface Store {
+        String load();
+
+        void save(String json);
+    }
+
+    private static ChatResponseCache instance;
+
+    private final Store store;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final Gson gson = new Gson();
+    // Access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+
+    ChatResponseCache(Store store, int maxEntries, long ttlMs) {
+        this.store = store;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        load();
+    }
+
+    public static synchronized ChatResponseCache getInstance(Context context) {
+        if (instance == null) {
+            final SharedPreferences prefs = context.getApplicationContext()
+                    .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+            instance = new ChatResponseCache(new Store() {
+                @Override
+                public String load() {
+                    return prefs.getString(KEY_ENTRIES, null);
+                }
+
+                @Override
+                public void save(String json) {
+                    prefs.edit().putString(KEY_ENTRIES, json).apply();
+                }
+            }, DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MS);
+        }
+        return instance;
+    }
+
+    /**
+     * Lowercases, strips punctuation and stop words and collapses whitespace.
+     * Returns an empty string for questions made only of stop words.
+     */
+    public static String normalise(String prompt) {
+        if (prompt == null) {
+            return "";
+        }
+        String[] words = prompt.toLowerCase(Locale.ROOT).replace("'", "").split("[^\\p{L}\\p{Nd}]+");
+        StringBuilder key = new StringBuilder();
+        for (String word : words) {
+            if (word.isEmpty() || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            if (key.length() > 0) {
+                key.append(' ');
+            }
+            key.append(word);
+        }
+        return key.toString();
+    }
+
+    /** The cached answer for {@code prompt}, or null. Counts towards the hit rate. */
+    public synchronized String get(String prompt) {
+        String key = normalise(prompt);
+        Entry entry = key.isEmpty() ? null : entries.get(key);
+        if (entry != null && now() - entry.createdAt > ttlMs) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        // Keeps the recency order across restarts; hits are rare enough to save each time
+        save();
+        return entry.answer;
+    }
+
+    public synchronized void put(String prompt, String answer) {
+        String key = normalise(prompt);
+        if (key.isEmpty() || answer == null || answer.trim().isEmpty()) {
+            return;
+        }
+        entries.put(key, new Entry(key, answer, now()));
+        trim();
+        save();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+        save();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Share of lookups answered from the cache since launch, 0 when nothing was looked up. */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    private void trim() {
+        long cutoff = now() - ttlMs;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.createdAt < cutoff || entries.size() > maxEntries) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void load() {
+        String json = store.load();
+        if (json == null) {
+            return;
+        }
+        try {
+            List<Entry> saved = gson.fromJson(json, new TypeToken<List<Entry>>() {}.getType());
+            if (saved != null) {
+                // Saved least recently used first, so re-inserting restores the LRU order
+                for (Entry entry : saved) {
+                    if (entry != null && entry.key != null && entry.answer != null) {
+                        entries.put(entry.key, entry);
+                    }
+                }
+            }
+            trim();
+        } catch (JsonParseException e) {
+            // Only a cache: start over rather than fail the chat screen
+            entries.clear();
+        }
+    }
+
+    private void save() {
+        store.save(gson.toJson(new ArrayList<>(entries.values())));
+    }
+
+    private static final class Entry {
+        final String key;
+        final String answer;
+        final long createdAt;
+
+        Entry(String key, String answer, long createdAt) {
+            this.key = key;
+            this.answer = answer;
+            this.createdAt = createdAt;
+        }
+    }
+}
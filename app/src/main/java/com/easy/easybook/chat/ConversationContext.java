@@ -0,0 +1,220 @@
+package com.easy.easybook.chat;
+
+import com.easy.easybook.config.ApiConfig;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The conversation the chatbot remembers, kept inside a prompt token budget.
+ *
+ * The latest turns go to the model verbatim. Older turns are folded into a rolling summary:
+ * one short line per turn, kept in the system message. The summary has its own cap and
+ * drops its oldest lines first. Each request therefore stays about the same size however
+ * long the chat runs. A per-question reference note (e.g. matching catalog services) can
+ * ride along in the system message; it counts towards the budget but is not remembered.
+ * Not thread safe; use it from the main thread.
+ */
+public class ConversationContext {
+
+    public static final String ROLE_SYSTEM = "system";
+    public static final String ROLE_USER = "user";
+    public static final String ROLE_ASSISTANT = "assistant";
+
+    static final int DEFAULT_RECENT_TURNS = 6;
+    // Length of one folded turn in the summary
+    static final int SUMMARY_LINE_TOKENS = 30;
+
+    private final String systemPrompt;
+    private final int promptBudget;
+    private final int summaryBudget;
+    private final int recentTurns;
+
+    private final Deque<Turn> turns = new ArrayDeque<>();
+    private final Deque<String> summary = new ArrayDeque<>();
+    private int summaryTokens;
+    private int userTurns;
+    private String reference;
+
+    public ConversationContext(String systemPrompt) {
+        this(systemPrompt, defaultPromptBudget(), DEFAULT_RECENT_TURNS);
+    }
+
+    public ConversationContext(String systemPrompt, int promptBudget, int recentTurns) {
+        this.systemPrompt = systemPrompt;
+        this.promptBudget = promptBudget;
+        this.recentTurns = Math.max(1, recentTurns);
+        // A quarter of whatever the system prompt leaves over
+        this.summaryBudget = Math.max(SUMMARY_LINE_TOKENS,
+                (promptBudget - TokenEstimator.estimateMessage(systemPrompt)) / 4);
+    }
+
+    /**
+     * Largest prompt that still leaves room for a full answer, capped by MAX_PROMPT_TOKENS.
+     */
+    public static int defaultPromptBudget() {
+        return Math.min(ApiConfig.MAX_PROMPT_TOKENS,
+                ApiConfig.CONTEXT_WINDOW_TOKENS - ApiConfig.MAX_TOKENS - TokenEstimator.REPLY_OVERHEAD);
+    }
+
+    /**
+     * Records the user's message and returns the messages to send for it.
+     */
+    public JsonArray prepare(String userMessage) {
+        return prepare(userMessage, null);
+    }
+
+    /**
+     * Like {@link #prepare(String)}, with reference material for this message only.
+     * Older turns are folded to make room for it.
+     */
+    public JsonArray prepare(String userMessage, String reference) {
+        this.reference = reference;
+        userTurns++;
+        addTurn(ROLE_USER, userMessage);
+        return buildMessages();
+    }
+
+    /** Records the model's answer to the last prepared message. */
+    public void recordReply(String reply) {
+        if (reply != null && !reply.trim().isEmpty()) {
+            addTurn(ROLE_ASSISTANT, reply.trim());
+        }
+    }
+
+    /** Re-adds a turn from a saved transcript, e.g. when the chat is reopened. */
+    public void restore(boolean fromUser, String content) {
+        if (content == null || content.trim().isEmpty()) {
+            return;
+        }
+        if (fromUser) {
+            userTurns++;
+        }
+        addTurn(fromUser ? ROLE_USER : ROLE_ASSISTANT, content.trim());
+    }
+
+    /**
+     * The messages for the current state: system prompt with summary, then recent turns.
+     * The newest turn is always included, truncated if it alone would break the budget.
+     */
+    public JsonArray buildMessages() {
+        // Fold the oldest turn until the rest fits next to the (growing) summary
+        while (turns.size() > 1 && estimatePromptTokens() > promptBudget) {
+            fold(turns.pollFirst());
+        }
+
+        String system = systemWithSummary();
+        JsonArray messages = new JsonArray();
+        messages.add(message(ROLE_SYSTEM, system));
+        Turn only = turns.peekFirst();
+        if (turns.size() == 1 && estimatePromptTokens() > promptBudget) {
+            int room = promptBudget - TokenEstimator.estimateMessage(system) - TokenEstimator.MESSAGE_OVERHEAD;
+            messages.add(message(only.role, TokenEstimator.truncate(only.content, Math.max(0, room))));
+            return messages;
+        }
+        for (Turn turn : turns) {
+            messages.add(message(turn.role, turn.content));
+        }
+        return messages;
+    }
+
+    /** Estimated prompt tokens of {@link #buildMessages()} right now. */
+    public int estimatePromptTokens() {
+        int tokens = TokenEstimator.estimateMessage(systemWithSummary());
+        for (Turn turn : turns) {
+            tokens += turn.tokens;
+        }
+        return tokens;
+    }
+
+    public int getPromptBudget() {
+        return promptBudget;
+    }
+
+    public int getTurnCount() {
+        return turns.size();
+    }
+
+    public int getSummaryLineCount() {
+        return summary.size();
+    }
+
+    /** Whether the user has said anything yet, i.e. whether a new answer can depend on context. */
+    public boolean hasUserTurns() {
+        return userTurns > 0;
+    }
+
+    public void clear() {
+        turns.clear();
+        summary.clear();
+        summaryTokens = 0;
+        userTurns = 0;
+        reference = null;
+    }
+
+    private void addTurn(String role, String content) {
+        turns.addLast(new Turn(role, content));
+        while (turns.size() > recentTurns) {
+            fold(turns.pollFirst());
+        }
+    }
+
+    private void fold(Turn turn) {
+        String line = (ROLE_USER.equals(turn.role) ? "User: " : "Assistant: ")
+                + TokenEstimator.truncate(firstSentence(turn.content), SUMMARY_LINE_TOKENS);
+        summary.addLast(line);
+        summaryTokens += TokenEstimator.estimate(line) + 1;
+        while (summaryTokens > summaryBudget && summary.size() > 1) {
+            summaryTokens -= TokenEstimator.estimate(summary.pollFirst()) + 1;
+        }
+    }
+
+    private String systemWithSummary() {
+        if (summary.isEmpty() && reference == null) {
+            return systemPrompt;
+        }
+        StringBuilder text = new StringBuilder(systemPrompt);
+        if (reference != null) {
+            text.append("\n\n").append(reference);
+        }
+        if (!summary.isEmpty()) {
+            text.append("\n\nEarlier in this conversation:");
+            for (String line : summary) {
+                text.append('\n').append(line);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String firstSentence(String text) {
+        String flat = text.replace('\n', ' ').trim();
+        for (int i = 0; i < flat.length() - 1; i++) {
+            char c = flat.charAt(i);
+            if ((c == '.' || c == '?' || c == '!') && flat.charAt(i + 1) == ' ') {
+                return flat.substring(0, i + 1);
+            }
+        }
+        return flat;
+    }
+
+    private static JsonObject message(String role, String content) {
+        JsonObject message = new JsonObject();
+        message.addProperty("role", role);
+        message.addProperty("content", content);
+        return message;
+    }
+
+    private static final class Turn {
+        final String role;
+        final String content;
+        final int tokens;
+
+        Turn(String role, String content) {
+            this.role = role;
+            this.content = content;
+            this.tokens = TokenEstimator.estimateMessage(content);
+        }
+    }
+}
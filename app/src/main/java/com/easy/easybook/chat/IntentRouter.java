@@ -0,0 +1,431 @@
+package com.easy.easybook.chat;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.Service;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers questions about the user's own bookings and the local catalog on the device,
+ * before anything goes to the remote model (which can't see that data anyway).
+ *
+ * Keyword and pattern rules pick an {@link Intent}; category, status and date range are
+ * pulled out of the question; the answer is built from the local stores. Anything the
+ * rules don't recognise returns null and goes to the model as before.
+ */
+public class IntentRouter {
+
+    public enum Intent {
+        BOOKING_COUNT,
+        BOOKING_STATUS,
+        NEXT_BOOKING,
+        SERVICE_PRICE,
+        SERVICE_LIST,
+        UNKNOWN
+    }
+
+    /** What the question asks for. Null fields mean "any". */
+    public static final class Query {
+        public final Intent intent;
+        public final String category;
+        public final String status;
+        public final Long from;
+        public final Long to;
+
+        Query(Intent intent, String category, String status, Long from, Long to) {
+            this.intent = intent;
+            this.category = category;
+            this.status = status;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private static final Pattern BOOKING_WORD = Pattern.compile("\\b(bookings?|appointments?|reservations?|jobs?)\\b");
+    private static final Pattern COUNT = Pattern.compile("\\b(how many|number of|count)\\b");
+    private static final Pattern NEXT = Pattern.compile("\\b(next|upcoming|coming up|when is my)\\b");
+    private static final Pattern STATUS = Pattern.compile(
+            "\\b(status|(is|are) my|what about my|show( me)? my|list( all)? my|what are my|check( on)? my)\\b");
+    private static final Pattern PRICE = Pattern.compile("\\b(how much|price|prices|cost|costs|rate|rates|charge)\\b");
+    private static final Pattern SERVICE_LIST = Pattern.compile(
+            "\\b((what|which) (services|categories)|do you (offer|have)|list( all)? (the )?services|available services)\\b");
+    private static final Pattern WEEKDAY = Pattern.compile(
+            "\\b(monday|tuesday|wednesday|thursday|friday|saturday|sunday)\\b");
+
+    // Word stem -> booking status as stored
+    private static final Map<String, String> STATUS_WORDS = new LinkedHashMap<>();
+    // Word -> category, for the ways people name a trade
+    private static final Map<String, String> CATEGORY_WORDS = new LinkedHashMap<>();
+
+    static {
+        STATUS_WORDS.put("pending", "pending");
+        STATUS_WORDS.put("waiting", "pending");
+        STATUS_WORDS.put("confirmed", "confirmed");
+        STATUS_WORDS.put("accepted", "confirmed");
+        STATUS_WORDS.put("in progress", "in_progress");
+        STATUS_WORDS.put("ongoing", "in_progress");
+        STATUS_WORDS.put("completed", "completed");
+        STATUS_WORDS.put("finished", "completed");
+        STATUS_WORDS.put("done", "completed");
+        STATUS_WORDS.put("cancelled", "cancelled");
+        STATUS_WORDS.put("canceled", "cancelled");
+        STATUS_WORDS.put("declined", "declined");
+        STATUS_WORDS.put("rejected", "declined");
+
+        CATEGORY_WORDS.put("plumb", "Plumbing");
+        CATEGORY_WORDS.put("pipe", "Plumbing");
+        CATEGORY_WORDS.put("electric", "Electrical");
+        CATEGORY_WORDS.put("wiring", "Electrical");
+        CATEGORY_WORDS.put("clean", "Cleaning");
+        CATEGORY_WORDS.put("hvac", "HVAC");
+        CATEGORY_WORDS.put("air con", "HVAC");
+        CATEGORY_WORDS.put("aircon", "HVAC");
+        CATEGORY_WORDS.put("heating", "HVAC");
+        CATEGORY_WORDS.put("beauty", "Beauty");
+        CATEGORY_WORDS.put("salon", "Beauty");
+        CATEGORY_WORDS.put("hair", "Beauty");
+        CATEGORY_WORDS.put("tutor", "Tutoring");
+        CATEGORY_WORDS.put("fitness", "Fitness");
+        CATEGORY_WORDS.put("trainer", "Fitness");
+        CATEGORY_WORDS.put("garden", "Gardening");
+        CATEGORY_WORDS.put("lawn", "Gardening");
+        CATEGORY_WORDS.put("paint", "Painting");
+    }
+
+    private static final int MAX_LISTED = 5;
+
+    private final Supplier<List<Booking>> bookings;
+    private final Supplier<List<Service>> services;
+
+    public IntentRouter(Supplier<List<Booking>> bookings, Supplier<List<Service>> services) {
+        this.bookings = bookings;
+        this.services = services;
+    }
+
+    /**
+     * The answer from local data, or null if the question should go to the remote model.
+     */
+    public String answer(String question) {
+        Query query = classify(question, now());
+        switch (query.intent) {
+            case BOOKING_COUNT:
+                return answerCount(query);
+            case BOOKING_STATUS:
+                return answerStatus(query);
+            case NEXT_BOOKING:
+                return answerNext(query);
+            case SERVICE_PRICE:
+                return answerPrice(query, question);
+            case SERVICE_LIST:
+                return answerServiceList(query);
+            default:
+                return null;
+        }
+    }
+
+    static Query classify(String question, long now) {
+        String text = " " + question.toLowerCase(Locale.ROOT).replace("'", "").replaceAll("[^a-z0-9]+", " ") + " ";
+        String category = findCategory(text);
+        String status = findStatus(text);
+        long[] range = findDateRange(text, now);
+        Long from = range != null ? range[0] : null;
+        Long to = range != null ? range[1] : null;
+
+        Intent intent = Intent.UNKNOWN;
+        if (BOOKING_WORD.matcher(text).find()) {
+            if (COUNT.matcher(text).find()) {
+                intent = Intent.BOOKING_COUNT;
+            } else if (NEXT.matcher(text).find()) {
+                intent = Intent.NEXT_BOOKING;
+            } else if (STATUS.matcher(text).find()) {
+                intent = Intent.BOOKING_STATUS;
+            }
+        } else if (PRICE.matcher(text).find()) {
+            intent = Intent.SERVICE_PRICE;
+        } else if (SERVICE_LIST.matcher(text).find()) {
+            intent = Intent.SERVICE_LIST;
+        }
+        return new Query(intent, category, status, from, to);
+    }
+
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    private String answerCount(Query query) {
+        int count = matching(query).size();
+        String what = describe(query, count == 1 ? "booking" : "bookings");
+        return count == 0 ? "You don't have any " + what + "." : "You have " + count + " " + what + ".";
+    }
+
+    private String answerStatus(Query query) {
+        List<Booking> matches = matching(query);
+        if (matches.isEmpty()) {
+            return "I couldn't find any " + describe(query, "bookings") + ".";
+        }
+        sortByDate(matches, false);
+        if (matches.size() == 1) {
+            return "Your " + summary(matches.get(0)) + " is " + statusLabel(matches.get(0)) + ".";
+        }
+        StringBuilder answer = new StringBuilder("Your ").append(describe(query, "bookings")).append(':');
+        for (int i = 0; i < Math.min(MAX_LISTED, matches.size()); i++) {
+            Booking booking = matches.get(i);
+            answer.append("\n\u2022 ").append(summary(booking)).append(" \u2013 ").append(statusLabel(booking));
+        }
+        if (matches.size() > MAX_LISTED) {
+            answer.append("\n\u2026and ").append(matches.size() - MAX_LISTED).append(" more in My Bookings.");
+        }
+        return answer.toString();
+    }
+
+    private String answerNext(Query query) {
+        long startOfToday = startOfDay(now(), 0);
+        List<Booking> upcoming = new ArrayList<>();
+        for (Booking booking : matching(query)) {
+            boolean open = !"cancelled".equals(booking.getStatus()) && !"completed".equals(booking.getStatus())
+                    && !"declined".equals(booking.getStatus());
+            if (open && booking.getBookingDate() != null && booking.getBookingDate().getTime() >= startOfToday) {
+                upcoming.add(booking);
+            }
+        }
+        if (upcoming.isEmpty()) {
+            return "You don't have any upcoming " + describe(query, "bookings") + ".";
+        }
+        sortByDate(upcoming, true);
+        Booking next = upcoming.get(0);
+        return "Your next booking is " + summary(next) + " (" + statusLabel(next) + ").";
+    }
+
+    private String answerPrice(Query query, String question) {
+        List<Service> matches = new ArrayList<>();
+        String lower = question.toLowerCase(Locale.ROOT);
+        for (Service service : services.get()) {
+            String name = service.getName() != null ? service.getName().toLowerCase(Locale.ROOT) : "";
+            if (name.length() >= 4 && lower.contains(name)) {
+                return service.getName() + " costs " + money(service.getPrice()) + ".";
+            }
+            if (query.category != null && query.category.equalsIgnoreCase(service.getCategory())) {
+                matches.add(service);
+            }
+        }
+        if (matches.isEmpty()) {
+            // Prices of something we don't list: let the model answer
+            return null;
+        }
+        Service cheapest = matches.get(0);
+        double max = 0;
+        for (Service service : matches) {
+            if (service.getPrice() < cheapest.getPrice()) {
+                cheapest = service;
+            }
+            max = Math.max(max, service.getPrice());
+        }
+        if (matches.size() == 1) {
+            return cheapest.getName() + " costs " + money(cheapest.getPrice()) + ".";
+        }
+        return query.category + " services range from " + money(cheapest.getPrice()) + " to " + money(max)
+                + " (" + matches.size() + " services). The cheapest is " + cheapest.getName() + ".";
+    }
+
+    private String answerServiceList(Query query) {
+        List<Service> all = services.get();
+        if (query.category == null) {
+            TreeSet<String> categories = new TreeSet<>();
+            for (Service service : all) {
+                if (service.getCategory() != null) {
+                    categories.add(service.getCategory());
+                }
+            }
+            if (categories.isEmpty()) {
+                return null;
+            }
+            return "We offer " + all.size() + " services in these categories: " + String.join(", ", categories)
+                    + ". Ask me about any of them, e.g. \"how much is plumbing?\"";
+        }
+        List<Service> matches = new ArrayList<>();
+        for (Service service : all) {
+            if (query.category.equalsIgnoreCase(service.getCategory())) {
+                matches.add(service);
+            }
+        }
+        if (matches.isEmpty()) {
+            return "We don't have any " + query.category + " services right now.";
+        }
+        Collections.sort(matches, (a, b) -> Float.compare(b.getRating(), a.getRating()));
+        StringBuilder answer = new StringBuilder("Top ").append(query.category).append(" services:");
+        for (int i = 0; i < Math.min(MAX_LISTED, matches.size()); i++) {
+            Service service = matches.get(i);
+            answer.append("\n\u2022 ").append(service.getName()).append(" \u2013 ").append(money(service.getPrice()))
+                    .append(", rated ").append(service.getRating());
+        }
+        return answer.toString();
+    }
+
+    private List<Booking> matching(Query query) {
+        List<Booking> matches = new ArrayList<>();
+        for (Booking booking : bookings.get()) {
+            if (query.category != null && !query.category.equalsIgnoreCase(booking.getServiceCategory())
+                    && !containsIgnoreCase(booking.getServiceName(), query.category)) {
+                continue;
+            }
+            if (query.status != null && !query.status.equals(booking.getStatus())) {
+                continue;
+            }
+            if (query.from != null) {
+                Date date = booking.getBookingDate();
+                if (date == null || date.getTime() < query.from || date.getTime() >= query.to) {
+                    continue;
+                }
+            }
+            matches.add(booking);
+        }
+        return matches;
+    }
+
+    private static String findCategory(String text) {
+        for (Map.Entry<String, String> entry : CATEGORY_WORDS.entrySet()) {
+            if (text.contains(" " + entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String findStatus(String text) {
+        for (Map.Entry<String, String> entry : STATUS_WORDS.entrySet()) {
+            if (text.contains(" " + entry.getKey() + " ")) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /** [from, to) in millis, or null when the question names no date. */
+    static long[] findDateRange(String text, long now) {
+        if (text.contains(" today ")) {
+            return new long[]{startOfDay(now, 0), startOfDay(now, 1)};
+        }
+        if (text.contains(" tomorrow ")) {
+            return new long[]{startOfDay(now, 1), startOfDay(now, 2)};
+        }
+        if (text.contains(" yesterday ")) {
+            return new long[]{startOfDay(now, -1), startOfDay(now, 0)};
+        }
+        if (text.contains(" this week ")) {
+            return week(now, 0);
+        }
+        if (text.contains(" next week ")) {
+            return week(now, 1);
+        }
+        if (text.contains(" last week ")) {
+            return week(now, -1);
+        }
+        Matcher weekday = WEEKDAY.matcher(text);
+        if (weekday.find()) {
+            // The coming one, today included
+            int target = weekdayIndex(weekday.group(1));
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(now);
+            int ahead = (target - calendar.get(Calendar.DAY_OF_WEEK) + 7) % 7;
+            return new long[]{startOfDay(now, ahead), startOfDay(now, ahead + 1)};
+        }
+        return null;
+    }
+
+    private static long[] week(long now, int offset) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(startOfDay(now, 0));
+        calendar.set(Calendar.DAY_OF_WEEK, calendar.getFirstDayOfWeek());
+        if (calendar.getTimeInMillis() > now) {
+            calendar.add(Calendar.WEEK_OF_YEAR, -1);
+        }
+        calendar.add(Calendar.WEEK_OF_YEAR, offset);
+        long from = calendar.getTimeInMillis();
+        calendar.add(Calendar.WEEK_OF_YEAR, 1);
+        return new long[]{from, calendar.getTimeInMillis()};
+    }
+
+    private static long startOfDay(long now, int dayOffset) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.add(Calendar.DAY_OF_MONTH, dayOffset);
+        return calendar.getTimeInMillis();
+    }
+
+    private static int weekdayIndex(String day) {
+        switch (day) {
+            case "sunday": return Calendar.SUNDAY;
+            case "monday": return Calendar.MONDAY;
+            case "tuesday": return Calendar.TUESDAY;
+            case "wednesday": return Calendar.WEDNESDAY;
+            case "thursday": return Calendar.THURSDAY;
+            case "friday": return Calendar.FRIDAY;
+            default: return Calendar.SATURDAY;
+        }
+    }
+
+    private static String describe(Query query, String noun) {
+        StringBuilder text = new StringBuilder();
+        if (query.status != null) {
+            text.append(query.status.replace('_', ' ')).append(' ');
+        }
+        if (query.category != null) {
+            text.append(query.category).append(' ');
+        }
+        text.append(noun);
+        if (query.from != null) {
+            text.append(" in that period");
+        }
+        return text.toString();
+    }
+
+    private static String summary(Booking booking) {
+        StringBuilder text = new StringBuilder();
+        text.append(booking.getServiceName() != null ? booking.getServiceName() : "booking");
+        if (booking.getBookingDate() != null) {
+            text.append(" on ").append(new SimpleDateFormat("EEE d MMM", Locale.getDefault()).format(booking.getBookingDate()));
+        }
+        if (booking.getTimeSlot() != null && !booking.getTimeSlot().isEmpty()) {
+            text.append(", ").append(booking.getTimeSlot());
+        }
+        return text.toString();
+    }
+
+    private static String statusLabel(Booking booking) {
+        return booking.getStatus() != null ? booking.getStatus().replace('_', ' ') : "unknown";
+    }
+
+    private static void sortByDate(List<Booking> bookings, boolean ascending) {
+        Collections.sort(bookings, (a, b) -> {
+            long left = a.getBookingDate() != null ? a.getBookingDate().getTime() : 0;
+            long right = b.getBookingDate() != null ? b.getBookingDate().getTime() : 0;
+            return ascending ? Long.compare(left, right) : Long.compare(right, left);
+        });
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(part.toLowerCase(Locale.ROOT));
+    }
+
+    private static String money(double amount) {
+        return amount == Math.rint(amount)
+                ? String.format(Locale.getDefault(), "$%.0f", amount)
+                : String.format(Locale.getDefault(), "$%.2f", amount);
+    }
+}
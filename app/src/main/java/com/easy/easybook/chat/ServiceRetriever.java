@@ -0,0 +1,219 @@
+package com.easy.easybook.chat;
+
+import com.easy.easybook.models.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Picks the catalog services most relevant to a question, so the prompt can carry a few
+ * concrete services instead of the whole catalog.
+ *
+ * Plain TF-IDF: each service is a bag of stemmed words from its name (counted twice),
+ * category, tags, provider and description; questions are scored by cosine similarity.
+ * The index is built once per catalog and is read-only afterwards, so it is safe to share.
+ */
+public class ServiceRetriever {
+
+    public static final int DEFAULT_TOP_K = 4;
+    // Catalog lines may take this much of the prompt
+    public static final int DEFAULT_TOKEN_BUDGET = 200;
+
+    private static final int MAX_DESCRIPTION_TOKENS = 16;
+
+    private final List<Service> services = new ArrayList<>();
+    private final List<Map<String, Double>> vectors = new ArrayList<>();
+    private final Map<String, Double> idf = new HashMap<>();
+
+    public ServiceRetriever(List<Service> catalog) {
+        List<Map<String, Integer>> counts = new ArrayList<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (Service service : catalog) {
+            Map<String, Integer> termCounts = new HashMap<>();
+            addTerms(termCounts, service.getName(), 2);
+            addTerms(termCounts, service.getCategory(), 1);
+            addTerms(termCounts, service.getProviderName(), 1);
+            addTerms(termCounts, service.getDescription(), 1);
+            if (service.getTags() != null) {
+                for (String tag : service.getTags()) {
+                    addTerms(termCounts, tag, 1);
+                }
+            }
+            if (termCounts.isEmpty()) {
+                continue;
+            }
+            services.add(service);
+            counts.add(termCounts);
+            for (String term : termCounts.keySet()) {
+                Integer df = documentFrequency.get(term);
+                documentFrequency.put(term, df == null ? 1 : df + 1);
+            }
+        }
+        // Smoothed so a word every service shares still counts a little
+        int n = services.size();
+        for (Map.Entry<String, Integer> entry : documentFrequency.entrySet()) {
+            idf.put(entry.getKey(), Math.log((1.0 + n) / (1.0 + entry.getValue())) + 1.0);
+        }
+        for (Map<String, Integer> termCounts : counts) {
+            vectors.add(weigh(termCounts));
+        }
+    }
+
+    /**
+     * Up to k services with any overlap with the question, best match first.
+     */
+    public List<Service> topK(String question, int k) {
+        Map<String, Integer> termCounts = new HashMap<>();
+        addTerms(termCounts, question, 1);
+        List<Service> result = new ArrayList<>();
+        if (termCounts.isEmpty() || k <= 0) {
+            return result;
+        }
+        Map<String, Double> query = weigh(termCounts);
+
+        List<double[]> scored = new ArrayList<>();
+        for (int i = 0; i < vectors.size(); i++) {
+            double score = dot(query, vectors.get(i));
+            if (score > 0) {
+                scored.add(new double[]{score, i});
+            }
+        }
+        // Ties go to the better rated service
+        Collections.sort(scored, (a, b) -> {
+            int byScore = Double.compare(b[0], a[0]);
+            return byScore != 0 ? byScore
+                    : Float.compare(services.get((int) b[1]).getRating(), services.get((int) a[1]).getRating());
+        });
+        for (int i = 0; i < Math.min(k, scored.size()); i++) {
+            result.add(services.get((int) scored.get(i)[1]));
+        }
+        return result;
+    }
+
+    /**
+     * The catalog note for the prompt: one summary line per relevant service, within
+     * tokenBudget. Null when nothing in the catalog matches the question.
+     */
+    public String contextFor(String question, int k, int tokenBudget) {
+        List<Service> matches = topK(question, k);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        String header = "Services in our catalog that may be relevant:";
+        StringBuilder text = new StringBuilder(header);
+        int tokens = TokenEstimator.estimate(header);
+        int lines = 0;
+        for (Service service : matches) {
+            String line = "- " + summarize(service);
+            int lineTokens = TokenEstimator.estimate(line) + 1;
+            if (tokens + lineTokens > tokenBudget) {
+                break;
+            }
+            text.append('\n').append(line);
+            tokens += lineTokens;
+            lines++;
+        }
+        return lines == 0 ? null : text.toString();
+    }
+
+    /** One compact line, e.g. "Leak repair (Plumbing), $120, 1h, rated 4.5 by Ace Plumbing: Fix ..." */
+    static String summarize(Service service) {
+        StringBuilder line = new StringBuilder(service.getName() != null ? service.getName() : "Service");
+        if (service.getCategory() != null) {
+            line.append(" (").append(service.getCategory()).append(')');
+        }
+        line.append(", ").append(price(service.getPrice()));
+        if (service.getDuration() != null && !service.getDuration().isEmpty()) {
+            line.append(", ").append(service.getDuration());
+        }
+        if (service.getRating() > 0) {
+            line.append(", rated ").append(service.getRating());
+        }
+        if (service.getProviderName() != null && !service.getProviderName().isEmpty()) {
+            line.append(" by ").append(service.getProviderName());
+        }
+        if (service.getDescription() != null && !service.getDescription().trim().isEmpty()) {
+            line.append(": ").append(TokenEstimator.truncate(service.getDescription().trim(), MAX_DESCRIPTION_TOKENS));
+        }
+        return line.toString();
+    }
+
+    public int size() {
+        return services.size();
+    }
+
+    private Map<String, Double> weigh(Map<String, Integer> termCounts) {
+        Map<String, Double> vector = new HashMap<>();
+        double norm = 0;
+        for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+            Double termIdf = idf.get(entry.getKey());
+            if (termIdf == null) {
+                // Words the catalog never uses can't match anything
+                continue;
+            }
+            double weight = (1.0 + Math.log(entry.getValue())) * termIdf;
+            vector.put(entry.getKey(), weight);
+            norm += weight * weight;
+        }
+        if (norm > 0) {
+            double length = Math.sqrt(norm);
+            for (Map.Entry<String, Double> entry : vector.entrySet()) {
+                entry.setValue(entry.getValue() / length);
+            }
+        }
+        return vector;
+    }
+
+    private static double dot(Map<String, Double> query, Map<String, Double> document) {
+        double sum = 0;
+        for (Map.Entry<String, Double> entry : query.entrySet()) {
+            Double weight = document.get(entry.getKey());
+            if (weight != null) {
+                sum += entry.getValue() * weight;
+            }
+        }
+        return sum;
+    }
+
+    private static void addTerms(Map<String, Integer> termCounts, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String word : ChatResponseCache.normalise(text).split(" ")) {
+            if (word.length() < 2) {
+                continue;
+            }
+            String term = stem(word);
+            Integer count = termCounts.get(term);
+            termCounts.put(term, count == null ? weight : count + weight);
+        }
+    }
+
+    /**
+     * Crude suffix stripping so "plumber", "plumbing" and "plumbers" share a term,
+     * as do "electrician" and "electrical".
+     */
+    static String stem(String word) {
+        String w = word.toLowerCase(Locale.ROOT);
+        String[][] suffixes = {{"ians", ""}, {"ian", ""}, {"ical", "ic"}, {"ing", ""}, {"ers", ""}, {"er", ""},
+                {"ies", "y"}, {"s", ""}};
+        for (String[] suffix : suffixes) {
+            // A plain plural may leave a short stem ("taps"), the other suffixes may not ("string")
+            int minStem = "s".equals(suffix[0]) ? 3 : 4;
+            if (w.length() - suffix[0].length() >= minStem && w.endsWith(suffix[0])) {
+                return w.substring(0, w.length() - suffix[0].length()) + suffix[1];
+            }
+        }
+        return w;
+    }
+
+    private static String price(double amount) {
+        return amount == Math.rint(amount)
+                ? String.format(Locale.getDefault(), "$%.0f", amount)
+                : String.format(Locale.getDefault(), "$%.2f", amount);
+    }
+}
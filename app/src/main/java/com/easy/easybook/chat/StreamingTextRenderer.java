@@ -0,0 +1,81 @@
+package com.easy.easybook.chat;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/**
+ * Collects streamed text from any thread and pushes it to the UI at most once per interval.
+ * Tokens arrive far faster than a frame, so rebinding a row per token would waste most of
+ * the work; this coalesces them into one update per interval.
+ */
+public class StreamingTextRenderer {
+
+    public interface Target {
+        /** Main thread. {@code text} is everything received so far. */
+        void onTextChanged(String text);
+    }
+
+    // About three frames at 60 Hz: smooth enough for reading, cheap enough for long answers
+    public static final long DEFAULT_INTERVAL_MS = 48;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Target target;
+    private final long intervalMs;
+    private final StringBuilder text = new StringBuilder();
+    private final Runnable flush = this::flush;
+
+    private boolean scheduled;
+    private boolean cancelled;
+    private volatile long lastFlushAt;
+
+    public StreamingTextRenderer(Target target) {
+        this(target, DEFAULT_INTERVAL_MS);
+    }
+
+    public StreamingTextRenderer(Target target, long intervalMs) {
+        this.target = target;
+        this.intervalMs = intervalMs;
+    }
+
+    public void append(String delta) {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            text.append(delta);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        long wait = lastFlushAt + intervalMs - SystemClock.uptimeMillis();
+        mainHandler.postDelayed(flush, Math.max(0, wait));
+    }
+
+    /** Delivers whatever is pending right away; call when the stream ends. */
+    public void finish() {
+        mainHandler.removeCallbacks(flush);
+        mainHandler.post(flush);
+    }
+
+    public void cancel() {
+        synchronized (this) {
+            cancelled = true;
+        }
+        mainHandler.removeCallbacks(flush);
+    }
+
+    private void flush() {
+        String snapshot;
+        synchronized (this) {
+            scheduled = false;
+            if (cancelled) {
+                return;
+            }
+            snapshot = text.toString();
+        }
+        lastFlushAt = SystemClock.uptimeMillis();
+        target.onTextChanged(snapshot);
+    }
+}
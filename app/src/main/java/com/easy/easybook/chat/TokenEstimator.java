@@ -0,0 +1,70 @@
+package com.easy.easybook.chat;
+
+/**
+ * Cheap, tokenizer-free estimate of how many tokens a text costs.
+ *
+ * BPE tokenizers average roughly four characters per token on English prose, but short
+ * words and punctuation each cost at least one, so the estimate takes the larger of the two
+ * counts. It errs slightly high, which is the safe side for a budget.
+ */
+public final class TokenEstimator {
+
+    // Role and separators the chat format adds around every message
+    public static final int MESSAGE_OVERHEAD = 4;
+    // The reply is primed with an assistant header
+    public static final int REPLY_OVERHEAD = 3;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return 0;
+        }
+        int length = text.length();
+        int words = 0;
+        int symbols = 0;
+        boolean inWord = false;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else {
+                inWord = false;
+                if (!Character.isWhitespace(c)) {
+                    symbols++;
+                }
+            }
+        }
+        return Math.max((length + 3) / 4, words + symbols);
+    }
+
+    public static int estimateMessage(CharSequence content) {
+        return estimate(content) + MESSAGE_OVERHEAD;
+    }
+
+    /**
+     * Cuts {@code text} so that it fits in about {@code maxTokens}, at a word boundary when possible.
+     */
+    public static String truncate(String text, int maxTokens) {
+        if (estimate(text) <= maxTokens) {
+            return text;
+        }
+        if (maxTokens <= 0) {
+            return "";
+        }
+        // Shrink until the estimate fits with room for the ellipsis; a few steps at most
+        int end = Math.min(text.length(), maxTokens * 4);
+        while (end > 0 && estimate(text.substring(0, end)) > maxTokens - 1) {
+            end = end * 9 / 10;
+        }
+        int space = text.lastIndexOf(' ', end);
+        if (space > end / 2) {
+            end = space;
+        }
+        return text.substring(0, end).trim() + "\u2026";
+    }
+}
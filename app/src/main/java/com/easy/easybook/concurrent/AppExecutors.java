@@ -0,0 +1,145 @@
+package com.easy.easybook.concurrent;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The app's shared thread pools. Screens should go through a {@link TaskScope} rather than
+ * use these directly, so their work is dropped when they are destroyed.
+ *
+ * - io: blocking work (files, SharedPreferences, sockets). Small and bounded; excess work queues.
+ * - cpu: parsing, diffing, formatting. One thread per core, at most four.
+ * - localData: serial queue over io for LocalDataManager and ServiceManager. Both keep whole
+ *   lists in SharedPreferences and rewrite them on every change, so read-modify-write
+ *   sequences must not interleave.
+ * - prefetch: one thread at the lowest priority, for speculative work nobody waits on yet.
+ * - mainThread: posts to the UI thread.
+ */
+public class AppExecutors {
+
+    private static final int IO_THREADS = 4;
+    private static final int CPU_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static AppExecutors instance;
+
+    private final ExecutorService io;
+    private final ExecutorService cpu;
+    private final Executor localData;
+    private final ExecutorService prefetch;
+    private MainThread mainThread;
+
+    private AppExecutors() {
+        // Below the UI thread; on Android this is roughly THREAD_PRIORITY_BACKGROUND
+        io = newPool("app-io", IO_THREADS, Thread.NORM_PRIORITY - 1);
+        cpu = newPool("app-cpu", CPU_THREADS, Thread.NORM_PRIORITY - 1);
+        localData = new SerialExecutor(io);
+        // Lowest, so it only gets the CPU when the threads serving the screen are idle
+        prefetch = newPool("app-prefetch", 1, Thread.MIN_PRIORITY);
+    }
+
+    public static synchronized AppExecutors getInstance() {
+        if (instance == null) {
+            instance = new AppExecutors();
+        }
+        return instance;
+    }
+
+    public ExecutorService io() {
+        return io;
+    }
+
+    public ExecutorService cpu() {
+        return cpu;
+    }
+
+    public Executor localData() {
+        return localData;
+    }
+
+    public ExecutorService prefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Runs work on {@link #localData()} and waits for its result, for background threads such
+     * as sync and WorkManager workers whose store writes must queue behind the screens'.
+     * Never call it from the main thread or from a localData task: the queue would wait on itself.
+     */
+    public <T> T awaitLocalData(Callable<T> work) throws InterruptedException {
+        FutureTask<T> task = new FutureTask<>(work);
+        localData.execute(task);
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /** A new queue whose commands run one at a time on the io pool. */
+    public Executor newSerialQueue() {
+        return new SerialExecutor(io);
+    }
+
+    // Created on first use, so JVM tests that only touch the pools need no Looper
+    public synchronized MainThread mainThread() {
+        if (mainThread == null) {
+            mainThread = new LooperMainThread();
+        }
+        return mainThread;
+    }
+
+    private static ExecutorService newPool(final String name, int threads, final int priority) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        thread.setPriority(priority);
+                        return thread;
+                    }
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static class LooperMainThread implements MainThread {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+
+        @Override
+        public void executeDelayed(Runnable command, long delayMs) {
+            handler.postDelayed(command, delayMs);
+        }
+
+        @Override
+        public void remove(Runnable command) {
+            handler.removeCallbacks(command);
+        }
+    }
+}
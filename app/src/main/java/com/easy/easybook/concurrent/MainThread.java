@@ -0,0 +1,14 @@
+package com.easy.easybook.concurrent;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs work on the UI thread. An interface so TaskScope can be driven synchronously in tests.
+ */
+public interface MainThread extends Executor {
+
+    void executeDelayed(Runnable command, long delayMs);
+
+    /** Drops a command posted with {@link #execute} or {@link #executeDelayed} that hasn't run. */
+    void remove(Runnable command);
+}
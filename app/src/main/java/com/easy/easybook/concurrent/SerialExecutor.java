@@ -0,0 +1,40 @@
+package com.easy.easybook.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs commands one at a time, in submission order, on a shared pool. Gives a queue its
+ * ordering without parking a dedicated thread for it.
+ */
+public class SerialExecutor implements Executor {
+
+    private final Executor backing;
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private Runnable active;
+
+    public SerialExecutor(Executor backing) {
+        this.backing = backing;
+    }
+
+    @Override
+    public synchronized void execute(final Runnable command) {
+        tasks.offer(() -> {
+            try {
+                command.run();
+            } finally {
+                scheduleNext();
+            }
+        });
+        if (active == null) {
+            scheduleNext();
+        }
+    }
+
+    private synchronized void scheduleNext() {
+        active = tasks.poll();
+        if (active != null) {
+            backing.execute(active);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.easy.easybook.concurrent;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Background work owned by one screen. Results come back on the main thread, and once the
+ * scope is cancelled (automatically when its owner is destroyed) nothing more is delivered:
+ * queued loads are skipped and results, errors and posted callbacks are dropped.
+ *
+ * Writes are the exception. They always run to completion, since cancelling a save halfway
+ * through a screen closing would lose data; only their completion callback is dropped.
+ *
+ * Load and write default to {@link AppExecutors#localData()}, the queue for LocalDataManager
+ * and ServiceManager, so a load queued after a write sees what was written.
+ */
+public class TaskScope {
+    private static final String TAG = "TaskScope";
+
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    // One scope per owner; entries go when the owner is destroyed (or collected)
+    private static final Map<LifecycleOwner, TaskScope> SCOPES = new WeakHashMap<>();
+
+    private final Executor defaultExecutor;
+    private final MainThread mainThread;
+    private final Set<Runnable> delayed = new HashSet<>();
+    private volatile boolean cancelled;
+
+    TaskScope(Executor defaultExecutor, MainThread mainThread) {
+        this.defaultExecutor = defaultExecutor;
+        this.mainThread = mainThread;
+    }
+
+    /**
+     * The scope of an Activity, or of a Fragment's view lifecycle owner. Main thread only.
+     */
+    public static TaskScope of(LifecycleOwner owner) {
+        TaskScope scope = SCOPES.get(owner);
+        if (scope != null) {
+            return scope;
+        }
+        AppExecutors executors = AppExecutors.getInstance();
+        final TaskScope created = new TaskScope(executors.localData(), executors.mainThread());
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            created.cancel();
+            return created;
+        }
+        SCOPES.put(owner, created);
+        lifecycle.addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner destroyed) {
+                SCOPES.remove(destroyed);
+                created.cancel();
+            }
+        });
+        return created;
+    }
+
+    public boolean isActive() {
+        return !cancelled;
+    }
+
+    /** Runs work on the local data queue; errors are logged. */
+    public <T> void load(Callable<T> work, Callback<T> onResult) {
+        load(defaultExecutor, work, onResult, null);
+    }
+
+    public <T> void load(Callable<T> work, Callback<T> onResult, Callback<Exception> onError) {
+        load(defaultExecutor, work, onResult, onError);
+    }
+
+    /**
+     * Runs work on the given executor and hands its result to onResult on the main thread.
+     * Skipped if the scope is cancelled before the work starts.
+     */
+    public <T> void load(Executor executor, final Callable<T> work, final Callback<T> onResult,
+                         final Callback<Exception> onError) {
+        if (cancelled) {
+            return;
+        }
+        executor.execute(() -> {
+            if (cancelled) {
+                return;
+            }
+            final T result;
+            try {
+                result = work.call();
+            } catch (final Exception e) {
+                deliverError(e, onError);
+                return;
+            }
+            mainThread.execute(() -> {
+                if (!cancelled && onResult != null) {
+                    onResult.onResult(result);
+                }
+            });
+        });
+    }
+
+    /** Runs work on the local data queue even if the scope is cancelled meanwhile. */
+    public void write(Runnable work) {
+        write(work, null);
+    }
+
+    /**
+     * Like {@link #write(Runnable)}; onDone runs on the main thread afterwards unless the
+     * scope was cancelled or the write failed (failures are logged).
+     */
+    public void write(final Runnable work, final Runnable onDone) {
+        write(() -> {
+            work.run();
+            return null;
+        }, onDone != null ? result -> onDone.run() : null, null);
+    }
+
+    /**
+     * A write whose outcome the screen reports, e.g. a save that can be refused. The callbacks
+     * run on the main thread unless the scope was cancelled; errors are logged if onError is null.
+     */
+    public <T> void write(final Callable<T> work, final Callback<T> onDone, final Callback<Exception> onError) {
+        defaultExecutor.execute(() -> {
+            final T result;
+            try {
+                result = work.call();
+            } catch (Exception e) {
+                deliverError(e, onError);
+                return;
+            }
+            if (onDone != null) {
+                post(() -> onDone.onResult(result));
+            }
+        });
+    }
+
+    /** Runs command on the main thread unless the scope is cancelled first. */
+    public void post(final Runnable command) {
+        if (cancelled) {
+            return;
+        }
+        mainThread.execute(() -> {
+            if (!cancelled) {
+                command.run();
+            }
+        });
+    }
+
+    /** Like {@link #post}, after a delay; cancelling removes it from the main queue at once. */
+    public void postDelayed(final Runnable command, long delayMs) {
+        if (cancelled) {
+            return;
+        }
+        Runnable once = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (delayed) {
+                    delayed.remove(this);
+                }
+                if (!cancelled) {
+                    command.run();
+                }
+            }
+        };
+        synchronized (delayed) {
+            delayed.add(once);
+        }
+        mainThread.executeDelayed(once, delayMs);
+    }
+
+    /** Drops everything not yet delivered. Idempotent. */
+    public void cancel() {
+        cancelled = true;
+        synchronized (delayed) {
+            for (Runnable command : delayed) {
+                mainThread.remove(command);
+            }
+            delayed.clear();
+        }
+    }
+
+    private void deliverError(final Exception e, final Callback<Exception> onError) {
+        if (onError == null) {
+            Log.e(TAG, "Background work failed", e);
+            return;
+        }
+        mainThread.execute(() -> {
+            if (!cancelled) {
+                onError.onResult(e);
+            }
+        });
+    }
+}
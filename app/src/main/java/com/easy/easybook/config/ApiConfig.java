@@ -12,4 +12,9 @@ public class ApiConfig {
     public static final String MODEL_NAME = "gpt-3.5-turbo";
     public static final int MAX_TOKENS = 500;
     public static final double TEMPERATURE = 0.7;
+    
+    // Prompt plus answer must fit the model's context window
+    public static final int CONTEXT_WINDOW_TOKENS = 4096;
+    // Prompt cap, well under the window: prompt size drives latency and cost
+    public static final int MAX_PROMPT_TOKENS = 1500;
 }
\ No newline at end of file
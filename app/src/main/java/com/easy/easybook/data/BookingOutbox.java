@@ -0,0 +1,412 @@
+package com.easy.easybook.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import com.easy.easybook.firebase.MyWorker;
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.PendingMutation;
+import com.easy.easybook.network.BookingTransitions;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable queue of booking changes made while offline (or before the server has confirmed them).
+ *
+ * Every change is applied to LocalDataManager straight away so the UI reflects it, then
+ * recorded here and replayed by MyWorker once a network is available. Server responses are
+ * merged back into the local store; permanent rejections roll the optimistic change back,
+ * except for creates: the booking is kept and marked {@link #STATUS_NOT_SENT}.
+ *
+ * Methods that write LocalDataManager (recording, {@link #complete}, {@link #reject}) run on
+ * {@link com.easy.easybook.concurrent.AppExecutors#localData()} like every other store write.
+ */
+public class BookingOutbox {
+    private static final String TAG = "BookingOutbox";
+    private static final String PREFS_NAME = "EasyBookOutbox";
+    private static final String KEY_MUTATIONS = "mutations";
+    public static final String LOCAL_ID_PREFIX = "local-";
+    // Local status for a booking whose create the server refused; it exists only on the device
+    public static final String STATUS_NOT_SENT = "failed";
+    public static final String WORK_NAME = "booking_outbox_sync";
+
+    private static BookingOutbox instance;
+    private final Context context;
+    private final SharedPreferences prefs;
+    private final LocalDataManager dataManager;
+    private final Gson gson;
+
+    // Kept in memory so the worker's batch and later remaps share the same objects
+    private List<PendingMutation> mutations;
+    // Mutations handed to the worker and not yet resolved; these are never coalesced
+    private final Set<String> inFlight = new HashSet<>();
+
+    private BookingOutbox(Context context) {
+        this(context, context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE),
+                LocalDataManager.getInstance(context));
+    }
+
+    // For JVM tests, which override scheduleSync()
+    BookingOutbox(Context context, SharedPreferences prefs, LocalDataManager dataManager) {
+        this.context = context;
+        this.prefs = prefs;
+        this.dataManager = dataManager;
+        gson = new Gson();
+    }
+
+    public static synchronized BookingOutbox getInstance(Context context) {
+        if (instance == null) {
+            instance = new BookingOutbox(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // Recording changes
+
+    /**
+     * Saves the booking locally with a placeholder id and queues the create request.
+     * Returns the local id, which is swapped for the server id once the create succeeds.
+     *
+     * Bookings for services the backend doesn't know (the bundled catalogue uses ids like "1")
+     * can't be created there, so they are saved as device-only bookings and not queued.
+     */
+    public synchronized String createBooking(Booking booking) {
+        boolean sendable = BookingTransitions.isServerId(booking.getServiceId());
+        if (booking.getId() == null) {
+            booking.setId(sendable ? LOCAL_ID_PREFIX + UUID.randomUUID() : "booking_" + System.currentTimeMillis());
+        }
+        if (booking.getStatus() == null) {
+            booking.setStatus("pending");
+        }
+        dataManager.saveBooking(booking);
+        if (sendable) {
+            add(new PendingMutation(PendingMutation.TYPE_CREATE, booking.getId(),
+                    createRequest(booking).toString(), null));
+        }
+        return booking.getId();
+    }
+
+    /**
+     * The body POST bookings validates: service, bookingDate (ISO 8601), timeSlot,
+     * address {street, city, state, zipCode} and optional notes.
+     */
+    static JsonObject createRequest(Booking booking) {
+        JsonObject request = new JsonObject();
+        request.addProperty("service", booking.getServiceId());
+        if (booking.getBookingDate() != null) {
+            SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+            iso.setTimeZone(TimeZone.getTimeZone("UTC"));
+            request.addProperty("bookingDate", iso.format(booking.getBookingDate()));
+        }
+        request.addProperty("timeSlot", booking.getTimeSlot());
+
+        JsonObject address = new JsonObject();
+        address.addProperty("street", booking.getAddress());
+        address.addProperty("city", booking.getCity());
+        address.addProperty("state", booking.getState());
+        address.addProperty("zipCode", booking.getZipCode());
+        request.add("address", address);
+
+        if (booking.getNotes() != null && !booking.getNotes().isEmpty()) {
+            request.addProperty("notes", booking.getNotes());
+        }
+        return request;
+    }
+
+    public synchronized void updateStatus(String bookingId, String status) {
+        String previousStatus = currentStatus(bookingId);
+        dataManager.updateBookingStatus(bookingId, status);
+        if (!canSend(bookingId) || BookingTransitions.actionFor(status) == null) {
+            // Nothing on the server to update, or no route that could; the local change stands
+            return;
+        }
+
+        JsonObject request = new JsonObject();
+        request.addProperty("status", status);
+
+        // Only the latest status matters; fold into a queued update that hasn't been sent yet
+        for (PendingMutation mutation : load()) {
+            if (PendingMutation.TYPE_STATUS.equals(mutation.getType())
+                    && bookingId.equals(mutation.getBookingId())
+                    && !inFlight.contains(mutation.getId())) {
+                if (mutation.getAttempts() > 0) {
+                    // The old key may already be recorded server-side with the old body
+                    mutation.setId(UUID.randomUUID().toString());
+                }
+                mutation.setPayload(request.toString());
+                persist();
+                scheduleSync();
+                return;
+            }
+        }
+        add(new PendingMutation(PendingMutation.TYPE_STATUS, bookingId, request.toString(), previousStatus));
+    }
+
+    public synchronized void addRating(String bookingId, float rating, String comment) {
+        String previousStatus = currentStatus(bookingId);
+        dataManager.addRating(bookingId, rating, comment);
+        if (!canSend(bookingId)) {
+            return;
+        }
+
+        JsonObject request = new JsonObject();
+        request.addProperty("rating", rating);
+        request.addProperty("review", comment);
+        add(new PendingMutation(PendingMutation.TYPE_RATING, bookingId, request.toString(), previousStatus));
+    }
+
+    // Replay, called from MyWorker
+
+    /**
+     * Hands the oldest pending mutations to the worker. They stay queued until resolved.
+     */
+    public synchronized List<PendingMutation> takeBatch(int maxSize) {
+        List<PendingMutation> batch = new ArrayList<>();
+        for (PendingMutation mutation : load()) {
+            if (batch.size() >= maxSize) {
+                break;
+            }
+            if (!inFlight.contains(mutation.getId())) {
+                inFlight.add(mutation.getId());
+                batch.add(mutation);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * The server accepted the mutation. Its copy of the booking wins over the local one.
+     */
+    public synchronized void complete(PendingMutation mutation, Booking serverBooking) {
+        remove(mutation);
+        if (serverBooking == null || serverBooking.getId() == null) {
+            return;
+        }
+
+        String localId = mutation.getBookingId();
+        Booking local = dataManager.getBooking(localId);
+        Booking merged = merge(local, serverBooking);
+        // A newer local change is still queued for this booking, keep showing it
+        if (local != null && hasPendingStatusChange(localId)) {
+            merged.setStatus(local.getStatus());
+        }
+        dataManager.replaceBooking(localId, merged);
+
+        if (!localId.equals(serverBooking.getId())) {
+            // Later mutations were recorded against the placeholder id
+            for (PendingMutation pending : load()) {
+                if (localId.equals(pending.getBookingId())) {
+                    pending.setBookingId(serverBooking.getId());
+                }
+            }
+            persist();
+        }
+    }
+
+    /**
+     * The server refused the mutation for good (4xx). Undo the optimistic change.
+     *
+     * A refused create is not undone: the user was told the booking was made, and a 400 is as
+     * likely to be our payload as theirs. The booking stays on the device as STATUS_NOT_SENT.
+     */
+    public synchronized void reject(PendingMutation mutation, String error) {
+        Log.w(TAG, "Dropping " + mutation.getType() + " for " + mutation.getBookingId() + ": " + error);
+        remove(mutation);
+        String bookingId = mutation.getBookingId();
+
+        if (PendingMutation.TYPE_CREATE.equals(mutation.getType())) {
+            dataManager.updateBookingStatus(bookingId, STATUS_NOT_SENT);
+            // Nothing else queued for a booking the server doesn't have can succeed
+            Iterator<PendingMutation> iterator = load().iterator();
+            while (iterator.hasNext()) {
+                PendingMutation pending = iterator.next();
+                if (bookingId.equals(pending.getBookingId())) {
+                    iterator.remove();
+                    inFlight.remove(pending.getId());
+                }
+            }
+            persist();
+        } else if (mutation.getPreviousStatus() != null && !hasPendingStatusChange(bookingId)) {
+            dataManager.updateBookingStatus(bookingId, mutation.getPreviousStatus());
+        }
+    }
+
+    /**
+     * A transient failure: keep the mutation and let WorkManager back off.
+     */
+    public synchronized void retryLater(PendingMutation mutation, String error) {
+        mutation.setAttempts(mutation.getAttempts() + 1);
+        mutation.setLastError(error);
+        persist();
+        releaseAll();
+    }
+
+    public synchronized void releaseAll() {
+        inFlight.clear();
+    }
+
+    public synchronized int getPendingCount() {
+        return load().size();
+    }
+
+    public synchronized boolean hasPendingChanges(String bookingId) {
+        for (PendingMutation mutation : load()) {
+            if (bookingId.equals(mutation.getBookingId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True while the create for a placeholder id is still queued, i.e. the booking may yet
+     * get a server id.
+     */
+    public synchronized boolean hasPendingCreate(String bookingId) {
+        for (PendingMutation mutation : load()) {
+            if (PendingMutation.TYPE_CREATE.equals(mutation.getType())
+                    && bookingId.equals(mutation.getBookingId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True for bookings the server has never seen and never will: made on the device without
+     * going through {@link #createBooking}. Changes to them stay local.
+     */
+    public static boolean isDeviceOnly(String bookingId) {
+        return !bookingId.startsWith(LOCAL_ID_PREFIX) && !BookingTransitions.isServerId(bookingId);
+    }
+
+    /**
+     * Queues the replay worker; it only runs once the device is online.
+     */
+    public void scheduleSync() {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(MyWorker.class)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                .build();
+        // APPEND_OR_REPLACE so a change recorded while a replay is finishing still gets its own run
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+
+    // Internals
+
+    private void add(PendingMutation mutation) {
+        load().add(mutation);
+        persist();
+        scheduleSync();
+    }
+
+    private void remove(PendingMutation mutation) {
+        inFlight.remove(mutation.getId());
+        Iterator<PendingMutation> iterator = load().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getId().equals(mutation.getId())) {
+                iterator.remove();
+                break;
+            }
+        }
+        persist();
+    }
+
+    // Server bookings, and placeholders whose create hasn't been refused
+    private boolean canSend(String bookingId) {
+        if (isDeviceOnly(bookingId)) {
+            return false;
+        }
+        return !bookingId.startsWith(LOCAL_ID_PREFIX) || hasPendingCreate(bookingId);
+    }
+
+    private boolean hasPendingStatusChange(String bookingId) {
+        for (PendingMutation mutation : load()) {
+            if (bookingId.equals(mutation.getBookingId())
+                    && !PendingMutation.TYPE_CREATE.equals(mutation.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String currentStatus(String bookingId) {
+        Booking booking = dataManager.getBooking(bookingId);
+        return booking != null ? booking.getStatus() : null;
+    }
+
+    private List<PendingMutation> load() {
+        if (mutations == null) {
+            String json = prefs.getString(KEY_MUTATIONS, "[]");
+            Type listType = new TypeToken<List<PendingMutation>>(){}.getType();
+            mutations = gson.fromJson(json, listType);
+            if (mutations == null) {
+                mutations = new ArrayList<>();
+            }
+        }
+        return mutations;
+    }
+
+    private void persist() {
+        // commit() rather than apply(): the queue must survive the process dying right after
+        prefs.edit().putString(KEY_MUTATIONS, gson.toJson(load())).commit();
+    }
+
+    /**
+     * Server fields win; local fields fill the gaps the server response doesn't populate.
+     */
+    static Booking merge(Booking local, Booking server) {
+        if (local == null) {
+            return server;
+        }
+        if (server.getServiceId() == null) server.setServiceId(local.getServiceId());
+        if (server.getServiceName() == null) server.setServiceName(local.getServiceName());
+        if (server.getServiceCategory() == null) server.setServiceCategory(local.getServiceCategory());
+        if (server.getProviderId() == null) server.setProviderId(local.getProviderId());
+        if (server.getProviderName() == null) server.setProviderName(local.getProviderName());
+        if (server.getCustomerId() == null) server.setCustomerId(local.getCustomerId());
+        if (server.getCustomerName() == null) server.setCustomerName(local.getCustomerName());
+        if (server.getCustomerEmail() == null) server.setCustomerEmail(local.getCustomerEmail());
+        if (server.getCustomerPhone() == null) server.setCustomerPhone(local.getCustomerPhone());
+        if (server.getAddress() == null) server.setAddress(local.getAddress());
+        if (server.getCity() == null) server.setCity(local.getCity());
+        if (server.getState() == null) server.setState(local.getState());
+        if (server.getZipCode() == null) server.setZipCode(local.getZipCode());
+        if (server.getBookingDate() == null) server.setBookingDate(local.getBookingDate());
+        if (server.getTimeSlot() == null) server.setTimeSlot(local.getTimeSlot());
+        if (server.getStatus() == null) server.setStatus(local.getStatus());
+        if (server.getTotalAmount() == 0) server.setTotalAmount(local.getTotalAmount());
+        if (server.getNotes() == null) server.setNotes(local.getNotes());
+        if (server.getRating() == 0) {
+            server.setRating(local.getRating());
+            server.setRatingComment(local.getRatingComment());
+        }
+        if (server.getCreatedAt() == null) server.setCreatedAt(local.getCreatedAt());
+        return server;
+    }
+}
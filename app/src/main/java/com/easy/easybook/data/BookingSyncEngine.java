@@ -0,0 +1,334 @@
+package com.easy.easybook.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.easy.easybook.concurrent.AppExecutors;
+import com.easy.easybook.concurrent.MainThread;
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.User;
+import com.easy.easybook.network.ApiClient;
+import com.easy.easybook.network.ApiConfig;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.budget.DataBudget;
+import com.easy.easybook.network.responses.BookingsResponse;
+import com.easy.easybook.utils.SharedPrefsManager;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import retrofit2.Response;
+
+/**
+ * Keeps LocalDataManager's bookings in step with the server using a per-user cursor.
+ *
+ * Each sync asks only for bookings changed after the stored cursor and merges them in by id,
+ * keeping whichever copy has the higher version. A full download happens only when there is
+ * no cursor yet or the server rejects it (HTTP 410 / resyncRequired). Screens read from
+ * LocalDataManager and call sync() to refresh in the background.
+ */
+public class BookingSyncEngine {
+    private static final String TAG = "BookingSyncEngine";
+    private static final String PREFS_NAME = "EasyBookSync";
+    private static final String KEY_CURSOR_PREFIX = "bookings_cursor_";
+    private static final String KEY_KNOWN_IDS_PREFIX = "bookings_known_";
+    private static final int PAGE_SIZE = 50;
+    // Safety net against a server that keeps reporting hasMore
+    static final int MAX_PAGES = 100;
+
+    public interface SyncListener {
+        void onSyncComplete(int changedCount);
+        void onSyncFailed(String error);
+    }
+
+    private static BookingSyncEngine instance;
+    private final Context context;
+    private final SharedPreferences prefs;
+    private final LocalDataManager dataManager;
+    private final BookingOutbox outbox;
+    private final MainThread mainThread;
+
+    // Listeners waiting on the sync that is currently running, so taps don't stack up requests
+    private final List<SyncListener> waiting = new ArrayList<>();
+    private boolean running;
+    private volatile long lastSuccessAt;
+
+    private BookingSyncEngine(Context context) {
+        this(context, context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE),
+                LocalDataManager.getInstance(context), BookingOutbox.getInstance(context),
+                AppExecutors.getInstance().mainThread());
+    }
+
+    // For JVM tests, which override apiService(), authHeader() and currentUserKey()
+    BookingSyncEngine(Context context, SharedPreferences prefs, LocalDataManager dataManager,
+                      BookingOutbox outbox, MainThread mainThread) {
+        this.context = context;
+        this.prefs = prefs;
+        this.dataManager = dataManager;
+        this.outbox = outbox;
+        this.mainThread = mainThread;
+    }
+
+    public static synchronized BookingSyncEngine getInstance(Context context) {
+        if (instance == null) {
+            instance = new BookingSyncEngine(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Starts a delta sync in the background, or joins the one already running.
+     * The listener (may be null) is called on the main thread.
+     */
+    public void sync(SyncListener listener) {
+        synchronized (waiting) {
+            if (listener != null) {
+                waiting.add(listener);
+            }
+            if (running) {
+                return;
+            }
+            running = true;
+        }
+        // Mostly network; the running flag above already keeps syncs from overlapping
+        AppExecutors.getInstance().io().execute(() -> {
+            int changed = -1;
+            String error = null;
+            try {
+                changed = syncNow();
+            } catch (IOException | RuntimeException e) {
+                error = e.getMessage() != null ? e.getMessage() : e.toString();
+                Log.w(TAG, "Booking sync failed", e);
+            }
+            deliver(changed, error);
+        });
+    }
+
+    /**
+     * Like {@link #sync}, but skips the network when the last sync is recent enough for the
+     * current data mode (see {@link DataBudget#getMinSyncIntervalMs()}). A skipped sync
+     * reports zero changes.
+     */
+    public void syncIfDue(SyncListener listener) {
+        long interval = DataBudget.getInstance(context).getMinSyncIntervalMs();
+        if (lastSuccessAt > 0 && System.currentTimeMillis() - lastSuccessAt < interval) {
+            if (listener != null) {
+                mainThread.execute(() -> listener.onSyncComplete(0));
+            }
+            return;
+        }
+        sync(listener);
+    }
+
+    /**
+     * Runs a sync on the calling thread. Returns the number of bookings added or updated.
+     */
+    public int syncNow() throws IOException {
+        String userKey = currentUserKey();
+        String cursor = prefs.getString(KEY_CURSOR_PREFIX + userKey, null);
+        int changed;
+        try {
+            changed = pull(userKey, cursor);
+        } catch (CursorInvalidException e) {
+            Log.i(TAG, "Sync cursor rejected, running a full resync");
+            prefs.edit().remove(KEY_CURSOR_PREFIX + userKey).apply();
+            changed = pull(userKey, null);
+        }
+        lastSuccessAt = System.currentTimeMillis();
+        return changed;
+    }
+
+    /**
+     * Forgets the cursor so the next sync downloads everything again.
+     */
+    public void invalidate() {
+        lastSuccessAt = 0;
+        prefs.edit().remove(KEY_CURSOR_PREFIX + currentUserKey()).apply();
+    }
+
+    private int pull(String userKey, String cursor) throws IOException {
+        ApiService apiService = apiService();
+        String authHeader = authHeader();
+
+        boolean fullResync = cursor == null;
+        // Set once the server says there is nothing more; anything else leaves the set partial
+        boolean complete = false;
+        String nextCursor = cursor;
+        Set<String> seenIds = new HashSet<>();
+        List<Booking> changes = new ArrayList<>();
+
+        for (int page = 0; page < MAX_PAGES; page++) {
+            Response<BookingsResponse> response = apiService
+                    .syncBookings(authHeader, nextCursor != null ? nextCursor : "", PAGE_SIZE)
+                    .execute();
+            if (response.code() == 410) {
+                throw new CursorInvalidException();
+            }
+            BookingsResponse body = response.body();
+            if (!response.isSuccessful() || body == null || !body.isSuccess()) {
+                throw new IOException("Booking sync failed: HTTP " + response.code());
+            }
+            if (body.getData() != null && body.getData().isResyncRequired()) {
+                throw new CursorInvalidException();
+            }
+
+            for (Booking booking : body.getBookings()) {
+                if (booking.getId() != null) {
+                    seenIds.add(booking.getId());
+                    changes.add(booking);
+                }
+            }
+
+            BookingsResponse.SyncInfo sync = body.getSync();
+            if (sync == null) {
+                // Server without delta support answered with one plain page: merge it, but
+                // it may be partial, so don't treat missing bookings as deleted
+                break;
+            }
+            if (sync.getCursor() != null) {
+                nextCursor = sync.getCursor();
+            }
+            if (!sync.hasMore()) {
+                complete = true;
+                break;
+            }
+        }
+
+        final Set<String> fullSet = fullResync && complete ? seenIds : null;
+        int changed;
+        try {
+            // Queued behind screen writes, so neither side's read-modify-write loses the other's
+            changed = AppExecutors.getInstance().awaitLocalData(() -> merge(userKey, changes, fullSet));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Booking sync interrupted");
+        }
+        // Only advance the cursor once the merge is stored, so a crash just repeats the delta.
+        // A pull cut short at MAX_PAGES keeps the old cursor and asks again from there.
+        if (complete && nextCursor != null) {
+            prefs.edit().putString(KEY_CURSOR_PREFIX + userKey, nextCursor).apply();
+        }
+        return changed;
+    }
+
+    /**
+     * Merges server bookings into the local store in a single read/write. Runs on
+     * {@link AppExecutors#localData()}.
+     *
+     * @param fullSet every id the server returned during a full resync, or null for a delta.
+     *                Server-known bookings missing from a full set were deleted remotely.
+     */
+    synchronized int merge(String userKey, List<Booking> serverBookings, Set<String> fullSet) {
+        List<Booking> local = dataManager.getAllBookings();
+        Map<String, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < local.size(); i++) {
+            if (local.get(i).getId() != null) {
+                indexById.put(local.get(i).getId(), i);
+            }
+        }
+
+        Set<String> knownIds = new HashSet<>(prefs.getStringSet(KEY_KNOWN_IDS_PREFIX + userKey, new HashSet<>()));
+        int changed = 0;
+        for (Booking server : serverBookings) {
+            knownIds.add(server.getId());
+            Integer index = indexById.get(server.getId());
+            if (index == null) {
+                indexById.put(server.getId(), local.size());
+                local.add(server);
+                changed++;
+                continue;
+            }
+            Booking existing = local.get(index);
+            if (!isNewer(server, existing)) {
+                continue;
+            }
+            Booking merged = BookingOutbox.merge(existing, server);
+            if (outbox.hasPendingChanges(server.getId())) {
+                // Our unsent change is still the user's latest intent
+                merged.setStatus(existing.getStatus());
+            }
+            local.set(index, merged);
+            changed++;
+        }
+
+        if (fullSet != null) {
+            List<Booking> kept = new ArrayList<>(local.size());
+            for (Booking booking : local) {
+                String id = booking.getId();
+                boolean deletedRemotely = id != null && knownIds.contains(id) && !fullSet.contains(id)
+                        && !outbox.hasPendingChanges(id);
+                if (deletedRemotely) {
+                    knownIds.remove(id);
+                    changed++;
+                } else {
+                    kept.add(booking);
+                }
+            }
+            local = kept;
+        }
+
+        if (changed > 0) {
+            dataManager.saveBookings(local);
+        }
+        prefs.edit().putStringSet(KEY_KNOWN_IDS_PREFIX + userKey, knownIds).apply();
+        return changed;
+    }
+
+    /**
+     * Version decides; on equal versions the later updatedAt wins.
+     */
+    static boolean isNewer(Booking server, Booking local) {
+        if (server.getVersion() != local.getVersion()) {
+            return server.getVersion() > local.getVersion();
+        }
+        if (server.getUpdatedAt() == null) {
+            return false;
+        }
+        return local.getUpdatedAt() == null || !server.getUpdatedAt().before(local.getUpdatedAt());
+    }
+
+    ApiService apiService() {
+        return ApiClient.getInstance(context).getApiService();
+    }
+
+    String authHeader() {
+        String token = SharedPrefsManager.getInstance(context).getAuthToken();
+        return token != null ? ApiConfig.BEARER + token : null;
+    }
+
+    String currentUserKey() {
+        User user = SharedPrefsManager.getInstance(context).getUser();
+        return user != null && user.getId() != null && !user.getId().isEmpty() ? user.getId() : "anonymous";
+    }
+
+    private void deliver(int changed, String error) {
+        List<SyncListener> listeners;
+        synchronized (waiting) {
+            listeners = new ArrayList<>(waiting);
+            waiting.clear();
+            running = false;
+        }
+        mainThread.execute(() -> {
+            for (SyncListener listener : listeners) {
+                if (error == null) {
+                    listener.onSyncComplete(changed);
+                } else {
+                    listener.onSyncFailed(error);
+                }
+            }
+        });
+    }
+
+    private static class CursorInvalidException extends IOException {
+        CursorInvalidException() {
+            super("Sync cursor is no longer valid");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.easy.easybook.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * What one write to a local store changed: the ids inserted, updated and deleted, and the
+ * partitions they belong to (a customer, a provider, a service category) before and after.
+ * Screens use the partitions to skip changes that can't affect what they show.
+ */
+public final class DataChange {
+
+    public enum Store { BOOKINGS, SERVICES }
+
+    private final Store store;
+    private final Set<String> inserted;
+    private final Set<String> updated;
+    private final Set<String> deleted;
+    private final Set<String> partitions;
+
+    private DataChange(Builder builder) {
+        this.store = builder.store;
+        this.inserted = Collections.unmodifiableSet(builder.inserted);
+        this.updated = Collections.unmodifiableSet(builder.updated);
+        this.deleted = Collections.unmodifiableSet(builder.deleted);
+        this.partitions = Collections.unmodifiableSet(builder.partitions);
+    }
+
+    public static String customer(String customerId) {
+        return "customer:" + customerId;
+    }
+
+    public static String provider(String providerId) {
+        return "provider:" + providerId;
+    }
+
+    // Categories are compared ignoring case everywhere else, so partition on the lower-cased name
+    public static String category(String name) {
+        return "category:" + name.toLowerCase(Locale.ROOT);
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    public Set<String> getInserted() {
+        return inserted;
+    }
+
+    public Set<String> getUpdated() {
+        return updated;
+    }
+
+    public Set<String> getDeleted() {
+        return deleted;
+    }
+
+    public Set<String> getPartitions() {
+        return partitions;
+    }
+
+    public boolean isEmpty() {
+        return inserted.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+    }
+
+    /** True if partition is null (everything) or the change touched it. */
+    public boolean affects(String partition) {
+        return partition == null || partitions.contains(partition);
+    }
+
+    /**
+     * This change followed by a later one to the same store. An id inserted and then deleted
+     * cancels out; one inserted and then updated is still an insert.
+     */
+    public DataChange merge(DataChange later) {
+        if (later.store != store) {
+            throw new IllegalArgumentException("Cannot merge " + later.store + " into " + store);
+        }
+        Builder merged = new Builder(store);
+        merged.inserted.addAll(inserted);
+        merged.updated.addAll(updated);
+        merged.deleted.addAll(deleted);
+        merged.partitions.addAll(partitions);
+        merged.partitions.addAll(later.partitions);
+        for (String id : later.inserted) {
+            // Deleted then inserted again reads as a replacement
+            if (merged.deleted.remove(id)) {
+                merged.updated.add(id);
+            } else {
+                merged.inserted.add(id);
+            }
+        }
+        for (String id : later.updated) {
+            if (!merged.inserted.contains(id)) {
+                merged.updated.add(id);
+            }
+        }
+        for (String id : later.deleted) {
+            merged.updated.remove(id);
+            if (!merged.inserted.remove(id)) {
+                merged.deleted.add(id);
+            }
+        }
+        return merged.build();
+    }
+
+    /**
+     * Compares a whole-store rewrite against what was stored before, for writers that save the
+     * full list rather than one item.
+     */
+    static <T> DataChange diff(Store store, List<T> before, List<T> after, Function<T, String> idOf,
+                               Function<T, Collection<String>> partitionsOf, BiPredicate<T, T> sameContent) {
+        Map<String, T> previous = new HashMap<>();
+        for (T item : before) {
+            previous.put(idOf.apply(item), item);
+        }
+        Builder change = new Builder(store);
+        for (T item : after) {
+            String id = idOf.apply(item);
+            T old = previous.remove(id);
+            if (old == null) {
+                change.inserted(id, partitionsOf.apply(item));
+            } else if (!sameContent.test(old, item)) {
+                change.updated(id, partitionsOf.apply(old));
+                change.partitions.addAll(partitionsOf.apply(item));
+            }
+        }
+        for (Map.Entry<String, T> removed : previous.entrySet()) {
+            change.deleted(removed.getKey(), partitionsOf.apply(removed.getValue()));
+        }
+        return change.build();
+    }
+
+    @Override
+    public String toString() {
+        return store + "{inserted=" + inserted + ", updated=" + updated + ", deleted=" + deleted
+                + ", partitions=" + partitions + "}";
+    }
+
+    public static class Builder {
+        private final Store store;
+        private final Set<String> inserted = new LinkedHashSet<>();
+        private final Set<String> updated = new LinkedHashSet<>();
+        private final Set<String> deleted = new LinkedHashSet<>();
+        private final Set<String> partitions = new LinkedHashSet<>();
+
+        public Builder(Store store) {
+            this.store = store;
+        }
+
+        public Builder inserted(String id, Collection<String> partitions) {
+            inserted.add(id);
+            this.partitions.addAll(partitions);
+            return this;
+        }
+
+        public Builder updated(String id, Collection<String> partitions) {
+            updated.add(id);
+            this.partitions.addAll(partitions);
+            return this;
+        }
+
+        public Builder deleted(String id, Collection<String> partitions) {
+            deleted.add(id);
+            this.partitions.addAll(partitions);
+            return this;
+        }
+
+        public DataChange build() {
+            return new DataChange(this);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.easy.easybook.data;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.easy.easybook.concurrent.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers {@link DataChange}s from the local stores to the screens showing that data.
+ *
+ * A subscription is tied to a lifecycle: changes reach it while the owner is started; changes
+ * made while it is stopped (e.g. on a screen opened on top of it) are merged and delivered
+ * once, when it starts again. A screen with nothing pending does no work when it comes back.
+ */
+public class DataChangeBus {
+
+    public interface Listener {
+        void onChange(DataChange change);
+    }
+
+    private static DataChangeBus instance;
+
+    private final Executor mainThread;
+    // Only touched on the main thread
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    DataChangeBus(Executor mainThread) {
+        this.mainThread = mainThread;
+    }
+
+    public static synchronized DataChangeBus getInstance() {
+        if (instance == null) {
+            instance = new DataChangeBus(AppExecutors.getInstance().mainThread());
+        }
+        return instance;
+    }
+
+    /** Called by the stores after a write, from any thread. */
+    public void publish(final DataChange change) {
+        if (change.isEmpty()) {
+            return;
+        }
+        mainThread.execute(() -> {
+            for (Subscription subscription : new ArrayList<>(subscriptions)) {
+                subscription.offer(change);
+            }
+        });
+    }
+
+    /**
+     * Calls listener on the main thread for changes to store that touch partition (null for all
+     * of them) until owner is destroyed. Main thread only.
+     */
+    public void observe(LifecycleOwner owner, DataChange.Store store, String partition, Listener listener) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        Subscription subscription = new Subscription(lifecycle, store, partition, listener);
+        subscriptions.add(subscription);
+        lifecycle.addObserver(subscription);
+    }
+
+    /**
+     * Like {@link #observe} for app-wide caches, which live as long as the process and want
+     * every change as it happens. Main thread only.
+     */
+    public void observeForever(DataChange.Store store, String partition, Listener listener) {
+        subscriptions.add(new Subscription(null, store, partition, listener));
+    }
+
+    private class Subscription implements DefaultLifecycleObserver {
+        // Null for observeForever
+        private final Lifecycle lifecycle;
+        private final DataChange.Store store;
+        private final String partition;
+        private final Listener listener;
+        private DataChange pending;
+
+        Subscription(Lifecycle lifecycle, DataChange.Store store, String partition, Listener listener) {
+            this.lifecycle = lifecycle;
+            this.store = store;
+            this.partition = partition;
+            this.listener = listener;
+        }
+
+        void offer(DataChange change) {
+            if (change.getStore() != store || !change.affects(partition)) {
+                return;
+            }
+            if (lifecycle == null || lifecycle.getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+                listener.onChange(change);
+            } else {
+                pending = pending == null ? change : pending.merge(change);
+            }
+        }
+
+        @Override
+        public void onStart(@NonNull LifecycleOwner owner) {
+            if (pending != null) {
+                DataChange change = pending;
+                pending = null;
+                listener.onChange(change);
+            }
+        }
+
+        @Override
+        public void onDestroy(@NonNull LifecycleOwner owner) {
+            subscriptions.remove(this);
+            lifecycle.removeObserver(this);
+        }
+    }
+}
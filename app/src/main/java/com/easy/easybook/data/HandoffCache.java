@@ -0,0 +1,178 @@
+package com.easy.easybook.data;
+
+import android.content.Context;
+import android.content.Intent;
+
+import com.easy.easybook.concurrent.TaskScope;
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands services and bookings to the next screen by id instead of as Serializable extras.
+ *
+ * The sender keeps the object here and puts only its id in the Intent. The receiver finds it
+ * here, with no serialisation and no risk of an oversized transaction for a big cart. If the
+ * process was killed in between, the cache is empty and the receiver looks the id up in the
+ * stores instead, off the main thread.
+ */
+public class HandoffCache {
+
+    public static final String EXTRA_SERVICE_ID = "service_id";
+    public static final String EXTRA_SERVICE_IDS = "service_ids";
+    public static final String EXTRA_BOOKING_ID = "booking_id";
+
+    // Per type; a handoff is read within moments, so only the recent ones matter
+    private static final int MAX_ENTRIES = 64;
+
+    private static HandoffCache instance;
+
+    private final ServiceManager serviceManager;
+    private final LocalDataManager dataManager;
+    private final Map<String, Service> services = new Recent<>();
+    private final Map<String, Booking> bookings = new Recent<>();
+
+    private HandoffCache(Context context) {
+        serviceManager = ServiceManager.getInstance(context);
+        dataManager = LocalDataManager.getInstance(context);
+    }
+
+    public static synchronized HandoffCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new HandoffCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public void putService(Intent intent, Service service) {
+        remember(service);
+        intent.putExtra(EXTRA_SERVICE_ID, service.getId());
+    }
+
+    /** Hands over a list in order, e.g. a cart; duplicates are kept. */
+    public void putServices(Intent intent, List<Service> list) {
+        String[] ids = new String[list.size()];
+        for (int i = 0; i < ids.length; i++) {
+            remember(list.get(i));
+            ids[i] = list.get(i).getId();
+        }
+        intent.putExtra(EXTRA_SERVICE_IDS, ids);
+    }
+
+    public void putBooking(Intent intent, Booking booking) {
+        synchronized (bookings) {
+            bookings.put(booking.getId(), booking);
+        }
+        intent.putExtra(EXTRA_BOOKING_ID, booking.getId());
+    }
+
+    /** The service if it is in memory, else null. Never touches the stores. */
+    public Service peekService(String serviceId) {
+        synchronized (services) {
+            return serviceId != null ? services.get(serviceId) : null;
+        }
+    }
+
+    /**
+     * Calls onResolved with the service handed over in intent: at once if it is in memory,
+     * otherwise after a catalog and cart lookup on scope. Null if there is none.
+     */
+    public void resolveService(Intent intent, TaskScope scope, TaskScope.Callback<Service> onResolved) {
+        final String serviceId = intent.getStringExtra(EXTRA_SERVICE_ID);
+        Service service = peekService(serviceId);
+        if (service != null || serviceId == null) {
+            onResolved.onResult(service);
+            return;
+        }
+        scope.load(() -> {
+            List<Service> found = lookUpServices(Collections.singletonList(serviceId));
+            return found.isEmpty() ? null : found.get(0);
+        }, onResolved);
+    }
+
+    /**
+     * Like {@link #resolveService} for a list handed over with {@link #putServices}. Ids that
+     * no longer exist are left out.
+     */
+    public void resolveServices(Intent intent, TaskScope scope, TaskScope.Callback<List<Service>> onResolved) {
+        String[] ids = intent.getStringArrayExtra(EXTRA_SERVICE_IDS);
+        if (ids == null) {
+            onResolved.onResult(Collections.<Service>emptyList());
+            return;
+        }
+        List<Service> inMemory = new ArrayList<>(ids.length);
+        synchronized (services) {
+            for (String id : ids) {
+                Service service = services.get(id);
+                if (service == null) {
+                    break;
+                }
+                inMemory.add(service);
+            }
+        }
+        if (inMemory.size() == ids.length) {
+            onResolved.onResult(inMemory);
+            return;
+        }
+        final List<String> wanted = new ArrayList<>();
+        Collections.addAll(wanted, ids);
+        scope.load(() -> lookUpServices(wanted), onResolved);
+    }
+
+    /** Like {@link #resolveService} for a booking, looked up in the local bookings. */
+    public void resolveBooking(Intent intent, TaskScope scope, TaskScope.Callback<Booking> onResolved) {
+        final String bookingId = intent.getStringExtra(EXTRA_BOOKING_ID);
+        Booking booking;
+        synchronized (bookings) {
+            booking = bookingId != null ? bookings.get(bookingId) : null;
+        }
+        if (booking != null || bookingId == null) {
+            onResolved.onResult(booking);
+            return;
+        }
+        scope.load(() -> dataManager.getBooking(bookingId), onResolved);
+    }
+
+    private void remember(Service service) {
+        synchronized (services) {
+            services.put(service.getId(), service);
+        }
+    }
+
+    // Cart entries win: they are what was added, even if the catalog has moved on since
+    private List<Service> lookUpServices(List<String> ids) {
+        Map<String, Service> byId = new HashMap<>();
+        for (Service service : serviceManager.getAllServices()) {
+            byId.put(service.getId(), service);
+        }
+        for (Service service : dataManager.getCart()) {
+            byId.put(service.getId(), service);
+        }
+        List<Service> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Service service = byId.get(id);
+            if (service != null) {
+                found.add(service);
+                remember(service);
+            }
+        }
+        return found;
+    }
+
+    private static final class Recent<V> extends LinkedHashMap<String, V> {
+        Recent() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    }
+}
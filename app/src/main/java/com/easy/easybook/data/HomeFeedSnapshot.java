@@ -0,0 +1,126 @@
+package com.easy.easybook.data;
+
+import com.easy.easybook.models.ServiceCategory;
+import com.easy.easybook.models.ServiceItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What the home screen last showed: the welcome line, the categories and the featured cards,
+ * with only the fields those views bind. Rendered on the next launch before the catalog loads.
+ */
+public final class HomeFeedSnapshot {
+
+    // Bump when the fields change; older snapshots are then ignored rather than half-read
+    static final int FORMAT_VERSION = 1;
+
+    private int version;
+    private String welcomeText;
+    private List<Category> categories;
+    private List<Featured> featured;
+
+    private HomeFeedSnapshot() {
+    }
+
+    public static HomeFeedSnapshot of(String welcomeText, List<ServiceCategory> categories,
+                                      List<ServiceItem> featured) {
+        HomeFeedSnapshot snapshot = new HomeFeedSnapshot();
+        snapshot.version = FORMAT_VERSION;
+        snapshot.welcomeText = welcomeText;
+        snapshot.categories = new ArrayList<>(categories.size());
+        for (ServiceCategory category : categories) {
+            snapshot.categories.add(new Category(category));
+        }
+        snapshot.featured = new ArrayList<>(featured.size());
+        for (ServiceItem item : featured) {
+            snapshot.featured.add(new Featured(item));
+        }
+        return snapshot;
+    }
+
+    boolean isReadable() {
+        return version == FORMAT_VERSION && categories != null && featured != null;
+    }
+
+    /** Null if the welcome line wasn't known when the snapshot was taken. */
+    public String getWelcomeText() {
+        return welcomeText;
+    }
+
+    public List<ServiceCategory> getCategories() {
+        List<ServiceCategory> result = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            result.add(category.toModel());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public List<ServiceItem> getFeatured() {
+        List<ServiceItem> result = new ArrayList<>(featured.size());
+        for (Featured item : featured) {
+            result.add(item.toModel());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static final class Category {
+        private String name;
+        private String description;
+
+        Category(ServiceCategory category) {
+            this.name = category.getName();
+            this.description = category.getDescription();
+        }
+
+        ServiceCategory toModel() {
+            ServiceCategory category = new ServiceCategory();
+            category.setName(name);
+            category.setDescription(description);
+            return category;
+        }
+    }
+
+    private static final class Featured {
+        private String id;
+        private String name;
+        private String description;
+        private String category;
+        private double price;
+        private String duration;
+        private float rating;
+        private int reviewCount;
+        private String imageUrl;
+
+        Featured(ServiceItem item) {
+            this.id = item.getId();
+            this.name = item.getName();
+            this.description = item.getDescription();
+            this.category = item.getCategory();
+            this.price = item.getPrice();
+            this.duration = item.getDuration();
+            this.rating = item.getRating();
+            this.reviewCount = item.getReviewCount();
+            this.imageUrl = item.getImageUrl();
+        }
+
+        ServiceItem toModel() {
+            ServiceItem item = new ServiceItem();
+            item.setId(id);
+            item.setName(name);
+            item.setDescription(description);
+            item.setCategory(category);
+            item.setPrice(price);
+            item.setDuration(duration);
+            item.setRating(rating);
+            item.setReviewCount(reviewCount);
+            item.setAvailable(true);
+            item.setFeatured(true);
+            if (imageUrl != null) {
+                item.setImages(Collections.singletonList(imageUrl));
+            }
+            return item;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.easy.easybook.data;
+
+import android.content.Context;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The last home feed per user, one small JSON file each. The last snapshot read or written
+ * stays in memory, so once start-up has loaded it the home screen gets it without touching
+ * disk. Load and save block: call them from a background thread.
+ */
+public class HomeFeedSnapshotStore {
+    private static HomeFeedSnapshotStore instance;
+
+    private final File dir;
+    private final Gson gson = new Gson();
+    // The snapshot in memory and whose it is; json is what's on disk, to skip identical saves
+    private String cachedKey;
+    private HomeFeedSnapshot cached;
+    private String cachedJson;
+
+    HomeFeedSnapshotStore(File dir) {
+        this.dir = dir;
+    }
+
+    public static synchronized HomeFeedSnapshotStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new HomeFeedSnapshotStore(new File(context.getApplicationContext().getFilesDir(), "home_feed"));
+        }
+        return instance;
+    }
+
+    /** The user's snapshot if it is already in memory, else null. Never reads the disk. */
+    public synchronized HomeFeedSnapshot peek(String userId) {
+        return keyOf(userId).equals(cachedKey) ? cached : null;
+    }
+
+    /** The user's snapshot, read from disk if it isn't in memory. Null if there is none. */
+    public synchronized HomeFeedSnapshot load(String userId) {
+        String key = keyOf(userId);
+        if (key.equals(cachedKey)) {
+            return cached;
+        }
+        String json = null;
+        HomeFeedSnapshot snapshot = null;
+        File file = fileFor(key);
+        if (file.exists()) {
+            try {
+                json = read(file);
+                snapshot = gson.fromJson(json, HomeFeedSnapshot.class);
+                if (snapshot != null && !snapshot.isReadable()) {
+                    snapshot = null;
+                }
+            } catch (IOException | JsonParseException e) {
+                // Only a head start; the screen loads the real feed anyway
+                snapshot = null;
+            }
+        }
+        cachedKey = key;
+        cached = snapshot;
+        cachedJson = snapshot != null ? json : null;
+        return snapshot;
+    }
+
+    /** Replaces the user's snapshot. Skips the write if nothing changed since the last one. */
+    public synchronized void save(String userId, HomeFeedSnapshot snapshot) throws IOException {
+        String key = keyOf(userId);
+        String json = gson.toJson(snapshot);
+        if (key.equals(cachedKey) && json.equals(cachedJson)) {
+            return;
+        }
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        // Write aside and rename, so a crash mid-write leaves the old snapshot intact
+        File file = fileFor(key);
+        File temp = new File(dir, key + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+        cachedKey = key;
+        cached = snapshot;
+        cachedJson = json;
+    }
+
+    private File fileFor(String key) {
+        return new File(dir, key + ".json");
+    }
+
+    private static String keyOf(String userId) {
+        return userId == null || userId.isEmpty() ? "guest" : userId.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private static String read(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        try (InputStream in = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                int read = in.read(bytes, offset, bytes.length - offset);
+                if (read < 0) {
+                    break;
+                }
+                offset += read;
+            }
+            return new String(bytes, 0, offset, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -9,10 +9,13 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * Local data manager using SharedPreferences for offline functionality
+ * Local data manager using SharedPreferences for offline functionality.
+ * Booking and service writes are published on {@link DataChangeBus}.
  */
 public class LocalDataManager {
     private static final String PREFS_NAME = "EasyBookPrefs";
@@ -25,9 +28,16 @@ public class LocalDataManager {
     private static LocalDataManager instance;
     private SharedPreferences prefs;
     private Gson gson;
+    private final DataChangeBus changes;
     
     private LocalDataManager(Context context) {
-        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this(context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE), DataChangeBus.getInstance());
+    }
+
+    // For JVM tests
+    LocalDataManager(SharedPreferences prefs, DataChangeBus changes) {
+        this.prefs = prefs;
+        this.changes = changes;
         gson = new Gson();
     }
     
@@ -60,7 +70,9 @@ public class LocalDataManager {
     public void saveBooking(Booking booking) {
         List<Booking> bookings = getAllBookings();
         bookings.add(booking);
-        saveBookings(bookings);
+        writeBookings(bookings);
+        publish(new DataChange.Builder(DataChange.Store.BOOKINGS)
+                .inserted(booking.getId(), partitionsOf(booking)).build());
     }
     
     public List<Booking> getAllBookings() {
@@ -100,13 +112,77 @@ public class LocalDataManager {
         for (Booking booking : bookings) {
             if (booking.getId().equals(bookingId)) {
                 booking.setStatus(status);
-                break;
+                writeBookings(bookings);
+                publish(new DataChange.Builder(DataChange.Store.BOOKINGS)
+                        .updated(bookingId, partitionsOf(booking)).build());
+                return;
             }
         }
-        saveBookings(bookings);
     }
     
+    public Booking getBooking(String bookingId) {
+        for (Booking booking : getAllBookings()) {
+            if (bookingId.equals(booking.getId())) {
+                return booking;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the booking stored under oldId (e.g. a local placeholder id) or adds it if missing.
+     */
+    public void replaceBooking(String oldId, Booking booking) {
+        List<Booking> bookings = getAllBookings();
+        Booking old = null;
+        for (int i = 0; i < bookings.size(); i++) {
+            if (oldId.equals(bookings.get(i).getId())) {
+                old = bookings.set(i, booking);
+                break;
+            }
+        }
+        if (old == null) {
+            bookings.add(booking);
+        }
+        writeBookings(bookings);
+
+        DataChange.Builder change = new DataChange.Builder(DataChange.Store.BOOKINGS);
+        if (old == null) {
+            change.inserted(booking.getId(), partitionsOf(booking));
+        } else if (oldId.equals(booking.getId())) {
+            // The new version may belong to another provider or category, so it counts for both
+            change.updated(oldId, partitionsOf(old)).updated(oldId, partitionsOf(booking));
+        } else {
+            change.deleted(oldId, partitionsOf(old)).inserted(booking.getId(), partitionsOf(booking));
+        }
+        publish(change.build());
+    }
+
+    public void removeBooking(String bookingId) {
+        List<Booking> bookings = getAllBookings();
+        for (int i = 0; i < bookings.size(); i++) {
+            if (bookingId.equals(bookings.get(i).getId())) {
+                Booking removed = bookings.remove(i);
+                writeBookings(bookings);
+                publish(new DataChange.Builder(DataChange.Store.BOOKINGS)
+                        .deleted(bookingId, partitionsOf(removed)).build());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces the whole booking list. What changed is worked out against the stored list,
+     * so prefer the single-booking methods when only one booking changes.
+     */
     public void saveBookings(List<Booking> bookings) {
+        DataChange change = DataChange.diff(DataChange.Store.BOOKINGS, getAllBookings(), bookings,
+                Booking::getId, LocalDataManager::partitionsOf, this::sameJson);
+        writeBookings(bookings);
+        publish(change);
+    }
+
+    private void writeBookings(List<Booking> bookings) {
         String bookingsJson = gson.toJson(bookings);
         prefs.edit().putString(KEY_BOOKINGS, bookingsJson).apply();
     }
@@ -163,10 +239,12 @@ public class LocalDataManager {
                 booking.setRating(rating);
                 booking.setRatingComment(comment);
                 booking.setStatus("completed");
-                break;
+                writeBookings(bookings);
+                publish(new DataChange.Builder(DataChange.Store.BOOKINGS)
+                        .updated(bookingId, partitionsOf(booking)).build());
+                return;
             }
         }
-        saveBookings(bookings);
     }
     
     // Statistics
@@ -208,10 +286,13 @@ public class LocalDataManager {
             List<Service> services = getAllServices();
             
             // Update or add
+            DataChange.Builder change = new DataChange.Builder(DataChange.Store.SERVICES);
             boolean found = false;
             for (int i = 0; i < services.size(); i++) {
                 if (services.get(i).getId().equals(service.getId())) {
-                    services.set(i, service);
+                    Service old = services.set(i, service);
+                    change.updated(service.getId(), partitionsOf(old))
+                            .updated(service.getId(), partitionsOf(service));
                     found = true;
                     break;
                 }
@@ -219,9 +300,11 @@ public class LocalDataManager {
             
             if (!found) {
                 services.add(service);
+                change.inserted(service.getId(), partitionsOf(service));
             }
             
             saveServices(services);
+            publish(change.build());
             return true;
         } catch (Exception e) {
             return false;
@@ -231,8 +314,15 @@ public class LocalDataManager {
     public boolean deleteService(String serviceId) {
         try {
             List<Service> services = getAllServices();
+            DataChange.Builder change = new DataChange.Builder(DataChange.Store.SERVICES);
+            for (Service service : services) {
+                if (service.getId().equals(serviceId)) {
+                    change.deleted(serviceId, partitionsOf(service));
+                }
+            }
             services.removeIf(service -> service.getId().equals(serviceId));
             saveServices(services);
+            publish(change.build());
             return true;
         } catch (Exception e) {
             return false;
@@ -243,4 +333,34 @@ public class LocalDataManager {
         String servicesJson = gson.toJson(services);
         prefs.edit().putString(KEY_SERVICES, servicesJson).apply();
     }
+
+    // Change notifications
+
+    private void publish(DataChange change) {
+        changes.publish(change);
+    }
+
+    private static Collection<String> partitionsOf(Booking booking) {
+        List<String> partitions = new ArrayList<>(3);
+        if (booking.getCustomerId() != null) {
+            partitions.add(DataChange.customer(booking.getCustomerId()));
+        }
+        if (booking.getProviderId() != null) {
+            partitions.add(DataChange.provider(booking.getProviderId()));
+        }
+        if (booking.getServiceCategory() != null) {
+            partitions.add(DataChange.category(booking.getServiceCategory()));
+        }
+        return partitions;
+    }
+
+    private static Collection<String> partitionsOf(Service service) {
+        return service.getCategory() != null
+                ? Collections.singletonList(DataChange.category(service.getCategory()))
+                : Collections.<String>emptyList();
+    }
+
+    private boolean sameJson(Object a, Object b) {
+        return gson.toJsonTree(a).equals(gson.toJsonTree(b));
+    }
 }
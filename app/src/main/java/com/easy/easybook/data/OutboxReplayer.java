@@ -0,0 +1,128 @@
+package com.easy.easybook.data;
+
+import com.easy.easybook.concurrent.AppExecutors;
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.PendingMutation;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.BookingTransitions;
+import com.easy.easybook.network.responses.BookingResponse;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Sends one outbox mutation at a time and resolves it against the response: success merges the
+ * server's booking, a permanent refusal rejects it, anything transient leaves it for a retry.
+ * MyWorker drives it in batches; it has no Android dependencies so it can be tested on the JVM.
+ */
+public class OutboxReplayer {
+
+    private final BookingOutbox outbox;
+    private final ApiService apiService;
+    private final String authHeader;
+
+    public OutboxReplayer(BookingOutbox outbox, ApiService apiService, String authHeader) {
+        this.outbox = outbox;
+        this.apiService = apiService;
+        this.authHeader = authHeader;
+    }
+
+    /**
+     * Sends one mutation. Returns false if it should be retried later.
+     */
+    public boolean replay(PendingMutation mutation) {
+        String bookingId = mutation.getBookingId();
+        if ((bookingId != null && BookingOutbox.isDeviceOnly(bookingId))
+                || (PendingMutation.TYPE_STATUS.equals(mutation.getType()) && transitionFor(mutation) == null)) {
+            // Queued before the outbox kept these out; nothing can succeed remotely, and the
+            // rejection must not undo the local change
+            complete(mutation, null);
+            return true;
+        }
+        if (bookingId != null && bookingId.startsWith(BookingOutbox.LOCAL_ID_PREFIX)
+                && !PendingMutation.TYPE_CREATE.equals(mutation.getType())) {
+            if (!outbox.hasPendingCreate(bookingId)) {
+                // The create was refused, so the booking only exists here; the change stands locally
+                complete(mutation, null);
+                return true;
+            }
+            // The booking's create hasn't been confirmed yet, so there is no server id to target
+            outbox.retryLater(mutation, "Waiting for booking to be created");
+            return false;
+        }
+
+        Call<BookingResponse> call = buildCall(mutation);
+        if (call == null) {
+            reject(mutation, "Unknown mutation type " + mutation.getType());
+            return true;
+        }
+
+        try {
+            Response<BookingResponse> response = call.execute();
+            if (response.isSuccessful()) {
+                BookingResponse body = response.body();
+                complete(mutation, body != null ? body.getBooking() : null);
+                return true;
+            }
+            int code = response.code();
+            // 409: the server is still processing the same Idempotency-Key
+            if (code >= 500 || code == 408 || code == 409 || code == 429) {
+                outbox.retryLater(mutation, "HTTP " + code);
+                return false;
+            }
+            reject(mutation, "HTTP " + code);
+            return true;
+        } catch (IOException e) {
+            outbox.retryLater(mutation, e.getMessage());
+            return false;
+        }
+    }
+
+    // complete() and reject() rewrite LocalDataManager, so they queue behind screen writes
+
+    private void complete(PendingMutation mutation, Booking serverBooking) {
+        onLocalData(() -> outbox.complete(mutation, serverBooking));
+    }
+
+    private void reject(PendingMutation mutation, String error) {
+        onLocalData(() -> outbox.reject(mutation, error));
+    }
+
+    private static void onLocalData(Runnable write) {
+        try {
+            AppExecutors.getInstance().awaitLocalData(() -> {
+                write.run();
+                return null;
+            });
+        } catch (InterruptedException e) {
+            // The write still runs; the worker is being stopped and will be retried
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Call<BookingResponse> buildCall(PendingMutation mutation) {
+        JsonObject body = JsonParser.parseString(mutation.getPayload()).getAsJsonObject();
+        switch (mutation.getType()) {
+            case PendingMutation.TYPE_CREATE:
+                return apiService.createBooking(authHeader, mutation.getId(), body);
+            case PendingMutation.TYPE_STATUS:
+                String action = transitionFor(mutation);
+                return apiService.transitionBooking(authHeader, mutation.getId(), mutation.getBookingId(),
+                        action, BookingTransitions.bodyFor(action));
+            case PendingMutation.TYPE_RATING:
+                return apiService.addRating(authHeader, mutation.getId(), mutation.getBookingId(), body);
+            default:
+                return null;
+        }
+    }
+
+    // The payload records the status the app set; the backend only has a route per transition
+    private static String transitionFor(PendingMutation mutation) {
+        JsonObject payload = JsonParser.parseString(mutation.getPayload()).getAsJsonObject();
+        return BookingTransitions.actionFor(payload.has("status") ? payload.get("status").getAsString() : null);
+    }
+}
@@ -44,6 +44,18 @@ public class ServiceManager {
         return removeDuplicates(allServices);
     }
     
+    /**
+     * Get a service by ID (seed data or admin-added), or null
+     */
+    public Service getServiceById(String serviceId) {
+        for (Service service : getAllServices()) {
+            if (service.getId().equals(serviceId)) {
+                return service;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Get services by category
      */
@@ -0,0 +1,116 @@
+package com.easy.easybook.data.paging;
+
+import com.easy.easybook.models.ApiResponse;
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.Service;
+import com.easy.easybook.network.responses.BookingsResponse;
+import com.easy.easybook.network.responses.ServicesResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Pages straight from one of the page/limit endpoints, e.g.
+ * {@code ApiPageSource.services((page, limit) -> api.getProviderServices(token, "all", page, limit))}.
+ */
+public class ApiPageSource<R, T> implements PageSource<T> {
+
+    public interface CallFactory<R> {
+        Call<R> create(int page, int limit);
+    }
+
+    public interface Reader<R, T> {
+        List<T> items(R body);
+
+        ApiResponse.Pagination pagination(R body);
+    }
+
+    private final CallFactory<R> callFactory;
+    private final Reader<R, T> reader;
+    private final Set<Call<R>> running = Collections.newSetFromMap(new ConcurrentHashMap<Call<R>, Boolean>());
+
+    public ApiPageSource(CallFactory<R> callFactory, Reader<R, T> reader) {
+        this.callFactory = callFactory;
+        this.reader = reader;
+    }
+
+    public static ApiPageSource<ServicesResponse, Service> services(CallFactory<ServicesResponse> callFactory) {
+        return new ApiPageSource<>(callFactory, new Reader<ServicesResponse, Service>() {
+            @Override
+            public List<Service> items(ServicesResponse body) {
+                return body.getServices();
+            }
+
+            @Override
+            public ApiResponse.Pagination pagination(ServicesResponse body) {
+                return body.getPagination();
+            }
+        });
+    }
+
+    public static ApiPageSource<BookingsResponse, Booking> bookings(CallFactory<BookingsResponse> callFactory) {
+        return new ApiPageSource<>(callFactory, new Reader<BookingsResponse, Booking>() {
+            @Override
+            public List<Booking> items(BookingsResponse body) {
+                return body.getBookings();
+            }
+
+            @Override
+            public ApiResponse.Pagination pagination(BookingsResponse body) {
+                return body.getPagination();
+            }
+        });
+    }
+
+    @Override
+    public void loadPage(int page, final int pageSize, final PageCallback<T> callback) {
+        Call<R> call = callFactory.create(page, pageSize);
+        running.add(call);
+        call.enqueue(new Callback<R>() {
+            @Override
+            public void onResponse(Call<R> call, Response<R> response) {
+                running.remove(call);
+                if (!response.isSuccessful() || response.body() == null) {
+                    callback.onPageFailed("HTTP " + response.code());
+                    return;
+                }
+                List<T> items = reader.items(response.body());
+                if (items == null) {
+                    items = new ArrayList<>();
+                }
+                ApiResponse.Pagination pagination = reader.pagination(response.body());
+                if (pagination == null) {
+                    // No paging info: a short page is the last one
+                    callback.onPageLoaded(items, UNKNOWN_COUNT, items.size() >= pageSize);
+                    return;
+                }
+                int total = pagination.getTotalItems() > 0 || items.isEmpty()
+                        ? pagination.getTotalItems() : UNKNOWN_COUNT;
+                callback.onPageLoaded(items, total, pagination.hasNext());
+            }
+
+            @Override
+            public void onFailure(Call<R> call, Throwable t) {
+                running.remove(call);
+                if (!call.isCanceled()) {
+                    callback.onPageFailed(t.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void cancel() {
+        for (Call<R> call : running) {
+            call.cancel();
+        }
+        running.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package com.easy.easybook.data.paging;
+
+import com.easy.easybook.concurrent.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Pages over the result of a local query (LocalDataManager, ServiceManager).
+ * The query runs once, off the main thread, on the first page; later pages slice
+ * that snapshot so rows don't shift under the user while they scroll.
+ */
+public class ListPageSource<T> implements PageSource<T> {
+
+    public interface Query<T> {
+        List<T> run();
+    }
+
+    private final Query<T> query;
+    // Local queries decode SharedPreferences JSON, keep that off the main thread
+    private final Executor executor = AppExecutors.getInstance().localData();
+    private volatile List<T> snapshot;
+    private volatile boolean cancelled;
+
+    public ListPageSource(Query<T> query) {
+        this.query = query;
+    }
+
+    @Override
+    public void loadPage(final int page, final int pageSize, final PageCallback<T> callback) {
+        executor.execute(() -> {
+            if (cancelled) {
+                return;
+            }
+            try {
+                List<T> all = snapshot();
+                int from = Math.min(all.size(), (page - 1) * pageSize);
+                int to = Math.min(all.size(), from + pageSize);
+                callback.onPageLoaded(new ArrayList<>(all.subList(from, to)), all.size(), to < all.size());
+            } catch (RuntimeException e) {
+                callback.onPageFailed(e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Only ever called on executor, which runs one task at a time
+    private List<T> snapshot() {
+        if (snapshot == null) {
+            List<T> result = query.run();
+            snapshot = result != null ? result : new ArrayList<T>();
+        }
+        return snapshot;
+    }
+}
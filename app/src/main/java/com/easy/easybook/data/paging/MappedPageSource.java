@@ -0,0 +1,56 @@
+package com.easy.easybook.data.paging;
+
+import com.easy.easybook.concurrent.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Converts each page of another source as it arrives, e.g. models into display rows, so the
+ * PagedList only ever holds converted items. The conversion runs on the cpu pool because some
+ * sources (Retrofit) call back on the main thread.
+ */
+public class MappedPageSource<S, T> implements PageSource<T> {
+
+    private final PageSource<S> source;
+    private final Function<S, T> mapper;
+
+    public MappedPageSource(PageSource<S> source, Function<S, T> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void loadPage(int page, int pageSize, final PageCallback<T> callback) {
+        source.loadPage(page, pageSize, new PageCallback<S>() {
+            @Override
+            public void onPageLoaded(final List<S> items, final int totalCount, final boolean hasMore) {
+                AppExecutors.getInstance().cpu().execute(() -> {
+                    List<T> mapped = new ArrayList<>(items != null ? items.size() : 0);
+                    try {
+                        if (items != null) {
+                            for (S item : items) {
+                                mapped.add(mapper.apply(item));
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        callback.onPageFailed(e.getMessage());
+                        return;
+                    }
+                    callback.onPageLoaded(mapped, totalCount, hasMore);
+                });
+            }
+
+            @Override
+            public void onPageFailed(String error) {
+                callback.onPageFailed(error);
+            }
+        });
+    }
+
+    @Override
+    public void cancel() {
+        source.cancel();
+    }
+}
@@ -0,0 +1,31 @@
+package com.easy.easybook.data.paging;
+
+import java.util.List;
+
+/**
+ * Loads one page of a list. Pages are 1-based, matching the backend's page/limit query.
+ * Callbacks may arrive on any thread; {@link PagedList} moves them to the main thread.
+ */
+public interface PageSource<T> {
+
+    /** Total size is not known up front, e.g. a source that only reports "has more". */
+    int UNKNOWN_COUNT = -1;
+
+    void loadPage(int page, int pageSize, PageCallback<T> callback);
+
+    /**
+     * Stops any load still running; late callbacks are ignored by the list anyway.
+     */
+    default void cancel() {
+    }
+
+    interface PageCallback<T> {
+        /**
+         * @param totalCount total items across all pages, or {@link #UNKNOWN_COUNT}
+         * @param hasMore whether a page after this one exists
+         */
+        void onPageLoaded(List<T> items, int totalCount, boolean hasMore);
+
+        void onPageFailed(String error);
+    }
+}
@@ -0,0 +1,330 @@
+package com.easy.easybook.data.paging;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * A list backed by a {@link PageSource} that only keeps a bounded number of pages in memory.
+ *
+ * {@link #get} returns null for rows whose page is not loaded yet (render those as placeholders)
+ * and asks for that page plus whatever lies within the prefetch distance. A page already being
+ * loaded is never requested twice, and the least recently used pages are dropped once more than
+ * {@link Config#maxCachedPages} are held; their rows turn back into placeholders until scrolled to.
+ *
+ * Not thread safe: call it from the main thread, which is also where changes are reported.
+ */
+public class PagedList<T> extends AbstractList<T> {
+
+    public static class Config {
+        public final int pageSize;
+        public final int prefetchDistance;
+        public final int maxCachedPages;
+
+        /**
+         * @param prefetchDistance how many rows ahead of (and behind) the bound row to have loaded
+         * @param maxCachedPages pages kept in memory; at least enough to cover the screen plus prefetch
+         */
+        public Config(int pageSize, int prefetchDistance, int maxCachedPages) {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("pageSize must be positive");
+            }
+            this.pageSize = pageSize;
+            this.prefetchDistance = Math.max(0, prefetchDistance);
+            // Never fewer pages than one bind can ask for (its page plus prefetch either side),
+            // otherwise binding a row would evict a page the next row needs again
+            int prefetchPages = (this.prefetchDistance + pageSize - 1) / pageSize;
+            this.maxCachedPages = Math.max(2 * prefetchPages + 2, maxCachedPages);
+        }
+    }
+
+    /** Row changes, in RecyclerView.Adapter notify terms. See {@link PagedListAdapterCallback}. */
+    public interface Callback {
+        void onItemRangeChanged(int positionStart, int itemCount);
+
+        void onItemRangeInserted(int positionStart, int itemCount);
+
+        void onItemRangeRemoved(int positionStart, int itemCount);
+    }
+
+    public interface LoadStateListener {
+        /**
+         * @param error message of the last failed load, or null
+         */
+        void onLoadStateChanged(boolean loading, String error);
+    }
+
+    private final PageSource<T> source;
+    private final Config config;
+    private final Executor mainThread;
+
+    // Access ordered, so iteration starts at the least recently bound page
+    private final LinkedHashMap<Integer, List<T>> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Integer> inFlight = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>();
+
+    private int count;
+    private boolean countKnown;
+    private int loadedEnd;
+    private boolean endReached;
+    private boolean initialLoadDone;
+    private boolean closed;
+    private String lastError;
+
+    private Callback callback;
+    private LoadStateListener loadStateListener;
+
+    public PagedList(PageSource<T> source, Config config) {
+        this(source, config, new MainThreadExecutor());
+    }
+
+    public PagedList(PageSource<T> source, Config config, Executor mainThread) {
+        this.source = source;
+        this.config = config;
+        this.mainThread = mainThread;
+        requestPage(1);
+    }
+
+    public void setCallback(Callback callback) {
+        this.callback = callback;
+    }
+
+    public void setLoadStateListener(LoadStateListener loadStateListener) {
+        this.loadStateListener = loadStateListener;
+    }
+
+    /**
+     * Rows the adapter should show, placeholders included.
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * The item at this row, or null while its page is loading. Also schedules loads
+     * for the row's page and the pages within the prefetch distance.
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + count);
+        }
+        int page = pageOf(index);
+        List<T> items = pages.get(page);
+        if (items == null) {
+            requestPage(page);
+        }
+        int ahead = index + config.prefetchDistance;
+        if (ahead >= count && !countKnown && !endReached) {
+            requestPage(pageOf(loadedEnd));
+        } else {
+            requestPage(pageOf(Math.min(ahead, count - 1)));
+        }
+        requestPage(pageOf(Math.max(0, index - config.prefetchDistance)));
+
+        int offset = index - (page - 1) * config.pageSize;
+        return items != null && offset < items.size() ? items.get(offset) : null;
+    }
+
+    /**
+     * The item if its page is in memory, without loading anything.
+     */
+    public T peek(int index) {
+        if (index < 0 || index >= count) {
+            return null;
+        }
+        List<T> items = pages.get(pageOf(index));
+        int offset = index - (pageOf(index) - 1) * config.pageSize;
+        return items != null && offset < items.size() ? items.get(offset) : null;
+    }
+
+    /**
+     * Searches loaded pages only; unloaded rows are never fetched just to look for an item.
+     */
+    @Override
+    public int indexOf(Object item) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            int offset = entry.getValue().indexOf(item);
+            if (offset >= 0) {
+                return (entry.getKey() - 1) * config.pageSize + offset;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object item) {
+        return indexOf(item) >= 0;
+    }
+
+    /**
+     * Iterates over loaded items only, in no particular order.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        List<T> loaded = new ArrayList<>();
+        for (List<T> items : pages.values()) {
+            loaded.addAll(items);
+        }
+        return loaded.iterator();
+    }
+
+    public boolean isLoading() {
+        return !inFlight.isEmpty();
+    }
+
+    /** True once the first page has come back, so an empty list really means "no items". */
+    public boolean isInitialLoadDone() {
+        return initialLoadDone;
+    }
+
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    public int getPageSize() {
+        return config.pageSize;
+    }
+
+    /**
+     * Asks again for every page whose last load failed.
+     */
+    public void retry() {
+        List<Integer> retry = new ArrayList<>(failed);
+        failed.clear();
+        lastError = null;
+        for (int page : retry) {
+            requestPage(page);
+        }
+    }
+
+    /**
+     * Stops loading; callbacks still on their way are dropped. Build a new list to start over.
+     */
+    public void close() {
+        closed = true;
+        source.cancel();
+        callback = null;
+        loadStateListener = null;
+    }
+
+    private int pageOf(int index) {
+        return index / config.pageSize + 1;
+    }
+
+    private void requestPage(final int page) {
+        if (closed || pages.containsKey(page) || inFlight.contains(page) || failed.contains(page)) {
+            return;
+        }
+        if ((countKnown || endReached) && (page - 1) * config.pageSize >= Math.max(count, 1)) {
+            return;
+        }
+        inFlight.add(page);
+        if (inFlight.size() == 1) {
+            notifyLoadState();
+        }
+        source.loadPage(page, config.pageSize, new PageSource.PageCallback<T>() {
+            @Override
+            public void onPageLoaded(final List<T> items, final int totalCount, final boolean hasMore) {
+                mainThread.execute(() -> onLoaded(page, items, totalCount, hasMore));
+            }
+
+            @Override
+            public void onPageFailed(final String error) {
+                mainThread.execute(() -> onFailed(page, error));
+            }
+        });
+    }
+
+    private void onLoaded(int page, List<T> items, int totalCount, boolean hasMore) {
+        inFlight.remove(page);
+        if (closed) {
+            return;
+        }
+        List<T> loaded = items != null ? items : Collections.<T>emptyList();
+        pages.put(page, loaded);
+        trimCache();
+
+        int start = (page - 1) * config.pageSize;
+        int end = start + loaded.size();
+        loadedEnd = Math.max(loadedEnd, end);
+        int oldCount = count;
+        int newCount;
+        if (totalCount >= 0) {
+            countKnown = true;
+            newCount = totalCount;
+        } else {
+            if (!hasMore && end >= loadedEnd) {
+                endReached = true;
+            } else if (hasMore && end >= loadedEnd) {
+                endReached = false;
+            }
+            // Until the end is known, one page of placeholders trails the loaded rows
+            newCount = endReached ? loadedEnd : loadedEnd + config.pageSize;
+        }
+        count = newCount;
+        initialLoadDone = true;
+
+        if (callback != null) {
+            int changed = Math.min(end, Math.min(oldCount, newCount)) - start;
+            if (changed > 0) {
+                callback.onItemRangeChanged(start, changed);
+            }
+            if (newCount > oldCount) {
+                callback.onItemRangeInserted(oldCount, newCount - oldCount);
+            } else if (newCount < oldCount) {
+                callback.onItemRangeRemoved(newCount, oldCount - newCount);
+            }
+        }
+        if (inFlight.isEmpty()) {
+            notifyLoadState();
+        }
+    }
+
+    private void onFailed(int page, String error) {
+        inFlight.remove(page);
+        if (closed) {
+            return;
+        }
+        failed.add(page);
+        lastError = error;
+        initialLoadDone = initialLoadDone || page == 1;
+        if (inFlight.isEmpty()) {
+            notifyLoadState();
+        }
+    }
+
+    private void trimCache() {
+        Iterator<Integer> eldest = pages.keySet().iterator();
+        while (pages.size() > config.maxCachedPages && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private void notifyLoadState() {
+        if (loadStateListener != null) {
+            loadStateListener.onLoadStateChanged(isLoading(), lastError);
+        }
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+    }
+}
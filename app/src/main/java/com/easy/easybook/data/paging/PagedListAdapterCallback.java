@@ -0,0 +1,30 @@
+package com.easy.easybook.data.paging;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Forwards {@link PagedList} row changes to a RecyclerView adapter that reads from the list.
+ */
+public class PagedListAdapterCallback implements PagedList.Callback {
+
+    private final RecyclerView.Adapter<?> adapter;
+
+    public PagedListAdapterCallback(RecyclerView.Adapter<?> adapter) {
+        this.adapter = adapter;
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        adapter.notifyItemRangeChanged(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        adapter.notifyItemRangeInserted(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        adapter.notifyItemRangeRemoved(positionStart, itemCount);
+    }
+}
@@ -7,27 +7,73 @@ import androidx.annotation.NonNull;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
 
+import com.easy.easybook.data.BookingOutbox;
+import com.easy.easybook.data.OutboxReplayer;
+import com.easy.easybook.models.PendingMutation;
+import com.easy.easybook.network.ApiClient;
+import com.easy.easybook.network.ApiConfig;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.scheduling.RequestPriority;
+import com.easy.easybook.network.scheduling.RequestScheduler;
+import com.easy.easybook.utils.SharedPrefsManager;
+
+import java.util.List;
+
+/**
+ * Replays the booking outbox once the device is online.
+ *
+ * Mutations are sent oldest first in batches of BATCH_SIZE, each with its own Idempotency-Key,
+ * so a replay after a lost response can't create or cancel a booking twice. The first transient
+ * failure stops the run and hands back to WorkManager's exponential backoff. Sending and
+ * resolving each mutation is {@link OutboxReplayer}'s job.
+ */
 public class MyWorker extends Worker {
-    
+
     private static final String TAG = "MyWorker";
-    
+    private static final int BATCH_SIZE = 20;
+    // Upper bound per run so one wake-up can't hold the radio indefinitely
+    private static final int MAX_BATCHES_PER_RUN = 5;
+
     public MyWorker(@NonNull Context context, @NonNull WorkerParameters params) {
         super(context, params);
     }
-    
+
     @NonNull
     @Override
     public Result doWork() {
-        Log.d(TAG, "Performing long running task in scheduled job");
-        
-        // TODO: Add long running task here.
+        BookingOutbox outbox = BookingOutbox.getInstance(getApplicationContext());
+        ApiService apiService = ApiClient.getInstance(getApplicationContext()).getApiService();
+        String token = SharedPrefsManager.getInstance(getApplicationContext()).getAuthToken();
+        String authHeader = token != null ? ApiConfig.BEARER + token : null;
+
+        OutboxReplayer replayer = new OutboxReplayer(outbox, apiService, authHeader);
+
+        int sent = 0;
+        // Replays run in the background lane so they never hold up the user's own calls
+        RequestScheduler.setThreadPriority(RequestPriority.BACKGROUND);
         try {
-            // Simulate work
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            return Result.failure();
+            for (int round = 0; round < MAX_BATCHES_PER_RUN; round++) {
+                List<PendingMutation> batch = outbox.takeBatch(BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (PendingMutation mutation : batch) {
+                    if (isStopped()) {
+                        return Result.retry();
+                    }
+                    if (!replayer.replay(mutation)) {
+                        Log.d(TAG, "Replayed " + sent + " mutations before a transient failure");
+                        return Result.retry();
+                    }
+                    sent++;
+                }
+            }
+        } finally {
+            RequestScheduler.setThreadPriority(null);
+            outbox.releaseAll();
         }
-        
-        return Result.success();
+
+        Log.d(TAG, "Replayed " + sent + " booking mutations, " + outbox.getPendingCount() + " left");
+        return outbox.getPendingCount() > 0 ? Result.retry() : Result.success();
     }
 }
@@ -0,0 +1,53 @@
+package com.easy.easybook.images;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestOptions;
+
+/**
+ * App-wide Glide setup: cache sizes and the defaults every image request starts from.
+ */
+@GlideModule
+public final class EasyBookGlideModule extends AppGlideModule {
+
+    private static final String DISK_CACHE_DIR = "images";
+    private static final long DISK_CACHE_BYTES = 100L * 1024 * 1024;
+
+    // Decoded images for two screens' worth of views; three more screens of bitmaps kept for reuse
+    private static final float MEMORY_CACHE_SCREENS = 2;
+    private static final float BITMAP_POOL_SCREENS = 3;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator sizes = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(sizes.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(sizes.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_DIR, DISK_CACHE_BYTES));
+        builder.setDefaultRequestOptions(new RequestOptions()
+                // Keep the resized copies on disk too; bucketed sizes keep that to a few per image
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                // Service photos are opaque, so 565 halves their memory without visible loss
+                .format(DecodeFormat.PREFER_RGB_565));
+        builder.setLogLevel(Log.ERROR);
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
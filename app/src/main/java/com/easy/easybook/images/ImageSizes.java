@@ -0,0 +1,39 @@
+package com.easy.easybook.images;
+
+/**
+ * Rounds requested decode sizes up to a few fixed widths. Glide caches decoded images per
+ * size, so without this every view size and data mode would decode and keep its own copy;
+ * with it the lists, the preloader and later screens hit the same cache entries.
+ */
+final class ImageSizes {
+
+    static final int[] WIDTH_BUCKETS = {64, 128, 192, 256, 384, 512, 768, 1024, 1440};
+
+    // Thumbnails are decoded at a quarter of the full width, never below the smallest bucket
+    static final int THUMBNAIL_DIVISOR = 4;
+
+    private ImageSizes() {
+    }
+
+    static int bucketWidth(int widthPx) {
+        for (int bucket : WIDTH_BUCKETS) {
+            if (widthPx <= bucket) {
+                return bucket;
+            }
+        }
+        return WIDTH_BUCKETS[WIDTH_BUCKETS.length - 1];
+    }
+
+    /**
+     * Width and height to decode at for an image wanted {@code widthPx} wide, keeping
+     * {@code aspect} (height over width).
+     */
+    static int[] bucket(int widthPx, float aspect) {
+        int width = bucketWidth(widthPx);
+        return new int[]{width, Math.max(1, Math.round(width * aspect))};
+    }
+
+    static int[] thumbnail(int[] size) {
+        return bucket(size[0] / THUMBNAIL_DIVISOR, (float) size[1] / size[0]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.easy.easybook.images;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.widget.ImageView;
+
+import androidx.annotation.DimenRes;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.easy.easybook.network.budget.DataBudget;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads service images for one kind of view (a list row, a card) at that view's exact size.
+ *
+ * The size comes from dimension resources rather than from measuring, so the preloader can
+ * request the same image the row will bind before the row exists. It is scaled by the current
+ * {@link DataBudget} mode and rounded to a {@link ImageSizes} bucket. If the image is already
+ * in Glide's disk cache, a quarter-size thumbnail decoded from it shows first.
+ */
+public class ServiceImageLoader {
+
+    public interface UrlSource {
+        /** The image shown at an adapter position, or null if there is none (yet). */
+        @Nullable
+        String imageUrlAt(int position);
+    }
+
+    private final RequestManager glide;
+    private final DataBudget budget;
+    private final int displayWidthPx;
+    private final float aspect;
+    @DrawableRes
+    private final int placeholder;
+
+    public ServiceImageLoader(RequestManager glide, Context context, @DimenRes int widthRes,
+                              @DimenRes int heightRes, @DrawableRes int placeholder) {
+        this.glide = glide;
+        this.budget = DataBudget.getInstance(context);
+        this.displayWidthPx = context.getResources().getDimensionPixelSize(widthRes);
+        this.aspect = (float) context.getResources().getDimensionPixelSize(heightRes) / displayWidthPx;
+        this.placeholder = placeholder;
+    }
+
+    /** Binds url into view, or the placeholder if there is no image. */
+    public void into(ImageView view, @Nullable String url) {
+        if (url == null || url.isEmpty()) {
+            glide.clear(view);
+            view.setImageResource(placeholder);
+            return;
+        }
+        request(url).into(view);
+    }
+
+    /**
+     * Loads url into the memory cache at the size {@link #into} will ask for, so the screen that
+     * binds it later draws it at once. Does nothing while the data mode disallows prefetch.
+     */
+    public void preload(@Nullable String url) {
+        if (url != null && !url.isEmpty() && budget.allowsPrefetch()) {
+            request(url).preload();
+        }
+    }
+
+    /**
+     * A scroll listener that loads the images of the next {@code maxPreload} rows into the
+     * memory cache. Does nothing while the data mode disallows prefetch.
+     */
+    public RecyclerViewPreloader<String> preloader(final UrlSource urls, int maxPreload) {
+        ListPreloader.PreloadModelProvider<String> models = new ListPreloader.PreloadModelProvider<String>() {
+            @NonNull
+            @Override
+            public List<String> getPreloadItems(int position) {
+                String url = budget.allowsPrefetch() ? urls.imageUrlAt(position) : null;
+                return url == null || url.isEmpty()
+                        ? Collections.<String>emptyList() : Collections.singletonList(url);
+            }
+
+            @Nullable
+            @Override
+            public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String url) {
+                return request(url);
+            }
+        };
+        return new RecyclerViewPreloader<>(glide, models,
+                (url, adapterPosition, perItemPosition) -> targetSize(), maxPreload);
+    }
+
+    // Bind and preload must build identical requests, or the preloaded entry is never hit
+    private RequestBuilder<Drawable> request(String url) {
+        int[] size = targetSize();
+        int[] thumbnail = ImageSizes.thumbnail(size);
+        return glide.load(url)
+                .override(size[0], size[1])
+                .centerCrop()
+                .placeholder(placeholder)
+                .error(placeholder)
+                // Same URL as the full request, so only from cache: fetching it would download
+                // the image a second time alongside the full-size load
+                .thumbnail(glide.load(url)
+                        .override(thumbnail[0], thumbnail[1])
+                        .centerCrop()
+                        .onlyRetrieveFromCache(true));
+    }
+
+    private int[] targetSize() {
+        return ImageSizes.bucket(budget.getImageWidth(displayWidthPx), aspect);
+    }
+}
@@ -65,12 +65,18 @@ public class ApiResponse<T> {
         @SerializedName("totalPages")
         private int totalPages;
         
-        @SerializedName("totalItems")
+        @SerializedName(value = "totalItems", alternate = {"totalBookings", "totalServices"})
         private int totalItems;
         
         @SerializedName("itemsPerPage")
         private int itemsPerPage;
         
+        @SerializedName("hasNext")
+        private Boolean hasNext;
+        
+        @SerializedName("hasPrev")
+        private Boolean hasPrev;
+        
         public int getCurrentPage() {
             return currentPage;
         }
@@ -102,5 +108,22 @@ public class ApiResponse<T> {
         public void setItemsPerPage(int itemsPerPage) {
             this.itemsPerPage = itemsPerPage;
         }
+        
+        // Not every endpoint sends hasNext/hasPrev, so fall back to the page counters
+        public boolean hasNext() {
+            return hasNext != null ? hasNext : currentPage < totalPages;
+        }
+        
+        public void setHasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+        }
+        
+        public boolean hasPrev() {
+            return hasPrev != null ? hasPrev : currentPage > 1;
+        }
+        
+        public void setHasPrev(boolean hasPrev) {
+            this.hasPrev = hasPrev;
+        }
     }
 }
@@ -27,6 +27,7 @@ public class Booking implements Serializable {
     private String ratingComment;
     private Date createdAt;
     private Date updatedAt;
+    private int version; // server document version, used to merge delta syncs
 
     // Constructors
     public Booking() {}
@@ -132,4 +133,7 @@ public class Booking implements Serializable {
 
     public Date getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.easy.easybook.models;
+
+import java.util.UUID;
+
+/**
+ * A booking change made locally that still has to reach the server.
+ * The id doubles as the Idempotency-Key, so replaying the same mutation twice
+ * (e.g. the response was lost) is safe.
+ */
+public class PendingMutation {
+    public static final String TYPE_CREATE = "create";
+    public static final String TYPE_STATUS = "status";
+    public static final String TYPE_RATING = "rating";
+
+    private String id;
+    private String type;
+    private String bookingId;
+    private String payload; // JSON request body
+    private String previousStatus; // restored if the server rejects the change
+    private long createdAt;
+    private int attempts;
+    private String lastError;
+
+    public PendingMutation() {}
+
+    public PendingMutation(String type, String bookingId, String payload, String previousStatus) {
+        this.id = UUID.randomUUID().toString();
+        this.type = type;
+        this.bookingId = bookingId;
+        this.payload = payload;
+        this.previousStatus = previousStatus;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getBookingId() { return bookingId; }
+    public void setBookingId(String bookingId) { this.bookingId = bookingId; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public String getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(String previousStatus) { this.previousStatus = previousStatus; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
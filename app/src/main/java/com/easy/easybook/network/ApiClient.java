@@ -1,34 +1,145 @@
 package com.easy.easybook.network;
 
 import android.content.Context;
+import android.util.Log;
+
+import com.easy.easybook.network.binary.BinaryAcceptInterceptor;
+import com.easy.easybook.network.binary.BinaryConverterFactory;
+import com.easy.easybook.network.budget.DataBudget;
+import com.easy.easybook.network.metrics.MetricsEventListener;
+import com.easy.easybook.network.metrics.NetworkMetrics;
+import com.easy.easybook.network.metrics.TimedConverterFactory;
+import com.easy.easybook.network.resilience.CircuitBreaker;
+import com.easy.easybook.network.resilience.ResilienceMetrics;
+import com.easy.easybook.network.resilience.ResilientCallInterceptor;
+import com.easy.easybook.network.resilience.RetryPolicy;
+import com.easy.easybook.network.scheduling.RequestScheduler;
+
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import okhttp3.Cache;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 public class ApiClient {
+    private static final String TAG = "ApiClient";
     private static final String BASE_URL = "http://10.0.2.2:4000/api/";
+    private static final long HTTP_CACHE_SIZE = 10 * 1024 * 1024;
     private static ApiService apiService;
     private static ApiClient instance;
     private Context context;
-    
+
+    // GETs get three attempts with jittered backoff; writes are never retried
+    private static final RetryPolicy DEFAULT_RETRY_POLICY = new RetryPolicy(3, 250, 2000);
+    // Five consecutive failures open the circuit for 30 seconds
+    private static final int BREAKER_FAILURE_THRESHOLD = 5;
+    private static final long BREAKER_OPEN_MS = 30_000;
+    private static final int MAX_DISPATCHER_REQUESTS = 128;
+
+    private final ResilientCallInterceptor resilience;
+    private final RequestScheduler scheduler = new RequestScheduler();
+    private final BinaryAcceptInterceptor binaryAccept = new BinaryAcceptInterceptor();
+    private final NetworkMetrics networkMetrics = new NetworkMetrics();
+
     private ApiClient(Context context) {
         this.context = context.getApplicationContext();
+        this.resilience = new ResilientCallInterceptor(DEFAULT_RETRY_POLICY,
+                new CircuitBreaker(BREAKER_FAILURE_THRESHOLD, BREAKER_OPEN_MS));
+        // Search results go stale as the user types, one quick retry is enough
+        resilience.setPolicy("searchServices", new RetryPolicy(2, 150, 500));
     }
-    
+
     public static synchronized ApiClient getInstance(Context context) {
         if (instance == null) {
             instance = new ApiClient(context);
         }
         return instance;
     }
-    
-    public ApiService getApiService() {
+
+    // Synchronized: startup builds it on a background thread while a screen may already ask
+    public synchronized ApiService getApiService() {
         if (apiService == null) {
-            Retrofit retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create())
+            // The scheduler decides what runs. Calls waiting for a lane still hold a Dispatcher
+            // slot, so OkHttp's FIFO limit must sit well above the lanes or it queues taps first
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(MAX_DISPATCHER_REQUESTS);
+            dispatcher.setMaxRequestsPerHost(MAX_DISPATCHER_REQUESTS);
+            OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .cache(new Cache(new File(context.getCacheDir(), "http"), HTTP_CACHE_SIZE))
+                    .eventListenerFactory(MetricsEventListener.factory(networkMetrics))
+                    .addInterceptor(scheduler)
+                    .addInterceptor(resilience)
+                    .addInterceptor(binaryAccept)
+                    .addNetworkInterceptor(DataBudget.getInstance(context).getThroughputSampler())
                     .build();
-            apiService = retrofit.create(ApiService.class);
+            apiService = buildRetrofit(BASE_URL, okHttpClient, networkMetrics).create(ApiService.class);
         }
         return apiService;
     }
-}
\ No newline at end of file
+
+    /**
+     * The Retrofit setup shared by the app and the JVM benchmarks, so both decode the same way.
+     */
+    public static Retrofit buildRetrofit(String baseUrl, OkHttpClient okHttpClient, NetworkMetrics metrics) {
+        Gson gson = GsonProvider.get();
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(okHttpClient)
+                .addConverterFactory(new TimedConverterFactory(
+                        new BinaryConverterFactory(gson, GsonConverterFactory.create(gson)), metrics))
+                .build();
+    }
+
+    /**
+     * Retry counters and circuit breaker state for every ApiService endpoint.
+     */
+    public ResilienceMetrics getResilienceMetrics() {
+        return resilience.getMetrics();
+    }
+
+    /**
+     * Lane limits and queue state for foreground and background traffic.
+     */
+    public RequestScheduler getRequestScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Offers the binary encoding on list and sync endpoints; disable to force JSON.
+     */
+    public BinaryAcceptInterceptor getBinaryAccept() {
+        return binaryAccept;
+    }
+
+    /**
+     * Per-endpoint phase timings, response sizes and cache status.
+     */
+    public NetworkMetrics getNetworkMetrics() {
+        return networkMetrics;
+    }
+
+    /**
+     * Writes the current network metrics as JSON under files/metrics/ and returns the file,
+     * e.g. to pull with adb for offline analysis.
+     */
+    public File exportNetworkMetrics() throws IOException {
+        File dir = new File(context.getFilesDir(), "metrics");
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        File file = new File(dir, "network-" + System.currentTimeMillis() + ".json");
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(networkMetrics.toJsonString());
+        }
+        Log.d(TAG, "Network metrics written to " + file);
+        return file;
+    }
+}
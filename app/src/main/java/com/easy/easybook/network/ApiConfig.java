@@ -25,7 +25,8 @@ public class ApiConfig {
     public static final String CREATE_BOOKING = "bookings";
     public static final String MY_BOOKINGS = "bookings/my-bookings";
     public static final String BOOKING_DETAILS = "bookings/";
-    public static final String UPDATE_BOOKING_STATUS = "bookings/{id}/status";
+    // {action} is one of BookingTransitions' accept, decline, start, complete or cancel
+    public static final String BOOKING_TRANSITION = "bookings/{id}/{action}";
     public static final String ADD_RATING = "bookings/{id}/rating";
     
     // Customer
@@ -45,6 +46,7 @@ public class ApiConfig {
     public static final String BEARER = "Bearer ";
     public static final String CONTENT_TYPE = "Content-Type";
     public static final String APPLICATION_JSON = "application/json";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
     
     // SharedPreferences Keys
     public static final String PREF_NAME = "SmartServePrefs";
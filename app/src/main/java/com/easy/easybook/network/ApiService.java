@@ -6,11 +6,16 @@ import com.easy.easybook.models.ForgotPasswordRequest;
 import com.easy.easybook.models.ResetPasswordRequest;
 import com.easy.easybook.network.responses.ApiResponse;
 import com.easy.easybook.network.responses.AuthResponse;
+import com.easy.easybook.network.responses.BookingResponse;
+import com.easy.easybook.network.responses.BookingsResponse;
 import com.easy.easybook.network.responses.CategoriesResponse;
 import com.easy.easybook.network.responses.ServicesResponse;
 import com.easy.easybook.network.responses.SimpleServicesResponse;
 import com.easy.easybook.models.ServiceResponse;
 import com.easy.easybook.network.responses.DashboardResponse;
+import com.easy.easybook.network.binary.BinaryPayload;
+import com.easy.easybook.network.scheduling.Priority;
+import com.easy.easybook.network.scheduling.RequestPriority;
 
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -65,8 +70,9 @@ public interface ApiService {
     @GET(ApiConfig.FEATURED_SERVICES)
     Call<SimpleServicesResponse> getFeaturedServicesSimple();
     
+    @BinaryPayload
     @GET("api/services")
-    Call<ApiResponse> getAllServices(
+    Call<ServicesResponse> getAllServices(
         @Header(ApiConfig.AUTHORIZATION) String token,
         @Query("sort") String sortBy,
         @Query("page") Integer page,
@@ -74,7 +80,7 @@ public interface ApiService {
     );
     
     @GET("api/services/search")
-    Call<ApiResponse> searchServices(
+    Call<ServicesResponse> searchServices(
         @Header(ApiConfig.AUTHORIZATION) String token,
         @Query("query") String query,
         @Query("category") String category,
@@ -83,8 +89,9 @@ public interface ApiService {
         @Query("limit") Integer limit
     );
     
+    @BinaryPayload
     @GET("services/category/{category}")
-    Call<ApiResponse> getServicesByCategory(
+    Call<ServicesResponse> getServicesByCategory(
         @Header(ApiConfig.AUTHORIZATION) String token,
         @Path("category") String category,
         @Query("sort") String sortBy,
@@ -99,8 +106,9 @@ public interface ApiService {
     @GET(ApiConfig.CUSTOMER_DASHBOARD)
     Call<DashboardResponse> getCustomerDashboard(@Header(ApiConfig.AUTHORIZATION) String token);
     
+    @BinaryPayload
     @GET(ApiConfig.BOOKING_HISTORY)
-    Call<ApiResponse> getBookingHistory(
+    Call<BookingsResponse> getBookingHistory(
         @Header(ApiConfig.AUTHORIZATION) String token,
         @Query("status") String status,
         @Query("page") Integer page,
@@ -112,23 +120,37 @@ public interface ApiService {
     
     // Booking endpoints
     @POST(ApiConfig.CREATE_BOOKING)
-    Call<ApiResponse> createBooking(
+    Call<BookingResponse> createBooking(
         @Header(ApiConfig.AUTHORIZATION) String token,
+        @Header(ApiConfig.IDEMPOTENCY_KEY) String idempotencyKey,
         @Body Object bookingRequest
     );
     
+    @BinaryPayload
     @GET(ApiConfig.MY_BOOKINGS)
-    Call<ApiResponse> getMyBookings(
+    Call<BookingsResponse> getMyBookings(
         @Header(ApiConfig.AUTHORIZATION) String token,
         @Query("status") String status,
         @Query("page") Integer page,
         @Query("limit") Integer limit
     );
     
+    // Delta sync: bookings changed after the cursor, oldest change first.
+    // An empty updatedSince asks for everything (full resync).
+    @Priority(RequestPriority.BACKGROUND)
+    @BinaryPayload
+    @GET(ApiConfig.MY_BOOKINGS)
+    Call<BookingsResponse> syncBookings(
+        @Header(ApiConfig.AUTHORIZATION) String token,
+        @Query("updatedSince") String updatedSince,
+        @Query("limit") Integer limit
+    );
+    
     // Provider endpoints
     @GET(ApiConfig.PROVIDER_DASHBOARD)
     Call<DashboardResponse> getProviderDashboard(@Header(ApiConfig.AUTHORIZATION) String token);
     
+    @BinaryPayload
     @GET(ApiConfig.PROVIDER_SERVICES)
     Call<ServicesResponse> getProviderServices(
         @Header(ApiConfig.AUTHORIZATION) String token,
@@ -145,9 +167,10 @@ public interface ApiService {
     );
     
     // Rating endpoints
-    @POST("api/bookings/{id}/rating")
-    Call<ApiResponse> addRating(
+    @POST(ApiConfig.ADD_RATING)
+    Call<BookingResponse> addRating(
         @Header(ApiConfig.AUTHORIZATION) String token,
+        @Header(ApiConfig.IDEMPOTENCY_KEY) String idempotencyKey,
         @Path("id") String bookingId,
         @Body Object ratingRequest
     );
@@ -172,11 +195,13 @@ public interface ApiService {
         @Path("id") String serviceId
     );
     
-    // Booking status update
-    @PUT("api/bookings/{id}/status")
-    Call<ApiResponse> updateBookingStatus(
+    // Booking status update, through the route for the new status
+    @PUT(ApiConfig.BOOKING_TRANSITION)
+    Call<BookingResponse> transitionBooking(
         @Header(ApiConfig.AUTHORIZATION) String token,
+        @Header(ApiConfig.IDEMPOTENCY_KEY) String idempotencyKey,
         @Path("id") String bookingId,
-        @Body Object statusRequest
+        @Path("action") String action,
+        @Body Object transitionRequest
     );
 }
@@ -0,0 +1,62 @@
+package com.easy.easybook.network;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Maps a booking status set in the app to the backend route that moves a booking into it.
+ * The backend has no generic status update, only PUT bookings/{id}/accept, decline, start,
+ * complete and cancel, and decline and cancel require a reason.
+ */
+public final class BookingTransitions {
+
+    public static final String ACTION_ACCEPT = "accept";
+    public static final String ACTION_DECLINE = "decline";
+    public static final String ACTION_START = "start";
+    public static final String ACTION_COMPLETE = "complete";
+    public static final String ACTION_CANCEL = "cancel";
+
+    private BookingTransitions() {
+    }
+
+    /** The route for status, or null if the backend can't move a booking into it. */
+    public static String actionFor(String status) {
+        if (status == null) {
+            return null;
+        }
+        switch (status) {
+            // The app calls an accepted booking "confirmed"
+            case "confirmed":
+            case "accepted":
+                return ACTION_ACCEPT;
+            case "declined":
+                return ACTION_DECLINE;
+            case "in_progress":
+                return ACTION_START;
+            case "completed":
+                return ACTION_COMPLETE;
+            case "cancelled":
+                return ACTION_CANCEL;
+            default:
+                return null;
+        }
+    }
+
+    /** The request body the route for action validates. */
+    public static JsonObject bodyFor(String action) {
+        JsonObject body = new JsonObject();
+        if (ACTION_DECLINE.equals(action)) {
+            body.addProperty("declineReason", "Declined by the provider");
+        } else if (ACTION_CANCEL.equals(action)) {
+            body.addProperty("reason", "Cancelled in the app");
+        }
+        return body;
+    }
+
+    /**
+     * True for ids the backend issued. Bookings made on the device before the outbox existed
+     * (e.g. "booking_" + timestamp) were never sent, so there is nothing to update remotely.
+     */
+    public static boolean isServerId(String bookingId) {
+        return bookingId != null && bookingId.matches("[0-9a-fA-F]{24}");
+    }
+}
@@ -0,0 +1,22 @@
+package com.easy.easybook.network;
+
+import okhttp3.Request;
+import retrofit2.Invocation;
+
+/**
+ * Names requests for metrics and per-endpoint policies: the ApiService method name
+ * when the request came through Retrofit, "METHOD /path" otherwise.
+ */
+public final class EndpointNames {
+
+    private EndpointNames() {
+    }
+
+    public static String of(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            return invocation.method().getName();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+}
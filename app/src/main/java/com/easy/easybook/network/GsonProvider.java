@@ -0,0 +1,30 @@
+package com.easy.easybook.network;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.Service;
+import com.easy.easybook.network.adapters.BookingTypeAdapter;
+import com.easy.easybook.network.adapters.ServiceTypeAdapter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Shared Gson instance for API payloads.
+ * Registers the streaming adapters so bookings and services decode directly into models.
+ */
+public final class GsonProvider {
+    
+    private static Gson gson;
+    
+    private GsonProvider() {
+    }
+    
+    public static synchronized Gson get() {
+        if (gson == null) {
+            gson = new GsonBuilder()
+                    .registerTypeAdapter(Booking.class, new BookingTypeAdapter().nullSafe())
+                    .registerTypeAdapter(Service.class, new ServiceTypeAdapter().nullSafe())
+                    .create();
+        }
+        return gson;
+    }
+}
@@ -0,0 +1,344 @@
+package com.easy.easybook.network.adapters;
+
+import com.easy.easybook.models.Booking;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter that decodes a backend booking document straight into {@link Booking}.
+ * Populated references (service, customer, provider) are flattened while reading,
+ * so no intermediate JsonObject tree is built.
+ */
+public class BookingTypeAdapter extends TypeAdapter<Booking> {
+
+    @Override
+    public void write(JsonWriter out, Booking booking) throws IOException {
+        if (booking == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("_id").value(booking.getId());
+        out.name("service").value(booking.getServiceId());
+        out.name("serviceName").value(booking.getServiceName());
+        out.name("serviceCategory").value(booking.getServiceCategory());
+        out.name("provider").value(booking.getProviderId());
+        out.name("providerName").value(booking.getProviderName());
+        out.name("customer").value(booking.getCustomerId());
+        out.name("customerName").value(booking.getCustomerName());
+        out.name("customerEmail").value(booking.getCustomerEmail());
+        out.name("customerPhone").value(booking.getCustomerPhone());
+        out.name("address").beginObject();
+        out.name("street").value(booking.getAddress());
+        out.name("city").value(booking.getCity());
+        out.name("state").value(booking.getState());
+        out.name("zipCode").value(booking.getZipCode());
+        out.endObject();
+        out.name("bookingDate").value(JsonReaders.formatDate(booking.getBookingDate()));
+        out.name("timeSlot").value(booking.getTimeSlot());
+        out.name("status").value(booking.getStatus());
+        out.name("totalAmount").value(booking.getTotalAmount());
+        out.name("notes").value(booking.getNotes());
+        if (booking.getRating() > 0) {
+            out.name("rating").value(booking.getRating());
+            out.name("review").value(booking.getRatingComment());
+        }
+        out.name("createdAt").value(JsonReaders.formatDate(booking.getCreatedAt()));
+        out.name("updatedAt").value(JsonReaders.formatDate(booking.getUpdatedAt()));
+        out.name("__v").value(booking.getVersion());
+        out.endObject();
+    }
+
+    @Override
+    public Booking read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Booking booking = new Booking();
+        boolean hasTotalAmount = false;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "_id":
+                case "id":
+                    booking.setId(JsonReaders.nextString(in));
+                    break;
+                case "service":
+                    readService(in, booking);
+                    break;
+                case "serviceId":
+                    booking.setServiceId(JsonReaders.nextString(in));
+                    break;
+                case "serviceName":
+                    booking.setServiceName(JsonReaders.nextString(in));
+                    break;
+                case "serviceCategory":
+                    booking.setServiceCategory(JsonReaders.nextString(in));
+                    break;
+                case "provider":
+                    readProvider(in, booking);
+                    break;
+                case "providerId":
+                    booking.setProviderId(JsonReaders.nextString(in));
+                    break;
+                case "providerName":
+                    booking.setProviderName(JsonReaders.nextString(in));
+                    break;
+                case "customer":
+                    readCustomer(in, booking);
+                    break;
+                case "customerId":
+                    booking.setCustomerId(JsonReaders.nextString(in));
+                    break;
+                case "customerName":
+                    booking.setCustomerName(JsonReaders.nextString(in));
+                    break;
+                case "customerEmail":
+                    booking.setCustomerEmail(JsonReaders.nextString(in));
+                    break;
+                case "customerPhone":
+                    booking.setCustomerPhone(JsonReaders.nextString(in));
+                    break;
+                case "address":
+                    readAddress(in, booking);
+                    break;
+                case "location":
+                    readLocation(in, booking);
+                    break;
+                case "bookingDate":
+                    booking.setBookingDate(JsonReaders.nextDate(in));
+                    break;
+                case "timeSlot":
+                    booking.setTimeSlot(JsonReaders.nextString(in));
+                    break;
+                case "startTime":
+                    // Older endpoints send startTime instead of timeSlot
+                    if (booking.getTimeSlot() == null) {
+                        booking.setTimeSlot(JsonReaders.nextString(in));
+                    } else {
+                        in.skipValue();
+                    }
+                    break;
+                case "status":
+                    booking.setStatus(JsonReaders.nextString(in));
+                    break;
+                case "totalAmount":
+                    booking.setTotalAmount(JsonReaders.nextDouble(in, 0.0));
+                    hasTotalAmount = true;
+                    break;
+                case "payment":
+                    double amount = readPaymentAmount(in);
+                    if (!hasTotalAmount && amount >= 0) {
+                        booking.setTotalAmount(amount);
+                    }
+                    break;
+                case "notes":
+                    readNotes(in, booking);
+                    break;
+                case "rating":
+                    booking.setRating((float) JsonReaders.nextDouble(in, 0.0));
+                    break;
+                case "review":
+                case "ratingComment":
+                    booking.setRatingComment(JsonReaders.nextString(in));
+                    break;
+                case "createdAt":
+                    booking.setCreatedAt(JsonReaders.nextDate(in));
+                    break;
+                case "updatedAt":
+                    booking.setUpdatedAt(JsonReaders.nextDate(in));
+                    break;
+                case "__v":
+                case "version":
+                    booking.setVersion(JsonReaders.nextInt(in, 0));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return booking;
+    }
+
+    private void readService(JsonReader in, Booking booking) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            booking.setServiceId(JsonReaders.nextString(in));
+            return;
+        }
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "_id":
+                case "id":
+                    booking.setServiceId(JsonReaders.nextString(in));
+                    break;
+                case "name":
+                    booking.setServiceName(JsonReaders.nextString(in));
+                    break;
+                case "category":
+                    booking.setServiceCategory(JsonReaders.nextNameOrValue(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+    }
+
+    private void readProvider(JsonReader in, Booking booking) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            booking.setProviderId(JsonReaders.nextString(in));
+            return;
+        }
+        String firstName = null;
+        String lastName = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "_id":
+                case "id":
+                    booking.setProviderId(JsonReaders.nextString(in));
+                    break;
+                case "firstName":
+                    firstName = JsonReaders.nextString(in);
+                    break;
+                case "lastName":
+                    lastName = JsonReaders.nextString(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        if (firstName != null || lastName != null) {
+            booking.setProviderName(JsonReaders.joinName(firstName, lastName));
+        }
+    }
+
+    private void readCustomer(JsonReader in, Booking booking) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            booking.setCustomerId(JsonReaders.nextString(in));
+            return;
+        }
+        String firstName = null;
+        String lastName = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "_id":
+                case "id":
+                    booking.setCustomerId(JsonReaders.nextString(in));
+                    break;
+                case "firstName":
+                    firstName = JsonReaders.nextString(in);
+                    break;
+                case "lastName":
+                    lastName = JsonReaders.nextString(in);
+                    break;
+                case "email":
+                    booking.setCustomerEmail(JsonReaders.nextString(in));
+                    break;
+                case "phone":
+                    booking.setCustomerPhone(JsonReaders.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        if (firstName != null || lastName != null) {
+            booking.setCustomerName(JsonReaders.joinName(firstName, lastName));
+        }
+    }
+
+    private void readAddress(JsonReader in, Booking booking) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            booking.setAddress(JsonReaders.nextString(in));
+            return;
+        }
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "street":
+                    booking.setAddress(JsonReaders.nextString(in));
+                    break;
+                case "city":
+                    booking.setCity(JsonReaders.nextString(in));
+                    break;
+                case "state":
+                    booking.setState(JsonReaders.nextString(in));
+                    break;
+                case "zipCode":
+                    booking.setZipCode(JsonReaders.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+    }
+
+    private void readLocation(JsonReader in, Booking booking) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return;
+        }
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("address".equals(in.nextName()) && booking.getAddress() == null) {
+                readAddress(in, booking);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+
+    private double readPaymentAmount(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return -1;
+        }
+        double amount = -1;
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("amount".equals(in.nextName())) {
+                amount = JsonReaders.nextDouble(in, -1);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return amount;
+    }
+
+    private void readNotes(JsonReader in, Booking booking) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            booking.setNotes(JsonReaders.nextString(in));
+            return;
+        }
+        // { "customer": "...", "provider": "..." } - the customer note is the one we show
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("customer".equals(in.nextName())) {
+                booking.setNotes(JsonReaders.nextString(in));
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+}
@@ -0,0 +1,193 @@
+package com.easy.easybook.network.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Lenient read helpers shared by the streaming type adapters.
+ * The backend is not consistent about types (numbers sent as strings, objects vs ids),
+ * so every helper accepts the shapes we have seen and skips anything else.
+ */
+final class JsonReaders {
+
+    // SimpleDateFormat is not thread safe and expensive to create, keep one per thread
+    private static final ThreadLocal<SimpleDateFormat> ISO_FORMAT = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            return format;
+        }
+    };
+
+    private JsonReaders() {
+    }
+
+    static String nextString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        switch (token) {
+            case STRING:
+            case NUMBER:
+                return in.nextString();
+            case BOOLEAN:
+                return String.valueOf(in.nextBoolean());
+            case NULL:
+                in.nextNull();
+                return null;
+            default:
+                in.skipValue();
+                return null;
+        }
+    }
+
+    static double nextDouble(JsonReader in, double defaultValue) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NUMBER) {
+            return in.nextDouble();
+        }
+        if (token == JsonToken.STRING) {
+            try {
+                return Double.parseDouble(in.nextString());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        in.skipValue();
+        return defaultValue;
+    }
+
+    static int nextInt(JsonReader in, int defaultValue) throws IOException {
+        return (int) nextDouble(in, defaultValue);
+    }
+
+    static long nextLong(JsonReader in, long defaultValue) throws IOException {
+        return (long) nextDouble(in, defaultValue);
+    }
+
+    static boolean nextBoolean(JsonReader in, boolean defaultValue) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.BOOLEAN) {
+            return in.nextBoolean();
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        in.skipValue();
+        return defaultValue;
+    }
+
+    static Date nextDate(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NUMBER) {
+            return new Date(in.nextLong());
+        }
+        String value = nextString(in);
+        return parseDate(value);
+    }
+
+    /**
+     * Parses the ISO-8601 timestamps Mongo emits ("2024-01-15T10:00:00.000Z", "2024-01-15")
+     * with plain arithmetic. Booking lists carry three dates per row, and SimpleDateFormat
+     * was the single biggest cost when decoding them.
+     */
+    static Date parseDate(String value) {
+        if (value == null || value.length() < 10
+                || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return null;
+        }
+        try {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 2);
+            int day = digits(value, 8, 2);
+            long millis = daysFromCivil(year, month, day) * 86_400_000L;
+
+            int length = value.length();
+            if (length >= 19 && (value.charAt(10) == 'T' || value.charAt(10) == ' ')) {
+                millis += digits(value, 11, 2) * 3_600_000L
+                        + digits(value, 14, 2) * 60_000L
+                        + digits(value, 17, 2) * 1_000L;
+                int pos = 19;
+                if (pos < length && value.charAt(pos) == '.') {
+                    int start = ++pos;
+                    while (pos < length && Character.isDigit(value.charAt(pos))) {
+                        pos++;
+                    }
+                    // Only the first three fraction digits are milliseconds
+                    String fraction = (value.substring(start, Math.min(pos, start + 3)) + "00").substring(0, 3);
+                    millis += Integer.parseInt(fraction);
+                }
+                if (pos < length && (value.charAt(pos) == '+' || value.charAt(pos) == '-')
+                        && pos + 6 <= length) {
+                    int sign = value.charAt(pos) == '+' ? 1 : -1;
+                    long offset = digits(value, pos + 1, 2) * 3_600_000L + digits(value, pos + 4, 2) * 60_000L;
+                    millis -= sign * offset;
+                }
+            }
+            return new Date(millis);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException(value);
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date (Howard Hinnant's algorithm)
+    private static long daysFromCivil(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = (year >= 0 ? year : year - 399) / 400;
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Reads either a plain value or a populated reference such as {"_id": ..., "name": "Plumbing"}.
+     */
+    static String nextNameOrValue(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            return nextString(in);
+        }
+        String name = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("name".equals(in.nextName())) {
+                name = nextString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return name;
+    }
+
+    static String formatDate(Date date) {
+        return date != null ? ISO_FORMAT.get().format(date) : null;
+    }
+
+    static String joinName(String firstName, String lastName) {
+        if (firstName == null) {
+            return lastName;
+        }
+        if (lastName == null) {
+            return firstName;
+        }
+        return firstName + " " + lastName;
+    }
+}
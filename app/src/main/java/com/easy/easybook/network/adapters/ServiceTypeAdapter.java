@@ -0,0 +1,242 @@
+package com.easy.easybook.network.adapters;
+
+import com.easy.easybook.models.Service;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming adapter that decodes a backend service document straight into {@link Service}.
+ * Handles both the flat shape used by the seed endpoints and the populated Mongo shape
+ * (_id, isActive, rating.average, images[], provider object).
+ */
+public class ServiceTypeAdapter extends TypeAdapter<Service> {
+
+    @Override
+    public void write(JsonWriter out, Service service) throws IOException {
+        if (service == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(service.getId());
+        out.name("name").value(service.getName());
+        out.name("description").value(service.getDescription());
+        out.name("category").value(service.getCategory());
+        out.name("price").value(service.getPrice());
+        out.name("duration").value(service.getDuration());
+        out.name("rating").value(service.getRating());
+        out.name("reviewCount").value(service.getReviewCount());
+        out.name("imageUrl").value(service.getImageUrl());
+        out.name("providerName").value(service.getProviderName());
+        out.name("providerId").value(service.getProviderId());
+        out.name("isAvailable").value(service.isAvailable());
+        out.name("isFeatured").value(service.isFeatured());
+        out.name("location").value(service.getLocation());
+        if (service.getTags() != null) {
+            out.name("tags").beginArray();
+            for (String tag : service.getTags()) {
+                out.value(tag);
+            }
+            out.endArray();
+        }
+        out.name("createdAt").value(service.getCreatedAt());
+        out.name("updatedAt").value(service.getUpdatedAt());
+        out.endObject();
+    }
+
+    @Override
+    public Service read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Service service = new Service();
+        // Services are available unless the payload says otherwise
+        service.setAvailable(true);
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "_id":
+                case "id":
+                    service.setId(JsonReaders.nextString(in));
+                    break;
+                case "name":
+                    service.setName(JsonReaders.nextString(in));
+                    break;
+                case "description":
+                    service.setDescription(JsonReaders.nextString(in));
+                    break;
+                case "category":
+                    service.setCategory(JsonReaders.nextNameOrValue(in));
+                    break;
+                case "price":
+                    service.setPrice(JsonReaders.nextDouble(in, 0.0));
+                    break;
+                case "duration":
+                    service.setDuration(JsonReaders.nextString(in));
+                    break;
+                case "rating":
+                    readRating(in, service);
+                    break;
+                case "reviewCount":
+                    service.setReviewCount(JsonReaders.nextInt(in, 0));
+                    break;
+                case "imageUrl":
+                    service.setImageUrl(JsonReaders.nextString(in));
+                    break;
+                case "images":
+                    String firstImage = readFirstString(in);
+                    if (service.getImageUrl() == null) {
+                        service.setImageUrl(firstImage);
+                    }
+                    break;
+                case "provider":
+                    readProvider(in, service);
+                    break;
+                case "providerId":
+                    service.setProviderId(JsonReaders.nextString(in));
+                    break;
+                case "providerName":
+                    service.setProviderName(JsonReaders.nextString(in));
+                    break;
+                case "isAvailable":
+                case "isActive":
+                    service.setAvailable(JsonReaders.nextBoolean(in, true));
+                    break;
+                case "isFeatured":
+                    service.setFeatured(JsonReaders.nextBoolean(in, false));
+                    break;
+                case "location":
+                    service.setLocation(readLocation(in));
+                    break;
+                case "tags":
+                    service.setTags(readStrings(in));
+                    break;
+                case "createdAt":
+                    service.setCreatedAt(JsonReaders.nextString(in));
+                    break;
+                case "updatedAt":
+                    service.setUpdatedAt(JsonReaders.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return service;
+    }
+
+    private void readRating(JsonReader in, Service service) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            service.setRating((float) JsonReaders.nextDouble(in, 0.0));
+            return;
+        }
+        // { "average": 4.5, "count": 12 }
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "average":
+                    service.setRating((float) JsonReaders.nextDouble(in, 0.0));
+                    break;
+                case "count":
+                    service.setReviewCount(JsonReaders.nextInt(in, 0));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+    }
+
+    private void readProvider(JsonReader in, Service service) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            service.setProviderId(JsonReaders.nextString(in));
+            return;
+        }
+        String firstName = null;
+        String lastName = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "_id":
+                case "id":
+                    service.setProviderId(JsonReaders.nextString(in));
+                    break;
+                case "firstName":
+                    firstName = JsonReaders.nextString(in);
+                    break;
+                case "lastName":
+                    lastName = JsonReaders.nextString(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        if (firstName != null || lastName != null) {
+            service.setProviderName(JsonReaders.joinName(firstName, lastName));
+        }
+    }
+
+    private String readLocation(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            return JsonReaders.nextString(in);
+        }
+        String city = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("city".equals(in.nextName())) {
+                city = JsonReaders.nextString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return city;
+    }
+
+    private String readFirstString(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            return JsonReaders.nextString(in);
+        }
+        String first = null;
+        in.beginArray();
+        while (in.hasNext()) {
+            String value = JsonReaders.nextString(in);
+            if (first == null) {
+                first = value;
+            }
+        }
+        in.endArray();
+        return first;
+    }
+
+    private List<String> readStrings(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            in.skipValue();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            String value = JsonReaders.nextString(in);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        in.endArray();
+        return values;
+    }
+}
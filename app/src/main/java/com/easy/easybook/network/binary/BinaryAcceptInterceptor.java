@@ -0,0 +1,40 @@
+package com.easy.easybook.network.binary;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Offers the binary encoding on {@link BinaryPayload} endpoints, with JSON as the fallback.
+ * Can be switched off at runtime, e.g. to compare both formats on a device.
+ */
+public class BinaryAcceptInterceptor implements Interceptor {
+
+    static final String ACCEPT_VALUE = BinaryJson.MEDIA_TYPE_STRING + ", application/json;q=0.9";
+
+    private volatile boolean enabled = true;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!enabled || !"GET".equals(request.method()) || request.header("Accept") != null) {
+            return chain.proceed(request);
+        }
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null || invocation.method().getAnnotation(BinaryPayload.class) == null) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(request.newBuilder().header("Accept", ACCEPT_VALUE).build());
+    }
+}
@@ -0,0 +1,68 @@
+package com.easy.easybook.network.binary;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Decodes binary responses with the same Gson type adapters as JSON and hands everything
+ * else to the JSON converter, so each response is read according to its Content-Type.
+ */
+public class BinaryConverterFactory extends Converter.Factory {
+
+    private final Gson gson;
+    private final Converter.Factory jsonFactory;
+
+    public BinaryConverterFactory(Gson gson, Converter.Factory jsonFactory) {
+        this.gson = gson;
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        final Converter<ResponseBody, ?> json = jsonFactory.responseBodyConverter(type, annotations, retrofit);
+        if (json == null) {
+            return null;
+        }
+        final TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
+        return new Converter<ResponseBody, Object>() {
+            @Override
+            public Object convert(ResponseBody value) throws IOException {
+                if (!BinaryJson.isBinary(value.contentType())) {
+                    return json.convert(value);
+                }
+                try (BinaryJsonReader reader = new BinaryJsonReader(value.source())) {
+                    Object result = adapter.read(reader);
+                    if (reader.peek() != JsonToken.END_DOCUMENT || !value.source().exhausted()) {
+                        throw new JsonIOException("Binary payload was not fully consumed");
+                    }
+                    return result;
+                } finally {
+                    value.close();
+                }
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        return jsonFactory.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+
+    @Override
+    public Converter<?, String> stringConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        return jsonFactory.stringConverter(type, annotations, retrofit);
+    }
+}
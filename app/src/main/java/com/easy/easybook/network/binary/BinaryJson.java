@@ -0,0 +1,50 @@
+package com.easy.easybook.network.binary;
+
+import okhttp3.MediaType;
+
+/**
+ * Constants for the compact binary encoding of JSON payloads ("SSB").
+ *
+ * Layout: the magic bytes "SSB" and a version byte, then one value. A value is a tag byte:
+ * null, false, true; INT (zigzag varint); DOUBLE (8 bytes, big endian); ARRAY and OBJECT
+ * (varint element or pair count, then the elements or key/value pairs); or one of three
+ * string tags. STRING_NEW carries a varint byte length and UTF-8 bytes and appends the
+ * string to a table; STRING_REF is a varint index into that table; STRING_RAW is like
+ * STRING_NEW without the table entry, for long one-off text. Keys and repeated values
+ * such as "status" or "pending" are therefore sent once per payload.
+ *
+ * Containers are length prefixed, so the reader never scans for delimiters, and the
+ * format maps one to one onto JSON. That lets the existing Gson type adapters read it
+ * through {@link BinaryJsonReader} unchanged.
+ */
+public final class BinaryJson {
+
+    public static final String MEDIA_TYPE_STRING = "application/x-smartserve-binary";
+    public static final MediaType MEDIA_TYPE = MediaType.get(MEDIA_TYPE_STRING);
+
+    static final byte[] MAGIC = {'S', 'S', 'B'};
+    static final int VERSION = 1;
+
+    static final int TAG_NULL = 0;
+    static final int TAG_FALSE = 1;
+    static final int TAG_TRUE = 2;
+    static final int TAG_INT = 3;
+    static final int TAG_DOUBLE = 4;
+    static final int TAG_STRING_NEW = 5;
+    static final int TAG_STRING_REF = 6;
+    static final int TAG_STRING_RAW = 7;
+    static final int TAG_ARRAY = 8;
+    static final int TAG_OBJECT = 9;
+
+    // Longer strings (descriptions, notes) rarely repeat, so they skip the table
+    static final int MAX_INTERNED_BYTES = 64;
+
+    private BinaryJson() {
+    }
+
+    public static boolean isBinary(MediaType contentType) {
+        return contentType != null
+                && MEDIA_TYPE.type().equals(contentType.type())
+                && MEDIA_TYPE.subtype().equals(contentType.subtype());
+    }
+}
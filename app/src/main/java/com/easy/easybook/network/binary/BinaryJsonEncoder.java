@@ -0,0 +1,122 @@
+package com.easy.easybook.network.binary;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ByteString;
+
+/**
+ * Writes a JSON tree in the binary encoding described in {@link BinaryJson}.
+ * The app only ever reads this format; the encoder exists for the stand-in server and tests,
+ * and mirrors backend/middleware/binaryJson.js.
+ */
+public class BinaryJsonEncoder {
+
+    private final BufferedSink sink;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    private BinaryJsonEncoder(BufferedSink sink) {
+        this.sink = sink;
+    }
+
+    public static ByteString encode(JsonElement element) {
+        Buffer buffer = new Buffer();
+        try {
+            encode(element, buffer);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return buffer.readByteString();
+    }
+
+    public static void encode(JsonElement element, BufferedSink sink) throws IOException {
+        sink.write(BinaryJson.MAGIC);
+        sink.writeByte(BinaryJson.VERSION);
+        new BinaryJsonEncoder(sink).write(element);
+    }
+
+    private void write(JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            sink.writeByte(BinaryJson.TAG_NULL);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            sink.writeByte(BinaryJson.TAG_OBJECT);
+            writeVarint(object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeString(entry.getKey());
+                write(entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            sink.writeByte(BinaryJson.TAG_ARRAY);
+            writeVarint(array.size());
+            for (JsonElement item : array) {
+                write(item);
+            }
+        } else {
+            writePrimitive(element.getAsJsonPrimitive());
+        }
+    }
+
+    private void writePrimitive(JsonPrimitive primitive) throws IOException {
+        if (primitive.isBoolean()) {
+            sink.writeByte(primitive.getAsBoolean() ? BinaryJson.TAG_TRUE : BinaryJson.TAG_FALSE);
+        } else if (primitive.isNumber()) {
+            String text = primitive.getAsNumber().toString();
+            Long whole = parseWhole(text);
+            if (whole != null) {
+                sink.writeByte(BinaryJson.TAG_INT);
+                writeVarint((whole << 1) ^ (whole >> 63));
+            } else {
+                sink.writeByte(BinaryJson.TAG_DOUBLE);
+                sink.writeLong(Double.doubleToLongBits(Double.parseDouble(text)));
+            }
+        } else {
+            writeString(primitive.getAsString());
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        Integer index = strings.get(value);
+        if (index != null) {
+            sink.writeByte(BinaryJson.TAG_STRING_REF);
+            writeVarint(index);
+            return;
+        }
+        ByteString utf8 = ByteString.encodeUtf8(value);
+        boolean intern = utf8.size() <= BinaryJson.MAX_INTERNED_BYTES;
+        sink.writeByte(intern ? BinaryJson.TAG_STRING_NEW : BinaryJson.TAG_STRING_RAW);
+        writeVarint(utf8.size());
+        sink.write(utf8);
+        if (intern) {
+            strings.put(value, strings.size());
+        }
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            sink.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        sink.writeByte((int) value);
+    }
+
+    private static Long parseWhole(String text) {
+        if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
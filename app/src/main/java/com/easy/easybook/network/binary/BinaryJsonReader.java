@@ -0,0 +1,373 @@
+package com.easy.easybook.network.binary;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import okio.BufferedSource;
+
+/**
+ * Reads the binary encoding described in {@link BinaryJson} through Gson's JsonReader API,
+ * straight off the response stream, so any TypeAdapter can decode it.
+ *
+ * Map keys are not supported (Gson's map adapter needs the private JSON reader state);
+ * none of our response types use maps.
+ */
+public class BinaryJsonReader extends JsonReader {
+
+    private static final Reader UNREADABLE = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private static final int NO_TAG = -1;
+
+    private final BufferedSource source;
+    private final List<String> strings = new ArrayList<>();
+
+    // Container stack: elements (arrays) or pairs (objects) still to read
+    private int[] remaining = new int[32];
+    private boolean[] isObject = new boolean[32];
+    // Inside an object, true once the name of the current pair has been read
+    private boolean[] expectingValue = new boolean[32];
+    private int depth;
+
+    private int peekedTag = NO_TAG;
+    private boolean headerRead;
+    private boolean documentStarted;
+
+    public BinaryJsonReader(BufferedSource source) {
+        super(UNREADABLE);
+        this.source = source;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        readHeader();
+        if (depth == 0) {
+            if (documentStarted && peekedTag == NO_TAG) {
+                return JsonToken.END_DOCUMENT;
+            }
+            return tokenFor(peekTag());
+        }
+        int top = depth - 1;
+        if (isObject[top] && !expectingValue[top]) {
+            return remaining[top] == 0 ? JsonToken.END_OBJECT : JsonToken.NAME;
+        }
+        if (!isObject[top] && remaining[top] == 0) {
+            return JsonToken.END_ARRAY;
+        }
+        return tokenFor(peekTag());
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        int count = consumeTagAndCount();
+        push(false, count);
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        depth--;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        int count = consumeTagAndCount();
+        push(true, count);
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        depth--;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        int top = depth - 1;
+        remaining[top]--;
+        expectingValue[top] = true;
+        int tag = peekTag();
+        peekedTag = NO_TAG;
+        if (tag != BinaryJson.TAG_STRING_NEW && tag != BinaryJson.TAG_STRING_REF && tag != BinaryJson.TAG_STRING_RAW) {
+            throw new IOException("Expected a name but found tag " + tag + " at " + getPath());
+        }
+        return readString(tag);
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        int tag = startValue();
+        switch (tag) {
+            case BinaryJson.TAG_STRING_NEW:
+            case BinaryJson.TAG_STRING_REF:
+            case BinaryJson.TAG_STRING_RAW:
+                return readString(tag);
+            case BinaryJson.TAG_INT:
+                return Long.toString(readZigZag());
+            case BinaryJson.TAG_DOUBLE:
+                return Double.toString(Double.longBitsToDouble(source.readLong()));
+            default:
+                throw new IllegalStateException("Expected a string but was " + token + " at " + getPath());
+        }
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.BOOLEAN) {
+            throw new IllegalStateException("Expected a boolean but was " + token + " at " + getPath());
+        }
+        return startValue() == BinaryJson.TAG_TRUE;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+        startValue();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.STRING) {
+            return Double.parseDouble(nextString());
+        }
+        if (token != JsonToken.NUMBER) {
+            throw new IllegalStateException("Expected a double but was " + token + " at " + getPath());
+        }
+        int tag = startValue();
+        return tag == BinaryJson.TAG_INT ? readZigZag() : Double.longBitsToDouble(source.readLong());
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.STRING) {
+            return Long.parseLong(nextString());
+        }
+        if (token != JsonToken.NUMBER) {
+            throw new IllegalStateException("Expected a long but was " + token + " at " + getPath());
+        }
+        int tag = startValue();
+        if (tag == BinaryJson.TAG_INT) {
+            return readZigZag();
+        }
+        double value = Double.longBitsToDouble(source.readLong());
+        long result = (long) value;
+        if (result != value) {
+            throw new NumberFormatException("Expected a long but was " + value + " at " + getPath());
+        }
+        return result;
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if ((int) value != value) {
+            throw new NumberFormatException("Expected an int but was " + value + " at " + getPath());
+        }
+        return (int) value;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        JsonToken token = peek();
+        switch (token) {
+            case BEGIN_ARRAY:
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+                break;
+            case BEGIN_OBJECT:
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+                break;
+            case NAME:
+                nextName();
+                break;
+            case STRING:
+            case NUMBER:
+                nextString();
+                break;
+            case BOOLEAN:
+                nextBoolean();
+                break;
+            case NULL:
+                nextNull();
+                break;
+            default:
+                throw new IllegalStateException("Cannot skip " + token + " at " + getPath());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        depth = 0;
+        source.close();
+    }
+
+    @Override
+    public String getPath() {
+        StringBuilder path = new StringBuilder("$");
+        for (int i = 0; i < depth; i++) {
+            path.append(isObject[i] ? ".{" : "[").append(remaining[i]).append(isObject[i] ? " left}" : " left]");
+        }
+        return path.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryJsonReader at " + getPath();
+    }
+
+    private void readHeader() throws IOException {
+        if (headerRead) {
+            return;
+        }
+        for (byte expected : BinaryJson.MAGIC) {
+            if (source.readByte() != expected) {
+                throw new IOException("Not a SmartServe binary payload");
+            }
+        }
+        int version = source.readByte() & 0xff;
+        if (version != BinaryJson.VERSION) {
+            throw new IOException("Unsupported binary payload version " + version);
+        }
+        headerRead = true;
+    }
+
+    private int peekTag() throws IOException {
+        if (peekedTag == NO_TAG) {
+            peekedTag = source.readByte() & 0xff;
+        }
+        return peekedTag;
+    }
+
+    private static JsonToken tokenFor(int tag) throws IOException {
+        switch (tag) {
+            case BinaryJson.TAG_NULL:
+                return JsonToken.NULL;
+            case BinaryJson.TAG_FALSE:
+            case BinaryJson.TAG_TRUE:
+                return JsonToken.BOOLEAN;
+            case BinaryJson.TAG_INT:
+            case BinaryJson.TAG_DOUBLE:
+                return JsonToken.NUMBER;
+            case BinaryJson.TAG_STRING_NEW:
+            case BinaryJson.TAG_STRING_REF:
+            case BinaryJson.TAG_STRING_RAW:
+                return JsonToken.STRING;
+            case BinaryJson.TAG_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case BinaryJson.TAG_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            default:
+                throw new IOException("Unknown tag " + tag);
+        }
+    }
+
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken token = peek();
+        if (token != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + token + " at " + getPath());
+        }
+    }
+
+    /**
+     * Consumes the peeked value tag and counts the value against its parent container.
+     */
+    private int startValue() {
+        int tag = peekedTag;
+        peekedTag = NO_TAG;
+        if (depth == 0) {
+            documentStarted = true;
+        } else if (isObject[depth - 1]) {
+            expectingValue[depth - 1] = false;
+        } else {
+            remaining[depth - 1]--;
+        }
+        return tag;
+    }
+
+    private int consumeTagAndCount() throws IOException {
+        startValue();
+        long count = readVarint();
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException("Container too large: " + count);
+        }
+        return (int) count;
+    }
+
+    private void push(boolean object, int count) {
+        if (depth == remaining.length) {
+            remaining = java.util.Arrays.copyOf(remaining, depth * 2);
+            isObject = java.util.Arrays.copyOf(isObject, depth * 2);
+            expectingValue = java.util.Arrays.copyOf(expectingValue, depth * 2);
+        }
+        remaining[depth] = count;
+        isObject[depth] = object;
+        expectingValue[depth] = false;
+        depth++;
+    }
+
+    private String readString(int tag) throws IOException {
+        if (tag == BinaryJson.TAG_STRING_REF) {
+            long index = readVarint();
+            if (index >= strings.size()) {
+                throw new IOException("String reference " + index + " out of range at " + getPath());
+            }
+            return strings.get((int) index);
+        }
+        String value = source.readUtf8(readVarint());
+        if (tag == BinaryJson.TAG_STRING_NEW) {
+            strings.add(value);
+        }
+        return value;
+    }
+
+    private long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = source.readByte() & 0xff;
+            result |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint at " + getPath());
+    }
+
+    private long readZigZag() throws IOException {
+        long raw = readVarint();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.easy.easybook.network.binary;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an ApiService GET whose response may come back in the binary encoding.
+ * {@link BinaryAcceptInterceptor} asks for it; the server still decides, and JSON is
+ * decoded as before when it answers with JSON.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BinaryPayload {
+}
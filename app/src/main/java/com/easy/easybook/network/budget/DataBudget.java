@@ -0,0 +1,187 @@
+package com.easy.easybook.network.budget;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.easy.easybook.data.paging.PagedList;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Decides how much data the app may spend right now and tells ApiService consumers how to
+ * size their requests.
+ *
+ * Watches the default network (metered or not, reported bandwidth), the system Data Saver
+ * switch and the throughput our own responses actually get, and maps them to a
+ * {@link DataMode}. Screens and sync ask for page sizes, prefetch depth, image widths and
+ * sync intervals here instead of hard-coding them.
+ */
+public class DataBudget {
+    private static final String TAG = "DataBudget";
+
+    public interface ModeListener {
+        void onDataModeChanged(DataMode mode);
+    }
+
+    private static DataBudget instance;
+
+    private final ConnectivityManager connectivity;
+    private final ThroughputEstimator estimator = new ThroughputEstimator();
+    private final ThroughputSampler sampler = new ThroughputSampler(estimator);
+    private final List<ModeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Runs once a measured estimate has expired, so the mode falls back to the link estimate
+    private final Runnable recheck = this::update;
+
+    private volatile boolean metered;
+    private volatile boolean dataSaver;
+    private volatile long linkKbps;
+    private volatile DataMode override;
+    private volatile DataMode mode = DataMode.FULL;
+
+    private DataBudget(Context context) {
+        connectivity = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        estimator.setListener(kbps -> update());
+        if (connectivity != null) {
+            dataSaver = isDataSaverOn();
+            connectivity.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onCapabilitiesChanged(Network network, NetworkCapabilities capabilities) {
+                    metered = !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+                    linkKbps = capabilities.getLinkDownstreamBandwidthKbps();
+                    update();
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    // The next network may be nothing like this one
+                    estimator.reset();
+                    linkKbps = 0;
+                    update();
+                }
+            });
+            context.registerReceiver(new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context context, Intent intent) {
+                    dataSaver = isDataSaverOn();
+                    update();
+                }
+            }, new IntentFilter(ConnectivityManager.ACTION_RESTRICT_BACKGROUND_CHANGED));
+        }
+        update();
+    }
+
+    public static synchronized DataBudget getInstance(Context context) {
+        if (instance == null) {
+            instance = new DataBudget(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public DataMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Pins the mode regardless of the network, e.g. from a settings toggle or a test.
+     * Pass null to go back to automatic.
+     */
+    public void setOverride(DataMode override) {
+        this.override = override;
+        update();
+    }
+
+    public DataMode getOverride() {
+        return override;
+    }
+
+    /** Smoothed throughput of recent large responses in kbps, or -1 if unknown. */
+    public long getMeasuredKbps() {
+        return estimator.getKbps();
+    }
+
+    /** Listeners are called on the main thread. */
+    public void addModeListener(ModeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeModeListener(ModeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Add to the OkHttpClient as a network interceptor so it sees bytes on the wire. */
+    public ThroughputSampler getThroughputSampler() {
+        return sampler;
+    }
+
+    public int getPageSize(int pageSize) {
+        return mode.scalePageSize(pageSize);
+    }
+
+    public int getPrefetchDistance(int prefetchDistance) {
+        return mode.scalePrefetchDistance(prefetchDistance);
+    }
+
+    /** Width to request for an image that would be shown {@code displayWidthPx} wide. */
+    public int getImageWidth(int displayWidthPx) {
+        return mode.scaleImageWidth(displayWidthPx);
+    }
+
+    public long getMinSyncIntervalMs() {
+        return mode.getMinSyncIntervalMs();
+    }
+
+    public boolean allowsPrefetch() {
+        return mode.allowsPrefetch();
+    }
+
+    /**
+     * A paging config for a server-backed list, scaled from the one the screen asks for on Wi-Fi.
+     * Lists paged from local data don't need this.
+     */
+    public PagedList.Config scale(PagedList.Config config) {
+        return new PagedList.Config(getPageSize(config.pageSize),
+                getPrefetchDistance(config.prefetchDistance), config.maxCachedPages);
+    }
+
+    private boolean isDataSaverOn() {
+        return connectivity.getRestrictBackgroundStatus()
+                == ConnectivityManager.RESTRICT_BACKGROUND_STATUS_ENABLED;
+    }
+
+    private void update() {
+        DataMode pinned = override;
+        long measuredKbps = estimator.getKbps();
+        DataMode next = pinned != null ? pinned
+                : DataMode.select(metered, dataSaver, linkKbps, measuredKbps);
+        mainHandler.removeCallbacks(recheck);
+        if (measuredKbps >= 0) {
+            // No new samples may come to expire it, e.g. when SAVER keeps pages small
+            mainHandler.postDelayed(recheck, ThroughputEstimator.MAX_SAMPLE_AGE_MS + 1);
+        }
+        DataMode previous;
+        synchronized (this) {
+            previous = mode;
+            mode = next;
+        }
+        if (previous == next) {
+            return;
+        }
+        Log.d(TAG, "Data mode " + previous + " -> " + next + " (metered=" + metered + ", dataSaver=" + dataSaver
+                + ", link=" + linkKbps + "kbps, measured=" + measuredKbps + "kbps)");
+        mainHandler.post(() -> {
+            for (ModeListener listener : listeners) {
+                listener.onDataModeChanged(next);
+            }
+        });
+    }
+}
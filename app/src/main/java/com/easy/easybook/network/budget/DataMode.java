@@ -0,0 +1,76 @@
+package com.easy.easybook.network.budget;
+
+/**
+ * How much data the app may spend, from most to least. Each mode scales the knobs that
+ * ApiService consumers ask {@link DataBudget} for: page size, prefetch depth, image width
+ * and how often background sync may run.
+ */
+public enum DataMode {
+    /** Unmetered and fast: the sizes screens ask for. */
+    FULL(1f, 1f, 1f, 0),
+    /** Metered or middling throughput: half pages, half-width images, sync at most every 5 minutes. */
+    BALANCED(0.5f, 0.5f, 0.5f, 5 * 60_000L),
+    /** Data Saver on or a poor link: small pages, no prefetch, sync at most every 30 minutes. */
+    SAVER(0.25f, 0f, 0.25f, 30 * 60_000L);
+
+    static final int MIN_PAGE_SIZE = 5;
+    static final int MIN_IMAGE_WIDTH_PX = 64;
+
+    // Measured or reported downstream throughput below these picks the next mode down
+    static final long POOR_LINK_KBPS = 150;
+    static final long FAST_LINK_KBPS = 1500;
+
+    private final float pageScale;
+    private final float prefetchScale;
+    private final float imageScale;
+    private final long minSyncIntervalMs;
+
+    DataMode(float pageScale, float prefetchScale, float imageScale, long minSyncIntervalMs) {
+        this.pageScale = pageScale;
+        this.prefetchScale = prefetchScale;
+        this.imageScale = imageScale;
+        this.minSyncIntervalMs = minSyncIntervalMs;
+    }
+
+    public int scalePageSize(int pageSize) {
+        return Math.max(Math.min(pageSize, MIN_PAGE_SIZE), Math.round(pageSize * pageScale));
+    }
+
+    public int scalePrefetchDistance(int prefetchDistance) {
+        return Math.round(prefetchDistance * prefetchScale);
+    }
+
+    public int scaleImageWidth(int widthPx) {
+        return Math.max(Math.min(widthPx, MIN_IMAGE_WIDTH_PX), Math.round(widthPx * imageScale));
+    }
+
+    public long getMinSyncIntervalMs() {
+        return minSyncIntervalMs;
+    }
+
+    /** Whether speculative loads (next pages, detail prefetch) should run at all. */
+    public boolean allowsPrefetch() {
+        return prefetchScale > 0;
+    }
+
+    /**
+     * Picks a mode from the current network. Measured throughput wins over the link estimate
+     * the platform reports, since the latter is a radio-level guess.
+     *
+     * @param linkKbps     downstream bandwidth reported for the network, or 0 if unknown
+     * @param measuredKbps recent throughput of our own responses, or -1 if not enough samples
+     */
+    static DataMode select(boolean metered, boolean dataSaver, long linkKbps, long measuredKbps) {
+        if (dataSaver) {
+            return SAVER;
+        }
+        long kbps = measuredKbps >= 0 ? measuredKbps : linkKbps;
+        if (kbps > 0 && kbps < POOR_LINK_KBPS) {
+            return SAVER;
+        }
+        if (metered || (kbps > 0 && kbps < FAST_LINK_KBPS)) {
+            return BALANCED;
+        }
+        return FULL;
+    }
+}
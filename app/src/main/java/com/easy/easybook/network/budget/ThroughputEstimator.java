@@ -0,0 +1,80 @@
+package com.easy.easybook.network.budget;
+
+/**
+ * Smoothed download throughput from response body timings.
+ * Small bodies say more about latency than bandwidth, so they are ignored.
+ *
+ * The estimate expires {@link #MAX_SAMPLE_AGE_MS} after the last large response. Once SAVER
+ * mode shrinks pages, large responses become rare, and an old slow reading must not keep
+ * the app in SAVER after the network has recovered.
+ */
+public class ThroughputEstimator {
+
+    public interface Listener {
+        void onEstimateChanged(long kbps);
+    }
+
+    static final long MIN_SAMPLE_BYTES = 16 * 1024;
+    // Weight of the newest sample; about the last five large responses dominate
+    private static final double ALPHA = 0.3;
+    private static final int MIN_SAMPLES = 2;
+    static final long MAX_SAMPLE_AGE_MS = 2 * 60 * 1000;
+
+    private double kbps;
+    private int samples;
+    private long lastSampleAt;
+    private Listener listener;
+
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void record(long bytes, long elapsedNanos) {
+        if (bytes < MIN_SAMPLE_BYTES || elapsedNanos <= 0) {
+            return;
+        }
+        double sample = bytes * 8.0 / 1000.0 / (elapsedNanos / 1e9);
+        Listener notify;
+        long estimate;
+        synchronized (this) {
+            long now = now();
+            if (isStale(now)) {
+                // Too old to smooth against; start over from this sample
+                samples = 0;
+            }
+            kbps = samples == 0 ? sample : ALPHA * sample + (1 - ALPHA) * kbps;
+            samples++;
+            lastSampleAt = now;
+            if (samples < MIN_SAMPLES) {
+                return;
+            }
+            estimate = (long) kbps;
+            notify = listener;
+        }
+        if (notify != null) {
+            notify.onEstimateChanged(estimate);
+        }
+    }
+
+    /**
+     * Kilobits per second, or -1 until enough large responses have been seen and again once
+     * the last one is older than {@link #MAX_SAMPLE_AGE_MS}.
+     */
+    public synchronized long getKbps() {
+        return samples < MIN_SAMPLES || isStale(now()) ? -1 : (long) kbps;
+    }
+
+    /** Forgets everything, e.g. after switching from Wi-Fi to cellular. */
+    public synchronized void reset() {
+        kbps = 0;
+        samples = 0;
+    }
+
+    private boolean isStale(long now) {
+        return samples > 0 && now - lastSampleAt > MAX_SAMPLE_AGE_MS;
+    }
+
+    long now() {
+        return System.currentTimeMillis();
+    }
+}
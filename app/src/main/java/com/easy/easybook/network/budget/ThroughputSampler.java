@@ -0,0 +1,89 @@
+package com.easy.easybook.network.budget;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Network interceptor that times each response body from headers to end of stream and feeds
+ * {@link ThroughputEstimator}. Bytes are counted on the wire, before gzip is undone. The
+ * caller decodes while it reads, so on fast links decode time drags the figure down a little;
+ * that only matters above the FULL threshold.
+ */
+public class ThroughputSampler implements Interceptor {
+
+    private final ThroughputEstimator estimator;
+
+    public ThroughputSampler(ThroughputEstimator estimator) {
+        this.estimator = estimator;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder().body(new SampledBody(body, System.nanoTime())).build();
+    }
+
+    private final class SampledBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+        private long bytes;
+        private boolean recorded;
+
+        SampledBody(ResponseBody delegate, long startNanos) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read == -1) {
+                        finish(startNanos);
+                    } else {
+                        bytes += read;
+                    }
+                    return read;
+                }
+            });
+        }
+
+        private void finish(long startNanos) {
+            if (!recorded) {
+                recorded = true;
+                estimator.record(bytes, System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+
+        @Override
+        public void close() {
+            // Closed early (cancelled or only partly read): not a throughput sample
+            recorded = true;
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.easy.easybook.network.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Fixed-bucket histogram. Recording is O(buckets) with no allocation, cheap enough
+ * to sit on every request; percentiles are estimated from the bucket upper bounds.
+ */
+public class Histogram {
+
+    /** Microsecond buckets for latency phases, 100 us to 10 s; decode and body reads are often sub-millisecond. */
+    public static final long[] LATENCY_BOUNDS_US = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000};
+
+    /** Byte buckets for response sizes, 256 B to 4 MB. */
+    public static final long[] SIZE_BOUNDS_BYTES = {256, 1024, 4096, 16384, 65536, 262144, 1048576, 4194304};
+
+    private final long[] bounds;
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public Histogram(long[] bounds) {
+        this.bounds = bounds;
+        // The last slot collects everything above the highest bound
+        this.counts = new long[bounds.length + 1];
+    }
+
+    public synchronized void record(long value) {
+        int bucket = bounds.length;
+        for (int i = 0; i < bounds.length; i++) {
+            if (value <= bounds[i]) {
+                bucket = i;
+                break;
+            }
+        }
+        counts[bucket]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public synchronized long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100), capped at the observed max.
+     */
+    public synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return i < bounds.length ? Math.min(bounds[i], max) : max;
+            }
+        }
+        return max;
+    }
+
+    public synchronized JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("count", count);
+        json.addProperty("mean", Math.round(getMean() * 100) / 100.0);
+        json.addProperty("min", count == 0 ? 0 : min);
+        json.addProperty("max", getMax());
+        json.addProperty("p50", percentile(50));
+        json.addProperty("p90", percentile(90));
+        json.addProperty("p99", percentile(99));
+        JsonArray buckets = new JsonArray();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            JsonObject bucket = new JsonObject();
+            bucket.addProperty("le", i < bounds.length ? String.valueOf(bounds[i]) : "inf");
+            bucket.addProperty("count", counts[i]);
+            buckets.add(bucket);
+        }
+        json.add("buckets", buckets);
+        return json;
+    }
+}
@@ -0,0 +1,142 @@
+package com.easy.easybook.network.metrics;
+
+import com.easy.easybook.network.EndpointNames;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Times each phase of a call and records it against the call's endpoint.
+ * One instance per call (see {@link #factory}), so the start timestamps need no locking.
+ */
+public class MetricsEventListener extends EventListener {
+
+    private final NetworkMetrics.EndpointMetrics metrics;
+    private final String endpoint;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestStart;
+    private long bodyStart;
+
+    MetricsEventListener(NetworkMetrics networkMetrics, String endpoint) {
+        this.metrics = networkMetrics.forEndpoint(endpoint);
+        this.endpoint = endpoint;
+    }
+
+    public static EventListener.Factory factory(final NetworkMetrics networkMetrics) {
+        return new EventListener.Factory() {
+            @Override
+            public EventListener create(Call call) {
+                return new MetricsEventListener(networkMetrics, EndpointNames.of(call.request()));
+            }
+        };
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+        metrics.increment(NetworkMetrics.COUNT_CALLS);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        record(NetworkMetrics.PHASE_DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        record(NetworkMetrics.PHASE_TLS, secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        record(NetworkMetrics.PHASE_CONNECT, connectStart);
+        metrics.increment(NetworkMetrics.COUNT_CONNECTIONS_OPENED);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+        // Runs on the thread that will also read and decode the response
+        NetworkMetrics.setCurrentEndpoint(endpoint);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        record(NetworkMetrics.PHASE_TTFB, requestStart);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        bodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        record(NetworkMetrics.PHASE_BODY, bodyStart);
+        metrics.getResponseBytes().record(byteCount);
+    }
+
+    @Override
+    public void cacheHit(Call call, Response response) {
+        metrics.increment(NetworkMetrics.COUNT_CACHE_HITS);
+        NetworkMetrics.setCurrentEndpoint(endpoint);
+    }
+
+    @Override
+    public void cacheMiss(Call call) {
+        metrics.increment(NetworkMetrics.COUNT_CACHE_MISSES);
+    }
+
+    @Override
+    public void cacheConditionalHit(Call call, Response cachedResponse) {
+        metrics.increment(NetworkMetrics.COUNT_CONDITIONAL_HITS);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        record(NetworkMetrics.PHASE_TOTAL, callStart);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        record(NetworkMetrics.PHASE_TOTAL, callStart);
+        metrics.increment(NetworkMetrics.COUNT_FAILURES);
+        // No decode follows a failed call
+        NetworkMetrics.clearCurrentEndpoint();
+    }
+
+    private void record(String phase, long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        metrics.phase(phase).record((System.nanoTime() - startNanos) / 1_000L);
+    }
+}
@@ -0,0 +1,137 @@
+package com.easy.easybook.network.metrics;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint timing and size histograms for every call on the shared OkHttpClient.
+ *
+ * Phases (microseconds): dns, connect, tls, ttfb (request sent to first response byte),
+ * body (reading the body off the wire), decode (Gson conversion of the buffered body) and
+ * total (whole call, retries included).
+ */
+public class NetworkMetrics {
+
+    public static final String PHASE_DNS = "dns";
+    public static final String PHASE_CONNECT = "connect";
+    public static final String PHASE_TLS = "tls";
+    public static final String PHASE_TTFB = "ttfb";
+    public static final String PHASE_BODY = "body";
+    public static final String PHASE_DECODE = "decode";
+    public static final String PHASE_TOTAL = "total";
+
+    public static final String COUNT_CALLS = "calls";
+    public static final String COUNT_FAILURES = "failures";
+    public static final String COUNT_CACHE_HITS = "cacheHits";
+    public static final String COUNT_CACHE_MISSES = "cacheMisses";
+    public static final String COUNT_CONDITIONAL_HITS = "conditionalCacheHits";
+    public static final String COUNT_CONNECTIONS_OPENED = "connectionsOpened";
+    public static final String COUNT_DECODE_ERRORS = "decodeErrors";
+
+    // The decode converter has no request in hand, so the listener publishes the endpoint
+    // of the response being read. OkHttp reads headers and runs the converter on the same thread.
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    public EndpointMetrics forEndpoint(String endpoint) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        if (metrics == null) {
+            EndpointMetrics created = new EndpointMetrics();
+            metrics = endpoints.putIfAbsent(endpoint, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    static void setCurrentEndpoint(String endpoint) {
+        CURRENT_ENDPOINT.set(endpoint);
+    }
+
+    static String currentEndpoint() {
+        return CURRENT_ENDPOINT.get();
+    }
+
+    static void clearCurrentEndpoint() {
+        CURRENT_ENDPOINT.remove();
+    }
+
+    /**
+     * Point-in-time snapshot of every endpoint, for logging or offline analysis.
+     */
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("startedAt", startedAt);
+        root.addProperty("capturedAt", System.currentTimeMillis());
+        JsonObject endpointsJson = new JsonObject();
+        for (Map.Entry<String, EndpointMetrics> entry : new TreeMap<>(endpoints).entrySet()) {
+            endpointsJson.add(entry.getKey(), entry.getValue().toJson());
+        }
+        root.add("endpoints", endpointsJson);
+        return root;
+    }
+
+    public String toJsonString() {
+        return new GsonBuilder().setPrettyPrinting().create().toJson(toJson());
+    }
+
+    /**
+     * Counters and histograms for one endpoint.
+     */
+    public static class EndpointMetrics {
+        private final ConcurrentHashMap<String, Histogram> phases = new ConcurrentHashMap<>();
+        private final Histogram responseBytes = new Histogram(Histogram.SIZE_BOUNDS_BYTES);
+        private final Map<String, Long> counters = new TreeMap<>();
+
+        public Histogram phase(String phase) {
+            Histogram histogram = phases.get(phase);
+            if (histogram == null) {
+                Histogram created = new Histogram(Histogram.LATENCY_BOUNDS_US);
+                histogram = phases.putIfAbsent(phase, created);
+                if (histogram == null) {
+                    histogram = created;
+                }
+            }
+            return histogram;
+        }
+
+        public Histogram getResponseBytes() {
+            return responseBytes;
+        }
+
+        public synchronized void increment(String counter) {
+            Long value = counters.get(counter);
+            counters.put(counter, value == null ? 1 : value + 1);
+        }
+
+        public synchronized long getCounter(String counter) {
+            Long value = counters.get(counter);
+            return value == null ? 0 : value;
+        }
+
+        synchronized JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            for (Map.Entry<String, Long> entry : counters.entrySet()) {
+                json.addProperty(entry.getKey(), entry.getValue());
+            }
+            JsonObject phasesJson = new JsonObject();
+            for (Map.Entry<String, Histogram> entry : new TreeMap<>(phases).entrySet()) {
+                phasesJson.add(entry.getKey(), entry.getValue().toJson());
+            }
+            json.add("phasesUs", phasesJson);
+            json.add("responseBytes", responseBytes.toJson());
+            return json;
+        }
+    }
+}
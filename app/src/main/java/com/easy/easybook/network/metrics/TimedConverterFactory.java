@@ -0,0 +1,79 @@
+package com.easy.easybook.network.metrics;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Wraps another converter factory (Gson in our case) and records how long each response
+ * takes to decode under the endpoint's "decode" phase. The body is buffered before the
+ * timer starts, so a slow network shows up in "body", not in "decode".
+ */
+public class TimedConverterFactory extends Converter.Factory {
+
+    private final Converter.Factory delegate;
+    private final NetworkMetrics metrics;
+
+    public TimedConverterFactory(Converter.Factory delegate, NetworkMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        final Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+        if (converter == null) {
+            return null;
+        }
+        return new Converter<ResponseBody, Object>() {
+            @Override
+            public Object convert(ResponseBody value) throws IOException {
+                String endpoint = NetworkMetrics.currentEndpoint();
+                try {
+                    // Pull the whole body off the wire first, so the timer covers parsing only
+                    value.source().request(Long.MAX_VALUE);
+                } catch (IOException e) {
+                    value.close();
+                    NetworkMetrics.clearCurrentEndpoint();
+                    throw e;
+                }
+                long start = System.nanoTime();
+                boolean failed = true;
+                try {
+                    Object result = converter.convert(value);
+                    failed = false;
+                    return result;
+                } finally {
+                    NetworkMetrics.EndpointMetrics endpointMetrics =
+                            metrics.forEndpoint(endpoint != null ? endpoint : typeName(type));
+                    endpointMetrics.phase(NetworkMetrics.PHASE_DECODE).record((System.nanoTime() - start) / 1_000L);
+                    if (failed) {
+                        endpointMetrics.increment(NetworkMetrics.COUNT_DECODE_ERRORS);
+                    }
+                    // Pooled threads move on to other calls; don't let them inherit this endpoint
+                    NetworkMetrics.clearCurrentEndpoint();
+                }
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+
+    @Override
+    public Converter<?, String> stringConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        return delegate.stringConverter(type, annotations, retrofit);
+    }
+
+    private static String typeName(Type type) {
+        return type instanceof Class ? ((Class<?>) type).getSimpleName() : type.toString();
+    }
+}
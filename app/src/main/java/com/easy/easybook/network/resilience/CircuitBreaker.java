@@ -0,0 +1,122 @@
+package com.easy.easybook.network.resilience;
+
+/**
+ * Consecutive-failure circuit breaker for the backend.
+ *
+ * CLOSED    - requests flow, failures are counted
+ * OPEN      - requests fail fast until the cool-down has passed
+ * HALF_OPEN - a single trial request is let through; its result closes or re-opens the circuit
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /** Time source, replaced in tests so cool-downs don't need real waiting. */
+    public interface Clock {
+        long nowMs();
+    }
+
+    private static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long nowMs() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private int timesOpened;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this(failureThreshold, openDurationMs, SYSTEM_CLOCK);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs, Clock clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns true if a request may go out now. In HALF_OPEN only one caller gets true
+     * until that trial reports back.
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.nowMs() - openedAt >= openDurationMs) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                timesOpened++;
+            }
+            state = State.OPEN;
+            openedAt = clock.nowMs();
+        }
+    }
+
+    /**
+     * Ends an attempt that has no verdict on the backend, such as a cancelled call, without
+     * changing the state. In HALF_OPEN the next request becomes the trial.
+     */
+    public synchronized void releaseTrial() {
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        // Report HALF_OPEN once the cool-down is over, even before the next request arrives
+        if (state == State.OPEN && clock.nowMs() - openedAt >= openDurationMs) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized int getTimesOpened() {
+        return timesOpened;
+    }
+
+    /** Milliseconds until an OPEN circuit lets a trial request through, 0 otherwise. */
+    public synchronized long getRemainingOpenMs() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openDurationMs - (clock.nowMs() - openedAt));
+    }
+}
@@ -0,0 +1,28 @@
+package com.easy.easybook.network.resilience;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of making a request while the circuit is open.
+ * Extends IOException so Retrofit delivers it to onFailure like any network error.
+ */
+public class CircuitOpenException extends IOException {
+
+    private final String endpoint;
+    private final long retryAfterMs;
+
+    public CircuitOpenException(String endpoint, long retryAfterMs) {
+        // Call sites show getMessage() in a Toast, so keep it readable
+        super("Service temporarily unavailable, please try again shortly");
+        this.endpoint = endpoint;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -0,0 +1,121 @@
+package com.easy.easybook.network.resilience;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint retry counters plus the breaker state, readable from a debug screen or logs.
+ */
+public class ResilienceMetrics {
+
+    private final Map<String, Counters> endpoints = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker;
+
+    public ResilienceMetrics(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    Counters forEndpoint(String endpoint) {
+        Counters counters = endpoints.get(endpoint);
+        if (counters == null) {
+            Counters created = new Counters();
+            counters = endpoints.putIfAbsent(endpoint, created);
+            if (counters == null) {
+                counters = created;
+            }
+        }
+        return counters;
+    }
+
+    public CircuitBreaker.State getBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getBreakerOpenCount() {
+        return circuitBreaker.getTimesOpened();
+    }
+
+    public EndpointStats getStats(String endpoint) {
+        Counters counters = endpoints.get(endpoint);
+        return counters != null ? counters.snapshot(endpoint) : new Counters().snapshot(endpoint);
+    }
+
+    /** Stats for every endpoint seen so far, sorted by endpoint name. */
+    public Map<String, EndpointStats> snapshot() {
+        Map<String, EndpointStats> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Counters> entry : new TreeMap<>(endpoints).entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("breaker=").append(getBreakerState())
+                .append(" opened=").append(getBreakerOpenCount());
+        for (EndpointStats stats : snapshot().values()) {
+            builder.append('\n').append(stats);
+        }
+        return builder.toString();
+    }
+
+    static class Counters {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong attempts = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+        final AtomicLong successes = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong shortCircuited = new AtomicLong();
+
+        EndpointStats snapshot(String endpoint) {
+            return new EndpointStats(endpoint, calls.get(), attempts.get(), retries.get(),
+                    successes.get(), failures.get(), shortCircuited.get());
+        }
+    }
+
+    /**
+     * Immutable copy of one endpoint's counters.
+     */
+    public static class EndpointStats {
+        private final String endpoint;
+        private final long calls;
+        private final long attempts;
+        private final long retries;
+        private final long successes;
+        private final long failures;
+        private final long shortCircuited;
+
+        EndpointStats(String endpoint, long calls, long attempts, long retries,
+                      long successes, long failures, long shortCircuited) {
+            this.endpoint = endpoint;
+            this.calls = calls;
+            this.attempts = attempts;
+            this.retries = retries;
+            this.successes = successes;
+            this.failures = failures;
+            this.shortCircuited = shortCircuited;
+        }
+
+        public String getEndpoint() { return endpoint; }
+        public long getCalls() { return calls; }
+        public long getAttempts() { return attempts; }
+        public long getRetries() { return retries; }
+        public long getSuccesses() { return successes; }
+        public long getFailures() { return failures; }
+        public long getShortCircuited() { return shortCircuited; }
+
+        @Override
+        public String toString() {
+            return endpoint + " calls=" + calls + " attempts=" + attempts + " retries=" + retries
+                    + " ok=" + successes + " failed=" + failures + " shortCircuited=" + shortCircuited;
+        }
+    }
+}
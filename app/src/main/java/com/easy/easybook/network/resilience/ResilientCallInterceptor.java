@@ -0,0 +1,172 @@
+package com.easy.easybook.network.resilience;
+
+import com.easy.easybook.network.EndpointNames;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Wraps every ApiService call with retry, backoff and a shared circuit breaker.
+ *
+ * Retries happen on the OkHttp worker thread, so call sites keep using enqueue() and only
+ * see onFailure once the policy is exhausted or the circuit is open. Endpoints are keyed
+ * by the ApiService method name (falling back to the URL path for non-Retrofit requests).
+ */
+public class ResilientCallInterceptor implements Interceptor {
+
+    /** Waits between attempts; replaced in tests. */
+    public interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private static final Sleeper THREAD_SLEEPER = new Sleeper() {
+        @Override
+        public void sleep(long millis) throws InterruptedException {
+            Thread.sleep(millis);
+        }
+    };
+
+    private final RetryPolicy defaultPolicy;
+    private final Map<String, RetryPolicy> endpointPolicies = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker;
+    private final ResilienceMetrics metrics;
+    private final Sleeper sleeper;
+    private final Random random;
+
+    public ResilientCallInterceptor(RetryPolicy defaultPolicy, CircuitBreaker circuitBreaker) {
+        this(defaultPolicy, circuitBreaker, THREAD_SLEEPER, new Random());
+    }
+
+    public ResilientCallInterceptor(RetryPolicy defaultPolicy, CircuitBreaker circuitBreaker,
+                                    Sleeper sleeper, Random random) {
+        this.defaultPolicy = defaultPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = new ResilienceMetrics(circuitBreaker);
+        this.sleeper = sleeper;
+        this.random = random;
+    }
+
+    /** Overrides the retry policy for one ApiService method, e.g. "searchServices". */
+    public ResilientCallInterceptor setPolicy(String endpoint, RetryPolicy policy) {
+        endpointPolicies.put(endpoint, policy);
+        return this;
+    }
+
+    public ResilienceMetrics getMetrics() {
+        return metrics;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String endpoint = EndpointNames.of(request);
+        ResilienceMetrics.Counters counters = metrics.forEndpoint(endpoint);
+        counters.calls.incrementAndGet();
+
+        RetryPolicy policy = policyFor(endpoint);
+        int maxAttempts = RetryPolicy.isIdempotent(request.method()) ? policy.getMaxAttempts() : 1;
+
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.allowRequest()) {
+                counters.shortCircuited.incrementAndGet();
+                counters.failures.incrementAndGet();
+                throw new CircuitOpenException(endpoint, circuitBreaker.getRemainingOpenMs());
+            }
+
+            counters.attempts.incrementAndGet();
+            boolean lastAttempt = attempt >= maxAttempts || chain.call().isCanceled();
+            Response response;
+            boolean reported = false;
+            try {
+                response = chain.proceed(request);
+                if (response.code() >= 500) {
+                    circuitBreaker.recordFailure();
+                } else {
+                    // Any answer below 500 means the backend is up, even a 4xx
+                    circuitBreaker.recordSuccess();
+                }
+                reported = true;
+            } catch (IOException e) {
+                boolean canceled = chain.call().isCanceled();
+                if (!canceled) {
+                    // A call we cancelled ourselves says nothing about the backend
+                    circuitBreaker.recordFailure();
+                    reported = true;
+                }
+                if (lastAttempt || canceled) {
+                    counters.failures.incrementAndGet();
+                    throw e;
+                }
+                backoff(policy, attempt, -1, counters);
+                continue;
+            } finally {
+                if (!reported) {
+                    // Cancelled or blew up: let the next request be the half-open trial
+                    circuitBreaker.releaseTrial();
+                }
+            }
+
+            int code = response.code();
+
+            if (!RetryPolicy.isRetryableStatus(code) || lastAttempt) {
+                if (response.isSuccessful()) {
+                    counters.successes.incrementAndGet();
+                } else {
+                    counters.failures.incrementAndGet();
+                }
+                return response;
+            }
+
+            long retryAfterMs = parseRetryAfterMs(response.header("Retry-After"));
+            response.close();
+            backoff(policy, attempt, retryAfterMs, counters);
+        }
+    }
+
+    private void backoff(RetryPolicy policy, int attempt, long retryAfterMs,
+                         ResilienceMetrics.Counters counters) throws IOException {
+        counters.retries.incrementAndGet();
+        long delay = policy.delayForRetry(attempt, random);
+        if (retryAfterMs >= 0) {
+            // Respect the server's hint, but never wait longer than the policy allows
+            delay = Math.min(Math.max(delay, retryAfterMs), policy.getMaxDelayMs());
+        }
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            sleeper.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Retry interrupted");
+        }
+    }
+
+    private RetryPolicy policyFor(String endpoint) {
+        RetryPolicy policy = endpointPolicies.get(endpoint);
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    static long parseRetryAfterMs(String header) {
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim()) * 1000L;
+        } catch (NumberFormatException e) {
+            // HTTP-date form is not used by our backend
+            return -1;
+        }
+    }
+}
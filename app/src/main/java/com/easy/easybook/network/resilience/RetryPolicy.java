@@ -0,0 +1,68 @@
+package com.easy.easybook.network.resilience;
+
+import java.util.Random;
+
+/**
+ * How many times a request may be attempted and how long to wait between attempts.
+ * Only idempotent methods (GET/HEAD) are ever retried, whatever the policy says,
+ * so a flaky network can never create a booking twice.
+ */
+public class RetryPolicy {
+
+    private static final RetryPolicy NONE = new RetryPolicy(1, 0, 0);
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = Math.max(baseDelayMs, maxDelayMs);
+    }
+
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getBaseDelayMs() {
+        return baseDelayMs;
+    }
+
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+
+    public static boolean isIdempotent(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    /**
+     * Status codes worth another attempt: timeouts, throttling and gateway/server errors.
+     */
+    public static boolean isRetryableStatus(int code) {
+        return code == 408 || code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * Exponential backoff with full jitter: a random delay in [0, min(max, base * 2^retry)].
+     * Spreading retries out stops every client from hitting a recovering backend at once.
+     *
+     * @param retry 1 for the first retry, 2 for the second, ...
+     */
+    public long delayForRetry(int retry, Random random) {
+        if (baseDelayMs <= 0) {
+            return 0;
+        }
+        int shift = Math.min(retry - 1, 30);
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << shift);
+        return (long) (random.nextDouble() * (ceiling + 1));
+    }
+}
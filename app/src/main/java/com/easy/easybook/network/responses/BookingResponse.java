@@ -0,0 +1,27 @@
+package com.easy.easybook.network.responses;
+
+import com.easy.easybook.models.ApiResponse;
+import com.easy.easybook.models.Booking;
+
+/**
+ * Typed response for endpoints that return a single booking as { data: { booking } }.
+ */
+public class BookingResponse extends ApiResponse<BookingResponse.BookingData> {
+    
+    // Convenience method to get the booking directly
+    public Booking getBooking() {
+        return getData() != null ? getData().getBooking() : null;
+    }
+    
+    public static class BookingData {
+        private Booking booking;
+        
+        public Booking getBooking() {
+            return booking;
+        }
+        
+        public void setBooking(Booking booking) {
+            this.booking = booking;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.easy.easybook.network.responses;
+
+import com.easy.easybook.models.ApiResponse;
+import com.easy.easybook.models.Booking;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed response for booking lists (bookings/my-bookings, customers/booking-history).
+ * Bookings are decoded by the streaming BookingTypeAdapter, no JsonObject tree in between.
+ */
+public class BookingsResponse extends ApiResponse<BookingsResponse.BookingsData> {
+    
+    // Convenience method to get bookings directly
+    public List<Booking> getBookings() {
+        if (getData() != null && getData().getBookings() != null) {
+            return getData().getBookings();
+        }
+        return new ArrayList<>();
+    }
+    
+    public Pagination getPagination() {
+        if (getData() != null && getData().getPagination() != null) {
+            return getData().getPagination();
+        }
+        return super.getPagination();
+    }
+    
+    /**
+     * Delta sync state, only present when the request carried updatedSince.
+     */
+    public SyncInfo getSync() {
+        return getData() != null ? getData().getSync() : null;
+    }
+    
+    public static class BookingsData {
+        private List<Booking> bookings;
+        private Pagination pagination;
+        private SyncInfo sync;
+        private boolean resyncRequired;
+        
+        public List<Booking> getBookings() {
+            return bookings;
+        }
+        
+        public void setBookings(List<Booking> bookings) {
+            this.bookings = bookings;
+        }
+        
+        public Pagination getPagination() {
+            return pagination;
+        }
+        
+        public void setPagination(Pagination pagination) {
+            this.pagination = pagination;
+        }
+        
+        public SyncInfo getSync() {
+            return sync;
+        }
+        
+        public void setSync(SyncInfo sync) {
+            this.sync = sync;
+        }
+        
+        public boolean isResyncRequired() {
+            return resyncRequired;
+        }
+        
+        public void setResyncRequired(boolean resyncRequired) {
+            this.resyncRequired = resyncRequired;
+        }
+    }
+    
+    public static class SyncInfo {
+        private String cursor; // opaque, echo it back as updatedSince
+        private boolean hasMore;
+        private boolean fullResync;
+        
+        public String getCursor() {
+            return cursor;
+        }
+        
+        public void setCursor(String cursor) {
+            this.cursor = cursor;
+        }
+        
+        public boolean hasMore() {
+            return hasMore;
+        }
+        
+        public void setHasMore(boolean hasMore) {
+            this.hasMore = hasMore;
+        }
+        
+        public boolean isFullResync() {
+            return fullResync;
+        }
+        
+        public void setFullResync(boolean fullResync) {
+            this.fullResync = fullResync;
+        }
+    }
+}
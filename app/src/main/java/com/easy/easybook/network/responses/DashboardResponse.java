@@ -1,42 +1,92 @@
 package com.easy.easybook.network.responses;
 
-import com.google.gson.JsonObject;
+import com.easy.easybook.models.ApiResponse;
+import com.easy.easybook.models.Booking;
 
-public class DashboardResponse {
-    private boolean success;
-    private String message;
-    private JsonObject data;
-    private String[] errors;
-    
-    public boolean isSuccess() {
-        return success;
-    }
-    
-    public void setSuccess(boolean success) {
-        this.success = success;
-    }
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed response for customers/dashboard and providers/dashboard.
+ * Both dashboards share the statistics + recentBookings shape; fields one side
+ * does not send are simply left at their defaults.
+ */
+public class DashboardResponse extends ApiResponse<DashboardResponse.DashboardData> {
     
-    public String getMessage() {
-        return message;
-    }
+    private String[] errors;
     
-    public void setMessage(String message) {
-        this.message = message;
+    public String[] getErrors() {
+        return errors;
     }
     
-    public JsonObject getData() {
-        return data;
+    public void setErrors(String[] errors) {
+        this.errors = errors;
     }
     
-    public void setData(JsonObject data) {
-        this.data = data;
+    // Convenience method to get recent bookings directly
+    public List<Booking> getRecentBookings() {
+        if (getData() != null && getData().getRecentBookings() != null) {
+            return getData().getRecentBookings();
+        }
+        return new ArrayList<>();
     }
     
-    public String[] getErrors() {
-        return errors;
+    public static class DashboardData {
+        private Statistics statistics;
+        private List<Booking> recentBookings;
+        
+        public Statistics getStatistics() {
+            return statistics;
+        }
+        
+        public void setStatistics(Statistics statistics) {
+            this.statistics = statistics;
+        }
+        
+        public List<Booking> getRecentBookings() {
+            return recentBookings;
+        }
+        
+        public void setRecentBookings(List<Booking> recentBookings) {
+            this.recentBookings = recentBookings;
+        }
     }
     
-    public void setErrors(String[] errors) {
-        this.errors = errors;
+    public static class Statistics {
+        private int totalBookings;
+        private int pendingBookings;
+        private int confirmedBookings;
+        private int completedBookings;
+        private int totalServices;
+        private double totalSpent;
+        private double totalEarnings;
+        
+        public int getTotalBookings() {
+            return totalBookings;
+        }
+        
+        public int getPendingBookings() {
+            return pendingBookings;
+        }
+        
+        public int getConfirmedBookings() {
+            return confirmedBookings;
+        }
+        
+        public int getCompletedBookings() {
+            return completedBookings;
+        }
+        
+        public int getTotalServices() {
+            return totalServices;
+        }
+        
+        public double getTotalSpent() {
+            return totalSpent;
+        }
+        
+        public double getTotalEarnings() {
+            return totalEarnings;
+        }
     }
 }
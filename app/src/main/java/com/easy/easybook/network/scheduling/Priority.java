@@ -0,0 +1,18 @@
+package com.easy.easybook.network.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lane for an ApiService method. Without it GETs are {@link RequestPriority#VISIBLE}
+ * and everything else {@link RequestPriority#USER_BLOCKING}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Priority {
+    RequestPriority value();
+}
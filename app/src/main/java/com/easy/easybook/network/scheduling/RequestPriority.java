@@ -0,0 +1,33 @@
+package com.easy.easybook.network.scheduling;
+
+/**
+ * Scheduling lanes, highest priority first. Each lane has its own concurrency limit
+ * in {@link RequestScheduler}; the two deferrable lanes hold back while the user waits.
+ */
+public enum RequestPriority {
+    /** The user is blocked on it: login, "Book Now", status changes. */
+    USER_BLOCKING(6, false),
+    /** Fills what is on screen right now. */
+    VISIBLE(4, false),
+    /** Speculative loads for what the user may look at next. */
+    PREFETCH(2, true),
+    /** Sync and outbox replay; nobody is watching. */
+    BACKGROUND(1, true);
+
+    private final int defaultLimit;
+    private final boolean deferrable;
+
+    RequestPriority(int defaultLimit, boolean deferrable) {
+        this.defaultLimit = defaultLimit;
+        this.deferrable = deferrable;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    /** Whether the lane waits while user-blocking calls are pending. */
+    public boolean isDeferrable() {
+        return deferrable;
+    }
+}
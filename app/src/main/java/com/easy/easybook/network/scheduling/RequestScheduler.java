@@ -0,0 +1,240 @@
+package com.easy.easybook.network.scheduling;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import retrofit2.Invocation;
+
+/**
+ * Admits calls on the shared client lane by lane, so a login or "Book Now" never queues
+ * behind sync or prefetch traffic.
+ *
+ * Each {@link RequestPriority} has its own concurrency limit. A call holds its lane slot
+ * until the response body is closed, so slow downloads count against the lane. While any
+ * higher lane has calls waiting, lower lanes admit nothing new, and the deferrable lanes
+ * (prefetch, background) also hold back while user-blocking calls are in flight. Calls
+ * already running are never cancelled: a half-sent write cannot be safely aborted.
+ *
+ * Must be the first application interceptor. Calls waiting here still occupy a Dispatcher
+ * slot, so the client's Dispatcher limits must be well above the sum of the lane limits;
+ * otherwise OkHttp queues calls first-in first-out before they ever reach this interceptor.
+ */
+public class RequestScheduler implements Interceptor {
+
+    // A background call deferred this long runs anyway, so sync can't starve forever
+    private static final long MAX_DEFERRAL_MS = 10_000;
+
+    private static final ThreadLocal<RequestPriority> THREAD_PRIORITY = new ThreadLocal<>();
+
+    private final Object lock = new Object();
+    private final int[] limits = new int[RequestPriority.values().length];
+    private final int[] inFlight = new int[limits.length];
+    private final int[] waiting = new int[limits.length];
+    private final long[] admitted = new long[limits.length];
+    private final long[] maxWaitMs = new long[limits.length];
+
+    public RequestScheduler() {
+        for (RequestPriority priority : RequestPriority.values()) {
+            limits[priority.ordinal()] = priority.getDefaultLimit();
+        }
+    }
+
+    public void setLimit(RequestPriority priority, int limit) {
+        synchronized (lock) {
+            limits[priority.ordinal()] = Math.max(1, limit);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Runs synchronous calls made on this thread in the given lane, e.g. a worker replaying
+     * queued writes. A priority set on the request itself or on the ApiService method wins.
+     */
+    public static void setThreadPriority(RequestPriority priority) {
+        if (priority == null) {
+            THREAD_PRIORITY.remove();
+        } else {
+            THREAD_PRIORITY.set(priority);
+        }
+    }
+
+    /**
+     * Request tag, then {@link Priority} on the ApiService method, then the thread's
+     * priority, then VISIBLE for GETs and USER_BLOCKING for writes.
+     */
+    public static RequestPriority priorityOf(Request request) {
+        RequestPriority tagged = request.tag(RequestPriority.class);
+        if (tagged != null) {
+            return tagged;
+        }
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            Method method = invocation.method();
+            Priority annotation = method.getAnnotation(Priority.class);
+            if (annotation != null) {
+                return annotation.value();
+            }
+        }
+        RequestPriority threadPriority = THREAD_PRIORITY.get();
+        if (threadPriority != null) {
+            return threadPriority;
+        }
+        return "GET".equals(request.method()) || "HEAD".equals(request.method())
+                ? RequestPriority.VISIBLE : RequestPriority.USER_BLOCKING;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        RequestPriority priority = priorityOf(chain.request());
+        acquire(priority);
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            release(priority);
+            throw e;
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            release(priority);
+            return response;
+        }
+        return response.newBuilder().body(new ReleasingBody(body, priority)).build();
+    }
+
+    public int getInFlight(RequestPriority priority) {
+        synchronized (lock) {
+            return inFlight[priority.ordinal()];
+        }
+    }
+
+    public int getWaiting(RequestPriority priority) {
+        synchronized (lock) {
+            return waiting[priority.ordinal()];
+        }
+    }
+
+    public long getAdmitted(RequestPriority priority) {
+        synchronized (lock) {
+            return admitted[priority.ordinal()];
+        }
+    }
+
+    /** Longest time a call in this lane waited to be admitted. */
+    public long getMaxWaitMs(RequestPriority priority) {
+        synchronized (lock) {
+            return maxWaitMs[priority.ordinal()];
+        }
+    }
+
+    void acquire(RequestPriority priority) throws InterruptedIOException {
+        int lane = priority.ordinal();
+        long start = System.nanoTime();
+        synchronized (lock) {
+            waiting[lane]++;
+            try {
+                while (!canStart(priority, start)) {
+                    long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    // Deferred calls wake up at the deadline; everyone else waits for a release
+                    lock.wait(priority.isDeferrable() && waitedMs < MAX_DEFERRAL_MS ? MAX_DEFERRAL_MS - waitedMs : 0);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a " + priority + " slot");
+            } finally {
+                waiting[lane]--;
+                // Lower lanes may have been holding back for this call
+                lock.notifyAll();
+            }
+            inFlight[lane]++;
+            admitted[lane]++;
+            maxWaitMs[lane] = Math.max(maxWaitMs[lane],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    void release(RequestPriority priority) {
+        synchronized (lock) {
+            inFlight[priority.ordinal()]--;
+            lock.notifyAll();
+        }
+    }
+
+    // Caller holds lock
+    private boolean canStart(RequestPriority priority, long waitingSince) {
+        int lane = priority.ordinal();
+        if (inFlight[lane] >= limits[lane]) {
+            return false;
+        }
+        if (priority.isDeferrable()
+                && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitingSince) >= MAX_DEFERRAL_MS) {
+            return true;
+        }
+        // Strict priority among waiters: a free slot goes to the higher lane first
+        for (int higher = 0; higher < lane; higher++) {
+            if (waiting[higher] > 0) {
+                return false;
+            }
+        }
+        return !priority.isDeferrable() || inFlight[RequestPriority.USER_BLOCKING.ordinal()] == 0;
+    }
+
+    /**
+     * Hands the lane slot back once the body is closed (Retrofit closes it after decoding).
+     */
+    private class ReleasingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final RequestPriority priority;
+        private BufferedSource source;
+        private boolean released;
+
+        ReleasingBody(ResponseBody delegate, RequestPriority priority) {
+            this.delegate = delegate;
+            this.priority = priority;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public synchronized BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            releaseOnce();
+                        }
+                    }
+                });
+            }
+            return source;
+        }
+
+        private synchronized void releaseOnce() {
+            if (!released) {
+                released = true;
+                release(priority);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.easy.easybook.prefetch;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Values loaded ahead of the screen that needs them, held within a byte budget.
+ *
+ * Sizes are the caller's estimates. When a put goes over the budget the least recently used
+ * entries go first; entries also expire after a fixed age, since nothing re-validates them.
+ * Lookups count towards the hit rate, and entries dropped before anyone read them count as
+ * wasted, so the two together say whether prefetching pays for itself.
+ *
+ * {@link #invalidate} bumps a generation number. A load that started before it passes the
+ * generation it saw to {@link #put}, which then discards the possibly stale value.
+ */
+public class PrefetchCache {
+
+    private final long budgetBytes;
+    private final long maxAgeMs;
+    // Access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long usedBytes;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long stored;
+    private long wasted;
+
+    public PrefetchCache(long budgetBytes, long maxAgeMs) {
+        this.budgetBytes = budgetBytes;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /** Pass to {@link #put} from a load started now. */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /** Whether key is held and fresh; not counted as a lookup. */
+    public synchronized boolean contains(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && isExpired(entry)) {
+            drop(key, entry);
+            return false;
+        }
+        return entry != null;
+    }
+
+    /**
+     * Stores value unless something was invalidated since {@code loadGeneration}, or it alone
+     * exceeds the budget.
+     *
+     * @return whether it was stored
+     */
+    public synchronized boolean put(String key, Object value, long bytes, long loadGeneration) {
+        if (loadGeneration != generation || bytes > budgetBytes) {
+            return false;
+        }
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            usedBytes -= previous.bytes;
+        }
+        entries.put(key, new Entry(value, bytes, now()));
+        usedBytes += bytes;
+        stored++;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            iterator.remove();
+            forget(eldest.getValue());
+        }
+        return true;
+    }
+
+    /** The value stored for key, or null. Counts towards the hit rate. */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && isExpired(entry)) {
+            drop(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        entry.used = true;
+        return (T) entry.value;
+    }
+
+    /** Drops every entry whose key starts with prefix, and any load of it still running. */
+    public synchronized void invalidate(String prefix) {
+        generation++;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                iterator.remove();
+                forget(entry.getValue());
+            }
+        }
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Entries dropped (evicted, expired or invalidated) before they were ever read. */
+    public synchronized long getWasted() {
+        return wasted;
+    }
+
+    public synchronized long getStored() {
+        return stored;
+    }
+
+    /** Share of lookups answered from the cache, 0 when nothing was looked up. */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    private boolean isExpired(Entry entry) {
+        return now() - entry.storedAt > maxAgeMs;
+    }
+
+    private void drop(String key, Entry entry) {
+        entries.remove(key);
+        forget(entry);
+    }
+
+    private void forget(Entry entry) {
+        usedBytes -= entry.bytes;
+        if (!entry.used) {
+            wasted++;
+        }
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long bytes;
+        final long storedAt;
+        boolean used;
+
+        Entry(Object value, long bytes, long storedAt) {
+            this.value = value;
+            this.bytes = bytes;
+            this.storedAt = storedAt;
+        }
+    }
+}
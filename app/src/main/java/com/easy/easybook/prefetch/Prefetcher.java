@@ -0,0 +1,296 @@
+package com.easy.easybook.prefetch;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.easy.easybook.R;
+import com.easy.easybook.concurrent.AppExecutors;
+import com.easy.easybook.data.DataChange;
+import com.easy.easybook.data.DataChangeBus;
+import com.easy.easybook.data.LocalDataManager;
+import com.easy.easybook.data.ServiceManager;
+import com.easy.easybook.images.ServiceImageLoader;
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.Service;
+import com.easy.easybook.network.budget.DataBudget;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads what the next screen will need before the user opens it.
+ *
+ * Screens report themselves as they are shown, and {@link TransitionStats} learns which screen
+ * tends to follow which. From a screen likely to lead to My Bookings, the user's bookings are
+ * loaded; from a list likely to lead to a service detail, the services on the cards currently
+ * visible are loaded together with their detail-size image.
+ *
+ * Loads wait for the main looper to go idle, so they never compete with a frame, and then run
+ * one at a time on the lowest-priority thread. Nothing is loaded while the data mode disallows
+ * prefetch. Results sit in a {@link PrefetchCache}, which is cleared when the stores publish a
+ * change to what it holds.
+ *
+ * Main thread only, except the getters, which may be called from a load.
+ */
+public class Prefetcher {
+    private static final String TAG = "Prefetcher";
+
+    public static final String SCREEN_HOME = "home";
+    public static final String SCREEN_SEARCH = "search";
+    public static final String SCREEN_DETAIL = "detail";
+    public static final String SCREEN_BOOK = "book";
+    public static final String SCREEN_MY_BOOKINGS = "myBookings";
+
+    public interface ServiceIdSource {
+        /** The service shown at an adapter position, or null if it isn't loaded (yet). */
+        @Nullable
+        String serviceIdAt(int position);
+    }
+
+    private static final String PREFS_NAME = "EasyBookPrefetch";
+    private static final String KEY_TRANSITIONS = "transitions";
+
+    // Below this chance of being next, a screen isn't worth loading for
+    static final double MIN_PROBABILITY = 0.25;
+    private static final long MEMORY_BUDGET_BYTES = 512 * 1024;
+    private static final long MAX_AGE_MS = 2 * 60 * 1000;
+    // A tap usually lands on one of the first few cards in view
+    private static final int MAX_VISIBLE_SERVICES = 4;
+    // Loads started per idle pass, so draining the queue never delays the next frame
+    private static final int LOADS_PER_IDLE = 2;
+
+    // MyBookingsActivity doesn't track the logged-in user yet and lists this one
+    private static final String BOOKINGS_USER = "current_user";
+
+    private static final String KEY_SERVICE = "service:";
+    private static final String KEY_BOOKINGS = "bookings:";
+
+    private static Prefetcher instance;
+
+    private final Context context;
+    private final TransitionStats stats;
+    private final PrefetchCache cache = new PrefetchCache(MEMORY_BUDGET_BYTES, MAX_AGE_MS);
+    private final DataBudget budget;
+    private final Executor background;
+    private final Executor mainThread;
+    // Loads waiting for an idle main looper, in the order asked for
+    private final LinkedHashMap<String, Callable<?>> pending = new LinkedHashMap<>();
+    private final MessageQueue.IdleHandler drain = this::drainPending;
+    private boolean drainScheduled;
+    private String currentScreen;
+    private ServiceImageLoader detailImages;
+
+    private Prefetcher(Context context) {
+        this.context = context;
+        final SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        stats = new TransitionStats(new TransitionStats.Store() {
+            @Override
+            public String load() {
+                return prefs.getString(KEY_TRANSITIONS, null);
+            }
+
+            @Override
+            public void save(String json) {
+                prefs.edit().putString(KEY_TRANSITIONS, json).apply();
+            }
+        });
+        // What a new user tends to do, until their own history says otherwise
+        stats.seed(SCREEN_HOME, SCREEN_SEARCH, 3);
+        stats.seed(SCREEN_HOME, SCREEN_DETAIL, 2);
+        stats.seed(SCREEN_HOME, SCREEN_MY_BOOKINGS, 1);
+        stats.seed(SCREEN_SEARCH, SCREEN_DETAIL, 3);
+        stats.seed(SCREEN_SEARCH, SCREEN_HOME, 1);
+        stats.seed(SCREEN_DETAIL, SCREEN_BOOK, 2);
+        stats.seed(SCREEN_DETAIL, SCREEN_SEARCH, 1);
+        stats.seed(SCREEN_BOOK, SCREEN_MY_BOOKINGS, 1);
+
+        budget = DataBudget.getInstance(context);
+        AppExecutors executors = AppExecutors.getInstance();
+        background = executors.prefetch();
+        mainThread = executors.mainThread();
+
+        DataChangeBus bus = DataChangeBus.getInstance();
+        bus.observeForever(DataChange.Store.BOOKINGS, null, change -> cache.invalidate(KEY_BOOKINGS));
+        bus.observeForever(DataChange.Store.SERVICES, null, change -> cache.invalidate(KEY_SERVICE));
+    }
+
+    public static synchronized Prefetcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new Prefetcher(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /** Call from onResume. Learns the transition and queues loads for the likely next screens. */
+    public void onScreenShown(String screen) {
+        stats.record(currentScreen, screen);
+        currentScreen = screen;
+        for (String next : stats.likelyNext(screen, MIN_PROBABILITY)) {
+            if (SCREEN_MY_BOOKINGS.equals(next)) {
+                enqueue(KEY_BOOKINGS + BOOKINGS_USER,
+                        () -> LocalDataManager.getInstance(context).getUserBookings(BOOKINGS_USER));
+            }
+        }
+    }
+
+    /**
+     * A scroll listener reporting the services on screen whenever the list comes to rest,
+     * so their details load if a detail screen is a likely next step from this one.
+     */
+    public RecyclerView.OnScrollListener visibleServices(final String screen, final ServiceIdSource ids) {
+        return new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView list, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    onServicesVisible(screen, visibleIds(list, ids));
+                }
+            }
+
+            @Override
+            public void onScrolled(@NonNull RecyclerView list, int dx, int dy) {
+                // (0, 0) is a layout pass, e.g. the first items appearing
+                if (dx == 0 && dy == 0) {
+                    onServicesVisible(screen, visibleIds(list, ids));
+                }
+            }
+        };
+    }
+
+    /** The service if it was prefetched, else null. Counts towards the hit rate. */
+    @Nullable
+    public Service getService(String serviceId) {
+        return lookUp(KEY_SERVICE + serviceId);
+    }
+
+    /** The user's bookings if they were prefetched, else null. Counts towards the hit rate. */
+    @Nullable
+    public List<Booking> getUserBookings(String userId) {
+        return lookUp(KEY_BOOKINGS + userId);
+    }
+
+    private void onServicesVisible(String screen, List<String> serviceIds) {
+        if (stats.probability(screen, SCREEN_DETAIL) < MIN_PROBABILITY) {
+            return;
+        }
+        for (int i = 0; i < serviceIds.size() && i < MAX_VISIBLE_SERVICES; i++) {
+            final String serviceId = serviceIds.get(i);
+            enqueue(KEY_SERVICE + serviceId, () -> {
+                final Service service = ServiceManager.getInstance(context).getServiceById(serviceId);
+                if (service != null) {
+                    // Glide starts its requests from the main thread
+                    mainThread.execute(() -> detailImages().preload(service.getImageUrl()));
+                }
+                return service;
+            });
+        }
+    }
+
+    private static List<String> visibleIds(RecyclerView list, ServiceIdSource ids) {
+        List<String> visible = new ArrayList<>();
+        if (!(list.getLayoutManager() instanceof LinearLayoutManager)) {
+            return visible;
+        }
+        LinearLayoutManager layout = (LinearLayoutManager) list.getLayoutManager();
+        int first = layout.findFirstVisibleItemPosition();
+        int last = layout.findLastVisibleItemPosition();
+        for (int position = Math.max(first, 0); position <= last; position++) {
+            String id = ids.serviceIdAt(position);
+            if (id != null) {
+                visible.add(id);
+            }
+        }
+        return visible;
+    }
+
+    private void enqueue(String key, Callable<?> load) {
+        if (pending.containsKey(key) || cache.contains(key)) {
+            return;
+        }
+        pending.put(key, load);
+        if (!drainScheduled) {
+            drainScheduled = true;
+            Looper.getMainLooper().getQueue().addIdleHandler(drain);
+        }
+    }
+
+    // Runs when the main looper has nothing else to do; staying registered until the queue is empty
+    private boolean drainPending() {
+        Iterator<Map.Entry<String, Callable<?>>> iterator = pending.entrySet().iterator();
+        for (int started = 0; started < LOADS_PER_IDLE && iterator.hasNext(); started++) {
+            Map.Entry<String, Callable<?>> next = iterator.next();
+            iterator.remove();
+            if (budget.allowsPrefetch()) {
+                load(next.getKey(), next.getValue());
+            }
+        }
+        drainScheduled = !pending.isEmpty();
+        return drainScheduled;
+    }
+
+    private void load(final String key, final Callable<?> load) {
+        final long generation = cache.generation();
+        background.execute(() -> {
+            if (cache.contains(key)) {
+                return;
+            }
+            try {
+                Object value = load.call();
+                if (value != null) {
+                    cache.put(key, value, estimateBytes(value), generation);
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "Prefetch of " + key + " failed", e);
+            }
+        });
+    }
+
+    private <T> T lookUp(String key) {
+        T value = cache.get(key);
+        Log.d(TAG, String.format(Locale.US, "%s %s; hit rate %.0f%% of %d, %d wasted, %d KB held",
+                key, value != null ? "hit" : "miss", cache.getHitRate() * 100,
+                cache.getHits() + cache.getMisses(), cache.getWasted(), cache.getUsedBytes() / 1024));
+        return value;
+    }
+
+    private ServiceImageLoader detailImages() {
+        if (detailImages == null) {
+            // Same size as ServiceDetailActivity's, so its request finds this one in memory
+            detailImages = new ServiceImageLoader(Glide.with(context), context,
+                    R.dimen.service_image_detail_width, R.dimen.service_image_detail_height,
+                    R.drawable.ic_service_placeholder);
+        }
+        return detailImages;
+    }
+
+    // Rough heap cost; strings dominate, at two bytes a character
+    private static long estimateBytes(Object value) {
+        if (value instanceof Service) {
+            Service service = (Service) value;
+            return 256 + 2L * (length(service.getName()) + length(service.getDescription())
+                    + length(service.getCategory()) + length(service.getImageUrl()));
+        }
+        if (value instanceof List) {
+            return 64 + 1024L * ((List<?>) value).size();
+        }
+        return 256;
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+}
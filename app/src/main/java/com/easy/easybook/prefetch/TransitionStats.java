@@ -0,0 +1,148 @@
+package com.easy.easybook.prefetch;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How often each screen led to each other screen, as a first-order Markov chain. Counts start
+ * from a small prior, so a fresh install still predicts the usual home, search, detail, book
+ * path, and the user's own habits take over after a few visits.
+ *
+ * Once a screen has {@link #MAX_COUNT_PER_SCREEN} transitions its counts are halved, so recent
+ * behaviour outweighs old habits.
+ */
+public class TransitionStats {
+
+    static final int MAX_COUNT_PER_SCREEN = 64;
+
+    /** Where the counts live between launches. */
+    public interface Store {
+        String load();
+
+        void save(String json);
+    }
+
+    private final Store store;
+    private final Gson gson = new Gson();
+    private final Map<String, Map<String, Integer>> counts = new HashMap<>();
+    // Screens with real history, saved or recorded; the prior no longer applies to them
+    private final Set<String> observed = new HashSet<>();
+
+    public TransitionStats(Store store) {
+        this.store = store;
+        load();
+    }
+
+    /** A prior count for from -> to. Ignored once the user has history for from. */
+    public synchronized void seed(String from, String to, int count) {
+        if (observed.contains(from)) {
+            return;
+        }
+        Map<String, Integer> next = counts.get(from);
+        if (next == null) {
+            next = new HashMap<>();
+            counts.put(from, next);
+        }
+        next.put(to, count);
+    }
+
+    public synchronized void record(String from, String to) {
+        if (from == null || from.equals(to)) {
+            return;
+        }
+        // The prior stays in the counts and is outweighed as real transitions add up
+        observed.add(from);
+        Map<String, Integer> next = counts.get(from);
+        if (next == null) {
+            next = new HashMap<>();
+            counts.put(from, next);
+        }
+        Integer count = next.get(to);
+        next.put(to, count == null ? 1 : count + 1);
+        if (total(next) > MAX_COUNT_PER_SCREEN) {
+            halve(next);
+        }
+        store.save(gson.toJson(counts));
+    }
+
+    /** Estimated chance that from is followed by to; 0 when from was never seen. */
+    public synchronized double probability(String from, String to) {
+        Map<String, Integer> next = counts.get(from);
+        if (next == null) {
+            return 0;
+        }
+        int total = total(next);
+        Integer count = next.get(to);
+        return total == 0 || count == null ? 0 : (double) count / total;
+    }
+
+    /** Screens that follow from with at least minProbability, most likely first. */
+    public synchronized List<String> likelyNext(String from, double minProbability) {
+        Map<String, Integer> next = counts.get(from);
+        if (next == null) {
+            return Collections.emptyList();
+        }
+        final Map<String, Integer> snapshot = new HashMap<>(next);
+        int total = total(snapshot);
+        List<String> likely = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : snapshot.entrySet()) {
+            if (total > 0 && (double) entry.getValue() / total >= minProbability) {
+                likely.add(entry.getKey());
+            }
+        }
+        Collections.sort(likely, (a, b) -> snapshot.get(b) - snapshot.get(a));
+        return likely;
+    }
+
+    private static int total(Map<String, Integer> next) {
+        int total = 0;
+        for (int count : next.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static void halve(Map<String, Integer> next) {
+        List<String> screens = new ArrayList<>(next.keySet());
+        for (String screen : screens) {
+            int halved = next.get(screen) / 2;
+            if (halved == 0) {
+                next.remove(screen);
+            } else {
+                next.put(screen, halved);
+            }
+        }
+    }
+
+    private void load() {
+        String json = store.load();
+        if (json == null) {
+            return;
+        }
+        try {
+            Map<String, Map<String, Integer>> saved = gson.fromJson(json,
+                    new TypeToken<Map<String, Map<String, Integer>>>() {}.getType());
+            if (saved != null) {
+                for (Map.Entry<String, Map<String, Integer>> entry : saved.entrySet()) {
+                    if (entry.getKey() != null && entry.getValue() != null) {
+                        counts.put(entry.getKey(), new HashMap<>(entry.getValue()));
+                        observed.add(entry.getKey());
+                    }
+                }
+            }
+        } catch (JsonParseException e) {
+            // Only a hint for prefetching: start again from the prior
+            counts.clear();
+            observed.clear();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.easy.easybook.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * App start-up work as named tasks with dependencies. Each task is submitted as soon as the
+ * tasks it depends on have finished, so independent ones run in parallel. Callers block only
+ * on the tasks they need, via {@link #await}.
+ *
+ * A task that throws still counts as finished: the singletons these tasks warm up are created
+ * lazily anyway, so a dependent can go ahead and the screen that needs it will retry.
+ */
+public class StartupGraph {
+
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    public interface Listener {
+        /** Called on the thread that ran the task. */
+        void onTaskFinished(String name, long waitedMicros, long ranMicros, Throwable failure);
+
+        /** Called once the last task has finished. */
+        void onAllFinished(long totalMicros);
+    }
+
+    private final Map<String, Node> nodes;
+    private final AtomicInteger remaining;
+    private volatile Listener listener;
+    private volatile Executor executor;
+    private volatile long startNanos;
+
+    private StartupGraph(Map<String, Node> nodes) {
+        this.nodes = nodes;
+        this.remaining = new AtomicInteger(nodes.size());
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /** Submits every task without dependencies; the rest follow as their dependencies finish. */
+    public void start(Executor executor) {
+        if (this.executor != null) {
+            throw new IllegalStateException("Already started");
+        }
+        this.executor = executor;
+        startNanos = System.nanoTime();
+        // Pick the roots before submitting any: a fast root could otherwise release a
+        // dependent that this loop then submits a second time
+        List<Node> roots = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            if (node.dependsOn.isEmpty()) {
+                roots.add(node);
+            }
+        }
+        for (Node root : roots) {
+            submit(root);
+        }
+    }
+
+    /**
+     * Blocks until the task has finished or the timeout passes.
+     *
+     * @return false if it timed out
+     */
+    public boolean await(String name, long timeoutMs) {
+        Node node = nodes.get(name);
+        if (node == null) {
+            throw new IllegalArgumentException("Unknown startup task " + name);
+        }
+        try {
+            return node.done.await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return node.done.getCount() == 0;
+        }
+    }
+
+    public boolean isFinished(String name) {
+        Node node = nodes.get(name);
+        return node != null && node.done.getCount() == 0;
+    }
+
+    /** How long each finished task ran, in microseconds, in the order they were declared. */
+    public Map<String, Long> getDurationsMicros() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        for (Node node : nodes.values()) {
+            if (node.done.getCount() == 0) {
+                durations.put(node.name, node.ranMicros);
+            }
+        }
+        return durations;
+    }
+
+    private void submit(final Node node) {
+        final long submitted = System.nanoTime();
+        executor.execute(() -> run(node, submitted));
+    }
+
+    private void run(Node node, long submitted) {
+        long started = System.nanoTime();
+        Throwable failure = null;
+        try {
+            node.task.run();
+        } catch (Throwable t) {
+            failure = t;
+        }
+        long finished = System.nanoTime();
+        node.ranMicros = (finished - started) / 1_000L;
+        node.done.countDown();
+
+        Listener current = listener;
+        if (current != null) {
+            current.onTaskFinished(node.name, (started - submitted) / 1_000L, node.ranMicros, failure);
+        }
+        for (Node dependent : node.dependents) {
+            if (dependent.pendingDependencies.decrementAndGet() == 0) {
+                submit(dependent);
+            }
+        }
+        if (remaining.decrementAndGet() == 0 && current != null) {
+            current.onAllFinished((finished - startNanos) / 1_000L);
+        }
+    }
+
+    private static final class Node {
+        final String name;
+        final Task task;
+        final List<String> dependsOn;
+        final List<Node> dependents = new ArrayList<>();
+        final AtomicInteger pendingDependencies;
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile long ranMicros;
+
+        Node(String name, Task task, List<String> dependsOn) {
+            this.name = name;
+            this.task = task;
+            this.dependsOn = dependsOn;
+            this.pendingDependencies = new AtomicInteger(dependsOn.size());
+        }
+    }
+
+    public static class Builder {
+        private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+        /** Declares a task; its dependencies must have been added first. */
+        public Builder add(String name, Task task, String... dependsOn) {
+            if (nodes.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate startup task " + name);
+            }
+            List<String> dependencies = new ArrayList<>();
+            Collections.addAll(dependencies, dependsOn);
+            Set<String> seen = new HashSet<>();
+            for (String dependency : dependencies) {
+                // Declaring dependencies first keeps the graph acyclic by construction
+                if (!nodes.containsKey(dependency)) {
+                    throw new IllegalArgumentException(name + " depends on undeclared task " + dependency);
+                }
+                if (!seen.add(dependency)) {
+                    throw new IllegalArgumentException(name + " lists " + dependency + " twice");
+                }
+            }
+            nodes.put(name, new Node(name, task, dependencies));
+            return this;
+        }
+
+        public StartupGraph build() {
+            for (Node node : nodes.values()) {
+                for (String dependency : node.dependsOn) {
+                    nodes.get(dependency).dependents.add(node);
+                }
+            }
+            return new StartupGraph(nodes);
+        }
+    }
+}
@@ -9,10 +9,14 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.ActivityAdminDashboardBinding;
 import com.easy.easybook.models.Booking;
 import com.easy.easybook.models.Service;
 import com.easy.easybook.models.User;
+import com.easy.easybook.data.DataChange;
+import com.easy.easybook.data.DataChangeBus;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.data.LocalDataManager;
 import com.easy.easybook.data.SeedData;
 import com.easy.easybook.data.ServiceManager;
@@ -34,6 +38,7 @@ public class AdminDashboardActivity extends AppCompatActivity implements AdminSe
     private FeedbackAdapter feedbackAdapter;
     private ProviderAdapter providerAdapter;
     private LocalDataManager dataManager;
+    private TaskScope scope;
     private List<User> allUsers;
     private List<User> serviceProviders;
 
@@ -44,10 +49,22 @@ public class AdminDashboardActivity extends AppCompatActivity implements AdminSe
         setContentView(binding.getRoot());
         
         dataManager = LocalDataManager.getInstance(this);
+        scope = TaskScope.of(this);
         setupUI();
         loadAnalytics();
         setupClickListeners();
         setupRecyclerView();
+
+        // Loaded once above; after that only the parts a change touches are recomputed
+        DataChangeBus changes = DataChangeBus.getInstance();
+        changes.observe(this, DataChange.Store.BOOKINGS, null, change -> {
+            loadAnalytics();
+            loadFeedback();
+        });
+        changes.observe(this, DataChange.Store.SERVICES, null, change -> {
+            loadAnalytics();
+            loadServices();
+        });
     }
 
     private void setupUI() {
@@ -102,8 +119,11 @@ public class AdminDashboardActivity extends AppCompatActivity implements AdminSe
     }
 
     private void loadAnalytics() {
-        List<Booking> allBookings = dataManager.getAllBookings();
-        
+        scope.load(dataManager::getAllBookings, allBookings ->
+                scope.load(dataManager::getAllServices, services -> showAnalytics(allBookings, services.size())));
+    }
+
+    private void showAnalytics(List<Booking> allBookings, int totalServices) {
         // Load users and providers
         allUsers = new ArrayList<>();
         serviceProviders = new ArrayList<>();
@@ -149,10 +169,6 @@ public class AdminDashboardActivity extends AppCompatActivity implements AdminSe
             }
         }
         
-        // Load services
-        List<Service> services = dataManager.getAllServices();
-        int totalServices = services.size();
-        
         // Update analytics displays
         binding.tvTotalBookings.setText(String.valueOf(totalBookings));
         binding.tvCompletedBookings.setText(String.valueOf(completedBookings));
@@ -179,22 +195,20 @@ public class AdminDashboardActivity extends AppCompatActivity implements AdminSe
     private void loadServices() {
         // Use centralized ServiceManager for consistency
         ServiceManager serviceManager = ServiceManager.getInstance(this);
-        List<Service> services = serviceManager.getAllServices();
-        serviceAdapter.setServices(services);
+        scope.load(serviceManager::getAllServices, serviceAdapter::setServices);
     }
     
     private void loadFeedback() {
         // Get bookings with ratings (feedback)
-        List<Booking> allBookings = dataManager.getAllBookings();
-        List<Booking> feedbackBookings = new ArrayList<>();
-        
-        for (Booking booking : allBookings) {
-            if (booking.getRating() > 0) { // Only bookings with ratings
-                feedbackBookings.add(booking);
+        scope.load(() -> {
+            List<Booking> feedbackBookings = new ArrayList<>();
+            for (Booking booking : dataManager.getAllBookings()) {
+                if (booking.getRating() > 0) { // Only bookings with ratings
+                    feedbackBookings.add(booking);
+                }
             }
-        }
-        
-        feedbackAdapter.setFeedbackList(feedbackBookings);
+            return feedbackBookings;
+        }, feedbackAdapter::setFeedbackList);
     }
     
     private void loadProviders() {
@@ -218,18 +232,10 @@ public class AdminDashboardActivity extends AppCompatActivity implements AdminSe
                 .show();
     }
     
-    @Override
-    protected void onResume() {
-        super.onResume();
-        // Reload data when returning to this screen
-        loadAnalytics();
-        loadServices();
-    }
-
     @Override
     public void onEditService(Service service) {
         Intent intent = new Intent(this, ServiceManagementActivity.class);
-        intent.putExtra("service_to_edit", service);
+        HandoffCache.getInstance(this).putService(intent, service);
         intent.putExtra("is_edit_mode", true);
         startActivity(intent);
     }
@@ -242,9 +248,9 @@ public class AdminDashboardActivity extends AppCompatActivity implements AdminSe
                 .setPositiveButton("Delete", (dialog, which) -> {
                     // In a real app, implement service deletion in DataManager
                     // For demo purposes, update via button
-                    List<Service> services = serviceAdapter.getServices();
+                    List<Service> services = new ArrayList<>(serviceAdapter.getServices());
                     services.remove(service);
-                    serviceAdapter.notifyDataSetChanged();
+                    serviceAdapter.setServices(services);
                     Toast.makeText(this, "Service" + service.getName() + "deleted successfully", Toast.LENGTH_SHORT).show(); // simplified for readability
                 })
                 .setNegativeButton("Cancel", null)
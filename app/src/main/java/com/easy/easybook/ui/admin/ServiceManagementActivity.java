@@ -12,8 +12,10 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.ActivityServiceManagementBinding;
 import com.easy.easybook.models.Service;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.data.LocalDataManager;
 import com.easy.easybook.data.ServiceManager;
 import com.easy.easybook.ui.admin.adapters.AdminServiceAdapter;
@@ -23,6 +25,7 @@ public class ServiceManagementActivity extends AppCompatActivity implements Admi
     private ActivityServiceManagementBinding binding;
     private AdminServiceAdapter adapter;
     private LocalDataManager dataManager;
+    private TaskScope scope;
     private Service editingService;
 
     @Override
@@ -32,13 +35,16 @@ public class ServiceManagementActivity extends AppCompatActivity implements Admi
         setContentView(binding.getRoot());
 
         dataManager = LocalDataManager.getInstance(this);
+        scope = TaskScope.of(this);
 
         // Check if editing a service passed in the extras
         if (getIntent().getBooleanExtra("is_edit_mode", false)) {
-            editingService = (Service) getIntent().getSerializableExtra("service_to_edit");
-            if (editingService != null) {
-                populateEditForm(editingService);
-            }
+            HandoffCache.getInstance(this).resolveService(getIntent(), scope, service -> {
+                editingService = service;
+                if (editingService != null) {
+                    populateEditForm(editingService);
+                }
+            });
         }
 
         setupUI();
@@ -69,35 +75,36 @@ public class ServiceManagementActivity extends AppCompatActivity implements Admi
     private void loadServices() {
         // Use centralized ServiceManager for consistency
         ServiceManager serviceManager = ServiceManager.getInstance(this);
-        List<Service> services = serviceManager.getAllServices();
-        adapter.setServices(services);
-
-        if (services.isEmpty()) {
-            binding.layoutEmpty.setVisibility(android.view.View.VISIBLE);
-            binding.rvServices.setVisibility(android.view.View.GONE);
-        } else {
-            binding.layoutEmpty.setVisibility(android.view.View.GONE);
-            binding.rvServices.setVisibility(android.view.View.VISIBLE);
-        }
+        scope.load(serviceManager::getAllServices, services -> {
+            adapter.setServices(services);
+
+            if (services.isEmpty()) {
+                binding.layoutEmpty.setVisibility(android.view.View.VISIBLE);
+                binding.rvServices.setVisibility(android.view.View.GONE);
+            } else {
+                binding.layoutEmpty.setVisibility(android.view.View.GONE);
+                binding.rvServices.setVisibility(android.view.View.VISIBLE);
+            }
+        });
     }
 
     private void filterServices(String category) {
         // Use centralized ServiceManager for consistency
         ServiceManager serviceManager = ServiceManager.getInstance(this);
-        List<Service> allServices = serviceManager.getAllServices();
-        
-        if (category.equals("all")) {
-            adapter.setServices(allServices);
-            return;
-        }
-        
-        List<Service> filteredServices = new ArrayList<>();
-        for (Service service : allServices) {
-            if (service.getCategory().equals(category)) {
-                filteredServices.add(service);
+        scope.load(() -> {
+            List<Service> allServices = serviceManager.getAllServices();
+            if (category.equals("all")) {
+                return allServices;
             }
-        }
-        adapter.setServices(filteredServices);
+            
+            List<Service> filteredServices = new ArrayList<>();
+            for (Service service : allServices) {
+                if (service.getCategory().equals(category)) {
+                    filteredServices.add(service);
+                }
+            }
+            return filteredServices;
+        }, adapter::setServices);
     }
 
     private void showAddServiceDialog() {
@@ -167,19 +174,19 @@ public class ServiceManagementActivity extends AppCompatActivity implements Admi
             service.setDuration(duration);
             service.setRating(5.0f); // Default for new services
             
-            if (dataManager.saveService(service)) {
-                Toast.makeText(this, 
-                    existingService != null ? "Service updated" : "Service added successfully", 
-                    Toast.LENGTH_SHORT).show();
-                loadServices();
-            } else {
-                Toast.makeText(this, "Save failed", Toast.LENGTH_SHORT).show();
-            }
+            scope.write(() -> dataManager.saveService(service), saved -> {
+                if (saved) {
+                    Toast.makeText(this, 
+                        existingService != null ? "Service updated" : "Service added successfully", 
+                        Toast.LENGTH_SHORT).show();
+                    loadServices();
+                } else {
+                    Toast.makeText(this, "Save failed", Toast.LENGTH_SHORT).show();
+                }
+            }, e -> Toast.makeText(this, "Error saving service", Toast.LENGTH_SHORT).show());
 
         } catch (NumberFormatException | IllegalStateException e) {
             Toast.makeText(this, "Invalid price", Toast.LENGTH_SHORT).show();
-        } catch (IllegalArgumentException | SecurityException e) {
-            Toast.makeText(this, "Error saving service", Toast.LENGTH_SHORT).show();
         }
     }
 
@@ -194,12 +201,14 @@ public class ServiceManagementActivity extends AppCompatActivity implements Admi
         builder.setTitle("Delete Service")
                 .setMessage("Are you sure you want to delete this service? This action cannot be undone.")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    if (dataManager.deleteService(service.getId())) {
-                        Toast.makeText(this, "Service deleted successfully", Toast.LENGTH_SHORT).show();
-                        loadServices();
-                    } else {
-                        Toast.makeText(this, "Delete failed", Toast.LENGTH_SHORT).show();
-                    }
+                    scope.write(() -> dataManager.deleteService(service.getId()), deleted -> {
+                        if (deleted) {
+                            Toast.makeText(this, "Service deleted successfully", Toast.LENGTH_SHORT).show();
+                            loadServices();
+                        } else {
+                            Toast.makeText(this, "Delete failed", Toast.LENGTH_SHORT).show();
+                        }
+                    }, null);
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
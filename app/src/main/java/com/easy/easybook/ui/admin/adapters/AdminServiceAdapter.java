@@ -11,13 +11,20 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.R;
 import com.easy.easybook.models.Service;
+import com.easy.easybook.ui.diff.AdapterListDiffer;
+import com.easy.easybook.ui.diff.RowDiffCallback;
+import com.easy.easybook.ui.diff.StableIds;
+import com.easy.easybook.ui.model.BindTimer;
+import com.easy.easybook.ui.model.ServiceRow;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class AdminServiceAdapter extends RecyclerView.Adapter<AdminServiceAdapter.ServiceViewHolder> {
 
-    private List<Service> services = new ArrayList<>();
+    private final AdapterListDiffer<ServiceRow> rows = new AdapterListDiffer<>(this, new RowDiffCallback<ServiceRow>());
+    private final StableIds stableIds = new StableIds();
+    private final BindTimer bindTimer = new BindTimer("AdminServiceAdapter");
     private OnServiceActionListener listener;
 
     public interface OnServiceActionListener {
@@ -27,14 +34,19 @@ public class AdminServiceAdapter extends RecyclerView.Adapter<AdminServiceAdapte
 
     public AdminServiceAdapter(OnServiceActionListener listener) {
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void setServices(List<Service> services) {
-        this.services = services != null ? services : new ArrayList<>();
-        notifyDataSetChanged();
+        rows.submitMapped(services, ServiceRow::of);
     }
 
+    /** The services shown, as a new list; pass a changed one to {@link #setServices}. */
     public List<Service> getServices() {
+        List<Service> services = new ArrayList<>(rows.size());
+        for (ServiceRow row : rows.getCurrentList()) {
+            services.add(row.getService());
+        }
         return services;
     }
 
@@ -48,13 +60,19 @@ public class AdminServiceAdapter extends RecyclerView.Adapter<AdminServiceAdapte
 
     @Override
     public void onBindViewHolder(@NonNull ServiceViewHolder holder, int position) {
-        Service service = services.get(position);
-        holder.bind(service);
+        long start = bindTimer.start();
+        holder.bind(rows.get(position));
+        bindTimer.stop(start);
     }
 
     @Override
     public int getItemCount() {
-        return services.size();
+        return rows.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(rows.peek(position).getKey(), position);
     }
 
     public class ServiceViewHolder extends RecyclerView.ViewHolder {
@@ -71,23 +89,29 @@ public class AdminServiceAdapter extends RecyclerView.Adapter<AdminServiceAdapte
             tvServiceDuration = itemView.findViewById(R.id.tvServiceDuration);
             btnEdit = itemView.findViewById(R.id.btnEdit);
             btnDelete = itemView.findViewById(R.id.btnDelete);
-        }
 
-        public void bind(Service service) {
-            // Set service data
-            tvServiceName.setText(service.getName());
-            tvServiceCategory.setText(service.getCategory());
-            tvServicePrice.setText(String.format("$%.2f", service.getPrice()));
-            tvServiceDuration.setText(service.getDuration());
-            
-            // Set click listeners
             btnEdit.setOnClickListener(v -> {
-                if (listener != null) listener.onEditService(service);
+                Service service = currentService();
+                if (listener != null && service != null) listener.onEditService(service);
             });
-            
+
             btnDelete.setOnClickListener(v -> {
-                if (listener != null) listener.onDeleteService(service);
+                Service service = currentService();
+                if (listener != null && service != null) listener.onDeleteService(service);
             });
         }
+
+        // The service at this position now; a refresh can replace it without a rebind
+        private Service currentService() {
+            int position = getBindingAdapterPosition();
+            return position != RecyclerView.NO_POSITION ? rows.peek(position).getService() : null;
+        }
+
+        public void bind(ServiceRow row) {
+            tvServiceName.setText(row.getName());
+            tvServiceCategory.setText(row.getCategory());
+            tvServicePrice.setText(row.getPriceText());
+            tvServiceDuration.setText(row.getDuration());
+        }
     }
 }
@@ -11,26 +11,27 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.R;
 import com.easy.easybook.models.Booking;
+import com.easy.easybook.ui.diff.AdapterListDiffer;
+import com.easy.easybook.ui.diff.RowDiffCallback;
+import com.easy.easybook.ui.diff.StableIds;
+import com.easy.easybook.ui.model.BindTimer;
+import com.easy.easybook.ui.model.FeedbackRow;
 
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 public class FeedbackAdapter extends RecyclerView.Adapter<FeedbackAdapter.FeedbackViewHolder> {
     
-    private List<Booking> feedbackList;
-    private SimpleDateFormat dateFormat;
+    private final AdapterListDiffer<FeedbackRow> feedbackList;
+    private final StableIds stableIds = new StableIds();
+    private final BindTimer bindTimer = new BindTimer("FeedbackAdapter");
     
     public FeedbackAdapter() {
-        this.feedbackList = new ArrayList<>();
-        this.dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        this.feedbackList = new AdapterListDiffer<>(this, new RowDiffCallback<FeedbackRow>());
+        setHasStableIds(true);
     }
     
     public void setFeedbackList(List<Booking> feedbackList) {
-        this.feedbackList = feedbackList != null ? feedbackList : new ArrayList<>();
-        notifyDataSetChanged();
+        this.feedbackList.submitMapped(feedbackList, FeedbackRow::of);
     }
     
     @NonNull
@@ -42,8 +43,9 @@ public class FeedbackAdapter extends RecyclerView.Adapter<FeedbackAdapter.Feedba
     
     @Override
     public void onBindViewHolder(@NonNull FeedbackViewHolder holder, int position) {
-        Booking booking = feedbackList.get(position);
-        holder.bind(booking);
+        long start = bindTimer.start();
+        holder.bind(feedbackList.get(position));
+        bindTimer.stop(start);
     }
     
     @Override
@@ -51,6 +53,11 @@ public class FeedbackAdapter extends RecyclerView.Adapter<FeedbackAdapter.Feedba
         return feedbackList.size();
     }
     
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(feedbackList.peek(position).getKey(), position);
+    }
+    
     public class FeedbackViewHolder extends RecyclerView.ViewHolder {
         
         private TextView tvCustomerName;
@@ -70,33 +77,13 @@ public class FeedbackAdapter extends RecyclerView.Adapter<FeedbackAdapter.Feedba
             tvDate = itemView.findViewById(R.id.tv_date);
         }
         
-        public void bind(Booking booking) {
-            // Set customer name (in real app, this would come from user data)
-            tvCustomerName.setText(booking.getCustomerName() != null ? booking.getCustomerName() : "Anonymous Customer");
-            
-            // Set service name
-            tvServiceName.setText(booking.getServiceName());
-            
-            // Set rating
-            float rating = booking.getRating() > 0 ? booking.getRating() : 0f;
-            ratingBar.setRating(rating);
-            tvRating.setText(String.format(Locale.getDefault(), "%.1f", rating));
-            
-            // Set comment
-            String comment = booking.getRatingComment();
-            if (comment != null && !comment.isEmpty()) {
-                tvComment.setText(comment);
-            } else {
-                tvComment.setText("No comment provided");
-            }
-            
-            // Set date
-            Date bookingDate = booking.getBookingDate();
-            if (bookingDate != null) {
-                tvDate.setText(dateFormat.format(bookingDate));
-            } else {
-                tvDate.setText("Unknown date");
-            }
+        public void bind(FeedbackRow row) {
+            tvCustomerName.setText(row.getCustomerName());
+            tvServiceName.setText(row.getServiceName());
+            ratingBar.setRating(row.getRating());
+            tvRating.setText(row.getRatingText());
+            tvComment.setText(row.getCommentText());
+            tvDate.setText(row.getDateText());
         }
     }
 }
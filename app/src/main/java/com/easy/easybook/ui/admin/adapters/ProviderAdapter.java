@@ -11,13 +11,16 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.R;
 import com.easy.easybook.models.User;
+import com.easy.easybook.ui.diff.AdapterListDiffer;
+import com.easy.easybook.ui.diff.StableIds;
+import com.easy.easybook.ui.diff.UserDiffCallback;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class ProviderAdapter extends RecyclerView.Adapter<ProviderAdapter.ProviderViewHolder> {
     
-    private List<User> providerList;
+    private final AdapterListDiffer<User> providerList;
+    private final StableIds stableIds = new StableIds();
     private OnProviderActionListener listener;
     
     public interface OnProviderActionListener {
@@ -26,13 +29,13 @@ public class ProviderAdapter extends RecyclerView.Adapter<ProviderAdapter.Provid
     }
     
     public ProviderAdapter(OnProviderActionListener listener) {
-        this.providerList = new ArrayList<>();
+        this.providerList = new AdapterListDiffer<>(this, new UserDiffCallback());
         this.listener = listener;
+        setHasStableIds(true);
     }
     
     public void setProviderList(List<User> providerList) {
-        this.providerList = providerList != null ? providerList : new ArrayList<>();
-        notifyDataSetChanged();
+        this.providerList.submitList(providerList);
     }
     
     @NonNull
@@ -53,6 +56,11 @@ public class ProviderAdapter extends RecyclerView.Adapter<ProviderAdapter.Provid
         return providerList.size();
     }
     
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(providerList.peek(position).getId(), position);
+    }
+    
     public class ProviderViewHolder extends RecyclerView.ViewHolder {
         
         private TextView tvProviderName;
@@ -12,6 +12,7 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.ActivityRegisterBinding;
 import com.easy.easybook.network.ApiClient;
 import com.easy.easybook.network.responses.AuthResponse;
@@ -116,15 +117,17 @@ public class RegisterActivity extends AppCompatActivity {
         
         // Use centralized ServiceManager to get all available categories
         ServiceManager serviceManager = ServiceManager.getInstance(this);
-        java.util.List<String> categoriesList = serviceManager.getAllCategories();
-        
-        // Sort categories alphabetically for better UX
-        categoriesList.sort(String::compareToIgnoreCase);
-        
-        String[] categories = categoriesList.toArray(new String[0]);
-        
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line, categories);
-        categoryDropdown.setAdapter(adapter);
+        TaskScope.of(this).load(() -> {
+            java.util.List<String> categoriesList = serviceManager.getAllCategories();
+            
+            // Sort categories alphabetically for better UX
+            categoriesList.sort(String::compareToIgnoreCase);
+            
+            return categoriesList.toArray(new String[0]);
+        }, categories -> {
+            ArrayAdapter<String> adapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line, categories);
+            categoryDropdown.setAdapter(adapter);
+        });
         
         categoryDropdown.setOnClickListener(v -> categoryDropdown.showDropDown());
     }
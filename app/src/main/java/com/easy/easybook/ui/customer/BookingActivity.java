@@ -4,30 +4,25 @@ import android.app.DatePickerDialog;
 import android.app.TimePickerDialog;
 import android.os.Bundle;
 import android.text.TextUtils;
-import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.easy.easybook.concurrent.TaskScope;
+import com.easy.easybook.data.BookingOutbox;
 import com.easy.easybook.databinding.ActivityBookingBinding;
+import com.easy.easybook.models.Booking;
 import com.easy.easybook.models.Service;
-import com.easy.easybook.network.ApiClient;
-import com.easy.easybook.network.responses.ApiResponse;
 import com.easy.easybook.utils.AustralianAddressUtils;
 import com.easy.easybook.utils.AustralianValidationUtils;
-import com.google.gson.JsonObject;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class BookingActivity extends AppCompatActivity {
     
     private ActivityBookingBinding binding;
@@ -180,64 +175,39 @@ public class BookingActivity extends AppCompatActivity {
             return;
         }
         
-        // Show loading
-        binding.progressBar.setVisibility(View.VISIBLE);
-        binding.btnBookService.setEnabled(false);
-        
-        // Create booking request
-        JsonObject bookingRequest = new JsonObject();
-        bookingRequest.addProperty("serviceId", getIntent().getStringExtra("service_id"));
-        bookingRequest.addProperty("bookingDate", dateFormat.format(selectedDateTime.getTime()));
-        bookingRequest.addProperty("startTime", timeFormat.format(selectedDateTime.getTime()));
-        
-        JsonObject location = new JsonObject();
-        location.addProperty("type", "at_customer");
-        JsonObject addressObj = new JsonObject();
-        addressObj.addProperty("street", address);
-        addressObj.addProperty("city", city);
-        addressObj.addProperty("state", state);
-        addressObj.addProperty("zipCode", zipCode);
-        location.add("address", addressObj);
-        bookingRequest.add("location", location);
-        
-        if (!TextUtils.isEmpty(notes)) {
-            JsonObject notesObj = new JsonObject();
-            notesObj.addProperty("customer", notes);
-            bookingRequest.add("notes", notesObj);
-        }
-        
-        // Make API call
-        Call<ApiResponse> call = ApiClient.getInstance(this).getApiService()
-                .createBooking(null, bookingRequest); // Auth header will be added by interceptor
-        
-        call.enqueue(new Callback<ApiResponse>() {
-            @Override
-            public void onResponse(Call<ApiResponse> call, Response<ApiResponse> response) {
-                binding.progressBar.setVisibility(View.GONE);
-                binding.btnBookService.setEnabled(true);
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse apiResponse = response.body();
-                    if (apiResponse.isSuccess()) {
-                        Toast.makeText(BookingActivity.this, "Booking created successfully!", Toast.LENGTH_SHORT).show();
-                        finish();
-                    } else {
-                        Toast.makeText(BookingActivity.this, apiResponse.getMessage(), Toast.LENGTH_LONG).show();
-                    }
-                } else {
-                    Toast.makeText(BookingActivity.this, "Failed to create booking", Toast.LENGTH_LONG).show();
-                }
-            }
-            
-            @Override
-            public void onFailure(Call<ApiResponse> call, Throwable t) {
-                binding.progressBar.setVisibility(View.GONE);
-                binding.btnBookService.setEnabled(true);
-                Toast.makeText(BookingActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_LONG).show();
-            }
+        // Save locally; the outbox builds the API request and sends it as soon as we're online
+        Booking booking = new Booking();
+        booking.setServiceId(getIntent().getStringExtra("service_id"));
+        booking.setServiceName(getIntent().getStringExtra("service_name"));
+        booking.setCustomerId("current_user");
+        booking.setTotalAmount(parsePrice(getIntent().getStringExtra("service_price")));
+        booking.setBookingDate(selectedDateTime.getTime());
+        booking.setTimeSlot(timeFormat.format(selectedDateTime.getTime()));
+        booking.setAddress(address);
+        booking.setCity(city);
+        booking.setState(state);
+        booking.setZipCode(zipCode);
+        booking.setNotes(notes);
+        booking.setStatus("pending");
+        
+        BookingOutbox outbox = BookingOutbox.getInstance(this);
+        TaskScope.of(this).write(() -> outbox.createBooking(booking), () -> {
+            Toast.makeText(this, "Booking created successfully!", Toast.LENGTH_SHORT).show();
+            finish();
         });
     }
     
+    private double parsePrice(String price) {
+        if (price == null) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(price.replace("$", "").trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
     @Override
     protected void onDestroy() {
         super.onDestroy();
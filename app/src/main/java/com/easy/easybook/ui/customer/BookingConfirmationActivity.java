@@ -8,6 +8,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.ActivityBookingConfirmationBinding;
 import com.easy.easybook.models.Booking;
 import com.easy.easybook.models.BookingRequest;
@@ -156,8 +157,7 @@ public class BookingConfirmationActivity extends AppCompatActivity {
 
         // Save booking using LocalDataManager
         LocalDataManager dataManager = LocalDataManager.getInstance(this);
-        dataManager.saveBooking(booking);
-        
-        Toast.makeText(this, "Booking saved successfully", Toast.LENGTH_SHORT).show();
+        TaskScope.of(this).write(() -> dataManager.saveBooking(booking),
+                () -> Toast.makeText(this, "Booking saved successfully", Toast.LENGTH_SHORT).show());
     }
 }
@@ -15,9 +15,12 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.models.Booking;
 import com.easy.easybook.models.CartItem;
 import com.easy.easybook.models.Service;
+import com.easy.easybook.prefetch.Prefetcher;
 import com.easy.easybook.utils.AustralianAddressUtils;
 import com.easy.easybook.utils.AustralianValidationUtils;
 import com.google.android.material.button.MaterialButton;
@@ -51,40 +54,54 @@ public class BookingsActivity extends AppCompatActivity {
 
         // Check if this is a reschedule first
         isReschedule = getIntent().getBooleanExtra("is_reschedule", false);
+        HandoffCache handoff = HandoffCache.getInstance(this);
         if (isReschedule) {
-            rescheduleBooking = (Booking) getIntent().getSerializableExtra("reschedule_booking");
-            if (rescheduleBooking != null) {
-                // For reschedule, create a service object from booking data
-                selectedService = new Service();
-                selectedService.setId(rescheduleBooking.getServiceId() != null ? rescheduleBooking.getServiceId() : "reschedule_service");
-                selectedService.setName(rescheduleBooking.getServiceName());
-                selectedService.setPrice(rescheduleBooking.getTotalAmount());
-                selectedService.setCategory(rescheduleBooking.getServiceCategory());
-                selectedService.setDescription(rescheduleBooking.getServiceName());
-                selectedService.setDuration("1 hour");
-                selectedService.setRating(4.5f);
-                
-                prefillRescheduleData(rescheduleBooking);
-            } else {
-                Toast.makeText(this, "Reschedule booking not found", Toast.LENGTH_SHORT).show();
-                finish();
-                return;
-            }
+            handoff.resolveBooking(getIntent(), TaskScope.of(this), booking -> {
+                rescheduleBooking = booking;
+                if (rescheduleBooking != null) {
+                    // For reschedule, create a service object from booking data
+                    selectedService = new Service();
+                    selectedService.setId(rescheduleBooking.getServiceId() != null ? rescheduleBooking.getServiceId() : "reschedule_service");
+                    selectedService.setName(rescheduleBooking.getServiceName());
+                    selectedService.setPrice(rescheduleBooking.getTotalAmount());
+                    selectedService.setCategory(rescheduleBooking.getServiceCategory());
+                    selectedService.setDescription(rescheduleBooking.getServiceName());
+                    selectedService.setDuration("1 hour");
+                    selectedService.setRating(4.5f);
+                    
+                    prefillRescheduleData(rescheduleBooking);
+                    showForm();
+                } else {
+                    Toast.makeText(this, "Reschedule booking not found", Toast.LENGTH_SHORT).show();
+                    finish();
+                }
+            });
         } else {
-            // Get service data from intent for new bookings
-            selectedService = (Service) getIntent().getSerializableExtra("service");
-            if (selectedService == null) {
-                Toast.makeText(this, "Service not found", Toast.LENGTH_SHORT).show();
-                finish();
-                return;
-            }
+            // Get service data handed over by id for new bookings
+            handoff.resolveService(getIntent(), TaskScope.of(this), service -> {
+                selectedService = service;
+                if (selectedService == null) {
+                    Toast.makeText(this, "Service not found", Toast.LENGTH_SHORT).show();
+                    finish();
+                    return;
+                }
+                showForm();
+            });
         }
+    }
 
+    private void showForm() {
         initViews();
         setupClickListeners();
         populateServiceData();
     }
 
+    @Override
+    protected void onResume() {
+        super.onResume();
+        Prefetcher.getInstance(this).onScreenShown(Prefetcher.SCREEN_BOOK);
+    }
+
     private void initViews() {
         etBookingDate = findViewById(R.id.etBookingDate);
         etTimeSlot = findViewById(R.id.etTimeSlot);
@@ -298,9 +315,11 @@ public class BookingsActivity extends AppCompatActivity {
         if (validateForm()) {
             // Add to cart using LocalDataManager
             com.easy.easybook.data.LocalDataManager dataManager = com.easy.easybook.data.LocalDataManager.getInstance(this);
-            dataManager.addToCart(selectedService);
-            Toast.makeText(this, "Added to cart", Toast.LENGTH_SHORT).show();
-            finish();
+            Service service = selectedService;
+            TaskScope.of(this).write(() -> dataManager.addToCart(service), () -> {
+                Toast.makeText(this, "Added to cart", Toast.LENGTH_SHORT).show();
+                finish();
+            });
         }
     }
 
@@ -312,8 +331,8 @@ public class BookingsActivity extends AppCompatActivity {
             } else {
                 // Navigate to payment activity for new booking
                 Intent intent = new Intent(this, PaymentActivity.class);
-                intent.putExtra("service", selectedService);
-                intent.putExtra("booking_date", selectedDate.getTime());
+                HandoffCache.getInstance(this).putService(intent, selectedService);
+                intent.putExtra("booking_date", selectedDate.getTimeInMillis());
                 intent.putExtra("time_slot", selectedTimeSlot);
                 intent.putExtra("address", etAddress.getText().toString().trim());
                 intent.putExtra("city", etCity.getText().toString().trim());
@@ -330,27 +349,36 @@ public class BookingsActivity extends AppCompatActivity {
         // Update the existing booking with new time/date details
         com.easy.easybook.data.LocalDataManager dataManager = com.easy.easybook.data.LocalDataManager.getInstance(this);
         
-        // Update booking details
-        rescheduleBooking.setBookingDate(selectedDate.getTime());
-        rescheduleBooking.setTimeSlot(selectedTimeSlot);
-        rescheduleBooking.setAddress(etAddress.getText().toString().trim());
-        rescheduleBooking.setCity(etCity.getText().toString().trim());
-        rescheduleBooking.setState(etState.getText().toString().trim());
-        rescheduleBooking.setZipCode(etZipCode.getText().toString().trim());
-        rescheduleBooking.setNotes(etNotes.getText().toString().trim());
+        // Read the form now, then change the stored booking by id; rescheduleBooking came from
+        // HandoffCache and is shared with the list it was picked from, so it is left alone
+        final String bookingId = rescheduleBooking.getId();
+        final Date newDate = selectedDate.getTime();
+        final String newTimeSlot = selectedTimeSlot;
+        final String address = etAddress.getText().toString().trim();
+        final String city = etCity.getText().toString().trim();
+        final String state = etState.getText().toString().trim();
+        final String zipCode = etZipCode.getText().toString().trim();
+        final String notes = etNotes.getText().toString().trim();
         
-        // Save the updated booking
-        List<Booking> allBookings = dataManager.getAllBookings();
-        for (int i = 0; i < allBookings.size(); i++) {
-            if (allBookings.get(i).getId().equals(rescheduleBooking.getId())) {
-                allBookings.set(i, rescheduleBooking);
-                break;
+        TaskScope.of(this).write(() -> {
+            List<Booking> allBookings = dataManager.getAllBookings();
+            for (Booking stored : allBookings) {
+                if (stored.getId().equals(bookingId)) {
+                    stored.setBookingDate(newDate);
+                    stored.setTimeSlot(newTimeSlot);
+                    stored.setAddress(address);
+                    stored.setCity(city);
+                    stored.setState(state);
+                    stored.setZipCode(zipCode);
+                    stored.setNotes(notes);
+                    break;
+                }
             }
-        }
-        dataManager.saveBookings(allBookings);
-        
-        Toast.makeText(this, "Booking rescheduled successfully", Toast.LENGTH_SHORT).show();
-        finish();
+            dataManager.saveBookings(allBookings);
+        }, () -> {
+            Toast.makeText(this, "Booking rescheduled successfully", Toast.LENGTH_SHORT).show();
+            finish();
+        });
     }
 
     private boolean validateForm() {
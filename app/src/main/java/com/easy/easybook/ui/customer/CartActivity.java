@@ -8,9 +8,14 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.bumptech.glide.Glide;
+import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.ActivityCartBinding;
+import com.easy.easybook.images.ServiceImageLoader;
 import com.easy.easybook.models.Service;
 import com.easy.easybook.data.LocalDataManager;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.data.SeedData;
 import com.easy.easybook.ui.customer.adapters.CartAdapter;
 
@@ -21,6 +26,7 @@ public class CartActivity extends AppCompatActivity {
     private ActivityCartBinding binding;
     private CartAdapter cartAdapter;
     private LocalDataManager dataManager;
+    private TaskScope scope;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -29,6 +35,7 @@ public class CartActivity extends AppCompatActivity {
         setContentView(binding.getRoot());
         
         dataManager = LocalDataManager.getInstance(this);
+        scope = TaskScope.of(this);
         
         setupToolbar();
         setupRecyclerView();
@@ -63,18 +70,21 @@ public class CartActivity extends AppCompatActivity {
             }
         });
         
+        cartAdapter.setImageLoader(new ServiceImageLoader(Glide.with(this), this,
+                R.dimen.service_image_cart_size, R.dimen.service_image_cart_size, R.drawable.placeholder_service));
+        
         binding.rvCartItems.setLayoutManager(new LinearLayoutManager(this));
         binding.rvCartItems.setAdapter(cartAdapter);
     }
     
     private void loadCartItems() {
-        List<Service> cartItems = dataManager.getCart();
-        
-        if (cartItems.isEmpty()) {
-            showEmptyCart();
-        } else {
-            showCartItems(cartItems);
-        }
+        scope.load(dataManager::getCart, cartItems -> {
+            if (cartItems.isEmpty()) {
+                showEmptyCart();
+            } else {
+                showCartItems(cartItems);
+            }
+        });
     }
     
     private void showEmptyCart() {
@@ -103,8 +113,7 @@ public class CartActivity extends AppCompatActivity {
     }
     
     private void setupClickListeners() {
-        binding.btnCheckout.setOnClickListener(v -> {
-            List<Service> cartItems = dataManager.getCart();
+        binding.btnCheckout.setOnClickListener(v -> scope.load(dataManager::getCart, cartItems -> {
             if (cartItems.isEmpty()) {
                 Toast.makeText(this, "Your cart is empty", Toast.LENGTH_SHORT).show();
                 return;
@@ -113,10 +122,10 @@ public class CartActivity extends AppCompatActivity {
             // Navigate to payment for cart checkout
             Intent intent = new Intent(this, PaymentActivity.class);
             intent.putExtra("is_cart_checkout", true);
-            intent.putExtra("cart_items", cartItems.toArray(new Service[0]));
+            HandoffCache.getInstance(this).putServices(intent, cartItems);
             intent.putExtra("total_amount", calculateTotal(cartItems));
             startActivity(intent);
-        });
+        }));
         
         binding.btnContinueShopping.setOnClickListener(v -> {
             finish();
@@ -124,22 +133,23 @@ public class CartActivity extends AppCompatActivity {
     }
     
     private void removeFromCart(Service service) {
-        dataManager.removeFromCart(service.getId());
-        loadCartItems();
-        Toast.makeText(this, "Item removed from cart", Toast.LENGTH_SHORT).show();
+        scope.write(() -> dataManager.removeFromCart(service.getId()), () -> {
+            loadCartItems();
+            Toast.makeText(this, "Item removed from cart", Toast.LENGTH_SHORT).show();
+        });
     }
     
     private void bookService(Service service) {
         // Navigate to payment page for single service booking
         Intent intent = new Intent(this, PaymentActivity.class);
         intent.putExtra("is_cart_checkout", false);
-        intent.putExtra("service", service);
+        HandoffCache.getInstance(this).putService(intent, service);
         intent.putExtra("amount", service.getPrice());
         
         // Provide default values for booking details
         java.util.Calendar calendar = java.util.Calendar.getInstance();
         calendar.add(java.util.Calendar.DAY_OF_MONTH, 1); // Tomorrow
-        intent.putExtra("booking_date", calendar.getTime());
+        intent.putExtra("booking_date", calendar.getTimeInMillis());
         intent.putExtra("time_slot", "10:00 AM");
         intent.putExtra("address", "123 Main St, City, State");
         intent.putExtra("notes", "Please contact before arrival");
@@ -171,7 +181,7 @@ public class CartActivity extends AppCompatActivity {
         booking.setNotes("Please contact before arrival");
         
         // Create provider request
-        dataManager.createProviderRequest(booking);
+        scope.write(() -> dataManager.createProviderRequest(booking));
     }
     
     @Override
@@ -1,39 +1,81 @@
 package com.easy.easybook.ui.customer;
 
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
-import android.view.View;
-import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
-import com.easy.easybook.R;
+import com.easy.easybook.chat.ChatCompletionClient;
+import com.easy.easybook.chat.ChatHistoryStore;
+import com.easy.easybook.chat.ChatResponseCache;
+import com.easy.easybook.chat.ConversationContext;
+import com.easy.easybook.chat.IntentRouter;
+import com.easy.easybook.chat.ServiceRetriever;
+import com.easy.easybook.chat.StreamingTextRenderer;
+import com.easy.easybook.concurrent.AppExecutors;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.config.ApiConfig;
+import com.easy.easybook.data.LocalDataManager;
+import com.easy.easybook.data.ServiceManager;
 import com.easy.easybook.databinding.ActivityChatbotBinding;
 import com.easy.easybook.ui.customer.adapters.ChatAdapter;
 import com.easy.easybook.models.ChatMessage;
+import com.easy.easybook.utils.SharedPrefsManager;
+import com.google.gson.JsonArray;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
-import okhttp3.MediaType;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
-import org.json.JSONObject;
-import org.json.JSONArray;
+import okhttp3.Call;
 
 public class ChatBotActivity extends AppCompatActivity {
     
+    private static final String TYPING_TEXT = "AI is typing...";
+    private static final String WELCOME_PROMPT = "Hello! Please introduce yourself as an AI assistant for Smart Serve, a service booking platform. Keep it brief and friendly.";
+    private static final String WELCOME_FALLBACK = "Hello! I'm your AI assistant for Smart Serve. How can I help you today?";
+    private static final String ERROR_TEXT = "I'm sorry, I'm having trouble connecting to my AI service right now. Please try again in a moment.";
+    private static final String SYSTEM_PROMPT = "You are a helpful assistant for Smart Serve, a service booking platform. " +
+            "Help users with service-related questions, booking assistance, and general inquiries about the platform. " +
+            "Keep responses concise and helpful. When services from our catalog are listed below, base answers " +
+            "about services, prices and providers on them; otherwise suggest browsing or searching categories " +
+            "like Plumbing, Electrical, HVAC, Cleaning, etc. in the app.";
+    
+    private static final int HISTORY_PAGE_SIZE = 30;
+    // Pages scrolled far out of view are dropped again, so long chats don't grow the list
+    private static final int MAX_LOADED_MESSAGES = 150;
+    // Start loading the next page this many rows before reaching the edge
+    private static final int HISTORY_PREFETCH_ROWS = 5;
+    
     private ActivityChatbotBinding binding;
     private ChatAdapter chatAdapter;
     private List<ChatMessage> chatMessages;
-    private ExecutorService executor;
+    private ChatCompletionClient chatClient;
+    private ChatResponseCache responseCache;
+    private IntentRouter intentRouter;
+    private ServiceRetriever serviceRetriever;
+    // Earlier turns sent with each question, within the prompt token budget
+    private final ConversationContext conversation = new ConversationContext(SYSTEM_PROMPT);
+    // Streams still running; cancelled in onDestroy so nothing writes to a dead screen
+    private final List<Runnable> activeStreams = new ArrayList<>();
+    
+    private ChatHistoryStore history;
+    // File reads and appends, in order
+    private final Executor historyQueue = AppExecutors.getInstance().newSerialQueue();
+    private TaskScope scope;
+    // The list shows saved messages [oldestLoaded, newestLoaded), then any reply still streaming
+    private int oldestLoaded;
+    private int newestLoaded;
+    // Messages saved or queued for saving
+    private int savedCount;
+    private boolean historyReady;
+    private boolean loadingPage;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -41,13 +83,23 @@ public class ChatBotActivity extends AppCompatActivity {
         binding = ActivityChatbotBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
         
-        executor = Executors.newSingleThreadExecutor();
+        scope = TaskScope.of(this);
+        chatClient = ChatCompletionClient.getInstance();
+        responseCache = ChatResponseCache.getInstance(this);
+        LocalDataManager dataManager = LocalDataManager.getInstance(this);
+        ServiceManager serviceManager = ServiceManager.getInstance(this);
+        intentRouter = new IntentRouter(() -> dataManager.getUserBookings("current_user"),
+                serviceManager::getAllServices);
+        // Queued ahead of any question on the same local data queue, so it is ready first
+        scope.load(() -> new ServiceRetriever(serviceManager.getAllServices()),
+                retriever -> serviceRetriever = retriever);
+        history = ChatHistoryStore.forUser(this, SharedPrefsManager.getInstance(this).getUserId());
         setupUI();
         setupRecyclerView();
         setupClickListeners();
         
-        // Add welcome message
-        addWelcomeMessage();
+        // Reopening continues the saved chat; only a new chat gets the welcome message
+        loadLatestHistory();
     }
     
     private void setupUI() {
@@ -61,8 +113,20 @@ public class ChatBotActivity extends AppCompatActivity {
     private void setupRecyclerView() {
         chatMessages = new ArrayList<>();
         chatAdapter = new ChatAdapter(chatMessages);
-        binding.rvChatMessages.setLayoutManager(new LinearLayoutManager(this));
+        final LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        binding.rvChatMessages.setLayoutManager(layoutManager);
         binding.rvChatMessages.setAdapter(chatAdapter);
+        binding.rvChatMessages.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= HISTORY_PREFETCH_ROWS) {
+                    loadOlderPage();
+                } else if (dy > 0 && layoutManager.findLastVisibleItemPosition()
+                        >= chatMessages.size() - 1 - HISTORY_PREFETCH_ROWS) {
+                    loadNewerPage();
+                }
+            }
+        });
     }
     
     private void setupClickListeners() {
@@ -74,262 +138,316 @@ public class ChatBotActivity extends AppCompatActivity {
         });
     }
     
-    private void addWelcomeMessage() {
-        // Test API on startup
-        testAPI();
-        
-        // Get AI-generated welcome message
-        executor.execute(() -> {
+    private void loadLatestHistory() {
+        loadingPage = true;
+        final int[] total = new int[1];
+        scope.load(historyQueue, () -> {
+            try {
+                total[0] = history.size();
+                return history.read(total[0] - HISTORY_PAGE_SIZE, total[0]);
+            } catch (IOException e) {
+                Log.e("ChatHistory", "Could not read chat history", e);
+                return new ArrayList<ChatMessage>();
+            }
+        }, latest -> showLatestHistory(total[0], latest), null);
+    }
+    
+    private void showLatestHistory(int total, List<ChatMessage> page) {
+        loadingPage = false;
+        historyReady = true;
+        savedCount = total;
+        newestLoaded = total;
+        oldestLoaded = Math.max(0, total - HISTORY_PAGE_SIZE);
+        if (page.isEmpty()) {
+            addWelcomeMessage();
+            return;
+        }
+        for (ChatMessage message : page) {
+            conversation.restore(message.isUser(), message.getMessage());
+        }
+        chatMessages.addAll(page);
+        chatAdapter.notifyItemRangeInserted(0, page.size());
+        binding.rvChatMessages.scrollToPosition(chatMessages.size() - 1);
+    }
+    
+    private void loadOlderPage() {
+        if (loadingPage || oldestLoaded == 0) {
+            return;
+        }
+        loadingPage = true;
+        final int to = oldestLoaded;
+        final int from = Math.max(0, to - HISTORY_PAGE_SIZE);
+        scope.load(historyQueue, () -> readHistory(from, to), page -> {
+            loadingPage = false;
+            if (oldestLoaded != to) {
+                return;
+            }
+            oldestLoaded = from;
+            chatMessages.addAll(0, page);
+            chatAdapter.notifyItemRangeInserted(0, page.size());
+            trimNewest();
+        }, null);
+    }
+    
+    private void loadNewerPage() {
+        if (loadingPage || newestLoaded >= savedCount) {
+            return;
+        }
+        loadingPage = true;
+        final int from = newestLoaded;
+        final int to = Math.min(savedCount, from + HISTORY_PAGE_SIZE);
+        scope.load(historyQueue, () -> readHistory(from, to), page -> {
+            loadingPage = false;
+            if (newestLoaded != from) {
+                return;
+            }
+            newestLoaded = to;
+            chatMessages.addAll(page);
+            chatAdapter.notifyItemRangeInserted(chatMessages.size() - page.size(), page.size());
+            trimOldest();
+        }, null);
+    }
+    
+    private List<ChatMessage> readHistory(int from, int to) {
+        try {
+            return history.read(from, to);
+        } catch (IOException e) {
+            Log.e("ChatHistory", "Could not read chat history", e);
+            return new ArrayList<>();
+        }
+    }
+    
+    // After scrolling up: drop the bottom of the list, unless a reply is still streaming into it
+    private void trimNewest() {
+        int excess = chatMessages.size() - MAX_LOADED_MESSAGES;
+        if (excess <= 0 || !activeStreams.isEmpty()) {
+            return;
+        }
+        int from = chatMessages.size() - excess;
+        chatMessages.subList(from, chatMessages.size()).clear();
+        chatAdapter.notifyItemRangeRemoved(from, excess);
+        newestLoaded -= excess;
+    }
+    
+    private void trimOldest() {
+        int excess = chatMessages.size() - MAX_LOADED_MESSAGES;
+        if (excess <= 0) {
+            return;
+        }
+        chatMessages.subList(0, excess).clear();
+        chatAdapter.notifyItemRangeRemoved(0, excess);
+        oldestLoaded += excess;
+    }
+    
+    // New messages belong at the end of the transcript; if older pages are showing, restart there
+    private void jumpToLatest() {
+        if (newestLoaded == savedCount) {
+            return;
+        }
+        int count = chatMessages.size();
+        chatMessages.clear();
+        chatAdapter.notifyItemRangeRemoved(0, count);
+        oldestLoaded = savedCount;
+        newestLoaded = savedCount;
+        loadOlderPage();
+    }
+    
+    private void save(ChatMessage message) {
+        if (newestLoaded == savedCount) {
+            newestLoaded++;
+        }
+        savedCount++;
+        final ChatMessage snapshot = new ChatMessage(message.getMessage(), message.isUser(), message.getTimestamp());
+        // Not tied to the scope: a message sent just before closing must still be saved
+        historyQueue.execute(() -> {
             try {
-                String welcomeResponse = callOpenAI("Hello! Please introduce yourself as an AI assistant for Smart Serve, a service booking platform. Keep it brief and friendly.");
-                runOnUiThread(() -> {
-                    if (welcomeResponse != null && !welcomeResponse.trim().isEmpty()) {
-                        ChatMessage welcomeMessage = new ChatMessage(welcomeResponse, false, System.currentTimeMillis());
-                        chatMessages.add(welcomeMessage);
-                        chatAdapter.notifyItemInserted(chatMessages.size() - 1);
-                        scrollToBottom();
-                    } else {
-                        // Minimal fallback if AI fails
-                        ChatMessage welcomeMessage = new ChatMessage("Hello! I'm your AI assistant for Smart Serve. How can I help you today?", false, System.currentTimeMillis());
-                        chatMessages.add(welcomeMessage);
-                        chatAdapter.notifyItemInserted(chatMessages.size() - 1);
-                        scrollToBottom();
-                    }
-                });
-            } catch (Exception e) {
-                Log.e("OpenAI", "Failed to get AI welcome message: " + e.getMessage());
-                runOnUiThread(() -> {
-                    ChatMessage welcomeMessage = new ChatMessage("Hello! I'm your AI assistant for Smart Serve. How can I help you today?", false, System.currentTimeMillis());
-                    chatMessages.add(welcomeMessage);
-                    chatAdapter.notifyItemInserted(chatMessages.size() - 1);
-                    scrollToBottom();
-                });
+                history.append(snapshot);
+            } catch (IOException e) {
+                Log.e("ChatHistory", "Could not save chat message", e);
             }
         });
+        trimOldest();
     }
     
-    private void testAPI() {
-        Log.d("OpenAI", "=== TESTING API CONFIGURATION ===");
-        Log.d("OpenAI", "API Key length: " + ApiConfig.OPENAI_API_KEY.length());
-        Log.d("OpenAI", "API Key (first 10): " + ApiConfig.OPENAI_API_KEY.substring(0, Math.min(10, ApiConfig.OPENAI_API_KEY.length())));
+    private void addWelcomeMessage() {
+        logApiConfig();
+        
+        // Served from the response cache after the first launch
+        String cached = responseCache.get(WELCOME_PROMPT);
+        if (cached != null) {
+            conversation.recordReply(cached);
+            addAiMessage(cached);
+            return;
+        }
+        streamReply(singleTurn(WELCOME_PROMPT), WELCOME_FALLBACK, true, WELCOME_PROMPT);
+    }
+    
+    private void logApiConfig() {
         Log.d("OpenAI", "API URL: " + ApiConfig.OPENAI_API_URL);
         Log.d("OpenAI", "Model: " + ApiConfig.MODEL_NAME);
         Log.d("OpenAI", "Max tokens: " + ApiConfig.MAX_TOKENS);
         Log.d("OpenAI", "Temperature: " + ApiConfig.TEMPERATURE);
-        
-        // Test a simple API call
-        executor.execute(() -> {
-            try {
-                Log.d("OpenAI", "=== STARTING API TEST ===");
-                String testResponse = callOpenAI("Say hello");
-                Log.d("OpenAI", "=== API TEST RESULT ===");
-                Log.d("OpenAI", "Test response: " + (testResponse != null ? testResponse : "NULL"));
-                
-                if (testResponse == null || testResponse.trim().isEmpty()) {
-                    Log.e("OpenAI", "API TEST FAILED - No response received");
-                    Log.e("OpenAI", "This means the API is not working. Check:");
-                    Log.e("OpenAI", "1. API key is valid");
-                    Log.e("OpenAI", "2. Internet connection");
-                    Log.e("OpenAI", "3. OpenAI service is up");
-                } else {
-                    Log.d("OpenAI", "API TEST SUCCESS - Response received: " + testResponse);
-                }
-            } catch (Exception e) {
-                Log.e("OpenAI", "API test failed: " + e.getMessage(), e);
-                Log.e("OpenAI", "Exception details: " + e.getClass().getSimpleName());
-            }
-        });
+        Log.d("OpenAI", "Response cache: " + responseCache.size() + " answers");
     }
     
     private void sendMessage() {
         String message = binding.etMessage.getText().toString().trim();
-        if (TextUtils.isEmpty(message)) {
+        if (TextUtils.isEmpty(message) || !historyReady) {
             return;
         }
         
         // Add user message to chat
+        jumpToLatest();
         ChatMessage userMessage = new ChatMessage(message, true, System.currentTimeMillis());
         chatMessages.add(userMessage);
         chatAdapter.notifyItemInserted(chatMessages.size() - 1);
+        save(userMessage);
         scrollToBottom();
         
         // Clear input
         binding.etMessage.setText("");
         
-        // Show typing indicator
-        showTypingIndicator();
-        
-        // Send to AI
-        sendToAI(message);
+        // Questions about the user's bookings or our catalog are answered from local data,
+        // which is read off the main thread
+        final long routeStart = SystemClock.elapsedRealtime();
+        scope.load(() -> intentRouter.answer(message), local -> answer(message, local, routeStart));
     }
     
-    private void showTypingIndicator() {
-        ChatMessage typingMessage = new ChatMessage("AI is typing...", false, System.currentTimeMillis());
-        chatMessages.add(typingMessage);
-        chatAdapter.notifyItemInserted(chatMessages.size() - 1);
-        scrollToBottom();
-    }
-    
-    private void removeTypingIndicator() {
-        if (!chatMessages.isEmpty() && chatMessages.get(chatMessages.size() - 1).getMessage().equals("AI is typing...")) {
-            chatMessages.remove(chatMessages.size() - 1);
-            chatAdapter.notifyItemRemoved(chatMessages.size());
+    private void answer(String message, String local, long routeStart) {
+        if (local != null) {
+            Log.d("OpenAI", "Answered locally in " + (SystemClock.elapsedRealtime() - routeStart) + " ms");
+            conversation.prepare(message);
+            conversation.recordReply(local);
+            addAiMessage(local);
+            return;
         }
-    }
-    
-    private void sendToAI(String userMessage) {
-        executor.execute(() -> {
-            try {
-                // Log the API key (first few characters only for security)
-                Log.d("OpenAI", "Using API key: " + ApiConfig.OPENAI_API_KEY.substring(0, Math.min(10, ApiConfig.OPENAI_API_KEY.length())) + "...");
-                
-                String aiResponse = getAIResponse(userMessage);
-                
-                runOnUiThread(() -> {
-                    removeTypingIndicator();
-                    
-                    String finalResponse = aiResponse;
-                    
-                    ChatMessage aiMessage = new ChatMessage(finalResponse, false, System.currentTimeMillis());
-                    chatMessages.add(aiMessage);
-                    chatAdapter.notifyItemInserted(chatMessages.size() - 1);
-                    scrollToBottom();
-                });
-                } catch (Exception e) {
-                Log.e("OpenAI", "Exception in sendToAI: " + e.getMessage(), e);
-                runOnUiThread(() -> {
-                    removeTypingIndicator();
-                    
-                    // Show error message if API fails
-                    ChatMessage errorMessage = new ChatMessage(
-                        "I'm sorry, I'm having trouble connecting to my AI service right now. Please try again in a moment.",
-                        false,
-                        System.currentTimeMillis()
-                    );
-                    chatMessages.add(errorMessage);
-                    chatAdapter.notifyItemInserted(chatMessages.size() - 1);
-                    scrollToBottom();
-                });
-            }
-        });
-    }
-    
-    private String getAIResponse(String userMessage) {
-        Log.d("OpenAI", "=== GETTING AI RESPONSE ===");
-        Log.d("OpenAI", "User message: " + userMessage);
         
-        // Only use OpenAI API - no hardcoded responses
-        Log.d("OpenAI", "Calling OpenAI API...");
-        String apiResponse = callOpenAI(userMessage);
-        Log.d("OpenAI", "API response: " + (apiResponse != null ? apiResponse.substring(0, Math.min(50, apiResponse.length())) + "..." : "null"));
+        // Only a first question is answered from or stored in the cache: a follow-up leans on
+        // earlier turns, so another chat's answer to the same words would miss that context
+        String cacheAs = conversation.hasUserTurns() ? null : message;
         
-        if (apiResponse != null && !apiResponse.trim().isEmpty()) {
-            Log.d("OpenAI", "Using raw API response");
-            return apiResponse;
+        // Repeated opening questions (FAQs) are answered without a round trip
+        if (cacheAs != null) {
+            String cached = responseCache.get(cacheAs);
+            Log.d("OpenAI", "Response cache hit rate " + Math.round(responseCache.getHitRate() * 100) + "%");
+            if (cached != null) {
+                conversation.prepare(message);
+                conversation.recordReply(cached);
+                addAiMessage(cached);
+                return;
+            }
         }
         
-        // Only fallback if API completely fails
-        Log.d("OpenAI", "API failed, using minimal fallback");
-        return "I'm sorry, I'm having trouble connecting to my AI service right now. Please try again in a moment.";
+        // Send to AI with the few catalog services that match the question
+        String catalog = serviceRetriever.contextFor(message, ServiceRetriever.DEFAULT_TOP_K,
+                ServiceRetriever.DEFAULT_TOKEN_BUDGET);
+        streamReply(conversation.prepare(message, catalog), ERROR_TEXT, true, cacheAs);
     }
     
-    
-    private String callOpenAI(String userMessage) {
-        Log.d("OpenAI", "=== STARTING API CALL ===");
-        Log.d("OpenAI", "User message: " + userMessage);
-        Log.d("OpenAI", "API Key (first 10 chars): " + ApiConfig.OPENAI_API_KEY.substring(0, Math.min(10, ApiConfig.OPENAI_API_KEY.length())));
-        Log.d("OpenAI", "API URL: " + ApiConfig.OPENAI_API_URL);
+    /**
+     * Adds an AI message showing the typing indicator and fills it in as the answer streams.
+     * The first delta replaces the indicator, so time to first token is what the user waits for.
+     *
+     * @param remember whether a successful answer becomes part of the conversation context
+     * @param cacheAs  prompt to store a successful answer under in the response cache, or null
+     */
+    private void streamReply(JsonArray messages, final String fallback, final boolean remember, final String cacheAs) {
+        final ChatMessage reply = new ChatMessage(TYPING_TEXT, false, System.currentTimeMillis());
+        chatMessages.add(reply);
+        chatAdapter.notifyItemInserted(chatMessages.size() - 1);
+        scrollToBottom();
         
-        try {
-            OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .readTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .writeTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .build();
-            
-            // Prepare the request
-            JSONObject requestBody = new JSONObject();
-            requestBody.put("model", ApiConfig.MODEL_NAME);
-            requestBody.put("max_tokens", ApiConfig.MAX_TOKENS);
-            requestBody.put("temperature", ApiConfig.TEMPERATURE);
-            
-            JSONArray messages = new JSONArray();
-            
-            // System message to make the AI act as a service assistant
-            JSONObject systemMessage = new JSONObject();
-            systemMessage.put("role", "system");
-            systemMessage.put("content", "You are a helpful assistant for Smart Serve, a service booking platform. " +
-                "Help users with service-related questions, booking assistance, and general inquiries about the platform. " +
-                "Keep responses concise and helpful. If asked about specific services, mention that users can browse " +
-                "services in the app or search for specific categories like Plumbing, Electrical, HVAC, Cleaning, etc.");
-            messages.put(systemMessage);
+        final long startedAt = SystemClock.elapsedRealtime();
+        final StreamingTextRenderer renderer = new StreamingTextRenderer(text -> updateReply(reply, text));
+        final Runnable[] cancel = new Runnable[1];
+        final Call call = chatClient.stream(messages, new ChatCompletionClient.StreamListener() {
+            private boolean firstToken = true;
             
-            // User message
-            JSONObject userMsg = new JSONObject();
-            userMsg.put("role", "user");
-            userMsg.put("content", userMessage);
-            messages.put(userMsg);
-            
-            requestBody.put("messages", messages);
-            
-            RequestBody body = RequestBody.create(
-                requestBody.toString(),
-                MediaType.get("application/json; charset=utf-8")
-            );
-            
-            Request request = new Request.Builder()
-                .url(ApiConfig.OPENAI_API_URL)
-                .addHeader("Authorization", "Bearer " + ApiConfig.OPENAI_API_KEY)
-                .addHeader("Content-Type", "application/json")
-                .post(body)
-                .build();
-            
-            Log.d("OpenAI", "Making API request...");
-            Response response = client.newCall(request).execute();
-            Log.d("OpenAI", "Response received. Code: " + response.code());
+            @Override
+            public void onDelta(String text) {
+                if (firstToken) {
+                    firstToken = false;
+                    Log.d("OpenAI", "First token after " + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+                }
+                renderer.append(text);
+            }
             
-            if (response.isSuccessful()) {
-                String responseBody = response.body().string();
-                Log.d("OpenAI", "=== SUCCESSFUL RESPONSE ===");
-                Log.d("OpenAI", "Full response body: " + responseBody);
-                
-                try {
-                    JSONObject jsonResponse = new JSONObject(responseBody);
-                    JSONArray choices = jsonResponse.getJSONArray("choices");
-                    JSONObject firstChoice = choices.getJSONObject(0);
-                    JSONObject message = firstChoice.getJSONObject("message");
-                    String content = message.getString("content");
-                    
-                    Log.d("OpenAI", "Extracted content: " + content);
-                    
-                    // Return raw AI response without any filtering
-                    if (content != null) {
-                        Log.d("OpenAI", "=== RETURNING RAW API RESPONSE ===");
-                        Log.d("OpenAI", "Raw content: " + content);
-                        return content.trim();
-                    } else {
-                        Log.w("OpenAI", "Empty content in response");
-                        return null;
-                    }
-                } catch (Exception e) {
-                    Log.e("OpenAI", "Error parsing JSON response: " + e.getMessage());
-                    return null;
+            @Override
+            public void onComplete(String fullText) {
+                Log.d("OpenAI", "Completion finished after " + (SystemClock.elapsedRealtime() - startedAt)
+                        + " ms, " + fullText.length() + " chars");
+                if (fullText.trim().isEmpty()) {
+                    renderer.cancel();
+                    scope.post(() -> finishReply(reply, fallback, cancel[0]));
+                } else {
+                    renderer.finish();
+                    scope.post(() -> {
+                        if (remember) {
+                            conversation.recordReply(fullText);
+                        }
+                        if (cacheAs != null) {
+                            responseCache.put(cacheAs, fullText.trim());
+                        }
+                        finishReply(reply, null, cancel[0]);
+                    });
                 }
-            } else {
-                Log.e("OpenAI", "=== API CALL FAILED ===");
-                Log.e("OpenAI", "Response code: " + response.code());
-                Log.e("OpenAI", "Response message: " + response.message());
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                Log.e("OpenAI", "Error body: " + errorBody);
-                return null; // Let the calling method handle fallback
             }
-        } catch (Exception e) {
-            Log.e("OpenAI", "Exception in callOpenAI: " + e.getMessage(), e);
-            e.printStackTrace();
-            return null; // Let the calling method handle fallback
+            
+            @Override
+            public void onError(IOException error) {
+                Log.e("OpenAI", "Streaming completion failed: " + error.getMessage(), error);
+                renderer.cancel();
+                scope.post(() -> finishReply(reply, fallback, cancel[0]));
+            }
+        });
+        cancel[0] = () -> {
+            call.cancel();
+            renderer.cancel();
+        };
+        activeStreams.add(cancel[0]);
+    }
+    
+    // A prompt outside the conversation, e.g. the welcome
+    private JsonArray singleTurn(String prompt) {
+        return new ConversationContext(SYSTEM_PROMPT).prepare(prompt);
+    }
+    
+    private void addAiMessage(String text) {
+        ChatMessage reply = new ChatMessage(text, false, System.currentTimeMillis());
+        chatMessages.add(reply);
+        chatAdapter.notifyItemInserted(chatMessages.size() - 1);
+        save(reply);
+        scrollToBottom();
+    }
+    
+    private void updateReply(ChatMessage reply, String text) {
+        if (binding == null) {
+            return;
+        }
+        reply.setMessage(text);
+        int position = chatMessages.lastIndexOf(reply);
+        if (position < 0) {
+            return;
+        }
+        // Text-only payload: rebinds the bubble without a change animation on every flush
+        chatAdapter.notifyItemChanged(position, ChatAdapter.PAYLOAD_TEXT);
+        if (position == chatMessages.size() - 1) {
+            binding.rvChatMessages.scrollToPosition(position);
         }
     }
     
+    private void finishReply(ChatMessage reply, String replacement, Runnable cancel) {
+        activeStreams.remove(cancel);
+        if (replacement != null) {
+            updateReply(reply, replacement);
+        } else {
+            // Trailing whitespace is common at the end of a completion
+            updateReply(reply, reply.getMessage().trim());
+        }
+        if (binding != null) {
+            save(reply);
+        }
+    }
     
     private void scrollToBottom() {
         binding.rvChatMessages.post(() -> {
@@ -348,8 +466,10 @@ public class ChatBotActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (executor != null) {
-            executor.shutdown();
+        for (Runnable cancel : activeStreams) {
+            cancel.run();
         }
+        activeStreams.clear();
+        binding = null;
     }
 }
@@ -7,6 +7,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.ActivityDashboardBinding;
 import com.easy.easybook.data.LocalDataManager;
 import com.easy.easybook.models.Booking;
@@ -82,8 +83,11 @@ public class DashboardActivity extends AppCompatActivity {
         
         // Use LocalDataManager instead of API
         LocalDataManager dataManager = LocalDataManager.getInstance(this);
-        List<Booking> userBookings = dataManager.getUserBookings("current_user"); // In real app, get from login
-        
+        TaskScope.of(this).load(() -> dataManager.getUserBookings("current_user"), // In real app, get from login
+                this::showDashboard);
+    }
+    
+    private void showDashboard(List<Booking> userBookings) {
         // Calculate statistics
         int totalBookings = userBookings.size();
         int pendingBookings = 0;
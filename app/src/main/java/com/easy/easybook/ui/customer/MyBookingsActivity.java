@@ -11,9 +11,20 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.models.Booking;
 import com.easy.easybook.ui.customer.adapters.BookingsAdapter;
+import com.easy.easybook.data.BookingOutbox;
+import com.easy.easybook.data.DataChange;
+import com.easy.easybook.data.DataChangeBus;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.data.LocalDataManager;
+import com.easy.easybook.data.paging.ListPageSource;
+import com.easy.easybook.data.paging.MappedPageSource;
+import com.easy.easybook.data.paging.PagedList;
+import com.easy.easybook.data.paging.PagedListAdapterCallback;
+import com.easy.easybook.prefetch.Prefetcher;
+import com.easy.easybook.ui.model.CustomerBookingRow;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.ArrayList;
@@ -23,13 +34,18 @@ import java.util.List;
 
 public class MyBookingsActivity extends AppCompatActivity implements BookingsAdapter.OnBookingActionListener {
 
+    // 20 rows a page, the next page asked for 10 rows early, at most 5 pages held
+    private static final PagedList.Config PAGE_CONFIG = new PagedList.Config(20, 10, 5);
+
     private RecyclerView rvBookings;
     private LinearLayout layoutEmpty;
     private MaterialButton btnAll, btnPending, btnConfirmed, btnInProgress, btnCompleted;
     private BookingsAdapter adapter;
-    private List<Booking> allBookings;
+    private PagedList<CustomerBookingRow> bookings;
+    private BookingFilter shownFilter;
     private String currentFilter = "all";
     private LocalDataManager dataManager;
+    private Prefetcher prefetcher;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -37,19 +53,29 @@ public class MyBookingsActivity extends AppCompatActivity implements BookingsAda
         setContentView(R.layout.activity_my_bookings);
 
         dataManager = LocalDataManager.getInstance(this);
+        prefetcher = Prefetcher.getInstance(this);
         initViews();
         setupRecyclerView();
         setupClickListeners();
-        loadBookings();
-        filterBookings("all");
+        filterBookings(currentFilter);
+
+        // Re-query only when this user's bookings change, not on every return to the screen
+        DataChangeBus.getInstance().observe(this, DataChange.Store.BOOKINGS,
+                DataChange.customer("current_user"), change -> showBookings(shownFilter));
     }
     
     @Override
     protected void onResume() {
         super.onResume();
-        // Refresh bookings when returning to this activity
-        loadBookings();
-        filterBookings(currentFilter);
+        prefetcher.onScreenShown(Prefetcher.SCREEN_MY_BOOKINGS);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (bookings != null) {
+            bookings.close();
+        }
     }
 
     private void initViews() {
@@ -89,40 +115,35 @@ public class MyBookingsActivity extends AppCompatActivity implements BookingsAda
         finish();
     }
 
-    private void loadBookings() {
-        // Load real bookings from LocalDataManager
-        allBookings = dataManager.getUserBookings("current_user"); // In real app, get from login
-        
-        if (allBookings.isEmpty()) {
-            android.util.Log.d("MyBookingsActivity", "No bookings found");
-        } else {
-            android.util.Log.d("MyBookingsActivity", "Loaded " + allBookings.size() + " bookings from local storage");
+    // Pages through the user's bookings that match, so only a few pages are ever bound
+    private void showBookings(BookingFilter filter) {
+        shownFilter = filter;
+        if (bookings != null) {
+            bookings.close();
         }
-        
-        // Update adapter with new data
-        adapter.setBookings(allBookings);
-    }
-
-    private void filterBookings(String filter) {
-        currentFilter = filter;
-        updateFilterButtons();
-        
-        List<Booking> filteredBookings = new ArrayList<>();
-        
-        if (filter.equals("all")) {
-            filteredBookings.addAll(allBookings);
-        } else {
-            for (Booking booking : allBookings) {
-                if (booking.getStatus().equalsIgnoreCase(filter)) {
-                    filteredBookings.add(booking);
+        bookings = new PagedList<>(new MappedPageSource<>(new ListPageSource<>(() -> {
+            List<Booking> matching = new ArrayList<>();
+            for (Booking booking : userBookings("current_user")) { // In real app, get from login
+                if (filter.matches(booking)) {
+                    matching.add(booking);
                 }
             }
-        }
-        
-        adapter.setBookings(filteredBookings);
-        
+            return matching;
+        }), CustomerBookingRow::of), PAGE_CONFIG);
+        bookings.setCallback(new PagedListAdapterCallback(adapter));
+        bookings.setLoadStateListener((loading, error) -> updateEmptyState());
+        adapter.setBookingRows(bookings);
+    }
+
+    // Loaded ahead while the previous screen sat idle, if coming here looked likely
+    private List<Booking> userBookings(String userId) {
+        List<Booking> prefetched = prefetcher.getUserBookings(userId);
+        return prefetched != null ? prefetched : dataManager.getUserBookings(userId);
+    }
+
+    private void updateEmptyState() {
         // Show/hide empty state
-        if (filteredBookings.isEmpty()) {
+        if (bookings.isInitialLoadDone() && bookings.isEmpty()) {
             rvBookings.setVisibility(View.GONE);
             layoutEmpty.setVisibility(View.VISIBLE);
         } else {
@@ -131,6 +152,16 @@ public class MyBookingsActivity extends AppCompatActivity implements BookingsAda
         }
     }
 
+    private interface BookingFilter {
+        boolean matches(Booking booking);
+    }
+
+    private void filterBookings(String filter) {
+        currentFilter = filter;
+        updateFilterButtons();
+        showBookings(booking -> filter.equals("all") || filter.equalsIgnoreCase(booking.getStatus()));
+    }
+
     private void updateFilterButtons() {
         // Reset all buttons
         btnAll.setBackgroundTintList(getColorStateList(R.color.background_light));
@@ -218,30 +249,16 @@ public class MyBookingsActivity extends AppCompatActivity implements BookingsAda
     }
     
     private void searchBookings(String query) {
-        List<Booking> filteredBookings = new ArrayList<>();
-        
-        for (Booking booking : allBookings) {
-            boolean matchesSearch = 
-                booking.getServiceName().toLowerCase().contains(query.toLowerCase()) ||
-                booking.getProviderName().toLowerCase().contains(query.toLowerCase()) ||
-                booking.getStatus().toLowerCase().contains(query.toLowerCase()) ||
-                booking.getAddress().toLowerCase().contains(query.toLowerCase());
-            
-            if (matchesSearch) {
-                filteredBookings.add(booking);
-            }
-        }
-        
-        adapter.setBookings(filteredBookings);
-        
-        // Show/hide empty state
-        if (filteredBookings.isEmpty()) {
-            rvBookings.setVisibility(View.GONE);
-            layoutEmpty.setVisibility(View.VISIBLE);
-        } else {
-            rvBookings.setVisibility(View.VISIBLE);
-            layoutEmpty.setVisibility(View.GONE);
-        }
+        String needle = query.toLowerCase();
+        showBookings(booking ->
+                contains(booking.getServiceName(), needle) ||
+                contains(booking.getProviderName(), needle) ||
+                contains(booking.getStatus(), needle) ||
+                contains(booking.getAddress(), needle));
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.toLowerCase().contains(needle);
     }
 
     @Override
@@ -250,13 +267,10 @@ public class MyBookingsActivity extends AppCompatActivity implements BookingsAda
         builder.setTitle("Cancel Booking")
                 .setMessage("Are you sure you want to cancel this booking?")
                 .setPositiveButton("Yes", (dialog, which) -> {
-                    // Update booking status to "cancelled"
-                    dataManager.updateBookingStatus(booking.getId(), "cancelled");
-                    
-                    // Refresh the bookings list
-                    loadBookings();
-                    
-                    Toast.makeText(this, "Booking cancelled", Toast.LENGTH_SHORT).show();
+                    // Update booking status to "cancelled"; the list refreshes from the change it publishes
+                    BookingOutbox outbox = BookingOutbox.getInstance(this);
+                    TaskScope.of(this).write(() -> outbox.updateStatus(booking.getId(), "cancelled"),
+                            () -> Toast.makeText(this, "Booking cancelled", Toast.LENGTH_SHORT).show());
                 })
                 .setNegativeButton("No", null)
                 .show();
@@ -266,14 +280,14 @@ public class MyBookingsActivity extends AppCompatActivity implements BookingsAda
     public void onRescheduleBooking(Booking booking) {
         // Navigate to reschedule activity with booking data
         Intent intent = new Intent(this, RescheduleActivity.class);
-        intent.putExtra("reschedule_booking", booking);
+        HandoffCache.getInstance(this).putBooking(intent, booking);
         startActivity(intent);
     }
     
     @Override
     public void onRateBooking(Booking booking) {
         Intent intent = new Intent(this, RatingActivity.class);
-        intent.putExtra("booking", booking);
+        HandoffCache.getInstance(this).putBooking(intent, booking);
         startActivity(intent);
     }
 }
@@ -3,7 +3,6 @@ package com.easy.easybook.ui.customer;
 import android.app.ProgressDialog;
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
 import android.view.View;
 import android.widget.RadioButton;
 import android.widget.RadioGroup;
@@ -12,6 +11,8 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.data.LocalDataManager;
 import com.easy.easybook.models.Booking;
 import com.easy.easybook.models.Service;
@@ -23,12 +24,13 @@ import android.widget.TextView;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 
 public class PaymentActivity extends AppCompatActivity {
 
     private Service selectedService;
-    private Service[] cartItems;
+    private List<Service> cartItems;
     private boolean isCartCheckout;
     private Date bookingDate;
     private String timeSlot;
@@ -48,23 +50,42 @@ public class PaymentActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_payment);
 
-        // Get data from intent
+        initViews();
+        setupClickListeners();
+        // Enabled once the services being paid for are resolved
+        btnPayNow.setEnabled(false);
+
+        // Get data from intent; services come by id
+        HandoffCache handoff = HandoffCache.getInstance(this);
         isCartCheckout = getIntent().getBooleanExtra("is_cart_checkout", false);
         if (isCartCheckout) {
-            cartItems = (Service[]) getIntent().getSerializableExtra("cart_items");
             amount = getIntent().getDoubleExtra("total_amount", 0.0);
+            handoff.resolveServices(getIntent(), TaskScope.of(this), services -> {
+                if (services.isEmpty()) {
+                    Toast.makeText(this, "Cart items not found", Toast.LENGTH_SHORT).show();
+                    finish();
+                    return;
+                }
+                cartItems = services;
+                populateData();
+            });
         } else {
-            selectedService = (Service) getIntent().getSerializableExtra("service");
-            bookingDate = (Date) getIntent().getSerializableExtra("booking_date");
+            long bookingTime = getIntent().getLongExtra("booking_date", -1);
+            bookingDate = bookingTime >= 0 ? new Date(bookingTime) : null;
             timeSlot = getIntent().getStringExtra("time_slot");
             address = getIntent().getStringExtra("address");
             notes = getIntent().getStringExtra("notes");
             amount = getIntent().getDoubleExtra("amount", 0.0);
+            handoff.resolveService(getIntent(), TaskScope.of(this), service -> {
+                if (service == null) {
+                    Toast.makeText(this, "Service not found", Toast.LENGTH_SHORT).show();
+                    finish();
+                    return;
+                }
+                selectedService = service;
+                populateData();
+            });
         }
-
-        initViews();
-        setupClickListeners();
-        populateData();
     }
 
     private void initViews() {
@@ -107,7 +128,7 @@ public class PaymentActivity extends AppCompatActivity {
     private void populateData() {
         if (isCartCheckout) {
             // Handle cart checkout
-            tvServiceName.setText("Cart Items (" + cartItems.length + " items)");
+            tvServiceName.setText("Cart Items (" + cartItems.size() + " items)");
             tvServiceDate.setText("Date: To be scheduled");
             tvServiceTime.setText("Time: To be scheduled");
             tvServicePrice.setText("$" + String.format("%.2f", amount));
@@ -129,6 +150,7 @@ public class PaymentActivity extends AppCompatActivity {
         }
         
         tvTotalAmount.setText("$" + String.format("%.2f", amount));
+        btnPayNow.setEnabled(true);
     }
 
     private void processPayment() {
@@ -139,21 +161,22 @@ public class PaymentActivity extends AppCompatActivity {
             progressDialog.setCancelable(false);
             progressDialog.show();
 
-            // Simulate payment processing
-            new Handler().postDelayed(() -> {
-                progressDialog.dismiss();
-                
-                // Create booking
-                createBooking();
-                
-                // Show success message
-                Toast.makeText(this, "Payment successful! Booking confirmed.", Toast.LENGTH_LONG).show();
-                
-                // Navigate to My Bookings to show the completed bookings
-                Intent intent = new Intent(this, MyBookingsActivity.class);
-                intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
-                startActivity(intent);
-                finish();
+            // Simulate payment processing; dropped if the screen is closed meanwhile
+            TaskScope scope = TaskScope.of(this);
+            scope.postDelayed(() -> {
+                // Create booking, then confirm once it is stored
+                scope.write(this::createBooking, () -> {
+                    progressDialog.dismiss();
+                    
+                    // Show success message
+                    Toast.makeText(this, "Payment successful! Booking confirmed.", Toast.LENGTH_LONG).show();
+                    
+                    // Navigate to My Bookings to show the completed bookings
+                    Intent intent = new Intent(this, MyBookingsActivity.class);
+                    intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
+                    startActivity(intent);
+                    finish();
+                });
             }, 2000); // 2 second delay to simulate payment processing
         }
     }
@@ -182,6 +205,7 @@ public class PaymentActivity extends AppCompatActivity {
         return true;
     }
 
+    // Runs on the local data queue
     private void createBooking() {
         LocalDataManager dataManager = LocalDataManager.getInstance(this);
         
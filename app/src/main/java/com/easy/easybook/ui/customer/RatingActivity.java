@@ -9,7 +9,9 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.easy.easybook.R;
-import com.easy.easybook.data.LocalDataManager;
+import com.easy.easybook.concurrent.TaskScope;
+import com.easy.easybook.data.BookingOutbox;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.models.Booking;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
@@ -21,7 +23,7 @@ import java.util.Locale;
 public class RatingActivity extends AppCompatActivity {
 
     private Booking booking;
-    private LocalDataManager dataManager;
+    private BookingOutbox outbox;
     private TextView tvServiceName, tvProviderName, tvBookingDate, tvRatingText;
     private RatingBar ratingBar;
     private TextInputEditText etComment;
@@ -32,18 +34,20 @@ public class RatingActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_rating);
 
-        // Get booking from intent
-        booking = (Booking) getIntent().getSerializableExtra("booking");
-        if (booking == null) {
-            Toast.makeText(this, "Booking not found", Toast.LENGTH_SHORT).show();
-            finish();
-            return;
-        }
-
-        dataManager = LocalDataManager.getInstance(this);
+        outbox = BookingOutbox.getInstance(this);
         initViews();
         setupClickListeners();
-        populateData();
+
+        // Get booking handed over by id
+        HandoffCache.getInstance(this).resolveBooking(getIntent(), TaskScope.of(this), found -> {
+            if (found == null) {
+                Toast.makeText(this, "Booking not found", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
+            booking = found;
+            populateData();
+        });
     }
 
     private void initViews() {
@@ -97,15 +101,16 @@ public class RatingActivity extends AppCompatActivity {
             return;
         }
 
-        // Save rating to booking
-        dataManager.addRating(booking.getId(), rating, comment);
-
-        Toast.makeText(this, "Thank you for your feedback!", Toast.LENGTH_LONG).show();
+        // Save rating locally and queue it for the server
+        String bookingId = booking.getId();
+        TaskScope.of(this).write(() -> outbox.addRating(bookingId, rating, comment), () -> {
+            Toast.makeText(this, "Thank you for your feedback!", Toast.LENGTH_LONG).show();
 
-        // Navigate back to My Bookings
-        Intent intent = new Intent(this, MyBookingsActivity.class);
-        intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
-        startActivity(intent);
-        finish();
+            // Navigate back to My Bookings
+            Intent intent = new Intent(this, MyBookingsActivity.class);
+            intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
+            startActivity(intent);
+            finish();
+        });
     }
 }
\ No newline at end of file
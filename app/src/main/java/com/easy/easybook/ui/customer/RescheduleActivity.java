@@ -7,11 +7,14 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.easy.easybook.concurrent.TaskScope;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.databinding.ActivityRescheduleBinding;
 import com.easy.easybook.models.Booking;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
@@ -28,16 +31,17 @@ public class RescheduleActivity extends AppCompatActivity {
         binding = ActivityRescheduleBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
         
-        // Get booking to reschedule
-        booking = (Booking) getIntent().getSerializableExtra("reschedule_booking");
-        if (booking == null) {
-            Toast.makeText(this, "Booking not found", Toast.LENGTH_SHORT).show();
-            finish();
-            return;
-        }
-        
-        setupUI();
-        setupClickListeners();
+        // Get booking to reschedule, handed over by id
+        HandoffCache.getInstance(this).resolveBooking(getIntent(), TaskScope.of(this), found -> {
+            if (found == null) {
+                Toast.makeText(this, "Booking not found", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
+            booking = found;
+            setupUI();
+            setupClickListeners();
+        });
     }
     
     private void setupUI() {
@@ -129,25 +133,30 @@ public class RescheduleActivity extends AppCompatActivity {
     
     private void rescheduleBooking() {
         if (validateForm()) {
-            // Update booking with new date/time
-            booking.setBookingDate(selectedDate.getTime());
-            booking.setTimeSlot(selectedTimeSlot);
+            // Update the stored booking with new date/time; the one on screen is shared with
+            // the list it was picked from, so it is left alone
+            final String bookingId = booking.getId();
+            final Date newDate = selectedDate.getTime();
+            final String newTimeSlot = selectedTimeSlot;
             
             // Save to local data manager
             com.easy.easybook.data.LocalDataManager dataManager = 
                 com.easy.easybook.data.LocalDataManager.getInstance(this);
             
-            List<Booking> allBookings = dataManager.getAllBookings();
-            for (int i = 0; i < allBookings.size(); i++) {
-                if (allBookings.get(i).getId().equals(booking.getId())) {
-                    allBookings.set(i, booking);
-                    break;
+            TaskScope.of(this).write(() -> {
+                List<Booking> allBookings = dataManager.getAllBookings();
+                for (Booking stored : allBookings) {
+                    if (stored.getId().equals(bookingId)) {
+                        stored.setBookingDate(newDate);
+                        stored.setTimeSlot(newTimeSlot);
+                        break;
+                    }
                 }
-            }
-            dataManager.saveBookings(allBookings);
-            
-            Toast.makeText(this, "Booking rescheduled successfully", Toast.LENGTH_SHORT).show();
-            finish();
+                dataManager.saveBookings(allBookings);
+            }, () -> {
+                Toast.makeText(this, "Booking rescheduled successfully", Toast.LENGTH_SHORT).show();
+                finish();
+            });
         }
     }
     
@@ -6,10 +6,16 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.bumptech.glide.Glide;
+import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.ActivityServiceDetailBinding;
+import com.easy.easybook.images.ServiceImageLoader;
 import com.easy.easybook.models.Service;
 import com.easy.easybook.data.LocalDataManager;
-import com.easy.easybook.data.SeedData;
+import com.easy.easybook.data.HandoffCache;
+import com.easy.easybook.data.ServiceManager;
+import com.easy.easybook.prefetch.Prefetcher;
 
 /**
  * Service Detail Activity
@@ -29,30 +35,33 @@ public class ServiceDetailActivity extends AppCompatActivity {
         
         dataManager = LocalDataManager.getInstance(this);
         getIntentData();
-        setupUI();
+    }
+    
+    @Override
+    protected void onResume() {
+        super.onResume();
+        Prefetcher.getInstance(this).onScreenShown(Prefetcher.SCREEN_DETAIL);
     }
     
     private void getIntentData() {
         Intent intent = getIntent();
-        service = (Service) intent.getSerializableExtra("service");
-        
-        // If service not passed, try to get from seed data
-        if (service == null) {
-            String serviceId = intent.getStringExtra("service_id");
-            if (serviceId != null) {
-                service = findServiceById(serviceId);
-            }
+        String serviceId = intent.getStringExtra(HandoffCache.EXTRA_SERVICE_ID);
+        service = HandoffCache.getInstance(this).peekService(serviceId);
+        if (service != null || serviceId == null) {
+            setupUI();
+            return;
         }
-    }
-    
-    private Service findServiceById(String serviceId) {
-        // Search through seed data to find service
-        for (Service s : SeedData.getSeedServices()) {
-            if (s.getId().equals(serviceId)) {
-                return s;
-            }
+        
+        // Usually loaded while the list it was picked from sat idle; otherwise look it up now
+        service = Prefetcher.getInstance(this).getService(serviceId);
+        if (service != null) {
+            setupUI();
+            return;
         }
-        return null;
+        TaskScope.of(this).load(() -> ServiceManager.getInstance(this).getServiceById(serviceId), found -> {
+            service = found;
+            setupUI();
+        });
     }
     
     private void setupUI() {
@@ -78,6 +87,9 @@ public class ServiceDetailActivity extends AppCompatActivity {
         binding.tvServicePrice.setText(String.format("$%.2f", service.getPrice()));
         binding.tvServiceCategory.setText("Category: " + service.getCategory());
         binding.tvServiceDuration.setText("Duration: " + service.getDuration() + " minutes");
+        new ServiceImageLoader(Glide.with(this), this, R.dimen.service_image_detail_width,
+                R.dimen.service_image_detail_height, R.drawable.ic_service_placeholder)
+                .into(binding.ivServiceImage, service.getImageUrl());
         
         // Set rating
         binding.ratingService.setRating(service.getRating());
@@ -86,14 +98,14 @@ public class ServiceDetailActivity extends AppCompatActivity {
         // Book now button
         binding.btnBookNow.setOnClickListener(v -> {
             Intent intent = new Intent(this, BookingsActivity.class);
-            intent.putExtra("service", service);
+            HandoffCache.getInstance(this).putService(intent, service);
             startActivity(intent);
         });
         
         // Add to cart button
         binding.btnAddToCart.setOnClickListener(v -> {
-            dataManager.addToCart(service);
-            Toast.makeText(this, "Added to cart", Toast.LENGTH_SHORT).show();
+            TaskScope.of(this).write(() -> dataManager.addToCart(service),
+                    () -> Toast.makeText(this, "Added to cart", Toast.LENGTH_SHORT).show());
         });
     }
     
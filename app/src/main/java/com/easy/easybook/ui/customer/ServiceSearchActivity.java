@@ -9,12 +9,22 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.bumptech.glide.Glide;
+import com.easy.easybook.R;
 import com.easy.easybook.databinding.ActivityServiceSearchBinding;
+import com.easy.easybook.images.ServiceImageLoader;
 import com.easy.easybook.models.Service;
+import com.easy.easybook.prefetch.Prefetcher;
 import com.easy.easybook.ui.customer.adapters.ServiceSearchAdapter;
 import com.easy.easybook.data.SeedData;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.data.LocalDataManager;
 import com.easy.easybook.data.ServiceManager;
+import com.easy.easybook.data.paging.ListPageSource;
+import com.easy.easybook.data.paging.MappedPageSource;
+import com.easy.easybook.data.paging.PagedList;
+import com.easy.easybook.data.paging.PagedListAdapterCallback;
+import com.easy.easybook.ui.model.ServiceRow;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,13 +32,14 @@ import java.util.List;
 public class ServiceSearchActivity extends AppCompatActivity {
     
     private ActivityServiceSearchBinding binding;
+    // Search can match the whole catalogue; keep five pages of twenty around
+    private static final PagedList.Config PAGE_CONFIG = new PagedList.Config(20, 10, 5);
+    
     private ServiceSearchAdapter adapter;
-    private List<Service> services = new ArrayList<>();
+    private PagedList<ServiceRow> services;
     private String currentQuery = "";
     private String currentCategory = "";
     private String currentSortBy = "rating";
-    private int currentPage = 1;
-    private boolean isLoading = false;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -41,6 +52,12 @@ public class ServiceSearchActivity extends AppCompatActivity {
         loadServices();
     }
     
+    @Override
+    protected void onResume() {
+        super.onResume();
+        Prefetcher.getInstance(this).onScreenShown(Prefetcher.SCREEN_SEARCH);
+    }
+    
     private void initializeApi() {
         // No longer using API - using seed data instead
     }
@@ -65,7 +82,7 @@ public class ServiceSearchActivity extends AppCompatActivity {
         binding.btnSort.setOnClickListener(v -> showSortDialog());
         
         // Setup RecyclerView
-        adapter = new ServiceSearchAdapter(services, new ServiceSearchAdapter.OnServiceClickListener() {
+        adapter = new ServiceSearchAdapter(new ArrayList<>(), new ServiceSearchAdapter.OnServiceClickListener() {
             @Override
             public void onServiceClick(Service service) {
                 openServiceDetails(service);
@@ -79,6 +96,10 @@ public class ServiceSearchActivity extends AppCompatActivity {
         
         binding.rvServices.setLayoutManager(new LinearLayoutManager(this));
         binding.rvServices.setAdapter(adapter);
+        adapter.attachImages(binding.rvServices, new ServiceImageLoader(Glide.with(this), this,
+                R.dimen.service_image_row_size, R.dimen.service_image_row_size, R.drawable.placeholder_service));
+        binding.rvServices.addOnScrollListener(Prefetcher.getInstance(this)
+                .visibleServices(Prefetcher.SCREEN_SEARCH, adapter::serviceIdAt));
         
         // Setup click listeners
         binding.btnBack.setOnClickListener(v -> finish());
@@ -86,68 +107,64 @@ public class ServiceSearchActivity extends AppCompatActivity {
     
     private void performSearch() {
         currentQuery = binding.etSearch.getText().toString().trim();
-        currentPage = 1;
-        services.clear();
-        adapter.notifyDataSetChanged();
         loadServices();
     }
     
     private void loadServices() {
-        if (isLoading) return;
-        
-        isLoading = true;
         binding.progressBar.setVisibility(View.VISIBLE);
+        binding.rvServices.setVisibility(View.GONE);
+        binding.tvNoServices.setVisibility(View.GONE);
         
-        if (currentPage == 1) {
-            binding.rvServices.setVisibility(View.GONE);
-            binding.tvNoServices.setVisibility(View.GONE);
-        }
-        
-        // Use centralized ServiceManager for consistency
-        ServiceManager serviceManager = ServiceManager.getInstance(this);
-        List<Service> allServices = serviceManager.getAllServices();
-        List<Service> filteredServices = new ArrayList<>();
-        
-        // Apply filters
-        for (Service service : allServices) {
-            boolean matchesQuery = currentQuery.isEmpty() || 
-                service.getName().toLowerCase().contains(currentQuery.toLowerCase()) ||
-                service.getDescription().toLowerCase().contains(currentQuery.toLowerCase()) ||
-                service.getCategory().toLowerCase().contains(currentQuery.toLowerCase());
-                
-            boolean matchesCategory = currentCategory.isEmpty() || 
-                service.getCategory().equalsIgnoreCase(currentCategory);
-                
-            if (matchesQuery && matchesCategory) {
-                filteredServices.add(service);
-            }
-        }
-        
-        // Apply sorting
-        if (currentSortBy.equals("rating")) {
-            filteredServices.sort((a, b) -> Float.compare(b.getRating(), a.getRating()));
-        } else if (currentSortBy.equals("price")) {
-            filteredServices.sort((a, b) -> Double.compare(a.getPrice(), b.getPrice()));
-        } else if (currentSortBy.equals("name")) {
-            filteredServices.sort((a, b) -> a.getName().compareTo(b.getName()));
-        }
-        
-        // Update UI
-        isLoading = false;
-        binding.progressBar.setVisibility(View.GONE);
-        
-        if (currentPage == 1) {
-            services.clear();
-        }
-        
-        services.addAll(filteredServices);
-        adapter.notifyDataSetChanged();
+        final String query = currentQuery.toLowerCase();
+        final String category = currentCategory;
+        final String sortBy = currentSortBy;
+        final ServiceManager serviceManager = ServiceManager.getInstance(this);
         
-        if (services.isEmpty() && currentPage == 1) {
-            showNoServices();
-        } else {
-            binding.rvServices.setVisibility(View.VISIBLE);
+        if (services != null) {
+            services.close();
         }
+        // Filtering and sorting run once, off the main thread; the adapter only ever holds a few pages
+        services = new PagedList<>(new MappedPageSource<>(new ListPageSource<>(() -> {
+            List<Service> filteredServices = new ArrayList<>();
+            for (Service service : serviceManager.getAllServices()) {
+                boolean matchesQuery = query.isEmpty() ||
+                    service.getName().toLowerCase().contains(query) ||
+                    service.getDescription().toLowerCase().contains(query) ||
+                    service.getCategory().toLowerCase().contains(query);
+                    
+                boolean matchesCategory = category.isEmpty() ||
+                    service.getCategory().equalsIgnoreCase(category);
+                    
+                if (matchesQuery && matchesCategory) {
+                    filteredServices.add(service);
+                }
+            }
+            
+            // Apply sorting
+            if (sortBy.equals("rating")) {
+                filteredServices.sort((a, b) -> Float.compare(b.getRating(), a.getRating()));
+            } else if (sortBy.equals("price_asc")) {
+                filteredServices.sort((a, b) -> Double.compare(a.getPrice(), b.getPrice()));
+            } else if (sortBy.equals("price_desc")) {
+                filteredServices.sort((a, b) -> Double.compare(b.getPrice(), a.getPrice()));
+            } else if (sortBy.equals("name")) {
+                filteredServices.sort((a, b) -> a.getName().compareTo(b.getName()));
+            }
+            return filteredServices;
+        }), ServiceRow::of), PAGE_CONFIG);
+        services.setCallback(new PagedListAdapterCallback(adapter));
+        services.setLoadStateListener((loading, error) -> {
+            if (binding == null || !services.isInitialLoadDone()) {
+                return;
+            }
+            binding.progressBar.setVisibility(loading ? View.VISIBLE : View.GONE);
+            if (services.isEmpty()) {
+                showNoServices();
+            } else {
+                binding.rvServices.setVisibility(View.VISIBLE);
+            }
+        });
+        adapter.setServiceRows(services);
     }
     
     
@@ -197,13 +214,16 @@ public class ServiceSearchActivity extends AppCompatActivity {
     
     private void openBooking(Service service) {
         Intent intent = new Intent(this, BookingsActivity.class);
-        intent.putExtra("service", service);
+        HandoffCache.getInstance(this).putService(intent, service);
         startActivity(intent);
     }
     
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        if (services != null) {
+            services.close();
+        }
         binding = null;
     }
 }
\ No newline at end of file
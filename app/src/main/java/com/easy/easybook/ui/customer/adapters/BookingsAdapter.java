@@ -9,17 +9,23 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.R;
+import com.easy.easybook.data.paging.PagedList;
 import com.easy.easybook.models.Booking;
+import com.easy.easybook.ui.diff.AdapterListDiffer;
+import com.easy.easybook.ui.diff.RowDiffCallback;
+import com.easy.easybook.ui.diff.StableIds;
+import com.easy.easybook.ui.model.BindTimer;
+import com.easy.easybook.ui.model.CustomerBookingRow;
+import com.easy.easybook.ui.model.StatusStyle;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 public class BookingsAdapter extends RecyclerView.Adapter<BookingsAdapter.BookingViewHolder> {
 
-    private List<Booking> bookings;
+    private final AdapterListDiffer<CustomerBookingRow> rows;
+    private final StableIds stableIds = new StableIds();
+    private final BindTimer bindTimer = new BindTimer("BookingsAdapter");
     private OnBookingActionListener listener;
 
     public interface OnBookingActionListener {
@@ -29,40 +35,65 @@ public class BookingsAdapter extends RecyclerView.Adapter<BookingsAdapter.Bookin
     }
 
     public BookingsAdapter(OnBookingActionListener listener) {
-        this.bookings = new ArrayList<>();
+        this.rows = new AdapterListDiffer<>(this, new RowDiffCallback<CustomerBookingRow>());
         this.listener = listener;
+        setHasStableIds(true);
     }
 
+    /**
+     * Shows bookings; rows are formatted off the main thread and only changed rows rebind.
+     */
     public void setBookings(List<Booking> bookings) {
-        this.bookings = bookings;
-        notifyDataSetChanged();
+        rows.submitMapped(bookings, CustomerBookingRow::of);
+    }
+
+    /**
+     * Shows a paged list whose source already builds rows (see MappedPageSource).
+     */
+    public void setBookingRows(PagedList<CustomerBookingRow> pagedRows) {
+        rows.submitList(pagedRows);
     }
 
     public void addBooking(Booking booking) {
-        this.bookings.add(0, booking);
-        notifyItemInserted(0);
+        List<Booking> updated = currentBookings();
+        updated.add(0, booking);
+        setBookings(updated);
     }
 
     public void updateBooking(Booking booking) {
-        for (int i = 0; i < bookings.size(); i++) {
-            if (bookings.get(i).getId().equals(booking.getId())) {
-                bookings.set(i, booking);
-                notifyItemChanged(i);
+        List<Booking> updated = currentBookings();
+        for (int i = 0; i < updated.size(); i++) {
+            if (updated.get(i).getId().equals(booking.getId())) {
+                updated.set(i, booking);
+                setBookings(updated);
                 break;
             }
         }
     }
 
     public void removeBooking(String bookingId) {
-        for (int i = 0; i < bookings.size(); i++) {
-            if (bookings.get(i).getId().equals(bookingId)) {
-                bookings.remove(i);
-                notifyItemRemoved(i);
+        List<Booking> updated = currentBookings();
+        for (int i = 0; i < updated.size(); i++) {
+            if (updated.get(i).getId().equals(bookingId)) {
+                updated.remove(i);
+                setBookings(updated);
                 break;
             }
         }
     }
 
+    // Loaded rows only; PagedList placeholders have no booking yet
+    private List<Booking> currentBookings() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            CustomerBookingRow row = rows.peek(i);
+            if (row != null) {
+                bookings.add(row.getBooking());
+            }
+        }
+        return bookings;
+    }
+
     @NonNull
     @Override
     public BookingViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -73,13 +104,26 @@ public class BookingsAdapter extends RecyclerView.Adapter<BookingsAdapter.Bookin
 
     @Override
     public void onBindViewHolder(@NonNull BookingViewHolder holder, int position) {
-        Booking booking = bookings.get(position);
-        holder.bind(booking);
+        long start = bindTimer.start();
+        CustomerBookingRow row = rows.get(position);
+        if (row == null) {
+            // Row of a PagedList whose page is still loading
+            holder.bindPlaceholder();
+        } else {
+            holder.bind(row);
+        }
+        bindTimer.stop(start);
     }
 
     @Override
     public int getItemCount() {
-        return bookings.size();
+        return rows.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        CustomerBookingRow row = rows.peek(position);
+        return stableIds.idFor(row != null ? row.getKey() : null, position);
     }
 
     class BookingViewHolder extends RecyclerView.ViewHolder {
@@ -97,111 +141,64 @@ public class BookingsAdapter extends RecyclerView.Adapter<BookingsAdapter.Bookin
             btnCancel = itemView.findViewById(R.id.btnCancel);
             btnReschedule = itemView.findViewById(R.id.btnReschedule);
             btnRate = itemView.findViewById(R.id.btnRate);
-        }
 
-        public void bind(Booking booking) {
-            tvServiceName.setText(booking.getServiceName());
-            tvProviderName.setText(booking.getProviderName());
-            tvAmount.setText(String.format("$%.2f", booking.getTotalAmount()));
-            
-            // Format address
-            String address = booking.getAddress() + ", " + booking.getCity() + ", " + booking.getState();
-            tvAddress.setText(address);
-            
-            // Format date and time
-            SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-            String dateTime = dateFormat.format(booking.getBookingDate()) + " • " + booking.getTimeSlot();
-            tvBookingDateTime.setText(dateTime);
-            
-            // Set status with appropriate styling
-            tvStatus.setText(booking.getStatus().toUpperCase());
-            setStatusStyle(booking.getStatus());
-            
-            // Set button visibility based on status
-            setButtonVisibility(booking.getStatus());
-            
-            // Set click listeners
             btnCancel.setOnClickListener(v -> {
-                if (listener != null) {
+                Booking booking = currentBooking();
+                if (listener != null && booking != null) {
                     listener.onCancelBooking(booking);
                 }
             });
-            
             btnReschedule.setOnClickListener(v -> {
-                if (listener != null) {
+                Booking booking = currentBooking();
+                if (listener != null && booking != null) {
                     listener.onRescheduleBooking(booking);
                 }
             });
-            
             btnRate.setOnClickListener(v -> {
-                if (listener != null) {
+                Booking booking = currentBooking();
+                if (listener != null && booking != null) {
                     listener.onRateBooking(booking);
                 }
             });
         }
 
-        private void setStatusStyle(String status) {
-            switch (status.toLowerCase()) {
-                case "pending":
-                    tvStatus.setBackgroundResource(R.drawable.circle_background_light);
-                    tvStatus.setTextColor(itemView.getContext().getColor(R.color.orange));
-                    break;
-                case "confirmed":
-                    tvStatus.setBackgroundResource(R.drawable.circle_background_light);
-                    tvStatus.setTextColor(itemView.getContext().getColor(R.color.blue));
-                    break;
-                case "in_progress":
-                    tvStatus.setBackgroundResource(R.drawable.circle_background_light);
-                    tvStatus.setTextColor(itemView.getContext().getColor(R.color.primary));
-                    break;
-                case "completed":
-                    tvStatus.setBackgroundResource(R.drawable.circle_background);
-                    tvStatus.setTextColor(itemView.getContext().getColor(R.color.white));
-                    break;
-                case "cancelled":
-                    tvStatus.setBackgroundResource(R.drawable.circle_background_light);
-                    tvStatus.setTextColor(itemView.getContext().getColor(R.color.red));
-                    break;
-                default:
-                    tvStatus.setBackgroundResource(R.drawable.circle_background_light);
-                    tvStatus.setTextColor(itemView.getContext().getColor(R.color.text_secondary));
-                    break;
-            }
+        // Looked up on click: a refresh that only changes fields the row doesn't show skips
+        // the rebind, so the row passed to bind() can hold an outdated booking
+        private Booking currentBooking() {
+            int position = getBindingAdapterPosition();
+            CustomerBookingRow row = position != RecyclerView.NO_POSITION ? rows.peek(position) : null;
+            return row != null ? row.getBooking() : null;
         }
 
-        private void setButtonVisibility(String status) {
-            switch (status.toLowerCase()) {
-                case "pending":
-                    btnCancel.setVisibility(View.VISIBLE);
-                    btnReschedule.setVisibility(View.VISIBLE);
-                    btnRate.setVisibility(View.GONE);
-                    break;
-                case "confirmed":
-                    btnCancel.setVisibility(View.GONE);  // No cancel for confirmed
-                    btnReschedule.setVisibility(View.GONE);  // No reschedule for confirmed
-                    btnRate.setVisibility(View.GONE);
-                    break;
-                case "in_progress":
-                    btnCancel.setVisibility(View.GONE);
-                    btnReschedule.setVisibility(View.GONE);
-                    btnRate.setVisibility(View.GONE);
-                    break;
-                case "completed":
-                    btnCancel.setVisibility(View.GONE);
-                    btnReschedule.setVisibility(View.GONE);
-                    btnRate.setVisibility(View.VISIBLE);  // Only rate for completed
-                    break;
-                case "cancelled":
-                    btnCancel.setVisibility(View.GONE);
-                    btnReschedule.setVisibility(View.GONE);
-                    btnRate.setVisibility(View.GONE);
-                    break;
-                default:
-                    btnCancel.setVisibility(View.GONE);
-                    btnReschedule.setVisibility(View.GONE);
-                    btnRate.setVisibility(View.GONE);
-                    break;
-            }
+        void bind(CustomerBookingRow row) {
+            tvServiceName.setText(row.getServiceName());
+            tvProviderName.setText(row.getProviderName());
+            tvAmount.setText(row.getAmountText());
+            tvAddress.setText(row.getAddressText());
+            tvBookingDateTime.setText(row.getDateTimeText());
+            tvStatus.setText(row.getStatusText());
+            setStatusStyle(row.getStatusStyle());
+            btnCancel.setVisibility(row.getCancelVisibility());
+            btnReschedule.setVisibility(row.getRescheduleVisibility());
+            btnRate.setVisibility(row.getRateVisibility());
+        }
+
+        void bindPlaceholder() {
+            tvServiceName.setText("");
+            tvProviderName.setText("");
+            tvAmount.setText("");
+            tvAddress.setText("");
+            tvBookingDateTime.setText("");
+            tvStatus.setText("");
+            setStatusStyle(StatusStyle.OTHER);
+            btnCancel.setVisibility(View.GONE);
+            btnReschedule.setVisibility(View.GONE);
+            btnRate.setVisibility(View.GONE);
+        }
+
+        private void setStatusStyle(StatusStyle style) {
+            tvStatus.setBackgroundResource(style.background);
+            tvStatus.setTextColor(itemView.getContext().getColor(style.textColor));
         }
     }
 }
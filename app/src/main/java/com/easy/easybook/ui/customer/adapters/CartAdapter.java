@@ -10,6 +10,7 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.R;
+import com.easy.easybook.images.ServiceImageLoader;
 import com.easy.easybook.models.Service;
 
 import java.util.List;
@@ -18,6 +19,7 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
     
     private List<Service> cartItems;
     private OnCartItemClickListener listener;
+    private ServiceImageLoader images;
     
     public interface OnCartItemClickListener {
         void onRemoveItem(Service service);
@@ -46,6 +48,10 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
         return cartItems != null ? cartItems.size() : 0;
     }
     
+    public void setImageLoader(ServiceImageLoader images) {
+        this.images = images;
+    }
+    
     public void updateCartItems(List<Service> cartItems) {
         this.cartItems = cartItems;
         notifyDataSetChanged();
@@ -77,8 +83,11 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
             tvServicePrice.setText(String.format("$%.2f", service.getPrice()));
             tvServiceCategory.setText(service.getCategory());
             
-            // Set default image
-            ivServiceImage.setImageResource(R.drawable.placeholder_service);
+            if (images != null) {
+                images.into(ivServiceImage, service.getImageUrl());
+            } else {
+                ivServiceImage.setImageResource(R.drawable.placeholder_service);
+            }
             
             btnRemove.setOnClickListener(v -> {
                 if (listener != null) {
@@ -18,6 +18,9 @@ import java.util.Locale;
 
 public class ChatAdapter extends RecyclerView.Adapter<ChatAdapter.ChatViewHolder> {
     
+    // Only the message text changed, e.g. a streamed answer grew
+    public static final Object PAYLOAD_TEXT = new Object();
+    
     private List<ChatMessage> messages;
     private SimpleDateFormat timeFormat;
     
@@ -44,6 +47,15 @@ public class ChatAdapter extends RecyclerView.Adapter<ChatAdapter.ChatViewHolder
         holder.bind(message);
     }
     
+    @Override
+    public void onBindViewHolder(@NonNull ChatViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_TEXT)) {
+            holder.bindText(messages.get(position));
+        } else {
+            super.onBindViewHolder(holder, position, payloads);
+        }
+    }
+    
     @Override
     public int getItemCount() {
         return messages.size();
@@ -69,5 +81,9 @@ public class ChatAdapter extends RecyclerView.Adapter<ChatAdapter.ChatViewHolder
             tvMessage.setText(message.getMessage());
             tvTime.setText(timeFormat.format(new Date(message.getTimestamp())));
         }
+        
+        void bindText(ChatMessage message) {
+            tvMessage.setText(message.getMessage());
+        }
     }
 }
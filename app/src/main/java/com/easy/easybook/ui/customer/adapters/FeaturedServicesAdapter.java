@@ -7,9 +7,12 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.databinding.ItemFeaturedServiceBinding;
+import com.easy.easybook.images.ServiceImageLoader;
 import com.easy.easybook.models.ServiceItem;
+import com.easy.easybook.ui.diff.AdapterListDiffer;
+import com.easy.easybook.ui.diff.ServiceItemDiffCallback;
+import com.easy.easybook.ui.diff.StableIds;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -18,16 +21,22 @@ import java.util.Locale;
  */
 public class FeaturedServicesAdapter extends RecyclerView.Adapter<FeaturedServicesAdapter.ServiceViewHolder> {
     
-    private List<ServiceItem> services;
+    // Cards are wide; two ahead covers a fling without decoding images nobody reaches
+    private static final int PRELOAD_ITEMS = 2;
+    
+    private final AdapterListDiffer<ServiceItem> services;
+    private final StableIds stableIds = new StableIds();
     private OnServiceClickListener listener;
+    private ServiceImageLoader images;
     
     public interface OnServiceClickListener {
         void onServiceClick(ServiceItem service);
     }
     
     public FeaturedServicesAdapter(OnServiceClickListener listener) {
-        this.services = new ArrayList<>();
+        this.services = new AdapterListDiffer<>(this, new ServiceItemDiffCallback());
         this.listener = listener;
+        setHasStableIds(true);
     }
     
     @NonNull
@@ -48,12 +57,31 @@ public class FeaturedServicesAdapter extends RecyclerView.Adapter<FeaturedServic
         return services.size();
     }
     
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(ServiceItemDiffCallback.keyOf(services.peek(position)), position);
+    }
+    
     public void updateServices(List<ServiceItem> newServices) {
-        this.services.clear();
-        if (newServices != null) {
-            this.services.addAll(newServices);
-        }
-        notifyDataSetChanged();
+        services.submitList(newServices);
+    }
+    
+    /**
+     * Shows service images in the cards and preloads those just off screen as list scrolls.
+     */
+    public void attachImages(RecyclerView list, ServiceImageLoader images) {
+        this.images = images;
+        list.addOnScrollListener(images.preloader(this::imageUrlAt, PRELOAD_ITEMS));
+    }
+    
+    private String imageUrlAt(int position) {
+        ServiceItem service = services.peek(position);
+        return service != null ? service.getImageUrl() : null;
+    }
+    
+    public String serviceIdAt(int position) {
+        ServiceItem service = services.peek(position);
+        return service != null ? service.getId() : null;
     }
     
     class ServiceViewHolder extends RecyclerView.ViewHolder {
@@ -71,6 +99,9 @@ public class FeaturedServicesAdapter extends RecyclerView.Adapter<FeaturedServic
             binding.tvServiceDuration.setText(service.getDuration());
             binding.ratingBar.setRating(service.getRating());
             binding.tvRating.setText(String.format(Locale.getDefault(), "%.1f", service.getRating()));
+            if (images != null) {
+                images.into(binding.ivServiceImage, service.getImageUrl());
+            }
             
             // Set click listener
             binding.getRoot().setOnClickListener(v -> {
@@ -3,20 +3,34 @@ package com.easy.easybook.ui.customer.adapters;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.R;
+import com.easy.easybook.data.paging.PagedList;
+import com.easy.easybook.images.ServiceImageLoader;
 import com.easy.easybook.models.Service;
+import com.easy.easybook.ui.diff.AdapterListDiffer;
+import com.easy.easybook.ui.diff.RowDiffCallback;
+import com.easy.easybook.ui.diff.StableIds;
+import com.easy.easybook.ui.model.BindTimer;
+import com.easy.easybook.ui.model.ServiceRow;
 
 import java.util.List;
 
 public class ServiceSearchAdapter extends RecyclerView.Adapter<ServiceSearchAdapter.ServiceViewHolder> {
     
-    private List<Service> services;
+    // Rows are short, so a fling shows several at once
+    private static final int PRELOAD_ITEMS = 6;
+    
+    private final AdapterListDiffer<ServiceRow> services;
+    private final StableIds stableIds = new StableIds();
+    private final BindTimer bindTimer = new BindTimer("ServiceSearchAdapter");
     private OnServiceClickListener listener;
+    private ServiceImageLoader images;
     
     public interface OnServiceClickListener {
         void onServiceClick(Service service);
@@ -24,8 +38,43 @@ public class ServiceSearchAdapter extends RecyclerView.Adapter<ServiceSearchAdap
     }
     
     public ServiceSearchAdapter(List<Service> services, OnServiceClickListener listener) {
-        this.services = services;
+        this.services = new AdapterListDiffer<>(this, new RowDiffCallback<ServiceRow>());
         this.listener = listener;
+        setHasStableIds(true);
+        setServices(services);
+    }
+    
+    /**
+     * Shows services, rebinding only rows that changed. Rows are built off the main thread.
+     */
+    public void setServices(List<Service> services) {
+        this.services.submitMapped(services, ServiceRow::of);
+    }
+    
+    /**
+     * Shows a paged list whose source already builds rows (see MappedPageSource).
+     */
+    public void setServiceRows(PagedList<ServiceRow> rows) {
+        this.services.submitList(rows);
+    }
+    
+    /**
+     * Shows service thumbnails in the rows and preloads those just off screen as list scrolls.
+     */
+    public void attachImages(RecyclerView list, ServiceImageLoader images) {
+        this.images = images;
+        list.addOnScrollListener(images.preloader(this::imageUrlAt, PRELOAD_ITEMS));
+    }
+    
+    // Peeks so preloading never pulls in a page the user hasn't scrolled to
+    private String imageUrlAt(int position) {
+        ServiceRow row = services.peek(position);
+        return row != null ? row.getImageUrl() : null;
+    }
+    
+    public String serviceIdAt(int position) {
+        ServiceRow row = services.peek(position);
+        return row != null ? row.getService().getId() : null;
     }
     
     @NonNull
@@ -38,8 +87,15 @@ public class ServiceSearchAdapter extends RecyclerView.Adapter<ServiceSearchAdap
     
     @Override
     public void onBindViewHolder(@NonNull ServiceViewHolder holder, int position) {
-        Service service = services.get(position);
-        holder.bind(service, listener);
+        long start = bindTimer.start();
+        ServiceRow row = services.get(position);
+        if (row == null) {
+            // Row of a PagedList whose page is still loading
+            holder.bindPlaceholder();
+        } else {
+            holder.bind(row);
+        }
+        bindTimer.stop(start);
     }
     
     @Override
@@ -47,7 +103,14 @@ public class ServiceSearchAdapter extends RecyclerView.Adapter<ServiceSearchAdap
         return services.size();
     }
     
-    static class ServiceViewHolder extends RecyclerView.ViewHolder {
+    @Override
+    public long getItemId(int position) {
+        ServiceRow row = services.peek(position);
+        return stableIds.idFor(row != null ? row.getKey() : null, position);
+    }
+    
+    class ServiceViewHolder extends RecyclerView.ViewHolder {
+        private ImageView ivServiceImage;
         private TextView tvServiceName;
         private TextView tvServiceDescription;
         private TextView tvProviderName;
@@ -58,6 +121,7 @@ public class ServiceSearchAdapter extends RecyclerView.Adapter<ServiceSearchAdap
         
         public ServiceViewHolder(@NonNull View itemView) {
             super(itemView);
+            ivServiceImage = itemView.findViewById(R.id.iv_service_image);
             tvServiceName = itemView.findViewById(R.id.tv_service_name);
             tvServiceDescription = itemView.findViewById(R.id.tv_service_description);
             tvProviderName = itemView.findViewById(R.id.tv_provider_name);
@@ -65,19 +129,52 @@ public class ServiceSearchAdapter extends RecyclerView.Adapter<ServiceSearchAdap
             tvServiceRating = itemView.findViewById(R.id.tv_service_rating);
             tvServiceDuration = itemView.findViewById(R.id.tv_service_duration);
             btnBookNow = itemView.findViewById(R.id.btn_book_now);
+            
+            itemView.setOnClickListener(v -> {
+                Service service = currentService();
+                if (service != null) {
+                    listener.onServiceClick(service);
+                }
+            });
+            btnBookNow.setOnClickListener(v -> {
+                Service service = currentService();
+                if (service != null) {
+                    listener.onBookService(service);
+                }
+            });
         }
         
-        public void bind(Service service, OnServiceClickListener listener) {
-            tvServiceName.setText(service.getName());
-            tvServiceDescription.setText(service.getDescription());
-            tvProviderName.setText(service.getProviderName());
-            tvServicePrice.setText("$" + service.getPrice());
-            tvServiceRating.setText(String.format("%.1f ⭐", service.getRating()));
-            tvServiceDuration.setText(service.getDuration());
-            
-            // Set click listeners
-            itemView.setOnClickListener(v -> listener.onServiceClick(service));
-            btnBookNow.setOnClickListener(v -> listener.onBookService(service));
+        // Looked up on click, as a refresh can swap the service behind an unchanged row
+        private Service currentService() {
+            int position = getBindingAdapterPosition();
+            ServiceRow row = position != RecyclerView.NO_POSITION ? services.peek(position) : null;
+            return row != null ? row.getService() : null;
+        }
+        
+        void bind(ServiceRow row) {
+            tvServiceName.setText(row.getName());
+            tvServiceDescription.setText(row.getDescription());
+            tvProviderName.setText(row.getProviderName());
+            tvServicePrice.setText(row.getPriceText());
+            tvServiceRating.setText(row.getRatingText());
+            tvServiceDuration.setText(row.getDuration());
+            btnBookNow.setVisibility(View.VISIBLE);
+            if (images != null) {
+                images.into(ivServiceImage, row.getImageUrl());
+            }
+        }
+        
+        void bindPlaceholder() {
+            tvServiceName.setText("");
+            tvServiceDescription.setText("");
+            tvProviderName.setText("");
+            tvServicePrice.setText("");
+            tvServiceRating.setText("");
+            tvServiceDuration.setText("");
+            btnBookNow.setVisibility(View.INVISIBLE);
+            if (images != null) {
+                images.into(ivServiceImage, null);
+            }
         }
     }
 }
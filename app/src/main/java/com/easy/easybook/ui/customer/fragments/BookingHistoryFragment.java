@@ -13,11 +13,16 @@ import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.FragmentBookingHistoryBinding;
 import com.easy.easybook.models.Booking;
 import com.easy.easybook.models.Service;
 import com.easy.easybook.ui.customer.MyBookingsActivity;
 import com.easy.easybook.ui.customer.adapters.BookingsAdapter;
+import com.easy.easybook.data.BookingOutbox;
+import com.easy.easybook.data.DataChange;
+import com.easy.easybook.data.DataChangeBus;
+import com.easy.easybook.data.HandoffCache;
 import com.easy.easybook.data.LocalDataManager;
 
 import java.util.ArrayList;
@@ -45,22 +50,14 @@ public class BookingHistoryFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
         
         setupUI();
-    }
-    
-    @Override
-    public void onResume() {
-        super.onResume();
-        // Refresh data when fragment becomes visible
-        loadBookingData();
-        if (adapter != null) {
-            adapter.setBookings(recentBookings);
-        }
+        loadBookings();
+
+        // Reload when this user's bookings change; nothing to do on a plain return to the tab
+        DataChangeBus.getInstance().observe(getViewLifecycleOwner(), DataChange.Store.BOOKINGS,
+                DataChange.customer("current_user"), change -> loadBookings());
     }
     
     private void setupUI() {
-        // Load booking data
-        loadBookingData();
-        
         // Setup click listeners
         setupClickListeners();
         
@@ -68,17 +65,22 @@ public class BookingHistoryFragment extends Fragment {
         setupRecyclerView();
     }
     
-    private void loadBookingData() {
-        // Load bookings from LocalDataManager
+    // Reads bookings off the main thread; the result is dropped if the view is gone by then
+    private void loadBookings() {
         LocalDataManager dataManager = LocalDataManager.getInstance(getContext());
-        List<Booking> allBookings = dataManager.getUserBookings("current_user"); // In real app, get from login
-        
+        TaskScope.of(getViewLifecycleOwner()).load(
+                () -> dataManager.getUserBookings("current_user"), // In real app, get from login
+                this::showBookings);
+    }
+    
+    private void showBookings(List<Booking> allBookings) {
         // Get recent bookings (last 3)
         recentBookings = new ArrayList<>();
         int count = Math.min(3, allBookings.size());
         for (int i = 0; i < count; i++) {
             recentBookings.add(allBookings.get(i));
         }
+        adapter.setBookings(recentBookings);
         
         // Update stats
         updateStats(allBookings);
@@ -121,10 +123,10 @@ public class BookingHistoryFragment extends Fragment {
                 builder.setTitle("Cancel Booking")
                         .setMessage("Are you sure you want to cancel this booking?")
                         .setPositiveButton("Yes", (dialog, which) -> {
-                            com.easy.easybook.data.LocalDataManager dataManager = com.easy.easybook.data.LocalDataManager.getInstance(getContext());
-                            dataManager.updateBookingStatus(booking.getId(), "cancelled");
-                            loadBookings();
-                            Toast.makeText(getContext(), "Booking cancelled", Toast.LENGTH_SHORT).show();
+                            BookingOutbox outbox = BookingOutbox.getInstance(getContext());
+                            TaskScope.of(getViewLifecycleOwner()).write(
+                                    () -> outbox.updateStatus(booking.getId(), "cancelled"),
+                                    () -> Toast.makeText(getContext(), "Booking cancelled", Toast.LENGTH_SHORT).show());
                         })
                         .setNegativeButton("No", null)
                         .show();
@@ -134,7 +136,7 @@ public class BookingHistoryFragment extends Fragment {
             public void onRescheduleBooking(Booking booking) {
                 // Navigate to reschedule activity with booking data
                 android.content.Intent intent = new android.content.Intent(getContext(), com.easy.easybook.ui.customer.RescheduleActivity.class);
-                intent.putExtra("reschedule_booking", booking);
+                HandoffCache.getInstance(requireContext()).putBooking(intent, booking);
                 startActivity(intent);
             }
             
@@ -142,22 +144,12 @@ public class BookingHistoryFragment extends Fragment {
             public void onRateBooking(Booking booking) {
                 // Navigate to rating activity
                 android.content.Intent intent = new android.content.Intent(getContext(), com.easy.easybook.ui.customer.RatingActivity.class);
-                intent.putExtra("booking", booking);
+                HandoffCache.getInstance(requireContext()).putBooking(intent, booking);
                 startActivity(intent);
             }
         });
         binding.rvRecentBookings.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.rvRecentBookings.setAdapter(adapter);
-        
-        // Set bookings
-        adapter.setBookings(recentBookings);
-    }
-    
-    private void loadBookings() {
-        loadBookingData();
-        if (adapter != null) {
-            adapter.setBookings(recentBookings);
-        }
     }
     
     @Override
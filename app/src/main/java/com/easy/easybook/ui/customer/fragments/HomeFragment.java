@@ -2,6 +2,7 @@ package com.easy.easybook.ui.customer.fragments;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -13,12 +14,22 @@ import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.bumptech.glide.Glide;
+import com.easy.easybook.R;
+import com.easy.easybook.concurrent.AppExecutors;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.FragmentHomeBinding;
+import com.easy.easybook.images.ServiceImageLoader;
 import com.easy.easybook.models.Service;
 import com.easy.easybook.models.ServiceItem;
 import com.easy.easybook.models.ServiceCategory;
 import com.easy.easybook.models.User;
+import com.easy.easybook.prefetch.Prefetcher;
 import com.easy.easybook.data.SeedData;
+import com.easy.easybook.data.DataChange;
+import com.easy.easybook.data.DataChangeBus;
+import com.easy.easybook.data.HomeFeedSnapshot;
+import com.easy.easybook.data.HomeFeedSnapshotStore;
 import com.easy.easybook.data.LocalDataManager;
 import com.easy.easybook.data.ServiceManager;
 import com.easy.easybook.utils.SharedPrefsManager;
@@ -33,6 +44,7 @@ import com.easy.easybook.ui.customer.adapters.FeaturedServicesAdapter;
 import com.easy.easybook.ui.customer.adapters.ServiceCategoryAdapter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -44,6 +56,12 @@ public class HomeFragment extends Fragment {
     private FragmentHomeBinding binding;
     private ServiceCategoryAdapter categoryAdapter;
     private FeaturedServicesAdapter featuredAdapter;
+
+    // What's on screen from the catalog, kept to snapshot once both halves have loaded
+    private String welcomeText;
+    private List<ServiceCategory> freshCategories;
+    private List<ServiceItem> freshFeatured;
+    private long viewCreatedAt;
     
     @Nullable
     @Override
@@ -55,9 +73,17 @@ public class HomeFragment extends Fragment {
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        viewCreatedAt = SystemClock.elapsedRealtime();
+        freshCategories = null;
+        freshFeatured = null;
         
         setupUI();
+        showSnapshot();
         loadData();
+
+        // Categories and featured services are rebuilt only when the catalog changes
+        DataChangeBus.getInstance().observe(getViewLifecycleOwner(), DataChange.Store.SERVICES, null,
+                change -> loadData());
     }
     
     @Override
@@ -65,6 +91,7 @@ public class HomeFragment extends Fragment {
         super.onResume();
         // Refresh user data when fragment becomes visible
         loadUserData();
+        Prefetcher.getInstance(requireContext()).onScreenShown(Prefetcher.SCREEN_HOME);
     }
     
     private void setupUI() {
@@ -117,6 +144,62 @@ public class HomeFragment extends Fragment {
         binding.rvFeaturedServices.setLayoutManager(new LinearLayoutManager(getContext(), LinearLayoutManager.HORIZONTAL, false));
         featuredAdapter = new FeaturedServicesAdapter(this::onServiceClick);
         binding.rvFeaturedServices.setAdapter(featuredAdapter);
+        featuredAdapter.attachImages(binding.rvFeaturedServices, new ServiceImageLoader(Glide.with(this), requireContext(),
+                R.dimen.service_image_featured_width, R.dimen.service_image_featured_height,
+                R.drawable.placeholder_service_inset));
+        binding.rvFeaturedServices.addOnScrollListener(Prefetcher.getInstance(requireContext())
+                .visibleServices(Prefetcher.SCREEN_HOME, featuredAdapter::serviceIdAt));
+    }
+    
+    /**
+     * Draws the feed the user saw last time while the catalog loads. Usually start-up has
+     * already read it, so it is drawn before the first frame; otherwise it is read here and
+     * dropped if real data beats it.
+     */
+    private void showSnapshot() {
+        HomeFeedSnapshotStore store = HomeFeedSnapshotStore.getInstance(requireContext());
+        String userId = SharedPrefsManager.getInstance(requireContext()).getUserId();
+        HomeFeedSnapshot snapshot = store.peek(userId);
+        if (snapshot != null) {
+            applySnapshot(snapshot);
+            return;
+        }
+        TaskScope.of(getViewLifecycleOwner()).load(AppExecutors.getInstance().io(),
+                () -> store.load(userId), loaded -> {
+                    if (loaded != null && binding != null) {
+                        applySnapshot(loaded);
+                    }
+                }, null);
+    }
+
+    private void applySnapshot(HomeFeedSnapshot snapshot) {
+        if (freshCategories == null) {
+            categoryAdapter.updateCategories(snapshot.getCategories());
+        }
+        if (freshFeatured == null) {
+            featuredAdapter.updateServices(snapshot.getFeatured());
+        }
+        if (welcomeText == null && snapshot.getWelcomeText() != null) {
+            binding.tvWelcome.setText(snapshot.getWelcomeText());
+        }
+        android.util.Log.d("HomeFragment", "Home feed from snapshot after "
+                + (SystemClock.elapsedRealtime() - viewCreatedAt) + " ms");
+    }
+
+    /** Saves what's on screen for the next cold start, once categories and featured have both loaded. */
+    private void saveSnapshot() {
+        if (freshCategories == null || freshFeatured == null) {
+            return;
+        }
+        android.util.Log.d("HomeFragment", "Home feed loaded after "
+                + (SystemClock.elapsedRealtime() - viewCreatedAt) + " ms");
+        HomeFeedSnapshotStore store = HomeFeedSnapshotStore.getInstance(requireContext());
+        String userId = SharedPrefsManager.getInstance(requireContext()).getUserId();
+        HomeFeedSnapshot snapshot = HomeFeedSnapshot.of(welcomeText, freshCategories, freshFeatured);
+        TaskScope.of(getViewLifecycleOwner()).write(() -> {
+            store.save(userId, snapshot);
+            return null;
+        }, null, null);
     }
     
     private void loadData() {
@@ -130,10 +213,12 @@ public class HomeFragment extends Fragment {
     private void loadCategories() {
         // Use centralized ServiceManager for consistency
         ServiceManager serviceManager = ServiceManager.getInstance(getContext());
-        List<ServiceCategory> categories = serviceManager.getServiceCategories();
-        
-        categoryAdapter.updateCategories(categories);
-        android.util.Log.d("HomeFragment", "Loaded " + categories.size() + " categories from ServiceManager");
+        TaskScope.of(getViewLifecycleOwner()).load(serviceManager::getServiceCategories, categories -> {
+            categoryAdapter.updateCategories(categories);
+            android.util.Log.d("HomeFragment", "Loaded " + categories.size() + " categories from ServiceManager");
+            freshCategories = categories;
+            saveSnapshot();
+        });
     }
     
     
@@ -153,12 +238,14 @@ public class HomeFragment extends Fragment {
     private void loadFeaturedServices() {
         // Use centralized ServiceManager for consistency
         ServiceManager serviceManager = ServiceManager.getInstance(getContext());
-        List<Service> featuredServices = serviceManager.getFeaturedServices();
-        
-        List<ServiceItem> serviceItems = convertServicesToServiceItems(featuredServices);
-        
-        featuredAdapter.updateServices(serviceItems);
-        android.util.Log.d("HomeFragment", "Loaded " + serviceItems.size() + " featured services from ServiceManager");
+        TaskScope.of(getViewLifecycleOwner()).load(
+                () -> convertServicesToServiceItems(serviceManager.getFeaturedServices()),
+                serviceItems -> {
+                    featuredAdapter.updateServices(serviceItems);
+                    android.util.Log.d("HomeFragment", "Loaded " + serviceItems.size() + " featured services from ServiceManager");
+                    freshFeatured = serviceItems;
+                    saveSnapshot();
+                });
     }
 
     // Convert Service to ServiceItem for adapter compatibility
@@ -176,6 +263,9 @@ public class HomeFragment extends Fragment {
             item.setAvailable(service.isAvailable());
             item.setFeatured(service.isFeatured());
             item.setReviewCount(service.getReviewCount());
+            if (service.getImageUrl() != null) {
+                item.setImages(Collections.singletonList(service.getImageUrl()));
+            }
             serviceItems.add(item);
         }
         return serviceItems;
@@ -322,14 +412,15 @@ public class HomeFragment extends Fragment {
             if (displayName != null && !displayName.trim().isEmpty()) {
                 // Extract first name from display name
                 String firstName = displayName.split(" ")[0];
-                binding.tvWelcome.setText("Welcome back, " + firstName + "!");
+                welcomeText = "Welcome back, " + firstName + "!";
             } else if (email != null && !email.trim().isEmpty()) {
                 // Use email prefix if no display name
                 String emailPrefix = email.split("@")[0];
-                binding.tvWelcome.setText("Welcome back, " + emailPrefix + "!");
+                welcomeText = "Welcome back, " + emailPrefix + "!";
             } else {
-                binding.tvWelcome.setText("Welcome back!");
+                welcomeText = "Welcome back!";
             }
+            binding.tvWelcome.setText(welcomeText);
             
             // Show Firebase user-specific information
             displayFirebaseUserContent(firebaseUser);
@@ -337,7 +428,8 @@ public class HomeFragment extends Fragment {
             android.util.Log.d("HomeFragment", "Firebase user loaded: " + displayName + " (" + email + ")");
         } else {
             // No user logged in
-            binding.tvWelcome.setText("Welcome!");
+            welcomeText = "Welcome!";
+            binding.tvWelcome.setText(welcomeText);
             android.util.Log.w("HomeFragment", "No Firebase user logged in");
         }
     }
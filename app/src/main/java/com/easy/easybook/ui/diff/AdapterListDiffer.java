@@ -0,0 +1,119 @@
+package com.easy.easybook.ui.diff;
+
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.easy.easybook.concurrent.AppExecutors;
+import com.easy.easybook.concurrent.MainThread;
+import com.easy.easybook.data.paging.PagedList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The rows behind an adapter.
+ *
+ * Plain lists go through an {@link AsyncListDiffer}: the new list is diffed against the shown one
+ * on a background thread and only inserted, moved, removed or changed rows are dispatched.
+ * A {@link PagedList} is shown as is instead; it reports its own row changes (see
+ * PagedListAdapterCallback) and may only be read on the main thread, so it can't be diffed.
+ * {@link #submitMapped} also builds the rows from models off the main thread first.
+ */
+public class AdapterListDiffer<T> {
+
+    private final RecyclerView.Adapter<?> adapter;
+    private final AsyncListDiffer<T> differ;
+    private final MainThread mainThread = AppExecutors.getInstance().mainThread();
+    private PagedList<T> paged;
+    // Bumped by every submit, so a mapping that finishes late doesn't replace a newer list
+    private int generation;
+
+    public AdapterListDiffer(RecyclerView.Adapter<?> adapter, DiffUtil.ItemCallback<T> callback) {
+        this.adapter = adapter;
+        this.differ = new AsyncListDiffer<>(adapter, callback);
+    }
+
+    public void submitList(List<T> list) {
+        submitList(list, null);
+    }
+
+    /**
+     * @param commitCallback run once the list is shown, e.g. to toggle an empty state
+     */
+    public void submitList(List<T> list, Runnable commitCallback) {
+        generation++;
+        if (list instanceof PagedList) {
+            showPaged((PagedList<T>) list);
+            if (commitCallback != null) {
+                commitCallback.run();
+            }
+            return;
+        }
+        if (paged != null) {
+            int removed = paged.size();
+            paged = null;
+            adapter.notifyItemRangeRemoved(0, removed);
+        }
+        // A copy, so callers may keep changing their list and the differ always sees a new one
+        differ.submitList(list == null ? null : new ArrayList<>(list), commitCallback);
+    }
+
+    /**
+     * Converts models into rows on a background thread, then diffs and shows them like
+     * {@link #submitList}. Main thread only.
+     */
+    public <S> void submitMapped(List<S> models, final Function<S, T> mapper) {
+        if (models == null) {
+            submitList(null);
+            return;
+        }
+        final int submitted = ++generation;
+        final List<S> snapshot = new ArrayList<>(models);
+        AppExecutors.getInstance().cpu().execute(() -> {
+            final List<T> rows = new ArrayList<>(snapshot.size());
+            for (S model : snapshot) {
+                rows.add(mapper.apply(model));
+            }
+            mainThread.execute(() -> {
+                if (submitted == generation) {
+                    submitList(rows);
+                }
+            });
+        });
+    }
+
+    /** Row at position; null for a PagedList row that is still loading. */
+    public T get(int position) {
+        return paged != null ? paged.get(position) : differ.getCurrentList().get(position);
+    }
+
+    /** Like {@link #get} but never starts a page load, for ids and lookups. */
+    public T peek(int position) {
+        return paged != null ? paged.peek(position) : differ.getCurrentList().get(position);
+    }
+
+    public int size() {
+        return paged != null ? paged.size() : differ.getCurrentList().size();
+    }
+
+    /** What is shown now; read-only. */
+    public List<T> getCurrentList() {
+        return paged != null ? paged : differ.getCurrentList();
+    }
+
+    private void showPaged(PagedList<T> list) {
+        if (list == paged) {
+            return;
+        }
+        // Dispatches the removal of the diffed rows, and drops any diff still running
+        differ.submitList(null);
+        int removed = paged != null ? paged.size() : 0;
+        paged = list;
+        if (removed > 0) {
+            adapter.notifyItemRangeRemoved(0, removed);
+        }
+        adapter.notifyItemRangeInserted(0, list.size());
+    }
+}
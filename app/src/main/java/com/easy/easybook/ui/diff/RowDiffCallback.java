@@ -0,0 +1,23 @@
+package com.easy.easybook.ui.diff;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.easy.easybook.ui.model.DisplayRow;
+
+/**
+ * Same row = same model key. Rows compare what they display in equals(), so contents
+ * need no per-field callback.
+ */
+public class RowDiffCallback<T extends DisplayRow> extends DiffUtil.ItemCallback<T> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+        return oldItem.getKey() != null && oldItem.getKey().equals(newItem.getKey());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+        return oldItem.equals(newItem);
+    }
+}
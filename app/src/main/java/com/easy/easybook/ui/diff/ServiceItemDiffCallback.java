@@ -0,0 +1,34 @@
+package com.easy.easybook.ui.diff;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.easy.easybook.models.ServiceItem;
+
+import java.util.Objects;
+
+/**
+ * Same API service = same id (or Mongo _id); contents are what the featured cards show.
+ */
+public class ServiceItemDiffCallback extends DiffUtil.ItemCallback<ServiceItem> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull ServiceItem oldItem, @NonNull ServiceItem newItem) {
+        String id = keyOf(oldItem);
+        return id != null && id.equals(keyOf(newItem));
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull ServiceItem oldItem, @NonNull ServiceItem newItem) {
+        return Objects.equals(oldItem.getName(), newItem.getName())
+                && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                && oldItem.getPrice() == newItem.getPrice()
+                && Objects.equals(oldItem.getDuration(), newItem.getDuration())
+                && oldItem.getRating() == newItem.getRating()
+                && Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl());
+    }
+
+    public static String keyOf(ServiceItem item) {
+        return item.getId() != null ? item.getId() : item.get_id();
+    }
+}
@@ -0,0 +1,30 @@
+package com.easy.easybook.ui.diff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns model ids (strings) into the long ids RecyclerView wants for stable ids. A key keeps
+ * its id for the adapter's lifetime, and unlike hashCode() two keys never share one.
+ * Main thread only, like the adapter calling it.
+ */
+public class StableIds {
+
+    private final Map<String, Long> ids = new HashMap<>();
+
+    /**
+     * @param position used for rows without a key (e.g. PagedList placeholders), which get
+     *                 a negative id of their own per position
+     */
+    public long idFor(String key, int position) {
+        if (key == null) {
+            return -2L - position;
+        }
+        Long id = ids.get(key);
+        if (id == null) {
+            id = (long) ids.size();
+            ids.put(key, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,28 @@
+package com.easy.easybook.ui.diff;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.easy.easybook.models.User;
+
+import java.util.Objects;
+
+/**
+ * Same user = same id; contents are the profile fields the provider rows show.
+ */
+public class UserDiffCallback extends DiffUtil.ItemCallback<User> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull User oldItem, @NonNull User newItem) {
+        return oldItem.getId() != null && oldItem.getId().equals(newItem.getId());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull User oldItem, @NonNull User newItem) {
+        return Objects.equals(oldItem.getFirstName(), newItem.getFirstName())
+                && Objects.equals(oldItem.getLastName(), newItem.getLastName())
+                && Objects.equals(oldItem.getEmail(), newItem.getEmail())
+                && Objects.equals(oldItem.getPhone(), newItem.getPhone())
+                && Objects.equals(oldItem.getServiceCategory(), newItem.getServiceCategory());
+    }
+}
@@ -0,0 +1,41 @@
+package com.easy.easybook.ui.model;
+
+import android.util.Log;
+
+import com.easy.easybook.network.metrics.Histogram;
+
+/**
+ * Times onBindViewHolder for one adapter and logs the distribution every few hundred binds,
+ * so bind cost can be compared across builds (filter logcat on "BindTimer").
+ */
+public final class BindTimer {
+
+    private static final String TAG = "BindTimer";
+    // A frame is ~16 ms; a good bind is a few microseconds
+    private static final long[] BIND_BOUNDS_US = {5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 16_000};
+    private static final int LOG_EVERY = 250;
+
+    private final String name;
+    private final Histogram histogram = new Histogram(BIND_BOUNDS_US);
+
+    public BindTimer(String name) {
+        this.name = name;
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void stop(long startNanos) {
+        histogram.record((System.nanoTime() - startNanos) / 1_000L);
+        long count = histogram.getCount();
+        if (count % LOG_EVERY == 0) {
+            Log.d(TAG, name + ": " + count + " binds, mean " + Math.round(histogram.getMean()) + " us, p95 "
+                    + histogram.percentile(95) + " us, max " + histogram.getMax() + " us");
+        }
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+}
@@ -0,0 +1,124 @@
+package com.easy.easybook.ui.model;
+
+import android.view.View;
+
+import com.easy.easybook.models.Booking;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A booking as the customer's booking list shows it.
+ */
+public final class CustomerBookingRow implements DisplayRow {
+
+    private final Booking booking;
+    private final String key;
+    private final String serviceName;
+    private final String providerName;
+    private final String amountText;
+    private final String addressText;
+    private final String dateTimeText;
+    private final String statusText;
+    private final StatusStyle statusStyle;
+    private final int cancelVisibility;
+    private final int rescheduleVisibility;
+    private final int rateVisibility;
+
+    private CustomerBookingRow(Booking booking) {
+        this.booking = booking;
+        this.key = booking.getId();
+        this.serviceName = DisplayFormats.orEmpty(booking.getServiceName());
+        this.providerName = DisplayFormats.orEmpty(booking.getProviderName());
+        this.amountText = DisplayFormats.money(booking.getTotalAmount());
+        this.addressText = booking.getAddress() + ", " + booking.getCity() + ", " + booking.getState();
+        String date = booking.getBookingDate() != null ? DisplayFormats.date(booking.getBookingDate()) : "";
+        this.dateTimeText = date + " \u2022 " + DisplayFormats.orEmpty(booking.getTimeSlot());
+        String status = DisplayFormats.orEmpty(booking.getStatus()).toLowerCase(Locale.ROOT);
+        this.statusText = status.toUpperCase(Locale.ROOT);
+        this.statusStyle = StatusStyle.of(status);
+        // Pending bookings can still be changed; completed ones can be rated
+        boolean pending = "pending".equals(status);
+        this.cancelVisibility = pending ? View.VISIBLE : View.GONE;
+        this.rescheduleVisibility = pending ? View.VISIBLE : View.GONE;
+        this.rateVisibility = "completed".equals(status) ? View.VISIBLE : View.GONE;
+    }
+
+    /** Call off the main thread. */
+    public static CustomerBookingRow of(Booking booking) {
+        return new CustomerBookingRow(booking);
+    }
+
+    /** The booking behind the row, for click handlers. */
+    public Booking getBooking() {
+        return booking;
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    public String getAmountText() {
+        return amountText;
+    }
+
+    public String getAddressText() {
+        return addressText;
+    }
+
+    public String getDateTimeText() {
+        return dateTimeText;
+    }
+
+    public String getStatusText() {
+        return statusText;
+    }
+
+    public StatusStyle getStatusStyle() {
+        return statusStyle;
+    }
+
+    public int getCancelVisibility() {
+        return cancelVisibility;
+    }
+
+    public int getRescheduleVisibility() {
+        return rescheduleVisibility;
+    }
+
+    public int getRateVisibility() {
+        return rateVisibility;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CustomerBookingRow)) {
+            return false;
+        }
+        CustomerBookingRow other = (CustomerBookingRow) o;
+        return Objects.equals(key, other.key)
+                && serviceName.equals(other.serviceName)
+                && providerName.equals(other.providerName)
+                && amountText.equals(other.amountText)
+                && addressText.equals(other.addressText)
+                && dateTimeText.equals(other.dateTimeText)
+                && statusText.equals(other.statusText);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, serviceName, providerName, amountText, addressText, dateTimeText, statusText);
+    }
+}
@@ -0,0 +1,38 @@
+package com.easy.easybook.ui.model;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Formatting shared by the row builders. SimpleDateFormat isn't thread safe and is costly to
+ * create, so each mapping thread keeps its own.
+ */
+final class DisplayFormats {
+
+    private static final ThreadLocal<SimpleDateFormat> DATE = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        }
+    };
+
+    private DisplayFormats() {
+    }
+
+    static String date(Date date) {
+        return DATE.get().format(date);
+    }
+
+    static String money(double amount) {
+        return String.format(Locale.getDefault(), "$%.2f", amount);
+    }
+
+    static String rating(float rating) {
+        return String.format(Locale.getDefault(), "%.1f", rating);
+    }
+
+    static String orEmpty(String text) {
+        return text != null ? text : "";
+    }
+}
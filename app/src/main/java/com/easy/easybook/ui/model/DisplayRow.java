@@ -0,0 +1,12 @@
+package com.easy.easybook.ui.model;
+
+/**
+ * A list row with everything it shows already formatted, built off the main thread so
+ * binding only copies fields into views. Implementations are immutable, and equals()
+ * compares what is shown, which is what the differ needs to skip unchanged rows.
+ */
+public interface DisplayRow {
+
+    /** Identity of the underlying model, e.g. the booking id. */
+    String getKey();
+}
@@ -0,0 +1,86 @@
+package com.easy.easybook.ui.model;
+
+import com.easy.easybook.models.Booking;
+
+import java.util.Objects;
+
+/**
+ * A rated booking as the admin feedback list shows it.
+ */
+public final class FeedbackRow implements DisplayRow {
+
+    private final String key;
+    private final String customerName;
+    private final String serviceName;
+    private final float rating;
+    private final String ratingText;
+    private final String commentText;
+    private final String dateText;
+
+    private FeedbackRow(Booking booking) {
+        this.key = booking.getId();
+        this.customerName = booking.getCustomerName() != null ? booking.getCustomerName() : "Anonymous Customer";
+        this.serviceName = DisplayFormats.orEmpty(booking.getServiceName());
+        this.rating = booking.getRating() > 0 ? booking.getRating() : 0f;
+        this.ratingText = DisplayFormats.rating(rating);
+        String comment = booking.getRatingComment();
+        this.commentText = comment != null && !comment.isEmpty() ? comment : "No comment provided";
+        this.dateText = booking.getBookingDate() != null ? DisplayFormats.date(booking.getBookingDate()) : "Unknown date";
+    }
+
+    /** Call off the main thread. */
+    public static FeedbackRow of(Booking booking) {
+        return new FeedbackRow(booking);
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public float getRating() {
+        return rating;
+    }
+
+    public String getRatingText() {
+        return ratingText;
+    }
+
+    public String getCommentText() {
+        return commentText;
+    }
+
+    public String getDateText() {
+        return dateText;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FeedbackRow)) {
+            return false;
+        }
+        FeedbackRow other = (FeedbackRow) o;
+        return Objects.equals(key, other.key)
+                && rating == other.rating
+                && customerName.equals(other.customerName)
+                && serviceName.equals(other.serviceName)
+                && commentText.equals(other.commentText)
+                && dateText.equals(other.dateText);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, customerName, serviceName, rating, commentText, dateText);
+    }
+}
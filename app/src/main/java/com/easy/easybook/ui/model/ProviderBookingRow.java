@@ -0,0 +1,130 @@
+package com.easy.easybook.ui.model;
+
+import android.view.View;
+
+import com.easy.easybook.models.Booking;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A service request as the provider dashboard shows it, with the actions its status allows.
+ */
+public final class ProviderBookingRow implements DisplayRow {
+
+    private final Booking booking;
+    private final String key;
+    private final String serviceText;
+    private final String customerText;
+    private final String dateText;
+    private final String timeText;
+    private final String addressText;
+    private final String notesText;
+    private final String amountText;
+    private final String status;
+    private final int acceptVisibility;
+    private final int declineVisibility;
+    private final int startVisibility;
+    private final int completeVisibility;
+
+    private ProviderBookingRow(Booking booking) {
+        this.booking = booking;
+        this.key = booking.getId();
+        this.serviceText = booking.getServiceName() != null ? booking.getServiceName() : "Service";
+        this.customerText = "Customer: " + (booking.getCustomerName() != null ? booking.getCustomerName() : "Unknown");
+        this.dateText = "Date: " + (booking.getBookingDate() != null
+                ? DisplayFormats.date(booking.getBookingDate()) : "To be scheduled");
+        this.timeText = "Time: " + (booking.getTimeSlot() != null ? booking.getTimeSlot() : "To be scheduled");
+        this.addressText = "Address: " + (booking.getAddress() != null ? booking.getAddress() : "To be provided");
+        this.notesText = "Notes: " + (booking.getNotes() != null ? booking.getNotes() : "None");
+        this.amountText = DisplayFormats.money(booking.getTotalAmount());
+        this.status = DisplayFormats.orEmpty(booking.getStatus()).toLowerCase(Locale.ROOT);
+        this.acceptVisibility = "pending".equals(status) ? View.VISIBLE : View.GONE;
+        this.declineVisibility = acceptVisibility;
+        this.startVisibility = "confirmed".equals(status) ? View.VISIBLE : View.GONE;
+        this.completeVisibility = "in_progress".equals(status) ? View.VISIBLE : View.GONE;
+    }
+
+    /** Call off the main thread. */
+    public static ProviderBookingRow of(Booking booking) {
+        return new ProviderBookingRow(booking);
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public String getServiceText() {
+        return serviceText;
+    }
+
+    public String getCustomerText() {
+        return customerText;
+    }
+
+    public String getDateText() {
+        return dateText;
+    }
+
+    public String getTimeText() {
+        return timeText;
+    }
+
+    public String getAddressText() {
+        return addressText;
+    }
+
+    public String getNotesText() {
+        return notesText;
+    }
+
+    public String getAmountText() {
+        return amountText;
+    }
+
+    public int getAcceptVisibility() {
+        return acceptVisibility;
+    }
+
+    public int getDeclineVisibility() {
+        return declineVisibility;
+    }
+
+    public int getStartVisibility() {
+        return startVisibility;
+    }
+
+    public int getCompleteVisibility() {
+        return completeVisibility;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProviderBookingRow)) {
+            return false;
+        }
+        ProviderBookingRow other = (ProviderBookingRow) o;
+        return Objects.equals(key, other.key)
+                && serviceText.equals(other.serviceText)
+                && customerText.equals(other.customerText)
+                && dateText.equals(other.dateText)
+                && timeText.equals(other.timeText)
+                && addressText.equals(other.addressText)
+                && notesText.equals(other.notesText)
+                && amountText.equals(other.amountText)
+                && status.equals(other.status);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, serviceText, customerText, dateText, timeText, addressText, notesText, amountText, status);
+    }
+}
@@ -0,0 +1,109 @@
+package com.easy.easybook.ui.model;
+
+import com.easy.easybook.models.Service;
+
+import java.util.Objects;
+
+/**
+ * A catalog service as the search and admin lists show it.
+ */
+public final class ServiceRow implements DisplayRow {
+
+    private final Service service;
+    private final String key;
+    private final String name;
+    private final String description;
+    private final String category;
+    private final String providerName;
+    private final String priceText;
+    private final String ratingText;
+    private final String duration;
+    private final String imageUrl;
+
+    private ServiceRow(Service service) {
+        this.service = service;
+        this.key = service.getId();
+        this.name = DisplayFormats.orEmpty(service.getName());
+        this.description = DisplayFormats.orEmpty(service.getDescription());
+        this.category = DisplayFormats.orEmpty(service.getCategory());
+        this.providerName = DisplayFormats.orEmpty(service.getProviderName());
+        this.priceText = DisplayFormats.money(service.getPrice());
+        this.ratingText = DisplayFormats.rating(service.getRating()) + " \u2b50";
+        this.duration = DisplayFormats.orEmpty(service.getDuration());
+        this.imageUrl = service.getImageUrl();
+    }
+
+    /** Call off the main thread. */
+    public static ServiceRow of(Service service) {
+        return new ServiceRow(service);
+    }
+
+    /** The service behind the row, for click handlers. */
+    public Service getService() {
+        return service;
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    public String getPriceText() {
+        return priceText;
+    }
+
+    public String getRatingText() {
+        return ratingText;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    /** Null if the service has no image. */
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ServiceRow)) {
+            return false;
+        }
+        ServiceRow other = (ServiceRow) o;
+        return Objects.equals(key, other.key)
+                && name.equals(other.name)
+                && description.equals(other.description)
+                && category.equals(other.category)
+                && providerName.equals(other.providerName)
+                && priceText.equals(other.priceText)
+                && ratingText.equals(other.ratingText)
+                && duration.equals(other.duration)
+                && Objects.equals(imageUrl, other.imageUrl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, name, description, category, providerName, priceText, ratingText, duration,
+                imageUrl);
+    }
+}
@@ -0,0 +1,52 @@
+package com.easy.easybook.ui.model;
+
+import androidx.annotation.ColorRes;
+import androidx.annotation.DrawableRes;
+
+import com.easy.easybook.R;
+
+import java.util.Locale;
+
+/**
+ * Badge look for a booking status, resolved once when the row is built.
+ */
+public enum StatusStyle {
+    PENDING(R.drawable.circle_background_light, R.color.orange),
+    CONFIRMED(R.drawable.circle_background_light, R.color.blue),
+    IN_PROGRESS(R.drawable.circle_background_light, R.color.primary),
+    COMPLETED(R.drawable.circle_background, R.color.white),
+    CANCELLED(R.drawable.circle_background_light, R.color.red),
+    OTHER(R.drawable.circle_background_light, R.color.text_secondary);
+
+    @DrawableRes
+    public final int background;
+    @ColorRes
+    public final int textColor;
+
+    StatusStyle(int background, int textColor) {
+        this.background = background;
+        this.textColor = textColor;
+    }
+
+    public static StatusStyle of(String status) {
+        if (status == null) {
+            return OTHER;
+        }
+        switch (status.toLowerCase(Locale.ROOT)) {
+            case "pending":
+                return PENDING;
+            case "confirmed":
+                return CONFIRMED;
+            case "in_progress":
+                return IN_PROGRESS;
+            case "completed":
+                return COMPLETED;
+            case "cancelled":
+            // The server refused the create (BookingOutbox.STATUS_NOT_SENT)
+            case "failed":
+                return CANCELLED;
+            default:
+                return OTHER;
+        }
+    }
+}
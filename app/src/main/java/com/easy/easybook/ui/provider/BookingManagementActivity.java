@@ -7,29 +7,29 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.easy.easybook.concurrent.TaskScope;
+import com.easy.easybook.data.BookingOutbox;
+import com.easy.easybook.data.BookingSyncEngine;
+import com.easy.easybook.data.LocalDataManager;
+import com.easy.easybook.data.paging.ListPageSource;
+import com.easy.easybook.data.paging.PagedList;
+import com.easy.easybook.data.paging.PagedListAdapterCallback;
 import com.easy.easybook.databinding.ActivityBookingManagementBinding;
 import com.easy.easybook.models.Booking;
-import com.easy.easybook.network.ApiClient;
-import com.easy.easybook.network.responses.ApiResponse;
+import com.easy.easybook.models.User;
 import com.easy.easybook.ui.provider.adapters.BookingManagementAdapter;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import com.easy.easybook.utils.SharedPrefsManager;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class BookingManagementActivity extends AppCompatActivity {
     
     private ActivityBookingManagementBinding binding;
+    private static final PagedList.Config PAGE_CONFIG = new PagedList.Config(20, 10, 5);
+    
     private BookingManagementAdapter adapter;
-    private List<Booking> bookings = new ArrayList<>();
+    private PagedList<Booking> bookings;
     private String currentStatus = "all";
     
     @Override
@@ -43,8 +43,8 @@ public class BookingManagementActivity extends AppCompatActivity {
     }
     
     private void setupUI() {
-        // Setup RecyclerView
-        adapter = new BookingManagementAdapter(bookings, new BookingManagementAdapter.OnBookingActionListener() {
+        // Setup RecyclerView; showLocalBookings() hands the adapter its paged list
+        adapter = new BookingManagementAdapter(new ArrayList<>(), new BookingManagementAdapter.OnBookingActionListener() {
             @Override
             public void onAcceptBooking(Booking booking) {
                 updateBookingStatus(booking.getId(), "confirmed");
@@ -86,90 +86,68 @@ public class BookingManagementActivity extends AppCompatActivity {
     
     private void loadBookings() {
         binding.progressBar.setVisibility(View.VISIBLE);
-        binding.rvBookings.setVisibility(View.GONE);
-        binding.tvNoBookings.setVisibility(View.GONE);
-        
-        Call<ApiResponse> call = ApiClient.getInstance(this).getApiService()
-                .getMyBookings(null, currentStatus, 1, 100); // Auth header added by interceptor
+        showLocalBookings();
         
-        call.enqueue(new Callback<ApiResponse>() {
+        // Pull only what changed since the last sync, then redraw from the local store
+        BookingSyncEngine.getInstance(this).syncIfDue(new BookingSyncEngine.SyncListener() {
             @Override
-            public void onResponse(Call<ApiResponse> call, Response<ApiResponse> response) {
+            public void onSyncComplete(int changedCount) {
+                if (binding == null) {
+                    return;
+                }
                 binding.progressBar.setVisibility(View.GONE);
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        JsonObject data = apiResponse.getData().getAsJsonObject();
-                        JsonArray bookingsArray = data.getAsJsonArray("bookings");
-                        bookings.clear();
-                        
-                        for (int i = 0; i < bookingsArray.size(); i++) {
-                            JsonObject bookingObj = bookingsArray.get(i).getAsJsonObject();
-                            Booking booking = convertJsonToBooking(bookingObj);
-                            bookings.add(booking);
-                        }
-                        
-                        adapter.notifyDataSetChanged();
-                        
-                        if (bookings.isEmpty()) {
-                            binding.tvNoBookings.setVisibility(View.VISIBLE);
-                        } else {
-                            binding.rvBookings.setVisibility(View.VISIBLE);
-                        }
-                    } else {
-                        showNoBookings();
-                    }
-                } else {
-                    showNoBookings();
-                    Toast.makeText(BookingManagementActivity.this, "Failed to load bookings", Toast.LENGTH_SHORT).show();
+                if (changedCount > 0) {
+                    showLocalBookings();
                 }
             }
             
             @Override
-            public void onFailure(Call<ApiResponse> call, Throwable t) {
+            public void onSyncFailed(String error) {
+                if (binding == null) {
+                    return;
+                }
                 binding.progressBar.setVisibility(View.GONE);
-                showNoBookings();
-                Toast.makeText(BookingManagementActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+                if (bookings.isEmpty()) {
+                    Toast.makeText(BookingManagementActivity.this, "Network error: " + error, Toast.LENGTH_SHORT).show();
+                }
             }
         });
     }
     
-    private Booking convertJsonToBooking(JsonObject bookingObj) {
-        Booking booking = new Booking();
-        booking.setId(bookingObj.get("_id").getAsString());
-        booking.setStatus(bookingObj.get("status").getAsString());
-        booking.setPrice(bookingObj.get("payment").getAsJsonObject().get("amount").getAsDouble());
-        
-        // Parse service info
-        if (bookingObj.has("service") && bookingObj.get("service").isJsonObject()) {
-            JsonObject service = bookingObj.getAsJsonObject("service");
-            booking.setServiceName(service.get("name").getAsString());
-        }
+    // Pages through the locally synced bookings; filter taps never hit the network
+    private void showLocalBookings() {
+        final String status = currentStatus;
+        final LocalDataManager dataManager = LocalDataManager.getInstance(this);
+        final User user = SharedPrefsManager.getInstance(this).getUser();
         
-        // Parse customer info
-        if (bookingObj.has("customer") && bookingObj.get("customer").isJsonObject()) {
-            JsonObject customer = bookingObj.getAsJsonObject("customer");
-            booking.setCustomerName(customer.get("firstName").getAsString() + " " + customer.get("lastName").getAsString());
+        if (bookings != null) {
+            bookings.close();
         }
-        
-        // Parse booking date and time
-        if (bookingObj.has("bookingDate")) {
-            try {
-                String dateString = bookingObj.get("bookingDate").getAsString().split("T")[0];
-                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-                Date bookingDate = sdf.parse(dateString);
-                booking.setBookingDate(bookingDate);
-            } catch (Exception e) {
-                // Handle parsing error - set current date as fallback
-                booking.setBookingDate(new Date());
+        bookings = new PagedList<>(new ListPageSource<>(() -> {
+            List<Booking> source = user != null && user.getId() != null && !user.getId().isEmpty()
+                    ? dataManager.getProviderRequests(user.getId())
+                    : dataManager.getAllBookings();
+            List<Booking> matching = new ArrayList<>();
+            for (Booking booking : source) {
+                if ("all".equals(status) || status.equals(booking.getStatus())) {
+                    matching.add(booking);
+                }
             }
-        }
-        if (bookingObj.has("startTime")) {
-            booking.setTimeSlot(bookingObj.get("startTime").getAsString());
-        }
-        
-        return booking;
+            return matching;
+        }), PAGE_CONFIG);
+        bookings.setCallback(new PagedListAdapterCallback(adapter));
+        bookings.setLoadStateListener((loading, error) -> {
+            if (binding == null || !bookings.isInitialLoadDone()) {
+                return;
+            }
+            if (bookings.isEmpty()) {
+                showNoBookings();
+            } else {
+                binding.tvNoBookings.setVisibility(View.GONE);
+                binding.rvBookings.setVisibility(View.VISIBLE);
+            }
+        });
+        adapter.setBookings(bookings);
     }
     
     private void showNoBookings() {
@@ -180,7 +158,7 @@ public class BookingManagementActivity extends AppCompatActivity {
     private void filterBookings(String status) {
         currentStatus = status;
         updateFilterButtons();
-        loadBookings();
+        showLocalBookings();
     }
     
     private void updateFilterButtons() {
@@ -212,15 +190,27 @@ public class BookingManagementActivity extends AppCompatActivity {
     }
     
     private void updateBookingStatus(String bookingId, String newStatus) {
-        // TODO: Implement update booking status API call
-        Toast.makeText(this, "Update booking " + bookingId + " to " + newStatus, Toast.LENGTH_SHORT).show();
-        // For now, just reload the bookings
-        loadBookings();
+        // Queued in the outbox so the change survives going offline; show it straight away
+        BookingOutbox outbox = BookingOutbox.getInstance(this);
+        TaskScope.of(this).write(() -> outbox.updateStatus(bookingId, newStatus));
+        // Only rows already in memory can be on screen; peek() never loads a page
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.peek(i);
+            if (booking != null && bookingId.equals(booking.getId())) {
+                booking.setStatus(newStatus);
+                adapter.notifyItemChanged(i);
+                break;
+            }
+        }
+        Toast.makeText(this, "Booking updated", Toast.LENGTH_SHORT).show();
     }
     
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        if (bookings != null) {
+            bookings.close();
+        }
         binding = null;
     }
 }
@@ -8,9 +8,13 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.databinding.ActivityProviderDashboardBinding;
 import com.easy.easybook.models.Booking;
 import com.easy.easybook.models.User;
+import com.easy.easybook.data.BookingOutbox;
+import com.easy.easybook.data.DataChange;
+import com.easy.easybook.data.DataChangeBus;
 import com.easy.easybook.data.LocalDataManager;
 import com.easy.easybook.ui.provider.adapters.ProviderBookingAdapter;
 import com.easy.easybook.utils.SharedPrefsManager;
@@ -54,12 +58,10 @@ public class ProviderDashboardActivity extends AppCompatActivity implements Prov
         dataManager = LocalDataManager.getInstance(this);
         setupUI();
         loadProviderData();
-    }
-    
-    @Override
-    protected void onResume() {
-        super.onResume();
-        loadProviderData();
+
+        // The dashboard lists the whole category, so any change in it means a reload
+        DataChangeBus.getInstance().observe(this, DataChange.Store.BOOKINGS,
+                DataChange.category(providerCategory), change -> loadProviderData());
     }
     
     private void setupUI() {
@@ -94,16 +96,22 @@ public class ProviderDashboardActivity extends AppCompatActivity implements Prov
     
     private void loadProviderData() {
         // Load all bookings and filter by category - show ALL bookings for the provider's category
-        List<Booking> allBookings = dataManager.getAllBookings();
-        providerRequests = new ArrayList<>();
-        
-        for (Booking booking : allBookings) {
-            // Filter by category - show all bookings for this service category
-            if (booking.getServiceCategory() != null && 
-                booking.getServiceCategory().equalsIgnoreCase(providerCategory)) {
-                providerRequests.add(booking);
+        final String category = providerCategory;
+        TaskScope.of(this).load(() -> {
+            List<Booking> requests = new ArrayList<>();
+            for (Booking booking : dataManager.getAllBookings()) {
+                // Filter by category - show all bookings for this service category
+                if (booking.getServiceCategory() != null && 
+                    booking.getServiceCategory().equalsIgnoreCase(category)) {
+                    requests.add(booking);
+                }
             }
-        }
+            return requests;
+        }, this::showProviderData);
+    }
+    
+    private void showProviderData(List<Booking> requests) {
+        providerRequests = requests;
         
         // Update statistics
         updateStatistics();
@@ -147,6 +155,13 @@ public class ProviderDashboardActivity extends AppCompatActivity implements Prov
         }
     }
     
+    // Queued in the outbox; the list reloads from the change that publishes
+    private void updateStatus(Booking booking, String status, String message) {
+        BookingOutbox outbox = BookingOutbox.getInstance(this);
+        TaskScope.of(this).write(() -> outbox.updateStatus(booking.getId(), status),
+                () -> Toast.makeText(this, message, Toast.LENGTH_SHORT).show());
+    }
+    
     private void showEmptyState() {
         binding.rvRequests.setVisibility(View.GONE);
         binding.layoutEmpty.setVisibility(View.VISIBLE);
@@ -163,9 +178,7 @@ public class ProviderDashboardActivity extends AppCompatActivity implements Prov
         builder.setTitle("Accept Request")
                 .setMessage("Are you sure you want to accept this service request?")
                 .setPositiveButton("Accept", (dialog, which) -> {
-                    dataManager.updateBookingStatus(booking.getId(), "confirmed");
-                    Toast.makeText(this, "Request accepted", Toast.LENGTH_SHORT).show();
-                    loadProviderData();
+                    updateStatus(booking, "confirmed", "Request accepted");
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -177,9 +190,7 @@ public class ProviderDashboardActivity extends AppCompatActivity implements Prov
         builder.setTitle("Decline Request")
                 .setMessage("Are you sure you want to decline this service request?")
                 .setPositiveButton("Decline", (dialog, which) -> {
-                    dataManager.updateBookingStatus(booking.getId(), "declined");
-                    Toast.makeText(this, "Request declined", Toast.LENGTH_SHORT).show();
-                    loadProviderData();
+                    updateStatus(booking, "declined", "Request declined");
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -191,9 +202,7 @@ public class ProviderDashboardActivity extends AppCompatActivity implements Prov
         builder.setTitle("Start Service")
                 .setMessage("Are you ready to start this service?")
                 .setPositiveButton("Start", (dialog, which) -> {
-                    dataManager.updateBookingStatus(booking.getId(), "in_progress");
-                    Toast.makeText(this, "Service started", Toast.LENGTH_SHORT).show();
-                    loadProviderData();
+                    updateStatus(booking, "in_progress", "Service started");
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -205,9 +214,7 @@ public class ProviderDashboardActivity extends AppCompatActivity implements Prov
         builder.setTitle("Complete Service")
                 .setMessage("Have you completed this service?")
                 .setPositiveButton("Complete", (dialog, which) -> {
-                    dataManager.updateBookingStatus(booking.getId(), "completed");
-                    Toast.makeText(this, "Service completed", Toast.LENGTH_SHORT).show();
-                    loadProviderData();
+                    updateStatus(booking, "completed", "Service completed");
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -11,6 +11,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.easy.easybook.R;
+import com.easy.easybook.concurrent.TaskScope;
 import com.easy.easybook.data.LocalDataManager;
 import com.easy.easybook.data.SeedData;
 import com.easy.easybook.data.ServiceManager;
@@ -65,13 +66,15 @@ public class ProviderLoginActivity extends AppCompatActivity {
     private void setupCategoryDropdown() {
         // Use centralized ServiceManager to get all available categories
         ServiceManager serviceManager = ServiceManager.getInstance(this);
-        List<String> categories = serviceManager.getAllCategories();
-        
-        // Sort categories alphabetically for better UX
-        categories.sort(String::compareToIgnoreCase);
-
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line, categories);
-        etServiceCategory.setAdapter(adapter);
+        TaskScope.of(this).load(() -> {
+            List<String> categories = serviceManager.getAllCategories();
+            // Sort categories alphabetically for better UX
+            categories.sort(String::compareToIgnoreCase);
+            return categories;
+        }, categories -> {
+            ArrayAdapter<String> adapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line, categories);
+            etServiceCategory.setAdapter(adapter);
+        });
 
         etServiceCategory.setOnClickListener(v -> etServiceCategory.showDropDown());
     }
@@ -99,8 +102,8 @@ public class ProviderLoginActivity extends AppCompatActivity {
         provider.setProfileImage("");
         provider.setServiceCategory(category);
 
-        // Save provider
-        dataManager.saveUser(provider);
+        // Save provider; the dashboard gets what it needs from the intent, so no need to wait
+        TaskScope.of(this).write(() -> dataManager.saveUser(provider));
         
         // Also save to SharedPrefs for normal authentication flow
         com.easy.easybook.utils.SharedPrefsManager prefsManager = com.easy.easybook.utils.SharedPrefsManager.getInstance(this);
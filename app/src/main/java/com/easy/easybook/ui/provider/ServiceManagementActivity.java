@@ -8,26 +8,25 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.easy.easybook.data.paging.ApiPageSource;
+import com.easy.easybook.data.paging.PagedList;
+import com.easy.easybook.data.paging.PagedListAdapterCallback;
 import com.easy.easybook.databinding.ActivityServiceManagementBinding;
 import com.easy.easybook.models.Service;
 import com.easy.easybook.network.ApiClient;
-import com.easy.easybook.network.responses.ServicesResponse;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.budget.DataBudget;
 import com.easy.easybook.ui.provider.adapters.ServiceManagementAdapter;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
 
 import java.util.ArrayList;
-import java.util.List;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class ServiceManagementActivity extends AppCompatActivity {
     
     private ActivityServiceManagementBinding binding;
+    private static final PagedList.Config PAGE_CONFIG = new PagedList.Config(20, 10, 5);
+    
     private ServiceManagementAdapter adapter;
-    private List<Service> services = new ArrayList<>();
+    private PagedList<Service> services;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -41,7 +40,7 @@ public class ServiceManagementActivity extends AppCompatActivity {
     
     private void setupUI() {
         // Setup RecyclerView
-        adapter = new ServiceManagementAdapter(services, new ServiceManagementAdapter.OnServiceActionListener() {
+        adapter = new ServiceManagementAdapter(new ArrayList<>(), new ServiceManagementAdapter.OnServiceActionListener() {
             @Override
             public void onEditService(Service service) {
                 openEditService(service);
@@ -71,67 +70,30 @@ public class ServiceManagementActivity extends AppCompatActivity {
         binding.rvServices.setVisibility(View.GONE);
         binding.layoutEmpty.setVisibility(View.GONE);
         
-        Call<ServicesResponse> call = ApiClient.getInstance(this).getApiService()
-                .getProviderServices(null, "all", 1, 100); // Auth header added by interceptor
-        
-        call.enqueue(new Callback<ServicesResponse>() {
-            @Override
-            public void onResponse(Call<ServicesResponse> call, Response<ServicesResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ServicesResponse servicesResponse = response.body();
-                    if (servicesResponse.isSuccess() && servicesResponse.getData() != null) {
-                        JsonArray servicesArray = servicesResponse.getData().getAsJsonArray("services");
-                        services.clear();
-                        
-                        for (int i = 0; i < servicesArray.size(); i++) {
-                            JsonObject serviceObj = servicesArray.get(i).getAsJsonObject();
-                            Service service = convertJsonToService(serviceObj);
-                            services.add(service);
-                        }
-                        
-                        adapter.notifyDataSetChanged();
-                        
-                        if (services.isEmpty()) {
-                            binding.layoutEmpty.setVisibility(View.VISIBLE);
-                            binding.rvServices.setVisibility(View.GONE);
-                        } else {
-                            binding.layoutEmpty.setVisibility(View.GONE);
-                            binding.rvServices.setVisibility(View.VISIBLE);
-                        }
-                    } else {
-                        showNoServices();
-                    }
-                } else {
-                    showNoServices();
-                    Toast.makeText(ServiceManagementActivity.this, "Failed to load services", Toast.LENGTH_SHORT).show();
-                }
+        if (services != null) {
+            services.close();
+        }
+        ApiService api = ApiClient.getInstance(this).getApiService();
+        // Pages come from the server as the list scrolls instead of one 100 item request
+        services = new PagedList<>(ApiPageSource.services(
+                (page, limit) -> api.getProviderServices(null, "all", page, limit)), // Auth header added by interceptor
+                DataBudget.getInstance(this).scale(PAGE_CONFIG));
+        services.setCallback(new PagedListAdapterCallback(adapter));
+        services.setLoadStateListener((loading, error) -> {
+            if (binding == null || loading || !services.isInitialLoadDone()) {
+                return;
             }
-            
-            @Override
-            public void onFailure(Call<ServicesResponse> call, Throwable t) {
+            if (error != null && services.isEmpty()) {
+                showNoServices();
+                Toast.makeText(ServiceManagementActivity.this, "Failed to load services: " + error, Toast.LENGTH_SHORT).show();
+            } else if (services.isEmpty()) {
                 showNoServices();
-                Toast.makeText(ServiceManagementActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+            } else {
+                binding.layoutEmpty.setVisibility(View.GONE);
+                binding.rvServices.setVisibility(View.VISIBLE);
             }
         });
-    }
-    
-    private Service convertJsonToService(JsonObject serviceObj) {
-        Service service = new Service();
-        service.setId(serviceObj.get("_id").getAsString());
-        service.setName(serviceObj.get("name").getAsString());
-        service.setDescription(serviceObj.get("description").getAsString());
-        service.setPrice(serviceObj.get("price").getAsDouble());
-        service.setDuration(serviceObj.get("duration").getAsInt() + " minutes");
-        service.setAvailable(serviceObj.get("isActive").getAsBoolean());
-        
-        if (serviceObj.has("rating") && serviceObj.get("rating").isJsonObject()) {
-            JsonObject rating = serviceObj.getAsJsonObject("rating");
-            if (rating.has("average")) {
-                service.setRating(rating.get("average").getAsFloat());
-            }
-        }
-        
-        return service;
+        adapter.setServices(services);
     }
     
     private void showNoServices() {
@@ -176,6 +138,9 @@ public class ServiceManagementActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        if (services != null) {
+            services.close();
+        }
         binding = null;
     }
 }
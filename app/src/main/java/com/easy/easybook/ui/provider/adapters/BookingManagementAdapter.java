@@ -33,6 +33,11 @@ public class BookingManagementAdapter extends RecyclerView.Adapter<BookingManage
         this.listener = listener;
     }
     
+    public void setBookings(List<Booking> bookings) {
+        this.bookings = bookings;
+        notifyDataSetChanged();
+    }
+    
     @NonNull
     @Override
     public BookingViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -44,6 +49,11 @@ public class BookingManagementAdapter extends RecyclerView.Adapter<BookingManage
     @Override
     public void onBindViewHolder(@NonNull BookingViewHolder holder, int position) {
         Booking booking = bookings.get(position);
+        if (booking == null) {
+            // Row of a PagedList whose page is still loading
+            holder.bindPlaceholder();
+            return;
+        }
         holder.bind(booking, listener);
     }
     
@@ -98,6 +108,20 @@ public class BookingManagementAdapter extends RecyclerView.Adapter<BookingManage
             setupActionButtons(booking, listener);
         }
         
+        void bindPlaceholder() {
+            tvServiceName.setText("");
+            tvCustomerName.setText("");
+            tvBookingDate.setText("");
+            tvBookingTime.setText("");
+            tvStatus.setText("");
+            tvPrice.setText("");
+            btnAccept.setVisibility(View.GONE);
+            btnReject.setVisibility(View.GONE);
+            btnStart.setVisibility(View.GONE);
+            btnComplete.setVisibility(View.GONE);
+            btnViewDetails.setVisibility(View.GONE);
+        }
+        
         private void setupActionButtons(Booking booking, OnBookingActionListener listener) {
             // Hide all buttons first
             btnAccept.setVisibility(View.GONE);
@@ -11,14 +11,20 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.easy.easybook.R;
 import com.easy.easybook.models.Booking;
+import com.easy.easybook.ui.diff.AdapterListDiffer;
+import com.easy.easybook.ui.diff.RowDiffCallback;
+import com.easy.easybook.ui.diff.StableIds;
+import com.easy.easybook.ui.model.BindTimer;
+import com.easy.easybook.ui.model.ProviderBookingRow;
 
-import java.text.SimpleDateFormat;
 import java.util.List;
-import java.util.Locale;
 
 public class ProviderBookingAdapter extends RecyclerView.Adapter<ProviderBookingAdapter.ProviderBookingViewHolder> {
     
-    private List<Booking> bookings;
+    private final AdapterListDiffer<ProviderBookingRow> rows =
+            new AdapterListDiffer<>(this, new RowDiffCallback<ProviderBookingRow>());
+    private final StableIds stableIds = new StableIds();
+    private final BindTimer bindTimer = new BindTimer("ProviderBookingAdapter");
     private OnProviderBookingActionListener listener;
     
     public interface OnProviderBookingActionListener {
@@ -30,6 +36,7 @@ public class ProviderBookingAdapter extends RecyclerView.Adapter<ProviderBooking
     
     public ProviderBookingAdapter(OnProviderBookingActionListener listener) {
         this.listener = listener;
+        setHasStableIds(true);
     }
     
     @NonNull
@@ -41,18 +48,23 @@ public class ProviderBookingAdapter extends RecyclerView.Adapter<ProviderBooking
     
     @Override
     public void onBindViewHolder(@NonNull ProviderBookingViewHolder holder, int position) {
-        Booking booking = bookings.get(position);
-        holder.bind(booking);
+        long start = bindTimer.start();
+        holder.bind(rows.get(position));
+        bindTimer.stop(start);
     }
     
     @Override
     public int getItemCount() {
-        return bookings != null ? bookings.size() : 0;
+        return rows.size();
+    }
+    
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(rows.peek(position).getKey(), position);
     }
     
     public void setBookings(List<Booking> bookings) {
-        this.bookings = bookings;
-        notifyDataSetChanged();
+        rows.submitMapped(bookings, ProviderBookingRow::of);
     }
     
     public class ProviderBookingViewHolder extends RecyclerView.ViewHolder {
@@ -72,73 +84,57 @@ public class ProviderBookingAdapter extends RecyclerView.Adapter<ProviderBooking
             btnDecline = itemView.findViewById(R.id.btnDecline);
             btnStart = itemView.findViewById(R.id.btnStart);
             btnComplete = itemView.findViewById(R.id.btnComplete);
-        }
-        
-        public void bind(Booking booking) {
-            tvServiceName.setText(booking.getServiceName() != null ? booking.getServiceName() : "Service");
-            tvCustomerName.setText("Customer: " + (booking.getCustomerName() != null ? booking.getCustomerName() : "Unknown"));
-            
-            if (booking.getBookingDate() != null) {
-                SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-                tvBookingDate.setText("Date: " + dateFormat.format(booking.getBookingDate()));
-            } else {
-                tvBookingDate.setText("Date: To be scheduled");
-            }
-            
-            tvTimeSlot.setText("Time: " + (booking.getTimeSlot() != null ? booking.getTimeSlot() : "To be scheduled"));
-            tvAddress.setText("Address: " + (booking.getAddress() != null ? booking.getAddress() : "To be provided"));
-            tvNotes.setText("Notes: " + (booking.getNotes() != null ? booking.getNotes() : "None"));
-            tvAmount.setText("$" + String.format("%.2f", booking.getTotalAmount()));
             
-            // Hide all buttons first
-            btnAccept.setVisibility(View.GONE);
-            btnDecline.setVisibility(View.GONE);
-            btnStart.setVisibility(View.GONE);
-            btnComplete.setVisibility(View.GONE);
-            
-            // Show relevant buttons based on status
-            switch (booking.getStatus().toLowerCase()) {
-                case "pending":
-                    btnAccept.setVisibility(View.VISIBLE);
-                    btnDecline.setVisibility(View.VISIBLE);
-                    break;
-                case "confirmed":
-                    btnStart.setVisibility(View.VISIBLE);
-                    break;
-                case "in_progress":
-                    btnComplete.setVisibility(View.VISIBLE);
-                    break;
-                case "completed":
-                case "declined":
-                case "cancelled":
-                    // Hide all buttons - these statuses don't need actions
-                    break;
-            }
-            
-            // Set click listeners
+            // Set once; they act on the row at the holder's position when clicked
             btnAccept.setOnClickListener(v -> {
-                if (listener != null) {
+                Booking booking = currentBooking();
+                if (listener != null && booking != null) {
                     listener.onAcceptBooking(booking);
                 }
             });
             
             btnDecline.setOnClickListener(v -> {
-                if (listener != null) {
+                Booking booking = currentBooking();
+                if (listener != null && booking != null) {
                     listener.onDeclineBooking(booking);
                 }
             });
             
             btnStart.setOnClickListener(v -> {
-                if (listener != null) {
+                Booking booking = currentBooking();
+                if (listener != null && booking != null) {
                     listener.onStartService(booking);
                 }
             });
             
             btnComplete.setOnClickListener(v -> {
-                if (listener != null) {
+                Booking booking = currentBooking();
+                if (listener != null && booking != null) {
                     listener.onCompleteService(booking);
                 }
             });
         }
+        
+        // Not the row passed to bind(): a refresh that only changes fields the row doesn't
+        // show skips the rebind, and that row would still hold the old booking
+        private Booking currentBooking() {
+            int position = getBindingAdapterPosition();
+            return position != RecyclerView.NO_POSITION ? rows.peek(position).getBooking() : null;
+        }
+        
+        public void bind(ProviderBookingRow row) {
+            tvServiceName.setText(row.getServiceText());
+            tvCustomerName.setText(row.getCustomerText());
+            tvBookingDate.setText(row.getDateText());
+            tvTimeSlot.setText(row.getTimeText());
+            tvAddress.setText(row.getAddressText());
+            tvNotes.setText(row.getNotesText());
+            tvAmount.setText(row.getAmountText());
+            
+            btnAccept.setVisibility(row.getAcceptVisibility());
+            btnDecline.setVisibility(row.getDeclineVisibility());
+            btnStart.setVisibility(row.getStartVisibility());
+            btnComplete.setVisibility(row.getCompleteVisibility());
+        }
     }
 }
@@ -31,6 +31,11 @@ public class ServiceManagementAdapter extends RecyclerView.Adapter<ServiceManage
         this.listener = listener;
     }
     
+    public void setServices(List<Service> services) {
+        this.services = services;
+        notifyDataSetChanged();
+    }
+    
     @NonNull
     @Override
     public ServiceViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -42,6 +47,11 @@ public class ServiceManagementAdapter extends RecyclerView.Adapter<ServiceManage
     @Override
     public void onBindViewHolder(@NonNull ServiceViewHolder holder, int position) {
         Service service = services.get(position);
+        if (service == null) {
+            // Row of a PagedList whose page is still loading
+            holder.bindPlaceholder();
+            return;
+        }
         holder.bind(service, listener);
     }
     
@@ -76,7 +86,7 @@ public class ServiceManagementAdapter extends RecyclerView.Adapter<ServiceManage
             tvServiceName.setText(service.getName());
             tvServiceDescription.setText(service.getDescription());
             tvServicePrice.setText("$" + service.getPrice());
-            tvServiceDuration.setText(service.getDuration());
+            tvServiceDuration.setText(formatDuration(service.getDuration()));
             tvServiceRating.setText(String.format("%.1f ⭐", service.getRating()));
             switchStatus.setChecked(service.isAvailable());
             
@@ -88,6 +98,33 @@ public class ServiceManagementAdapter extends RecyclerView.Adapter<ServiceManage
                     listener.onToggleStatus(service);
                 }
             });
+            setActionsEnabled(true);
+        }
+        
+        void bindPlaceholder() {
+            tvServiceName.setText("");
+            tvServiceDescription.setText("");
+            tvServicePrice.setText("");
+            tvServiceDuration.setText("");
+            tvServiceRating.setText("");
+            // Drop the listener first so resetting the switch can't toggle the previous service
+            switchStatus.setOnCheckedChangeListener(null);
+            switchStatus.setChecked(false);
+            setActionsEnabled(false);
+        }
+        
+        // The API sends minutes as a bare number; older local entries already carry a unit
+        private static String formatDuration(String duration) {
+            if (duration != null && duration.matches("\\d+")) {
+                return duration + " minutes";
+            }
+            return duration;
+        }
+        
+        private void setActionsEnabled(boolean enabled) {
+            switchStatus.setEnabled(enabled);
+            btnEdit.setEnabled(enabled);
+            btnDelete.setEnabled(enabled);
         }
     }
 }
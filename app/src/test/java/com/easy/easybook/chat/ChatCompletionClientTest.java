@@ -0,0 +1,146 @@
+package com.easy.easybook.chat;
+
+import com.google.gson.JsonArray;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+public class ChatCompletionClientTest {
+
+    private MockWebServer server;
+    private ChatCompletionClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new ChatCompletionClient(new OkHttpClient(), server.url("/v1/chat/completions").toString(), "test-key");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void readEvents_joinsDeltasAndSkipsCommentsAndRoleEvents() throws IOException {
+        Buffer stream = new Buffer().writeUtf8(""
+                + ": keep-alive\n\n"
+                + "data: {\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}\n\n"
+                + "data: {\"choices\":[{\"delta\":{\"content\":\"Hel\"}}]}\n\n"
+                + "data: {\"choices\":[{\"delta\":{\"content\":\"lo\\n\"}}]}\n\n"
+                + "data: {\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}\n\n"
+                + "data: [DONE]\n\n"
+                + "data: {\"choices\":[{\"delta\":{\"content\":\"ignored\"}}]}\n\n");
+        Recorder recorder = new Recorder();
+
+        String text = ChatCompletionClient.readEvents(stream, null, recorder);
+
+        assertEquals("Hello\n", text);
+        assertEquals(2, recorder.deltas.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void readEvents_surfacesErrorEvents() throws IOException {
+        ChatCompletionClient.readEvents(new Buffer().writeUtf8("data: {\"error\":{\"message\":\"overloaded\"}}\n\n"),
+                null, new Recorder());
+    }
+
+    @Test
+    public void stream_deliversFirstDeltaBeforeTheAnswerFinishes() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            body.append("data: {\"choices\":[{\"delta\":{\"content\":\"w").append(i).append(" \"}}]}\n\n");
+        }
+        body.append("data: [DONE]\n\n");
+        // About 200 ms for the whole answer
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody(body.toString())
+                .throttleBody(64, 10, TimeUnit.MILLISECONDS));
+        Recorder recorder = new Recorder();
+
+        long start = System.nanoTime();
+        client.stream(new JsonArray(), recorder);
+        assertTrue(recorder.firstDelta.await(5, TimeUnit.SECONDS));
+        long firstDeltaMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(recorder.done.await(5, TimeUnit.SECONDS));
+        long totalMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(20, recorder.deltas.size());
+        assertTrue(recorder.completed.startsWith("w0 w1 "));
+        assertTrue("first token " + firstDeltaMs + " ms, total " + totalMs + " ms", firstDeltaMs < totalMs / 2);
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("Bearer test-key", request.getHeader("Authorization"));
+        assertTrue(request.getBody().readUtf8().contains("\"stream\":true"));
+    }
+
+    @Test
+    public void stream_reportsHttpErrors() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(401).setBody("{\"error\":\"bad key\"}"));
+        Recorder recorder = new Recorder();
+
+        client.stream(new JsonArray(), recorder);
+
+        assertTrue(recorder.done.await(5, TimeUnit.SECONDS));
+        assertNotNull(recorder.error);
+        assertTrue(recorder.error.getMessage().contains("401"));
+    }
+
+    @Test
+    public void cancelledStream_staysSilent() throws Exception {
+        server.enqueue(new MockResponse()
+                .setBody("data: {\"choices\":[{\"delta\":{\"content\":\"late\"}}]}\n\ndata: [DONE]\n\n")
+                .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        Recorder recorder = new Recorder();
+
+        Call call = client.stream(new JsonArray(), recorder);
+        call.cancel();
+
+        assertFalse(recorder.done.await(600, TimeUnit.MILLISECONDS));
+        assertTrue(recorder.deltas.isEmpty());
+    }
+
+    private static class Recorder implements ChatCompletionClient.StreamListener {
+        final List<String> deltas = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstDelta = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile String completed;
+        volatile IOException error;
+
+        @Override
+        public void onDelta(String text) {
+            deltas.add(text);
+            firstDelta.countDown();
+        }
+
+        @Override
+        public void onComplete(String fullText) {
+            completed = fullText;
+            done.countDown();
+        }
+
+        @Override
+        public void onError(IOException error) {
+            this.error = error;
+            done.countDown();
+        }
+    }
+}
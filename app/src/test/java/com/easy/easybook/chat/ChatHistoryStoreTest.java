@@ -0,0 +1,97 @@
+package com.easy.easybook.chat;
+
+import com.easy.easybook.models.ChatMessage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ChatHistoryStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void appendsAcrossSegmentsAndReadsAnyPage() throws IOException {
+        File dir = new File(folder.getRoot(), "chat/u1");
+        ChatHistoryStore store = new ChatHistoryStore(dir);
+        int total = ChatHistoryStore.SEGMENT_SIZE * 2 + 15;
+        for (int i = 0; i < total; i++) {
+            store.append(new ChatMessage("message " + i, i % 2 == 0, 1000L + i));
+        }
+
+        assertEquals(total, store.size());
+        assertEquals(3, dir.listFiles().length);
+
+        List<ChatMessage> latest = store.read(total - 30, total);
+        assertEquals(30, latest.size());
+        assertEquals("message " + (total - 30), latest.get(0).getMessage());
+        assertEquals("message " + (total - 1), latest.get(29).getMessage());
+
+        // A page that straddles a segment boundary
+        List<ChatMessage> middle = store.read(90, 110);
+        assertEquals(20, middle.size());
+        assertEquals("message 90", middle.get(0).getMessage());
+        assertEquals("message 109", middle.get(19).getMessage());
+        assertTrue(middle.get(0).isUser());
+        assertEquals(1090L, middle.get(0).getTimestamp());
+
+        // Clamped to what exists
+        assertEquals(5, store.read(-5, 5).size());
+        assertEquals(15, store.read(total - 15, total + 50).size());
+    }
+
+    @Test
+    public void reopenedStoreCountsFromTheFiles() throws IOException {
+        File dir = new File(folder.getRoot(), "chat/u2");
+        ChatHistoryStore store = new ChatHistoryStore(dir);
+        for (int i = 0; i < ChatHistoryStore.SEGMENT_SIZE + 3; i++) {
+            store.append(new ChatMessage("m" + i, false, i));
+        }
+
+        ChatHistoryStore reopened = new ChatHistoryStore(dir);
+        assertEquals(ChatHistoryStore.SEGMENT_SIZE + 3, reopened.size());
+        reopened.append(new ChatMessage("after restart", true, 0));
+        List<ChatMessage> tail = reopened.read(ChatHistoryStore.SEGMENT_SIZE + 2, ChatHistoryStore.SEGMENT_SIZE + 4);
+        assertEquals("m" + (ChatHistoryStore.SEGMENT_SIZE + 2), tail.get(0).getMessage());
+        assertEquals("after restart", tail.get(1).getMessage());
+    }
+
+    @Test
+    public void tornLastLineIsDroppedOnOpen() throws IOException {
+        File dir = new File(folder.getRoot(), "chat/u3");
+        ChatHistoryStore store = new ChatHistoryStore(dir);
+        store.append(new ChatMessage("one", true, 1));
+        store.append(new ChatMessage("two", false, 2));
+        try (FileOutputStream out = new FileOutputStream(new File(dir, "00000000.jsonl"), true)) {
+            out.write("{\"message\":\"thr".getBytes(StandardCharsets.UTF_8));
+        }
+
+        ChatHistoryStore reopened = new ChatHistoryStore(dir);
+        assertEquals(2, reopened.size());
+        reopened.append(new ChatMessage("three", true, 3));
+        List<ChatMessage> all = reopened.read(0, 10);
+        assertEquals(3, all.size());
+        assertEquals("three", all.get(2).getMessage());
+    }
+
+    @Test
+    public void clearStartsOver() throws IOException {
+        ChatHistoryStore store = new ChatHistoryStore(new File(folder.getRoot(), "chat/u4"));
+        store.append(new ChatMessage("hello", true, 1));
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertTrue(store.read(0, 10).isEmpty());
+        store.append(new ChatMessage("again", true, 2));
+        assertEquals("again", store.read(0, 1).get(0).getMessage());
+    }
+}
@@ -0,0 +1,112 @@
+package com.easy.easybook.chat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ChatResponseCacheTest {
+
+    @Test
+    public void normalise_dropsCasePunctuationAndStopWords() {
+        assertEquals("cancel booking", ChatResponseCache.normalise("How do I cancel a booking?"));
+        assertEquals("cancel booking", ChatResponseCache.normalise("  how to CANCEL my   booking!! "));
+        assertEquals("services offer", ChatResponseCache.normalise("What services do you offer?"));
+        assertEquals("whats price", ChatResponseCache.normalise("What's the price?"));
+        assertEquals("", ChatResponseCache.normalise("Hi there!"));
+    }
+
+    @Test
+    public void nearIdenticalQuestionsShareAnEntry() {
+        ChatResponseCache cache = new ChatResponseCache(new MemoryStore(), 10, 60_000);
+        cache.put("How do I cancel a booking?", "Open My Bookings and tap Cancel.");
+
+        assertEquals("Open My Bookings and tap Cancel.", cache.get("how to cancel my booking"));
+        assertNull(cache.get("How do I reschedule a booking?"));
+        assertEquals(0.5, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ChatResponseCache cache = new ChatResponseCache(new MemoryStore(), 2, 60_000);
+        cache.put("plumbing prices", "a");
+        cache.put("electrical prices", "b");
+        cache.get("plumbing prices");
+        cache.put("cleaning prices", "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("plumbing prices"));
+        assertNull(cache.get("electrical prices"));
+    }
+
+    @Test
+    public void entriesExpireAfterTheTtl() {
+        FakeClockCache cache = new FakeClockCache(new MemoryStore());
+        cache.put("opening hours", "9 to 5");
+
+        cache.time += 59_000;
+        assertEquals("9 to 5", cache.get("opening hours"));
+        cache.time += 2_000;
+        assertNull(cache.get("opening hours"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void survivesARestartInLruOrder() {
+        MemoryStore store = new MemoryStore();
+        ChatResponseCache first = new ChatResponseCache(store, 2, 60_000);
+        first.put("plumbing prices", "a");
+        first.put("electrical prices", "b");
+        first.get("plumbing prices");
+
+        ChatResponseCache second = new ChatResponseCache(store, 2, 60_000);
+        second.put("cleaning prices", "c");
+
+        assertEquals("a", second.get("plumbing prices"));
+        assertNull(second.get("electrical prices"));
+    }
+
+    @Test
+    public void ignoresEmptyKeysAndAnswers() {
+        ChatResponseCache cache = new ChatResponseCache(new MemoryStore(), 10, 60_000);
+        cache.put("hello", "Hi!");
+        cache.put("cancel booking", "  ");
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("hello"));
+    }
+
+    @Test
+    public void unreadableStoreStartsEmpty() {
+        MemoryStore store = new MemoryStore();
+        store.json = "{not json";
+
+        assertEquals(0, new ChatResponseCache(store, 10, 60_000).size());
+    }
+
+    private static class MemoryStore implements ChatResponseCache.Store {
+        String json;
+
+        @Override
+        public String load() {
+            return json;
+        }
+
+        @Override
+        public void save(String json) {
+            this.json = json;
+        }
+    }
+
+    private static class FakeClockCache extends ChatResponseCache {
+        long time = 1_000_000;
+
+        FakeClockCache(Store store) {
+            super(store, 10, 60_000);
+        }
+
+        @Override
+        long now() {
+            return time;
+        }
+    }
+}
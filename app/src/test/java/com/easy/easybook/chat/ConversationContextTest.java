@@ -0,0 +1,136 @@
+package com.easy.easybook.chat;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConversationContextTest {
+
+    private static final String SYSTEM = "You are a helpful assistant for Smart Serve.";
+
+    @Test
+    public void estimator_isRoughlyFourCharsPerTokenAndCountsShortWords() {
+        assertEquals(0, TokenEstimator.estimate(""));
+        // 44 chars, 8 words and 1 symbol
+        assertEquals(11, TokenEstimator.estimate("How do I cancel a booking I made yesterday?"));
+        // Many tiny words cost more than length / 4
+        assertEquals(10, TokenEstimator.estimate("a b c d e f g h i j"));
+    }
+
+    @Test
+    public void truncate_fitsTheBudgetAtAWordBoundary() {
+        String text = repeat("plumbing service near me ", 100);
+
+        String cut = TokenEstimator.truncate(text, 20);
+
+        assertTrue(TokenEstimator.estimate(cut) <= 20);
+        assertTrue(cut.endsWith("\u2026"));
+        assertFalse(cut.contains("  "));
+        assertSame(text, TokenEstimator.truncate(text, 10_000));
+    }
+
+    @Test
+    public void shortChat_isSentVerbatim() {
+        ConversationContext context = new ConversationContext(SYSTEM, 1000, 6);
+        context.prepare("Do you offer plumbing?");
+        context.recordReply("Yes, several plumbers are available.");
+
+        JsonArray messages = context.prepare("How much does it cost?");
+
+        assertEquals(4, messages.size());
+        assertEquals(SYSTEM, content(messages, 0));
+        assertEquals("Do you offer plumbing?", content(messages, 1));
+        assertEquals("assistant", messages.get(2).getAsJsonObject().get("role").getAsString());
+        assertEquals("How much does it cost?", content(messages, 3));
+    }
+
+    @Test
+    public void olderTurnsFoldIntoTheSummary() {
+        ConversationContext context = new ConversationContext(SYSTEM, 1000, 4);
+        context.prepare("Do you offer plumbing? I have a leak.");
+        context.recordReply("Yes. Browse Plumbing to book one.");
+        context.prepare("What about electricians?");
+        context.recordReply("Electrical services are listed too.");
+
+        JsonArray messages = context.prepare("Can I book for Friday?");
+
+        assertEquals(4, context.getTurnCount());
+        assertEquals(1, context.getSummaryLineCount());
+        assertTrue(content(messages, 0).contains("Earlier in this conversation:\nUser: Do you offer plumbing?"));
+        assertFalse(content(messages, 0).contains("I have a leak"));
+        assertEquals("Can I book for Friday?", content(messages, messages.size() - 1));
+    }
+
+    @Test
+    public void longChat_staysWithinTheBudget() {
+        ConversationContext context = new ConversationContext(SYSTEM, 400, 8);
+        int largest = 0;
+        for (int i = 0; i < 200; i++) {
+            context.prepare("Question " + i + ": " + repeat("tell me more about cleaning services ", 5));
+            largest = Math.max(largest, estimate(context.buildMessages()));
+            context.recordReply("Answer " + i + ". " + repeat("our cleaners are vetted and insured ", 8));
+        }
+
+        assertTrue("largest prompt " + largest, largest <= 400);
+        assertTrue(context.getTurnCount() < 8);
+        assertTrue(context.getSummaryLineCount() > 0);
+    }
+
+    @Test
+    public void oversizedMessage_isTruncatedNotDropped() {
+        ConversationContext context = new ConversationContext(SYSTEM, 120, 6);
+
+        JsonArray messages = context.prepare(repeat("my whole life story ", 500));
+
+        assertEquals(2, messages.size());
+        assertTrue(estimate(messages) <= 120);
+        assertTrue(content(messages, 1).startsWith("my whole life story"));
+    }
+
+    @Test
+    public void defaultBudget_leavesRoomForTheAnswer() {
+        int budget = ConversationContext.defaultPromptBudget();
+
+        assertTrue(budget > 0);
+        assertTrue(budget + com.easy.easybook.config.ApiConfig.MAX_TOKENS
+                <= com.easy.easybook.config.ApiConfig.CONTEXT_WINDOW_TOKENS);
+    }
+
+    @Test
+    public void referenceApplies_toTheMessageItWasPreparedWith() {
+        ConversationContext context = new ConversationContext(SYSTEM, 1000, 6);
+        String catalog = "Services in our catalog that may be relevant:\n- Leak repair (Plumbing), $120";
+
+        JsonArray first = context.prepare("How much is leak repair?", catalog);
+        assertEquals(SYSTEM + "\n\n" + catalog, content(first, 0));
+        context.recordReply("Leak repair is $120.");
+
+        JsonArray second = context.prepare("Thanks!");
+        assertEquals(SYSTEM, content(second, 0));
+        assertEquals(4, second.size());
+    }
+
+    private static int estimate(JsonArray messages) {
+        int tokens = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            tokens += TokenEstimator.estimateMessage(content(messages, i));
+        }
+        return tokens;
+    }
+
+    private static String content(JsonArray messages, int index) {
+        JsonObject message = messages.get(index).getAsJsonObject();
+        return message.get("content").getAsString();
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
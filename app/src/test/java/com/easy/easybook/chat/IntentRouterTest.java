@@ -0,0 +1,128 @@
+package com.easy.easybook.chat;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.Service;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IntentRouterTest {
+
+    // Wednesday 15 May 2024, 10:00 local time
+    private static final long NOW = at(2024, Calendar.MAY, 15, 10);
+
+    @Test
+    public void classify_extractsIntentAndEntities() {
+        IntentRouter.Query query = IntentRouter.classify("How many pending plumber bookings do I have?", NOW);
+        assertEquals(IntentRouter.Intent.BOOKING_COUNT, query.intent);
+        assertEquals("Plumbing", query.category);
+        assertEquals("pending", query.status);
+        assertNull(query.from);
+
+        query = IntentRouter.classify("When is my next cleaning appointment?", NOW);
+        assertEquals(IntentRouter.Intent.NEXT_BOOKING, query.intent);
+        assertEquals("Cleaning", query.category);
+
+        query = IntentRouter.classify("How much does an electrician cost?", NOW);
+        assertEquals(IntentRouter.Intent.SERVICE_PRICE, query.intent);
+        assertEquals("Electrical", query.category);
+
+        assertEquals(IntentRouter.Intent.SERVICE_LIST,
+                IntentRouter.classify("What services do you offer?", NOW).intent);
+        assertEquals(IntentRouter.Intent.BOOKING_STATUS,
+                IntentRouter.classify("What's the status of my booking tomorrow?", NOW).intent);
+    }
+
+    @Test
+    public void classify_leavesOpenEndedQuestionsToTheModel() {
+        assertEquals(IntentRouter.Intent.UNKNOWN, IntentRouter.classify("How do I cancel my booking?", NOW).intent);
+        assertEquals(IntentRouter.Intent.UNKNOWN, IntentRouter.classify("Tips for a leaky tap?", NOW).intent);
+        assertNull(router().answer("Can you explain how reviews work?"));
+    }
+
+    @Test
+    public void findDateRange_coversRelativeDays() {
+        long[] tomorrow = IntentRouter.findDateRange(" tomorrow ", NOW);
+        assertEquals(at(2024, Calendar.MAY, 16, 0), tomorrow[0]);
+        assertEquals(at(2024, Calendar.MAY, 17, 0), tomorrow[1]);
+
+        long[] friday = IntentRouter.findDateRange(" on friday ", NOW);
+        assertEquals(at(2024, Calendar.MAY, 17, 0), friday[0]);
+
+        long[] nextWeek = IntentRouter.findDateRange(" next week ", NOW);
+        assertEquals(7L * 24 * 60 * 60 * 1000, nextWeek[1] - nextWeek[0], 60 * 60 * 1000);
+        assertTrue(nextWeek[0] > NOW);
+    }
+
+    @Test
+    public void answersBookingCountsFromLocalData() {
+        assertEquals("You have 2 pending bookings.", router().answer("How many pending bookings do I have?"));
+        assertEquals("You have 1 Plumbing booking.", router().answer("how many plumbing bookings?"));
+        assertEquals("You don't have any declined bookings.", router().answer("How many declined bookings?"));
+    }
+
+    @Test
+    public void answersNextBookingSkippingPastAndClosedOnes() {
+        String answer = router().answer("When is my next booking?");
+        assertTrue(answer, answer.startsWith("Your next booking is Deep clean on "));
+        assertTrue(answer, answer.endsWith("(confirmed)."));
+    }
+
+    @Test
+    public void answersStatusForTomorrow() {
+        String answer = router().answer("What's the status of my booking tomorrow?");
+        assertTrue(answer, answer.startsWith("Your Deep clean on "));
+        assertTrue(answer, answer.endsWith(" is confirmed."));
+    }
+
+    @Test
+    public void answersPricesFromTheCatalog() {
+        assertEquals("Plumbing services range from $60 to $120 (2 services). The cheapest is Tap fix.",
+                router().answer("How much is a plumber?"));
+        assertEquals("Leak repair costs $120.", router().answer("What does leak repair cost?"));
+        // Nothing in the catalog for it, so the model gets the question
+        assertNull(router().answer("How much is a tutor?"));
+    }
+
+    private static IntentRouter router() {
+        final List<Booking> bookings = new ArrayList<>(Arrays.asList(
+                booking("Leak repair", "Plumbing", "pending", at(2024, Calendar.MAY, 20, 9)),
+                booking("Deep clean", "Cleaning", "confirmed", at(2024, Calendar.MAY, 16, 14)),
+                booking("Rewire", "Electrical", "pending", at(2024, Calendar.MAY, 10, 9)),
+                booking("Window clean", "Cleaning", "cancelled", at(2024, Calendar.MAY, 15, 16))));
+        final List<Service> services = Arrays.asList(
+                new Service("s1", "Leak repair", "", "Plumbing", 120, 4.5f, "1h"),
+                new Service("s2", "Tap fix", "", "Plumbing", 60, 4.8f, "30m"),
+                new Service("s3", "Deep clean", "", "Cleaning", 90.5, 4.2f, "3h"));
+        return new IntentRouter(() -> bookings, () -> services) {
+            @Override
+            long now() {
+                return NOW;
+            }
+        };
+    }
+
+    private static Booking booking(String name, String category, String status, long date) {
+        Booking booking = new Booking();
+        booking.setServiceName(name);
+        booking.setServiceCategory(category);
+        booking.setStatus(status);
+        booking.setBookingDate(new Date(date));
+        booking.setTimeSlot("09:00 AM - 10:00 AM");
+        return booking;
+    }
+
+    private static long at(int year, int month, int day, int hour) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, hour, 0);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,72 @@
+package com.easy.easybook.chat;
+
+import com.easy.easybook.models.Service;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ServiceRetrieverTest {
+
+    private static final List<Service> CATALOG = Arrays.asList(
+            service("s1", "Leak repair", "Plumbing", 120, 4.5f, "Find and fix leaking pipes and taps"),
+            service("s2", "Blocked drain clearing", "Plumbing", 95, 4.1f, "Clear blocked sinks, showers and drains"),
+            service("s3", "Power point installation", "Electrical", 150, 4.7f, "Licensed electrician installs new outlets"),
+            service("s4", "End of lease clean", "Cleaning", 320, 4.3f, "Bond cleaning for the whole property"),
+            service("s5", "Split system service", "HVAC", 180, 4.6f, "Air conditioner cleaning and regas"));
+
+    @Test
+    public void stem_mergesTradeWordForms() {
+        assertEquals(ServiceRetriever.stem("plumbing"), ServiceRetriever.stem("plumber"));
+        assertEquals(ServiceRetriever.stem("plumbers"), ServiceRetriever.stem("plumbing"));
+        assertEquals(ServiceRetriever.stem("electrical"), ServiceRetriever.stem("electrician"));
+        assertEquals("tap", ServiceRetriever.stem("taps"));
+    }
+
+    @Test
+    public void topK_ranksTheMostSpecificServiceFirst() {
+        ServiceRetriever retriever = new ServiceRetriever(CATALOG);
+
+        List<Service> drain = retriever.topK("My shower drain is blocked, can a plumber help?", 2);
+        assertEquals("s2", drain.get(0).getId());
+        assertEquals("s1", drain.get(1).getId());
+
+        assertEquals("s3", retriever.topK("Do you have an electrician?", 3).get(0).getId());
+        assertEquals("s5", retriever.topK("air conditioner not cold", 1).get(0).getId());
+    }
+
+    @Test
+    public void topK_isEmptyWithoutOverlap() {
+        ServiceRetriever retriever = new ServiceRetriever(CATALOG);
+        assertTrue(retriever.topK("Tell me a joke", 3).isEmpty());
+        assertTrue(retriever.topK("", 3).isEmpty());
+        assertNull(retriever.contextFor("Tell me a joke", 3, 200));
+    }
+
+    @Test
+    public void contextFor_staysWithinTheTokenBudget() {
+        ServiceRetriever retriever = new ServiceRetriever(CATALOG);
+        String context = retriever.contextFor("plumbing leak drain cleaning", 5, 60);
+
+        assertNotNull(context);
+        assertTrue(context, TokenEstimator.estimate(context) <= 60);
+        assertTrue(context, context.contains("Leak repair (Plumbing), $120"));
+        assertNull(retriever.contextFor("plumbing", 5, 5));
+    }
+
+    @Test
+    public void summarize_isOneCompactLine() {
+        Service service = service("s9", "Deep clean", "Cleaning", 90.5, 4.2f, "Kitchen, bathrooms and floors");
+        service.setProviderName("Sparkle Co");
+        assertEquals("Deep clean (Cleaning), $90.50, 3h, rated 4.2 by Sparkle Co: Kitchen, bathrooms and floors",
+                ServiceRetriever.summarize(service));
+    }
+
+    private static Service service(String id, String name, String category, double price, float rating,
+                                   String description) {
+        return new Service(id, name, description, category, price, rating, "3h");
+    }
+}
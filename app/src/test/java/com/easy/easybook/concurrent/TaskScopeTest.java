@@ -0,0 +1,229 @@
+package com.easy.easybook.concurrent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+public class TaskScopeTest {
+
+    private QueueExecutor background;
+    private FakeMainThread main;
+    private TaskScope scope;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        background = new QueueExecutor();
+        main = new FakeMainThread();
+        scope = new TaskScope(background, main);
+        events = new ArrayList<>();
+    }
+
+    @Test
+    public void load_deliversResultOnMainThread() {
+        scope.load(() -> "bookings", events::add, e -> events.add("error"));
+
+        background.runAll();
+        assertTrue(events.isEmpty());
+        main.runAll();
+
+        assertEquals(1, events.size());
+        assertEquals("bookings", events.get(0));
+    }
+
+    @Test
+    public void load_failureGoesToOnError() {
+        scope.load(() -> {
+            throw new IllegalStateException("boom");
+        }, result -> events.add("result"), e -> events.add(e.getMessage()));
+
+        background.runAll();
+        main.runAll();
+
+        assertEquals(1, events.size());
+        assertEquals("boom", events.get(0));
+    }
+
+    @Test
+    public void cancel_skipsQueuedLoads() {
+        final boolean[] ran = {false};
+        scope.load(() -> {
+            ran[0] = true;
+            return "x";
+        }, events::add, e -> events.add("error"));
+
+        scope.cancel();
+        background.runAll();
+        main.runAll();
+
+        assertFalse(ran[0]);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void cancel_dropsResultsAlreadyComputed() {
+        scope.load(() -> "x", events::add, e -> events.add("error"));
+
+        background.runAll();
+        scope.cancel();
+        main.runAll();
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void loadAfterCancel_neverQueues() {
+        scope.cancel();
+        scope.load(() -> "x", events::add, e -> events.add("error"));
+
+        assertEquals(0, background.pending());
+    }
+
+    @Test
+    public void write_runsAfterCancelButDropsOnDone() {
+        scope.write(() -> events.add("saved"), () -> events.add("done"));
+
+        scope.cancel();
+        background.runAll();
+        main.runAll();
+
+        assertEquals(1, events.size());
+        assertEquals("saved", events.get(0));
+    }
+
+    @Test
+    public void write_reportsResultToOnDone() {
+        scope.write(() -> true, result -> events.add("saved=" + result), e -> events.add("error"));
+
+        background.runAll();
+        main.runAll();
+
+        assertEquals(1, events.size());
+        assertEquals("saved=true", events.get(0));
+    }
+
+    @Test
+    public void postDelayed_removedFromMainQueueOnCancel() {
+        scope.postDelayed(() -> events.add("late"), 2000);
+        assertEquals(1, main.delayed.size());
+
+        scope.cancel();
+
+        assertTrue(main.delayed.isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void postDelayed_runsOnceWhenActive() {
+        scope.postDelayed(() -> events.add("late"), 2000);
+
+        main.runDelayed();
+        scope.cancel();
+
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void serialExecutor_runsInSubmissionOrderOneAtATime() {
+        QueueExecutor pool = new QueueExecutor();
+        SerialExecutor serial = new SerialExecutor(pool);
+
+        serial.execute(() -> events.add("first"));
+        serial.execute(() -> events.add("second"));
+        serial.execute(() -> events.add("third"));
+
+        // Only the head of the queue is handed to the pool at a time
+        assertEquals(1, pool.pending());
+        pool.runAll();
+
+        assertEquals(3, events.size());
+        assertEquals("first", events.get(0));
+        assertEquals("second", events.get(1));
+        assertEquals("third", events.get(2));
+    }
+
+    @Test
+    public void awaitLocalData_runsBehindQueuedWritesAndReturnsTheResult() throws Exception {
+        AppExecutors executors = AppExecutors.getInstance();
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        executors.localData().execute(() -> {
+            try {
+                // A slow screen write already in the queue
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add("screen write");
+        });
+
+        String result = executors.awaitLocalData(() -> {
+            order.add("sync merge");
+            return "merged";
+        });
+
+        assertEquals("merged", result);
+        assertEquals(Arrays.asList("screen write", "sync merge"), order);
+    }
+
+    @Test
+    public void awaitLocalData_rethrowsTheWorksException() throws Exception {
+        try {
+            AppExecutors.getInstance().awaitLocalData(() -> {
+                throw new IllegalStateException("boom");
+            });
+            fail("Expected the exception to reach the caller");
+        } catch (IllegalStateException expected) {
+            assertEquals("boom", expected.getMessage());
+        }
+    }
+
+    private static class QueueExecutor implements Executor {
+        private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            queue.add(command);
+        }
+
+        int pending() {
+            return queue.size();
+        }
+
+        void runAll() {
+            Runnable next;
+            while ((next = queue.poll()) != null) {
+                next.run();
+            }
+        }
+    }
+
+    private static class FakeMainThread extends QueueExecutor implements MainThread {
+        final List<Runnable> delayed = new ArrayList<>();
+
+        @Override
+        public void executeDelayed(Runnable command, long delayMs) {
+            delayed.add(command);
+        }
+
+        @Override
+        public void remove(Runnable command) {
+            delayed.remove(command);
+        }
+
+        void runDelayed() {
+            List<Runnable> due = new ArrayList<>(delayed);
+            delayed.clear();
+            for (Runnable command : due) {
+                command.run();
+            }
+        }
+    }
+}
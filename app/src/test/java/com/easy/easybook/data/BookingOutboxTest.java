@@ -0,0 +1,179 @@
+package com.easy.easybook.data;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.PendingMutation;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BookingOutboxTest {
+
+    static final String SERVICE_ID = "64b7f0c2a1d3e4f5a6b7c8d9";
+    static final String SERVER_ID = "64b7f0c2a1d3e4f5a6b7c8e0";
+
+    private final LocalDataManager dataManager =
+            new LocalDataManager(new InMemoryPreferences(), new DataChangeBus(Runnable::run));
+    private int scheduled;
+    private final BookingOutbox outbox = new BookingOutbox(null, new InMemoryPreferences(), dataManager) {
+        @Override
+        public void scheduleSync() {
+            scheduled++;
+        }
+    };
+
+    static Booking newBooking(String serviceId) {
+        Booking booking = new Booking();
+        booking.setServiceId(serviceId);
+        booking.setServiceName("Leak repair");
+        booking.setCustomerId("current_user");
+        booking.setBookingDate(new Date(1_800_000_000_000L));
+        booking.setTimeSlot("09:30");
+        booking.setAddress("1 George St");
+        booking.setCity("Sydney");
+        booking.setState("NSW");
+        booking.setZipCode("2000");
+        booking.setNotes("Side gate");
+        return booking;
+    }
+
+    private Booking saveServerBooking(String status) {
+        Booking booking = newBooking(SERVICE_ID);
+        booking.setId(SERVER_ID);
+        booking.setStatus(status);
+        dataManager.saveBooking(booking);
+        return booking;
+    }
+
+    private static JsonObject payload(PendingMutation mutation) {
+        return JsonParser.parseString(mutation.getPayload()).getAsJsonObject();
+    }
+
+    @Test
+    public void createBooking_queuesTheBodyTheBackendValidates() {
+        String id = outbox.createBooking(newBooking(SERVICE_ID));
+
+        assertTrue(id.startsWith(BookingOutbox.LOCAL_ID_PREFIX));
+        assertEquals("pending", dataManager.getBooking(id).getStatus());
+        assertEquals(1, scheduled);
+
+        List<PendingMutation> batch = outbox.takeBatch(10);
+        assertEquals(1, batch.size());
+        assertEquals(PendingMutation.TYPE_CREATE, batch.get(0).getType());
+        JsonObject body = payload(batch.get(0));
+        assertEquals(SERVICE_ID, body.get("service").getAsString());
+        assertEquals("2027-01-15T08:00:00.000Z", body.get("bookingDate").getAsString());
+        assertEquals("09:30", body.get("timeSlot").getAsString());
+        JsonObject address = body.getAsJsonObject("address");
+        assertEquals("1 George St", address.get("street").getAsString());
+        assertEquals("Sydney", address.get("city").getAsString());
+        assertEquals("NSW", address.get("state").getAsString());
+        assertEquals("2000", address.get("zipCode").getAsString());
+        assertEquals("Side gate", body.get("notes").getAsString());
+        assertFalse(body.has("serviceId"));
+        assertFalse(body.has("location"));
+    }
+
+    @Test
+    public void createBooking_forABundledServiceStaysOnTheDevice() {
+        String id = outbox.createBooking(newBooking("1"));
+
+        assertTrue(BookingOutbox.isDeviceOnly(id));
+        assertNotNull(dataManager.getBooking(id));
+        assertEquals(0, outbox.getPendingCount());
+
+        outbox.updateStatus(id, "cancelled");
+
+        assertEquals("cancelled", dataManager.getBooking(id).getStatus());
+        assertEquals(0, outbox.getPendingCount());
+        assertEquals(0, scheduled);
+    }
+
+    @Test
+    public void updateStatus_foldsIntoTheUnsentUpdate() {
+        saveServerBooking("pending");
+
+        outbox.updateStatus(SERVER_ID, "confirmed");
+        outbox.updateStatus(SERVER_ID, "cancelled");
+
+        assertEquals(1, outbox.getPendingCount());
+        PendingMutation mutation = outbox.takeBatch(10).get(0);
+        assertEquals("cancelled", payload(mutation).get("status").getAsString());
+        // Restored if the server refuses: the status before the first change
+        assertEquals("pending", mutation.getPreviousStatus());
+
+        // Once handed to the worker the mutation is left alone
+        outbox.updateStatus(SERVER_ID, "confirmed");
+        assertEquals(2, outbox.getPendingCount());
+    }
+
+    @Test
+    public void updateStatus_withNoBackendRouteIsKeptLocal() {
+        saveServerBooking("pending");
+
+        outbox.updateStatus(SERVER_ID, "pending_review");
+
+        assertEquals("pending_review", dataManager.getBooking(SERVER_ID).getStatus());
+        assertEquals(0, outbox.getPendingCount());
+    }
+
+    @Test
+    public void complete_movesTheBookingAndLaterChangesToTheServerId() {
+        String localId = outbox.createBooking(newBooking(SERVICE_ID));
+        outbox.updateStatus(localId, "cancelled");
+        PendingMutation create = outbox.takeBatch(1).get(0);
+
+        Booking server = new Booking();
+        server.setId(SERVER_ID);
+        server.setStatus("pending");
+        outbox.complete(create, server);
+
+        assertNull(dataManager.getBooking(localId));
+        Booking stored = dataManager.getBooking(SERVER_ID);
+        assertNotNull(stored);
+        // Local fields fill what the response left out; the queued cancel still shows
+        assertEquals("Leak repair", stored.getServiceName());
+        assertEquals("cancelled", stored.getStatus());
+
+        List<PendingMutation> rest = outbox.takeBatch(10);
+        assertEquals(1, rest.size());
+        assertEquals(SERVER_ID, rest.get(0).getBookingId());
+    }
+
+    @Test
+    public void reject_rollsBackAStatusChange() {
+        saveServerBooking("pending");
+        outbox.updateStatus(SERVER_ID, "confirmed");
+        PendingMutation mutation = outbox.takeBatch(1).get(0);
+
+        outbox.reject(mutation, "HTTP 400");
+
+        assertEquals("pending", dataManager.getBooking(SERVER_ID).getStatus());
+        assertEquals(0, outbox.getPendingCount());
+    }
+
+    @Test
+    public void reject_keepsARefusedCreateOnTheDevice() {
+        String localId = outbox.createBooking(newBooking(SERVICE_ID));
+        outbox.updateStatus(localId, "cancelled");
+        PendingMutation create = outbox.takeBatch(1).get(0);
+
+        outbox.reject(create, "HTTP 400");
+
+        Booking kept = dataManager.getBooking(localId);
+        assertNotNull(kept);
+        assertEquals(BookingOutbox.STATUS_NOT_SENT, kept.getStatus());
+        // Nothing that depended on the create is left to fail
+        assertEquals(0, outbox.getPendingCount());
+
+        // Later changes stay local
+        outbox.updateStatus(localId, "cancelled");
+        assertEquals("cancelled", dataManager.getBooking(localId).getStatus());
+        assertEquals(0, outbox.getPendingCount());
+    }
+}
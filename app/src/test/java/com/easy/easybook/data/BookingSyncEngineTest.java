@@ -0,0 +1,189 @@
+package com.easy.easybook.data;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.GsonProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs syncNow() against a scripted MockWebServer: delta merges, the 410 full resync and
+ * which bookings a full set is allowed to delete.
+ */
+public class BookingSyncEngineTest {
+
+    private static final String A = "64b7f0c2a1d3e4f5a6b7c801";
+    private static final String B = "64b7f0c2a1d3e4f5a6b7c802";
+    private static final String C = "64b7f0c2a1d3e4f5a6b7c803";
+
+    private MockWebServer server;
+    private ApiService api;
+    private final LocalDataManager dataManager =
+            new LocalDataManager(new InMemoryPreferences(), new DataChangeBus(Runnable::run));
+    private final BookingOutbox outbox = new BookingOutbox(null, new InMemoryPreferences(), dataManager) {
+        @Override
+        public void scheduleSync() {
+        }
+    };
+    private BookingSyncEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/api/"))
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.get()))
+                .build()
+                .create(ApiService.class);
+        // syncNow() never posts to the main thread
+        engine = new BookingSyncEngine(null, new InMemoryPreferences(), dataManager, outbox, null) {
+            @Override
+            ApiService apiService() {
+                return api;
+            }
+
+            @Override
+            String authHeader() {
+                return "Bearer test";
+            }
+
+            @Override
+            String currentUserKey() {
+                return "u1";
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private static String booking(String id, int version, String status) {
+        return "{\"_id\":\"" + id + "\",\"__v\":" + version + ",\"status\":\"" + status
+                + "\",\"customer\":\"u1\"}";
+    }
+
+    private static MockResponse page(String cursor, boolean hasMore, String... bookings) {
+        return new MockResponse().setBody("{\"success\":true,\"data\":{\"bookings\":["
+                + String.join(",", bookings) + "],\"sync\":{\"cursor\":\"" + cursor
+                + "\",\"hasMore\":" + hasMore + "}}}");
+    }
+
+    private String updatedSince(RecordedRequest request) {
+        return request.getRequestUrl().queryParameter("updatedSince");
+    }
+
+    @Test
+    public void delta_mergesNewerCopiesAndSendsTheCursor() throws Exception {
+        server.enqueue(page("c1", false, booking(A, 1, "pending"), booking(B, 1, "pending")));
+        server.enqueue(page("c2", false, booking(A, 2, "accepted"), booking(B, 0, "cancelled")));
+
+        assertEquals(2, engine.syncNow());
+        assertEquals(1, engine.syncNow());
+
+        assertEquals("", updatedSince(server.takeRequest()));
+        assertEquals("c1", updatedSince(server.takeRequest()));
+        assertEquals("accepted", dataManager.getBooking(A).getStatus());
+        // An older version doesn't overwrite the stored one
+        assertEquals("pending", dataManager.getBooking(B).getStatus());
+    }
+
+    @Test
+    public void expiredCursor_runsAFullResyncThatDropsRemoteDeletions() throws Exception {
+        server.enqueue(page("c1", false, booking(A, 1, "pending"), booking(B, 1, "pending"),
+                booking(C, 1, "pending")));
+        engine.syncNow();
+        Booking deviceOnly = new Booking();
+        deviceOnly.setId("booking_1");
+        deviceOnly.setCustomerId("u1");
+        dataManager.saveBooking(deviceOnly);
+        // C has an unsent change, so it survives even though the server no longer lists it
+        outbox.updateStatus(C, "cancelled");
+
+        server.enqueue(new MockResponse().setResponseCode(410)
+                .setBody("{\"success\":false,\"data\":{\"resyncRequired\":true}}"));
+        server.enqueue(page("c2", false, booking(A, 1, "pending")));
+        engine.syncNow();
+
+        server.takeRequest();
+        assertEquals("c1", updatedSince(server.takeRequest()));
+        assertEquals("", updatedSince(server.takeRequest()));
+        assertNotNull(dataManager.getBooking(A));
+        assertNull(dataManager.getBooking(B));
+        assertNotNull(dataManager.getBooking(C));
+        assertNotNull(dataManager.getBooking("booking_1"));
+    }
+
+    @Test
+    public void truncatedFullResync_deletesNothingAndKeepsNoCursor() throws Exception {
+        server.enqueue(page("c1", false, booking(A, 1, "pending"), booking(B, 1, "pending")));
+        engine.syncNow();
+        engine.invalidate();
+
+        for (int i = 0; i < BookingSyncEngine.MAX_PAGES; i++) {
+            server.enqueue(page("p" + i, true, booking(A, 1, "pending")));
+        }
+        engine.syncNow();
+
+        assertNotNull(dataManager.getBooking(B));
+
+        server.enqueue(page("c2", false));
+        engine.syncNow();
+        for (int i = 0; i <= BookingSyncEngine.MAX_PAGES; i++) {
+            server.takeRequest();
+        }
+        // Starts over rather than resuming from the last page it happened to read
+        assertEquals("", updatedSince(server.takeRequest()));
+    }
+
+    @Test
+    public void merge_keepsTheStatusOfAnUnsentChange() {
+        engine.merge("u1", Collections.singletonList(version(A, 1, "pending")), null);
+        outbox.updateStatus(A, "cancelled");
+
+        engine.merge("u1", Collections.singletonList(version(A, 2, "accepted")), null);
+
+        assertEquals("cancelled", dataManager.getBooking(A).getStatus());
+    }
+
+    @Test
+    public void isNewer_versionFirstThenUpdatedAt() {
+        Booking local = version(A, 2, "pending");
+        local.setUpdatedAt(new Date(2_000));
+
+        assertTrue(BookingSyncEngine.isNewer(version(A, 3, "pending"), local));
+        assertFalse(BookingSyncEngine.isNewer(version(A, 1, "pending"), local));
+
+        Booking sameVersion = version(A, 2, "pending");
+        assertFalse(BookingSyncEngine.isNewer(sameVersion, local));
+        sameVersion.setUpdatedAt(new Date(1_000));
+        assertFalse(BookingSyncEngine.isNewer(sameVersion, local));
+        sameVersion.setUpdatedAt(new Date(2_000));
+        assertTrue(BookingSyncEngine.isNewer(sameVersion, local));
+    }
+
+    private static Booking version(String id, int version, String status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setVersion(version);
+        booking.setStatus(status);
+        booking.setCustomerId("u1");
+        return booking;
+    }
+}
@@ -0,0 +1,123 @@
+package com.easy.easybook.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DataChangeTest {
+
+    private static final class Item {
+        final String id;
+        final String category;
+        final String status;
+
+        Item(String id, String category, String status) {
+            this.id = id;
+            this.category = category;
+            this.status = status;
+        }
+    }
+
+    private static Collection<String> partitions(Item item) {
+        return Collections.singletonList(DataChange.category(item.category));
+    }
+
+    private static DataChange diff(List<Item> before, List<Item> after) {
+        return DataChange.diff(DataChange.Store.BOOKINGS, before, after, item -> item.id,
+                DataChangeTest::partitions,
+                (a, b) -> a.category.equals(b.category) && a.status.equals(b.status));
+    }
+
+    @Test
+    public void diff_findsInsertedUpdatedAndDeleted() {
+        List<Item> before = Arrays.asList(
+                new Item("1", "Plumbing", "pending"),
+                new Item("2", "Cleaning", "pending"),
+                new Item("3", "Beauty", "pending"));
+        List<Item> after = Arrays.asList(
+                new Item("1", "Plumbing", "pending"),
+                new Item("2", "Cleaning", "confirmed"),
+                new Item("4", "Fitness", "pending"));
+
+        DataChange change = diff(before, after);
+
+        assertEquals(Collections.singleton("4"), change.getInserted());
+        assertEquals(Collections.singleton("2"), change.getUpdated());
+        assertEquals(Collections.singleton("3"), change.getDeleted());
+        assertTrue(change.affects(DataChange.category("cleaning")));
+        assertTrue(change.affects(DataChange.category("Beauty")));
+        assertFalse(change.affects(DataChange.category("Plumbing")));
+    }
+
+    @Test
+    public void diff_updateCountsForOldAndNewPartition() {
+        DataChange change = diff(
+                Collections.singletonList(new Item("1", "Plumbing", "pending")),
+                Collections.singletonList(new Item("1", "Electrical", "pending")));
+
+        assertTrue(change.affects(DataChange.category("Plumbing")));
+        assertTrue(change.affects(DataChange.category("Electrical")));
+    }
+
+    @Test
+    public void diff_identicalListsAreEmpty() {
+        List<Item> items = Collections.singletonList(new Item("1", "Plumbing", "pending"));
+
+        assertTrue(diff(items, items).isEmpty());
+    }
+
+    @Test
+    public void affects_nullPartitionMatchesEverything() {
+        DataChange change = new DataChange.Builder(DataChange.Store.SERVICES)
+                .inserted("s1", Collections.singletonList(DataChange.category("Cleaning")))
+                .build();
+
+        assertTrue(change.affects(null));
+        assertFalse(change.affects(DataChange.customer("current_user")));
+    }
+
+    @Test
+    public void merge_insertThenDeleteCancelsOut() {
+        DataChange inserted = new DataChange.Builder(DataChange.Store.BOOKINGS)
+                .inserted("1", Collections.singletonList(DataChange.customer("u1"))).build();
+        DataChange deleted = new DataChange.Builder(DataChange.Store.BOOKINGS)
+                .deleted("1", Collections.singletonList(DataChange.customer("u1"))).build();
+
+        DataChange merged = inserted.merge(deleted);
+
+        assertTrue(merged.isEmpty());
+    }
+
+    @Test
+    public void merge_insertThenUpdateStaysInsert() {
+        List<String> partition = Collections.singletonList(DataChange.provider("p1"));
+        DataChange merged = new DataChange.Builder(DataChange.Store.BOOKINGS).inserted("1", partition).build()
+                .merge(new DataChange.Builder(DataChange.Store.BOOKINGS).updated("1", partition).build())
+                .merge(new DataChange.Builder(DataChange.Store.BOOKINGS).updated("2", partition).build());
+
+        assertEquals(Collections.singleton("1"), merged.getInserted());
+        assertEquals(Collections.singleton("2"), merged.getUpdated());
+        assertTrue(merged.affects(DataChange.provider("p1")));
+    }
+
+    @Test
+    public void merge_updateThenDeleteIsDelete() {
+        List<String> partition = Collections.singletonList(DataChange.customer("u1"));
+        DataChange merged = new DataChange.Builder(DataChange.Store.BOOKINGS).updated("1", partition).build()
+                .merge(new DataChange.Builder(DataChange.Store.BOOKINGS).deleted("1", partition).build());
+
+        assertTrue(merged.getUpdated().isEmpty());
+        assertEquals(Collections.singleton("1"), merged.getDeleted());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void merge_rejectsOtherStore() {
+        new DataChange.Builder(DataChange.Store.BOOKINGS).build()
+                .merge(new DataChange.Builder(DataChange.Store.SERVICES).build());
+    }
+}
@@ -0,0 +1,114 @@
+package com.easy.easybook.data;
+
+import com.easy.easybook.models.ServiceCategory;
+import com.easy.easybook.models.ServiceItem;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HomeFeedSnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static HomeFeedSnapshot snapshot(String welcome, String serviceName) {
+        ServiceCategory category = new ServiceCategory();
+        category.setName("Plumbing");
+        category.setDescription("Plumbing repair and installation services");
+        ServiceItem item = new ServiceItem();
+        item.setId("s1");
+        item.setName(serviceName);
+        item.setCategory("Plumbing");
+        item.setPrice(120.0);
+        item.setRating(4.5f);
+        item.setReviewCount(25);
+        item.setImages(Collections.singletonList("https://example.com/s1.jpg"));
+        return HomeFeedSnapshot.of(welcome, Collections.singletonList(category), Collections.singletonList(item));
+    }
+
+    @Test
+    public void savedSnapshotIsReadBackByANewStore() throws IOException {
+        File dir = folder.newFolder();
+        new HomeFeedSnapshotStore(dir).save("u1", snapshot("Welcome back, Sam!", "Leak repair"));
+
+        HomeFeedSnapshot loaded = new HomeFeedSnapshotStore(dir).load("u1");
+
+        assertNotNull(loaded);
+        assertEquals("Welcome back, Sam!", loaded.getWelcomeText());
+        assertEquals("Plumbing", loaded.getCategories().get(0).getName());
+        List<ServiceItem> featured = loaded.getFeatured();
+        assertEquals(1, featured.size());
+        assertEquals("s1", featured.get(0).getId());
+        assertEquals("Leak repair", featured.get(0).getName());
+        assertEquals(120.0, featured.get(0).getPrice(), 0.0);
+        assertEquals("https://example.com/s1.jpg", featured.get(0).getImageUrl());
+    }
+
+    @Test
+    public void peekOnlyReturnsWhatIsInMemory() throws IOException {
+        File dir = folder.newFolder();
+        new HomeFeedSnapshotStore(dir).save("u1", snapshot("Hi", "Leak repair"));
+        HomeFeedSnapshotStore store = new HomeFeedSnapshotStore(dir);
+
+        assertNull(store.peek("u1"));
+        store.load("u1");
+        assertNotNull(store.peek("u1"));
+        assertNull(store.peek("u2"));
+    }
+
+    @Test
+    public void usersDoNotSeeEachOthersFeed() throws IOException {
+        File dir = folder.newFolder();
+        HomeFeedSnapshotStore store = new HomeFeedSnapshotStore(dir);
+        store.save("u1", snapshot("Hi u1", "Leak repair"));
+        store.save("u2", snapshot("Hi u2", "Deep clean"));
+
+        HomeFeedSnapshotStore reopened = new HomeFeedSnapshotStore(dir);
+        assertEquals("Hi u1", reopened.load("u1").getWelcomeText());
+        assertEquals("Hi u2", reopened.load("u2").getWelcomeText());
+        assertNull(reopened.load(null));
+    }
+
+    @Test
+    public void identicalSaveDoesNotRewriteTheFile() throws IOException {
+        File dir = folder.newFolder();
+        HomeFeedSnapshotStore store = new HomeFeedSnapshotStore(dir);
+        store.save("u1", snapshot("Hi", "Leak repair"));
+        File file = new File(dir, "u1.json");
+        assertTrue(file.setLastModified(1000L));
+
+        store.save("u1", snapshot("Hi", "Leak repair"));
+        assertEquals(1000L, file.lastModified());
+
+        store.save("u1", snapshot("Hi", "Leak and drain repair"));
+        assertNotEquals(1000L, file.lastModified());
+    }
+
+    @Test
+    public void unreadableOrOutdatedFilesAreIgnored() throws IOException {
+        File dir = folder.newFolder();
+        write(new File(dir, "u1.json"), "{\"version\":");
+        write(new File(dir, "u2.json"), "{\"version\":0,\"categories\":[],\"featured\":[]}");
+        HomeFeedSnapshotStore store = new HomeFeedSnapshotStore(dir);
+
+        assertNull(store.load("u1"));
+        assertNull(store.load("u2"));
+    }
+
+    private static void write(File file, String text) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.easy.easybook.data;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.PendingMutation;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.GsonProvider;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static com.easy.easybook.data.BookingOutboxTest.SERVER_ID;
+import static com.easy.easybook.data.BookingOutboxTest.SERVICE_ID;
+import static com.easy.easybook.data.BookingOutboxTest.newBooking;
+import static org.junit.Assert.*;
+
+/**
+ * Replays outbox mutations against a scripted MockWebServer and checks what is left behind
+ * in the outbox and the local store.
+ */
+public class OutboxReplayerTest {
+
+    private MockWebServer server;
+    private final LocalDataManager dataManager =
+            new LocalDataManager(new InMemoryPreferences(), new DataChangeBus(Runnable::run));
+    private final BookingOutbox outbox = new BookingOutbox(null, new InMemoryPreferences(), dataManager) {
+        @Override
+        public void scheduleSync() {
+        }
+    };
+    private OutboxReplayer replayer;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        ApiService api = new Retrofit.Builder()
+                .baseUrl(server.url("/api/"))
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.get()))
+                .build()
+                .create(ApiService.class);
+        replayer = new OutboxReplayer(outbox, api, "Bearer test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private static MockResponse booking(String id, String status) {
+        return new MockResponse().setResponseCode(201).setBody(
+                "{\"success\":true,\"data\":{\"booking\":{\"_id\":\"" + id + "\",\"status\":\"" + status + "\"}}}");
+    }
+
+    private boolean replayNext() {
+        return replayer.replay(outbox.takeBatch(1).get(0));
+    }
+
+    @Test
+    public void create_thenStatusChange_goToTheServerId() throws InterruptedException {
+        String localId = outbox.createBooking(newBooking(SERVICE_ID));
+        outbox.updateStatus(localId, "cancelled");
+        server.enqueue(booking(SERVER_ID, "pending"));
+        server.enqueue(booking(SERVER_ID, "cancelled"));
+
+        assertTrue(replayNext());
+        assertTrue(replayNext());
+
+        RecordedRequest create = server.takeRequest();
+        assertEquals("POST", create.getMethod());
+        assertEquals("/api/bookings", create.getPath());
+        assertNotNull(create.getHeader("Idempotency-Key"));
+        JsonObject body = JsonParser.parseString(create.getBody().readUtf8()).getAsJsonObject();
+        assertEquals(SERVICE_ID, body.get("service").getAsString());
+
+        RecordedRequest cancel = server.takeRequest();
+        assertEquals("/api/bookings/" + SERVER_ID + "/cancel", cancel.getPath());
+        assertEquals(0, outbox.getPendingCount());
+        assertNull(dataManager.getBooking(localId));
+        assertEquals("cancelled", dataManager.getBooking(SERVER_ID).getStatus());
+    }
+
+    @Test
+    public void refusedCreate_keepsTheBooking() {
+        String localId = outbox.createBooking(newBooking(SERVICE_ID));
+        server.enqueue(new MockResponse().setResponseCode(400)
+                .setBody("{\"success\":false,\"message\":\"Validation failed\"}"));
+
+        assertTrue(replayNext());
+
+        assertEquals(BookingOutbox.STATUS_NOT_SENT, dataManager.getBooking(localId).getStatus());
+        assertEquals(0, outbox.getPendingCount());
+    }
+
+    @Test
+    public void refusedStatusChange_isRolledBack() {
+        Booking stored = newBooking(SERVICE_ID);
+        stored.setId(SERVER_ID);
+        stored.setStatus("pending");
+        dataManager.saveBooking(stored);
+        outbox.updateStatus(SERVER_ID, "completed");
+        server.enqueue(new MockResponse().setResponseCode(400)
+                .setBody("{\"success\":false,\"message\":\"Booking must be in progress to complete\"}"));
+
+        assertTrue(replayNext());
+
+        assertEquals("pending", dataManager.getBooking(SERVER_ID).getStatus());
+        assertEquals(0, outbox.getPendingCount());
+    }
+
+    @Test
+    public void serverError_keepsTheMutationForARetry() {
+        String localId = outbox.createBooking(newBooking(SERVICE_ID));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        assertFalse(replayNext());
+
+        assertEquals(1, outbox.getPendingCount());
+        assertEquals("pending", dataManager.getBooking(localId).getStatus());
+        PendingMutation queued = outbox.takeBatch(1).get(0);
+        assertEquals(1, queued.getAttempts());
+        assertEquals("HTTP 503", queued.getLastError());
+    }
+
+    @Test
+    public void changeToARefusedCreate_isDroppedWithoutASend() {
+        String localId = outbox.createBooking(newBooking(SERVICE_ID));
+        // Already in the worker's batch when the create is refused
+        outbox.updateStatus(localId, "cancelled");
+        PendingMutation create = outbox.takeBatch(1).get(0);
+        PendingMutation cancel = outbox.takeBatch(1).get(0);
+        outbox.reject(create, "HTTP 400");
+
+        assertTrue(replayer.replay(cancel));
+
+        assertEquals(0, server.getRequestCount());
+        assertEquals(0, outbox.getPendingCount());
+    }
+}
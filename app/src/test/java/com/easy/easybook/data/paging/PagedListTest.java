@@ -0,0 +1,239 @@
+package com.easy.easybook.data.paging;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PagedListTest {
+
+    private FakeSource source;
+    private RecordingCallback callback;
+
+    @Before
+    public void setUp() {
+        source = new FakeSource();
+        callback = new RecordingCallback();
+    }
+
+    private PagedList<String> newList(int total, boolean reportTotal, PagedList.Config config) {
+        source.total = total;
+        source.reportTotal = reportTotal;
+        // Run "main thread" work inline so the test controls ordering
+        PagedList<String> list = new PagedList<>(source, config, Runnable::run);
+        list.setCallback(callback);
+        return list;
+    }
+
+    @Test
+    public void initialLoad_exposesTotalWithPlaceholders() {
+        PagedList<String> list = newList(100, true, new PagedList.Config(10, 5, 4));
+
+        assertEquals(0, list.size());
+        assertEquals(1, source.requested.size());
+        source.complete(1);
+
+        assertEquals(100, list.size());
+        assertEquals("item-0", list.get(0));
+        assertNull(list.get(50));
+        assertTrue(list.isInitialLoadDone());
+        assertEquals("inserted 0+100", callback.events.get(0));
+    }
+
+    @Test
+    public void get_requestsMissingPageOnce() {
+        PagedList<String> list = newList(100, true, new PagedList.Config(10, 0, 4));
+        source.complete(1);
+
+        assertNull(list.get(55));
+        assertNull(list.get(56));
+        assertEquals(1, source.count(6));
+
+        source.complete(6);
+        assertEquals("item-55", list.get(55));
+        assertTrue(callback.events.contains("changed 50+10"));
+    }
+
+    @Test
+    public void get_prefetchesAheadAndBehind() {
+        PagedList<String> list = newList(100, true, new PagedList.Config(10, 5, 6));
+        source.complete(1);
+
+        list.get(37);
+        assertEquals(1, source.count(4));
+        assertEquals(1, source.count(5));
+        assertEquals(0, source.count(3));
+
+        list.get(31);
+        assertEquals(1, source.count(3));
+        assertEquals(1, source.count(4));
+        assertEquals(0, source.count(6));
+    }
+
+    @Test
+    public void cache_keepsAtMostMaxPages() {
+        PagedList<String> list = newList(1000, true, new PagedList.Config(10, 0, 3));
+        source.complete(1);
+        for (int page = 2; page <= 20; page++) {
+            list.get((page - 1) * 10);
+            source.complete(page);
+        }
+
+        assertEquals(3, list.getCachedPageCount());
+        assertEquals("item-190", list.peek(190));
+        assertNull(list.peek(0));
+
+        // Scrolling back loads the evicted page again
+        assertNull(list.get(0));
+        assertEquals(2, source.count(1));
+    }
+
+    @Test
+    public void unknownTotal_trailsPlaceholdersUntilEnd() {
+        PagedList<String> list = newList(25, false, new PagedList.Config(10, 2, 4));
+        source.complete(1);
+        assertEquals(20, list.size());
+
+        list.get(9);
+        source.complete(2);
+        assertEquals(30, list.size());
+
+        list.get(19);
+        source.complete(3);
+        assertEquals(25, list.size());
+        assertEquals("item-24", list.get(24));
+        assertTrue(callback.events.contains("removed 25+5"));
+    }
+
+    @Test
+    public void failedPage_isRetriedOnlyOnRequest() {
+        PagedList<String> list = newList(100, true, new PagedList.Config(10, 0, 4));
+        source.complete(1);
+        list.get(30);
+        source.fail(4);
+
+        list.get(30);
+        assertEquals(1, source.count(4));
+
+        list.retry();
+        assertEquals(2, source.count(4));
+        source.complete(4);
+        assertEquals("item-30", list.get(30));
+    }
+
+    @Test
+    public void close_dropsLateResults() {
+        PagedList<String> list = newList(100, true, new PagedList.Config(10, 0, 4));
+        list.close();
+        source.complete(1);
+
+        assertEquals(0, list.size());
+        assertTrue(source.cancelled);
+        assertTrue(callback.events.isEmpty());
+    }
+
+    @Test
+    public void listPageSource_slicesOneSnapshot() throws Exception {
+        final List<String> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            items.add("row-" + i);
+        }
+        final int[] queries = {0};
+        ListPageSource<String> listSource = new ListPageSource<>(() -> {
+            queries[0]++;
+            return items;
+        });
+        final List<String> page = new ArrayList<>();
+        final int[] total = new int[1];
+        final java.util.concurrent.CountDownLatch done = new java.util.concurrent.CountDownLatch(2);
+        PageSource.PageCallback<String> collect = new PageSource.PageCallback<String>() {
+            @Override
+            public void onPageLoaded(List<String> loaded, int totalCount, boolean hasMore) {
+                page.addAll(loaded);
+                total[0] = totalCount;
+                done.countDown();
+            }
+
+            @Override
+            public void onPageFailed(String error) {
+                fail(error);
+            }
+        };
+        listSource.loadPage(3, 10, collect);
+        listSource.loadPage(1, 10, collect);
+        assertTrue(done.await(5, java.util.concurrent.TimeUnit.SECONDS));
+
+        assertEquals(1, queries[0]);
+        assertEquals(25, total[0]);
+        assertEquals("row-20", page.get(0));
+        assertEquals(15, page.size());
+    }
+
+    private static class FakeSource implements PageSource<String> {
+        int total;
+        boolean reportTotal;
+        boolean cancelled;
+        final List<Integer> requested = new ArrayList<>();
+        final List<PageCallback<String>> callbacks = new ArrayList<>();
+        int pageSize;
+
+        @Override
+        public void loadPage(int page, int pageSize, PageCallback<String> callback) {
+            this.pageSize = pageSize;
+            requested.add(page);
+            callbacks.add(callback);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        int count(int page) {
+            int n = 0;
+            for (int p : requested) {
+                if (p == page) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        void complete(int page) {
+            PageCallback<String> callback = callbacks.get(requested.lastIndexOf(page));
+            int from = Math.min(total, (page - 1) * pageSize);
+            int to = Math.min(total, from + pageSize);
+            List<String> items = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                items.add("item-" + i);
+            }
+            callback.onPageLoaded(items, reportTotal ? total : PageSource.UNKNOWN_COUNT, to < total);
+        }
+
+        void fail(int page) {
+            callbacks.get(requested.lastIndexOf(page)).onPageFailed("offline");
+        }
+    }
+
+    private static class RecordingCallback implements PagedList.Callback {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            events.add("changed " + positionStart + "+" + itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            events.add("inserted " + positionStart + "+" + itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            events.add("removed " + positionStart + "+" + itemCount);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.easy.easybook.images;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ImageSizesTest {
+
+    @Test
+    public void bucketWidth_roundsUpToNextBucket() {
+        assertEquals(64, ImageSizes.bucketWidth(1));
+        assertEquals(64, ImageSizes.bucketWidth(64));
+        assertEquals(128, ImageSizes.bucketWidth(65));
+        assertEquals(1024, ImageSizes.bucketWidth(840));
+    }
+
+    @Test
+    public void bucketWidth_capsAtLargestBucket() {
+        assertEquals(1440, ImageSizes.bucketWidth(4000));
+    }
+
+    @Test
+    public void nearbyViewSizesShareABucket() {
+        // 280dp cards on xhdpi and xxhdpi-ish screens, scaled by data mode, land on few sizes
+        assertArrayEquals(ImageSizes.bucket(700, 0.5f), ImageSizes.bucket(768, 0.5f));
+        assertArrayEquals(ImageSizes.bucket(350, 0.5f), ImageSizes.bucket(384, 0.5f));
+    }
+
+    @Test
+    public void bucket_keepsAspectRatio() {
+        int[] size = ImageSizes.bucket(700, 0.5f);
+
+        assertEquals(768, size[0]);
+        assertEquals(384, size[1]);
+    }
+
+    @Test
+    public void thumbnail_isAQuarterWidthBucketWithSameAspect() {
+        int[] thumbnail = ImageSizes.thumbnail(new int[]{768, 384});
+
+        assertEquals(192, thumbnail[0]);
+        assertEquals(96, thumbnail[1]);
+    }
+
+    @Test
+    public void thumbnail_neverBelowSmallestBucket() {
+        int[] thumbnail = ImageSizes.thumbnail(new int[]{64, 64});
+
+        assertEquals(64, thumbnail[0]);
+        assertEquals(64, thumbnail[1]);
+    }
+}
@@ -0,0 +1,35 @@
+package com.easy.easybook.network;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BookingTransitionsTest {
+
+    @Test
+    public void everyStatusTheAppSetsHasARoute() {
+        assertEquals("accept", BookingTransitions.actionFor("confirmed"));
+        assertEquals("accept", BookingTransitions.actionFor("accepted"));
+        assertEquals("decline", BookingTransitions.actionFor("declined"));
+        assertEquals("start", BookingTransitions.actionFor("in_progress"));
+        assertEquals("complete", BookingTransitions.actionFor("completed"));
+        assertEquals("cancel", BookingTransitions.actionFor("cancelled"));
+        assertNull(BookingTransitions.actionFor("pending"));
+        assertNull(BookingTransitions.actionFor(null));
+    }
+
+    @Test
+    public void declineAndCancelCarryTheReasonTheirRoutesRequire() {
+        assertTrue(BookingTransitions.bodyFor("decline").has("declineReason"));
+        assertTrue(BookingTransitions.bodyFor("cancel").has("reason"));
+        assertEquals(0, BookingTransitions.bodyFor("start").size());
+    }
+
+    @Test
+    public void onlyBackendIdsAreServerIds() {
+        assertTrue(BookingTransitions.isServerId("64b7f0c2a1d3e4f5a6b7c8d9"));
+        assertFalse(BookingTransitions.isServerId("booking_1697712345678"));
+        assertFalse(BookingTransitions.isServerId("local-3f2a9c1e-1111-2222-3333-444455556666"));
+        assertFalse(BookingTransitions.isServerId(null));
+    }
+}
@@ -0,0 +1,154 @@
+package com.easy.easybook.network;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.network.responses.BookingsResponse;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the old tree-then-walk decoding of booking lists with the streaming
+ * BookingTypeAdapter on a 1,000 booking payload. Timings are printed, not asserted.
+ */
+public class BookingsPayloadBenchmarkTest {
+
+    private static final int BOOKING_COUNT = 1000;
+    private static final int WARMUP_RUNS = 10;
+    private static final int MEASURED_RUNS = 30;
+
+    private static String payload;
+
+    @BeforeClass
+    public static void buildPayload() {
+        StringBuilder json = new StringBuilder(BOOKING_COUNT * 900);
+        json.append("{\"success\":true,\"data\":{\"bookings\":[");
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"_id\":\"b").append(i).append("\",")
+                .append("\"bookingId\":\"BK-1700000000000-").append(i).append("\",")
+                .append("\"service\":{\"_id\":\"s").append(i % 14).append("\",\"name\":\"Service ").append(i % 14)
+                .append("\",\"description\":\"Professional service with warranty\",\"category\":\"Plumbing\",\"price\":120,\"duration\":\"60\",\"images\":[]},")
+                .append("\"customer\":{\"_id\":\"c").append(i % 50).append("\",\"firstName\":\"Alice\",\"lastName\":\"Johnson\",\"email\":\"alice@email.com\",\"phone\":\"0412345678\",\"profileImage\":null},")
+                .append("\"provider\":{\"_id\":\"p").append(i % 5).append("\",\"firstName\":\"John\",\"lastName\":\"Smith\",\"email\":\"john@email.com\",\"phone\":\"0498765432\"},")
+                .append("\"bookingDate\":\"2024-0").append(1 + i % 9).append("-15T10:00:00.000Z\",")
+                .append("\"timeSlot\":\"09:00 AM - 10:00 AM\",")
+                .append("\"address\":{\"street\":\"").append(i).append(" George St\",\"city\":\"Sydney\",\"state\":\"NSW\",\"zipCode\":\"2000\"},")
+                .append("\"status\":\"").append(i % 2 == 0 ? "pending" : "completed").append("\",")
+                .append("\"totalAmount\":").append(100 + i).append(',')
+                .append("\"payment\":{\"status\":\"pending\",\"amount\":").append(100 + i).append("},")
+                .append("\"notes\":\"Please call before arrival\",")
+                .append("\"customerPhone\":\"0412345678\",\"customerEmail\":\"alice@email.com\",")
+                .append("\"createdAt\":\"2024-01-01T08:00:00.000Z\",\"updatedAt\":\"2024-01-02T08:00:00.000Z\",\"__v\":0}");
+        }
+        json.append("],\"pagination\":{\"currentPage\":1,\"totalPages\":1,\"totalItems\":")
+            .append(BOOKING_COUNT).append(",\"itemsPerPage\":").append(BOOKING_COUNT).append("}}}");
+        payload = json.toString();
+    }
+
+    @Test
+    public void streamingAdapter_decodesEveryBooking() {
+        BookingsResponse response = GsonProvider.get().fromJson(payload, BookingsResponse.class);
+
+        assertTrue(response.isSuccess());
+        assertEquals(BOOKING_COUNT, response.getBookings().size());
+        assertEquals(BOOKING_COUNT, response.getPagination().getTotalItems());
+        assertFalse(response.getPagination().hasNext());
+
+        Booking first = response.getBookings().get(0);
+        assertEquals("b0", first.getId());
+        assertEquals("s0", first.getServiceId());
+        assertEquals("Service 0", first.getServiceName());
+        assertEquals("Plumbing", first.getServiceCategory());
+        assertEquals("Alice Johnson", first.getCustomerName());
+        assertEquals("John Smith", first.getProviderName());
+        assertEquals("0 George St", first.getAddress());
+        assertEquals("Sydney", first.getCity());
+        assertEquals("09:00 AM - 10:00 AM", first.getTimeSlot());
+        assertEquals(100.0, first.getTotalAmount(), 0.001);
+        // 2024-01-15T10:00:00.000Z
+        assertEquals(1705312800000L, first.getBookingDate().getTime());
+    }
+
+    @Test
+    public void benchmark_treeWalkVersusStreaming() {
+        Gson gson = GsonProvider.get();
+
+        long[] treeTimes = new long[MEASURED_RUNS];
+        long[] streamingTimes = new long[MEASURED_RUNS];
+        int sink = 0;
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            sink += decodeViaTree(payload).size();
+            sink += gson.fromJson(payload, BookingsResponse.class).getBookings().size();
+        }
+
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            sink += decodeViaTree(payload).size();
+            treeTimes[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += gson.fromJson(payload, BookingsResponse.class).getBookings().size();
+            streamingTimes[i] = System.nanoTime() - start;
+        }
+
+        assertEquals(2 * BOOKING_COUNT * (WARMUP_RUNS + MEASURED_RUNS), sink);
+
+        System.out.println(String.format("Bookings payload: %d bookings, %d KB",
+                BOOKING_COUNT, payload.length() / 1024));
+        System.out.println(String.format("  tree + walk : median %.2f ms", median(treeTimes) / 1e6));
+        System.out.println(String.format("  streaming   : median %.2f ms", median(streamingTimes) / 1e6));
+    }
+
+    // Baseline: what BookingManagementActivity used to do (parse to a tree, then walk it)
+    private static List<Booking> decodeViaTree(String json) {
+        JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+        JsonArray bookingsArray = root.getAsJsonObject("data").getAsJsonArray("bookings");
+        List<Booking> bookings = new ArrayList<>(bookingsArray.size());
+        for (int i = 0; i < bookingsArray.size(); i++) {
+            JsonObject bookingObj = bookingsArray.get(i).getAsJsonObject();
+            Booking booking = new Booking();
+            booking.setId(bookingObj.get("_id").getAsString());
+            booking.setStatus(bookingObj.get("status").getAsString());
+            booking.setTotalAmount(bookingObj.get("totalAmount").getAsDouble());
+            JsonObject service = bookingObj.getAsJsonObject("service");
+            booking.setServiceId(service.get("_id").getAsString());
+            booking.setServiceName(service.get("name").getAsString());
+            JsonObject customer = bookingObj.getAsJsonObject("customer");
+            booking.setCustomerName(customer.get("firstName").getAsString() + " " + customer.get("lastName").getAsString());
+            JsonObject address = bookingObj.getAsJsonObject("address");
+            booking.setAddress(address.get("street").getAsString());
+            booking.setCity(address.get("city").getAsString());
+            booking.setTimeSlot(bookingObj.get("timeSlot").getAsString());
+            try {
+                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+                booking.setBookingDate(sdf.parse(bookingObj.get("bookingDate").getAsString()));
+            } catch (Exception e) {
+                booking.setBookingDate(new Date());
+            }
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,206 @@
+package com.easy.easybook.network.bench;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.ServiceCategory;
+import com.easy.easybook.network.ApiClient;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.metrics.MetricsEventListener;
+import com.easy.easybook.network.metrics.NetworkMetrics;
+import com.easy.easybook.network.responses.BookingsResponse;
+import com.easy.easybook.network.responses.CategoriesResponse;
+import com.easy.easybook.network.responses.DashboardResponse;
+import com.easy.easybook.network.responses.ServicesResponse;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * End-to-end load runs of ApiService flows (OkHttp, Retrofit, Gson and our type adapters)
+ * against {@link FakeSmartServeApi}. Only correctness is asserted; throughput and p50/p99
+ * latencies are printed along with the per-endpoint phase metrics the app itself records.
+ */
+public class ApiLoadBenchmarkTest {
+
+    private static final String TOKEN = "Bearer bench-token";
+
+    private MockWebServer server;
+    private FakeSmartServeApi api;
+    private NetworkMetrics metrics;
+    private ApiService service;
+
+    @Before
+    public void setUp() throws IOException {
+        api = new FakeSmartServeApi();
+        server = new MockWebServer();
+        server.setDispatcher(api);
+        server.start();
+
+        metrics = new NetworkMetrics();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .eventListenerFactory(MetricsEventListener.factory(metrics))
+                .readTimeout(30, TimeUnit.SECONDS)
+                .build();
+        service = ApiClient.buildRetrofit(server.url("/api/").toString(), client, metrics)
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        printPhases();
+        server.shutdown();
+    }
+
+    @Test
+    public void myBookings_5000Bookings() throws Exception {
+        api.setBookingCount(5000);
+
+        LatencyStats stats = LoadRunner.run("getMyBookings x5000", 1, 20, () -> {
+            List<Booking> bookings = body(service.getMyBookings(TOKEN, null, 1, 5000).execute()).getBookings();
+            assertEquals(5000, bookings.size());
+            return bookings;
+        });
+        report(stats);
+
+        BookingsResponse response = body(service.getMyBookings(TOKEN, null, 1, 5000).execute());
+        assertEquals("b0", response.getBookings().get(0).getId());
+        assertEquals("b4999", response.getBookings().get(4999).getId());
+        assertEquals(5000, response.getPagination().getTotalItems());
+    }
+
+    @Test
+    public void providerDashboard_slowTtfb_concurrentCalls() throws Exception {
+        api.setLatency(150);
+
+        LatencyStats stats = LoadRunner.run("getProviderDashboard ttfb150", 16, 64, () ->
+                body(service.getProviderDashboard(TOKEN).execute()));
+        report(stats);
+
+        // Every call waits out the server delay; 16 threads should overlap those waits
+        assertTrue(stats.percentileMs(50) >= 150);
+        assertTrue("calls did not overlap: " + stats, stats.getThroughputPerSecond() > 2 * 1000.0 / 150);
+    }
+
+    @Test
+    public void customerDashboard_burst() throws Exception {
+        api.setBookingCount(500).setRecentBookingCount(50).setLatency(20);
+
+        LatencyStats stats = LoadRunner.run("getCustomerDashboard burst", 32, 256, () -> {
+            DashboardResponse dashboard = body(service.getCustomerDashboard(TOKEN).execute());
+            assertEquals(50, dashboard.getRecentBookings().size());
+            return dashboard;
+        });
+        report(stats);
+
+        DashboardResponse dashboard = body(service.getCustomerDashboard(TOKEN).execute());
+        assertEquals(500, dashboard.getData().getStatistics().getTotalBookings());
+    }
+
+    @Test
+    public void allServices_limitedBandwidth() throws Exception {
+        // Roughly a congested 3G link
+        api.setServiceCount(300).setBandwidth(1_000_000).setLatency(100);
+
+        LatencyStats stats = LoadRunner.run("getAllServices 1MB/s", 2, 8, () -> {
+            ServicesResponse response = body(service.getAllServices(TOKEN, null, 1, 300).execute());
+            assertEquals(300, response.getServices().size());
+            return response;
+        });
+        report(stats);
+
+        long bytes = metrics.forEndpoint("getAllServices").getResponseBytes().getMax();
+        assertTrue("body took less than bandwidth allows: " + stats,
+                stats.percentileMs(50) >= 100 + bytes * 1000.0 / 1_000_000 * 0.5);
+    }
+
+    @Test
+    public void syncBookings_walksCursorToTheEnd() throws Exception {
+        api.setBookingCount(2000);
+
+        String cursor = "";
+        int synced = 0;
+        int calls = 0;
+        long start = System.nanoTime();
+        while (true) {
+            BookingsResponse page = body(service.syncBookings(TOKEN, cursor, 500).execute());
+            synced += page.getBookings().size();
+            calls++;
+            if (page.getSync() == null || !page.getSync().hasMore()) {
+                break;
+            }
+            cursor = page.getSync().getCursor();
+        }
+        System.out.printf("syncBookings: %d bookings in %d calls, %.1f ms%n",
+                synced, calls, (System.nanoTime() - start) / 1e6);
+
+        assertEquals(2000, synced);
+        assertEquals(4, calls);
+    }
+
+    @Test
+    public void recordedFixtures_replayThroughRetrofit() throws Exception {
+        api.setReplayFixtures(true).setLatency(5);
+
+        LatencyStats stats = LoadRunner.run("getServiceCategories fixture", 4, 40, () -> {
+            CategoriesResponse response = body(service.getServiceCategories().execute());
+            assertEquals(8, response.getData().getCategories().size());
+            return response;
+        });
+        report(stats);
+
+        List<ServiceCategory> categories = body(service.getServiceCategories().execute()).getData().getCategories();
+        assertEquals("Cleaning", categories.get(0).getName());
+        assertEquals(41, api.getFixtureHits());
+
+        // No fixture for this route, so the fake generates it
+        assertEquals(20, body(service.getAllServices(TOKEN, null, 1, 20).execute()).getServices().size());
+        assertEquals(41, api.getFixtureHits());
+    }
+
+    @Test
+    public void protectedRoutes_rejectMissingToken() throws Exception {
+        Response<BookingsResponse> response = service.getMyBookings(null, null, 1, 10).execute();
+        assertEquals(401, response.code());
+    }
+
+    private static <T> T body(Response<T> response) {
+        assertTrue("HTTP " + response.code(), response.isSuccessful());
+        assertNotNull(response.body());
+        return response.body();
+    }
+
+    private static void report(LatencyStats stats) {
+        System.out.println(stats);
+        assertEquals("failed calls in " + stats, 0, stats.getFailures());
+    }
+
+    private void printPhases() {
+        JsonObject endpoints = metrics.toJson().getAsJsonObject("endpoints");
+        for (Map.Entry<String, JsonElement> entry : endpoints.entrySet()) {
+            JsonObject phases = entry.getValue().getAsJsonObject().getAsJsonObject("phasesUs");
+            StringBuilder line = new StringBuilder("  ").append(entry.getKey()).append(':');
+            for (String phase : new String[]{NetworkMetrics.PHASE_TTFB, NetworkMetrics.PHASE_BODY,
+                    NetworkMetrics.PHASE_DECODE, NetworkMetrics.PHASE_TOTAL}) {
+                if (phases.has(phase)) {
+                    JsonObject histogram = phases.getAsJsonObject(phase);
+                    line.append(' ').append(phase).append(" p50=").append(histogram.get("p50").getAsLong())
+                            .append("us p99=").append(histogram.get("p99").getAsLong()).append("us");
+                }
+            }
+            System.out.println(line);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.easy.easybook.network.bench;
+
+import com.easy.easybook.network.ApiClient;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.GsonProvider;
+import com.easy.easybook.network.binary.BinaryAcceptInterceptor;
+import com.easy.easybook.network.binary.BinaryJson;
+import com.easy.easybook.network.binary.BinaryJsonEncoder;
+import com.easy.easybook.network.binary.BinaryJsonReader;
+import com.easy.easybook.network.metrics.NetworkMetrics;
+import com.easy.easybook.network.responses.BookingsResponse;
+import com.easy.easybook.network.responses.ServicesResponse;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.ByteString;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Binary versus JSON list payloads: negotiation through the real Retrofit setup against
+ * {@link FakeSmartServeApi}, then size (raw and gzipped) and decode time on 1,000 bookings.
+ * Timings are printed, not asserted.
+ *
+ * The gain is in size: 883 KB of JSON (37 KB gzipped) becomes 233 KB (25 KB gzipped).
+ * Decode medians are close and vary run to run, e.g. 11-26 ms JSON against 10-14 ms binary
+ * on a desktop JVM, so don't expect faster parsing from the binary format.
+ */
+public class BinaryPayloadBenchmarkTest {
+
+    private static final String TOKEN = "Bearer bench-token";
+    private static final int BOOKING_COUNT = 1000;
+    private static final int WARMUP_RUNS = 10;
+    private static final int MEASURED_RUNS = 30;
+
+    private MockWebServer server;
+    private FakeSmartServeApi api;
+    private BinaryAcceptInterceptor binaryAccept;
+    private ApiService service;
+
+    @Before
+    public void setUp() throws IOException {
+        api = new FakeSmartServeApi().setBinaryPayloads(true);
+        server = new MockWebServer();
+        server.setDispatcher(api);
+        server.start();
+
+        binaryAccept = new BinaryAcceptInterceptor();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(binaryAccept).build();
+        service = ApiClient.buildRetrofit(server.url("/api/").toString(), client, new NetworkMetrics())
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void negotiatesBinaryAndDecodesTheSameBookings() throws Exception {
+        api.setBookingCount(300);
+
+        Response<BookingsResponse> binary = service.getMyBookings(TOKEN, null, 1, 300).execute();
+        RecordedRequest binaryRequest = server.takeRequest();
+        binaryAccept.setEnabled(false);
+        Response<BookingsResponse> json = service.getMyBookings(TOKEN, null, 1, 300).execute();
+        RecordedRequest jsonRequest = server.takeRequest();
+
+        assertTrue(binaryRequest.getHeader("Accept").startsWith(BinaryJson.MEDIA_TYPE_STRING));
+        assertTrue(BinaryJson.isBinary(binary.raw().body().contentType()));
+        assertNull(jsonRequest.getHeader("Accept"));
+        assertTrue(json.headers().get("Content-Type").startsWith("application/json"));
+
+        assertEquals(300, binary.body().getBookings().size());
+        Gson gson = GsonProvider.get();
+        assertEquals(gson.toJson(json.body()), gson.toJson(binary.body()));
+    }
+
+    @Test
+    public void serverWithoutBinarySupportFallsBackToJson() throws Exception {
+        api.setBinaryPayloads(false).setServiceCount(40);
+
+        Response<ServicesResponse> response = service.getAllServices(null, null, 1, 40).execute();
+
+        assertTrue(server.takeRequest().getHeader("Accept").startsWith(BinaryJson.MEDIA_TYPE_STRING));
+        assertTrue(response.headers().get("Content-Type").startsWith("application/json"));
+        assertEquals(40, response.body().getServices().size());
+    }
+
+    @Test
+    public void endpointsWithoutTheAnnotationStayJson() throws Exception {
+        service.getServiceCategories().execute();
+
+        assertNull(server.takeRequest().getHeader("Accept"));
+    }
+
+    @Test
+    public void benchmark_sizeAndDecodeTime() throws IOException {
+        String json = PayloadFactory.bookingsPage(BOOKING_COUNT, 1, BOOKING_COUNT);
+        ByteString binary = BinaryJsonEncoder.encode(JsonParser.parseString(json));
+        ByteString jsonBytes = ByteString.encodeUtf8(json);
+        TypeAdapter<BookingsResponse> adapter = GsonProvider.get().getAdapter(BookingsResponse.class);
+
+        long[] jsonTimes = new long[MEASURED_RUNS];
+        long[] binaryTimes = new long[MEASURED_RUNS];
+        int sink = 0;
+        for (int i = 0; i < WARMUP_RUNS + MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            sink += adapter.read(new JsonReader(new StringReader(json))).getBookings().size();
+            long jsonTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += adapter.read(new BinaryJsonReader(new Buffer().write(binary))).getBookings().size();
+            long binaryTime = System.nanoTime() - start;
+
+            if (i >= WARMUP_RUNS) {
+                jsonTimes[i - WARMUP_RUNS] = jsonTime;
+                binaryTimes[i - WARMUP_RUNS] = binaryTime;
+            }
+        }
+
+        assertEquals(2 * BOOKING_COUNT * (WARMUP_RUNS + MEASURED_RUNS), sink);
+        assertTrue(binary.size() < jsonBytes.size());
+
+        System.out.println(String.format("Bookings payload, %d bookings", BOOKING_COUNT));
+        System.out.println(String.format("  json   : %7d bytes, %6d gzipped, decode median %.2f ms",
+                jsonBytes.size(), gzippedSize(jsonBytes), median(jsonTimes) / 1e6));
+        System.out.println(String.format("  binary : %7d bytes, %6d gzipped, decode median %.2f ms",
+                binary.size(), gzippedSize(binary), median(binaryTimes) / 1e6));
+    }
+
+    private static int gzippedSize(ByteString bytes) throws IOException {
+        Buffer buffer = new Buffer();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer.outputStream())) {
+            bytes.write(gzip);
+        }
+        return (int) buffer.size();
+    }
+
+    private static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,249 @@
+package com.easy.easybook.network.bench;
+
+import com.easy.easybook.network.binary.BinaryJson;
+import com.easy.easybook.network.binary.BinaryJsonEncoder;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.ByteString;
+
+/**
+ * In-process stand-in for the SmartServe backend: auth, services, bookings, customer
+ * and provider dashboards. Latency, bandwidth and payload sizes are set per test.
+ *
+ * With fixture replay on, a route that has a recorded fixture (see {@link Fixtures})
+ * is answered from it and everything else falls back to generated payloads.
+ *
+ * With binary payloads on, booking and service lists honour {@code Accept} like
+ * backend/middleware/binaryJson.js does.
+ */
+class FakeSmartServeApi extends Dispatcher {
+
+    // The booking routes backend/routes/bookings.js has, and the status each one leaves
+    private static final Pattern BOOKING_TRANSITION =
+            Pattern.compile("/bookings/([^/]+)/(accept|decline|start|complete|cancel|rating)");
+    private static final Map<String, String> TRANSITION_STATUS = new HashMap<>();
+
+    static {
+        TRANSITION_STATUS.put("accept", "accepted");
+        TRANSITION_STATUS.put("decline", "declined");
+        TRANSITION_STATUS.put("start", "in_progress");
+        TRANSITION_STATUS.put("complete", "completed");
+        TRANSITION_STATUS.put("cancel", "cancelled");
+        TRANSITION_STATUS.put("rating", "completed");
+    }
+
+    private volatile long headersDelayMs;
+    private volatile long bytesPerPeriod;
+    private volatile long periodMs;
+    private volatile int bookingCount = 200;
+    private volatile int serviceCount = 100;
+    private volatile int recentBookingCount = 10;
+    private volatile boolean replayFixtures;
+    private volatile boolean binaryPayloads;
+
+    // Generated bodies are deterministic, so build each one once
+    private final ConcurrentHashMap<String, String> bodies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ByteString> binaryBodies = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong fixtureHits = new AtomicLong();
+
+    /** Delay before the response headers are sent, i.e. server think time plus one RTT. */
+    FakeSmartServeApi setLatency(long headersDelayMs) {
+        this.headersDelayMs = headersDelayMs;
+        return this;
+    }
+
+    /** Caps the response body rate; 0 means unthrottled. */
+    FakeSmartServeApi setBandwidth(long bytesPerSecond) {
+        // Throttle in 10 ms slices so small bodies are still shaped
+        this.bytesPerPeriod = bytesPerSecond <= 0 ? 0 : Math.max(1, bytesPerSecond / 100);
+        this.periodMs = 10;
+        return this;
+    }
+
+    FakeSmartServeApi setBookingCount(int bookingCount) {
+        this.bookingCount = bookingCount;
+        bodies.clear();
+        binaryBodies.clear();
+        return this;
+    }
+
+    FakeSmartServeApi setServiceCount(int serviceCount) {
+        this.serviceCount = serviceCount;
+        bodies.clear();
+        binaryBodies.clear();
+        return this;
+    }
+
+    FakeSmartServeApi setRecentBookingCount(int recentBookingCount) {
+        this.recentBookingCount = recentBookingCount;
+        bodies.clear();
+        binaryBodies.clear();
+        return this;
+    }
+
+    FakeSmartServeApi setReplayFixtures(boolean replayFixtures) {
+        this.replayFixtures = replayFixtures;
+        return this;
+    }
+
+    FakeSmartServeApi setBinaryPayloads(boolean binaryPayloads) {
+        this.binaryPayloads = binaryPayloads;
+        return this;
+    }
+
+    long getRequestCount() {
+        return requestCount.get();
+    }
+
+    long getFixtureHits() {
+        return fixtureHits.get();
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        requestCount.incrementAndGet();
+        HttpUrl url = request.getRequestUrl();
+        String method = request.getMethod();
+        String route = Fixtures.route(url.encodedPath());
+        try {
+            if (replayFixtures) {
+                String fixture = Fixtures.load(Fixtures.key(method, url.encodedPath()));
+                if (fixture != null) {
+                    fixtureHits.incrementAndGet();
+                    return shape(json(200, fixture));
+                }
+            }
+            return shape(route(request, method, route, url));
+        } catch (IOException e) {
+            return json(500, "{\"success\":false,\"message\":\"" + e.getMessage() + "\"}");
+        }
+    }
+
+    private MockResponse route(RecordedRequest request, String method, String route, HttpUrl url) {
+        if ("POST".equals(method) && (route.equals("/auth/login") || route.equals("/auth/register"))) {
+            return json(200, cached("auth", () -> PayloadFactory.auth("alice@email.com", "customer")));
+        }
+        if (route.equals("/services/categories")) {
+            return json(200, cached("categories", PayloadFactory::categories));
+        }
+        if ("GET".equals(method) && isServiceList(route)) {
+            int page = intParam(url, "page", 1);
+            int limit = intParam(url, "limit", 20);
+            return negotiated(request, "services:" + page + ":" + limit,
+                    () -> PayloadFactory.servicesPage(serviceCount, page, limit));
+        }
+
+        // Everything below needs a signed-in user
+        if (request.getHeader("Authorization") == null) {
+            return json(401, "{\"success\":false,\"message\":\"Access denied. No token provided.\"}");
+        }
+        if (route.equals("/auth/me")) {
+            return json(200, cached("auth", () -> PayloadFactory.auth("alice@email.com", "customer")));
+        }
+        if ("GET".equals(method) && (route.equals("/bookings/my-bookings") || route.equals("/bookings")
+                || route.equals("/customers/booking-history"))) {
+            String updatedSince = url.queryParameter("updatedSince");
+            int limit = intParam(url, "limit", 20);
+            if (updatedSince != null) {
+                int from = updatedSince.isEmpty() ? 0 : cursorIndex(updatedSince) + 1;
+                return negotiated(request, "sync:" + from + ":" + limit,
+                        () -> PayloadFactory.bookingsSync(bookingCount, from, limit));
+            }
+            int page = intParam(url, "page", 1);
+            return negotiated(request, "bookings:" + page + ":" + limit,
+                    () -> PayloadFactory.bookingsPage(bookingCount, page, limit));
+        }
+        if (route.equals("/customers/dashboard") || route.equals("/providers/dashboard")) {
+            return json(200, cached("dashboard", () -> PayloadFactory.dashboard(bookingCount, recentBookingCount)));
+        }
+        if ("POST".equals(method) && route.equals("/bookings")) {
+            return json(201, PayloadFactory.booking("b-new-" + requestCount.get(), "pending"));
+        }
+        Matcher transition = BOOKING_TRANSITION.matcher(route);
+        if (transition.matches()) {
+            return json(200, PayloadFactory.booking(transition.group(1), TRANSITION_STATUS.get(transition.group(2))));
+        }
+        return json(404, "{\"success\":false,\"message\":\"Route not found\"}");
+    }
+
+    private static boolean isServiceList(String route) {
+        return route.equals("/services") || route.equals("/services/search") || route.equals("/services/featured")
+                || route.startsWith("/services/category/") || route.equals("/providers/my-services");
+    }
+
+    private MockResponse shape(MockResponse response) {
+        if (headersDelayMs > 0) {
+            response.setHeadersDelay(headersDelayMs, TimeUnit.MILLISECONDS);
+        }
+        if (bytesPerPeriod > 0) {
+            response.throttleBody(bytesPerPeriod, periodMs, TimeUnit.MILLISECONDS);
+        }
+        return response;
+    }
+
+    private String cached(String key, Supplier<String> builder) {
+        return bodies.computeIfAbsent(key, k -> builder.get());
+    }
+
+    private MockResponse negotiated(RecordedRequest request, String key, Supplier<String> builder) {
+        String accept = request.getHeader("Accept");
+        if (!binaryPayloads || accept == null || !accept.contains(BinaryJson.MEDIA_TYPE_STRING)) {
+            return json(200, cached(key, builder));
+        }
+        ByteString body = binaryBodies.computeIfAbsent(key,
+                k -> BinaryJsonEncoder.encode(JsonParser.parseString(cached(key, builder))));
+        return new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", BinaryJson.MEDIA_TYPE_STRING)
+                .setHeader("Vary", "Accept")
+                .setBody(new Buffer().write(body));
+    }
+
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(body);
+    }
+
+    private static int intParam(HttpUrl url, String name, int fallback) {
+        String value = url.queryParameter(name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    // Cursors look like "<updatedAt>|b<index>", see PayloadFactory.bookingsSync
+    private static int cursorIndex(String cursor) {
+        int bar = cursor.lastIndexOf("|b");
+        if (bar < 0) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(cursor.substring(bar + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.easy.easybook.network.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Saves every successful response body as a fixture, so the shapes a real backend
+ * returns can be replayed by {@link FakeSmartServeApi} without the backend running.
+ * Bodies over {@link #MAX_FIXTURE_BYTES} are skipped rather than saved truncated.
+ */
+class FixtureRecorder implements Interceptor {
+
+    // Bodies above this size are not worth checking in; the fake generates large payloads instead
+    static final long MAX_FIXTURE_BYTES = 512 * 1024;
+
+    private final File dir;
+    private final List<File> recorded = Collections.synchronizedList(new ArrayList<File>());
+    private final List<String> skipped = Collections.synchronizedList(new ArrayList<String>());
+
+    FixtureRecorder(File dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (!response.isSuccessful() || response.body() == null) {
+            return response;
+        }
+        String key = Fixtures.key(request.method(), request.url().encodedPath());
+        // One byte over the limit tells a body that fits from one peekBody() cut short
+        ResponseBody peeked = response.peekBody(MAX_FIXTURE_BYTES + 1);
+        if (peeked.contentLength() > MAX_FIXTURE_BYTES) {
+            System.out.println("Not recording " + key + ": body is over " + MAX_FIXTURE_BYTES + " bytes");
+            skipped.add(key);
+            return response;
+        }
+        recorded.add(Fixtures.save(dir, key, peeked.string()));
+        return response;
+    }
+
+    List<File> getRecorded() {
+        return new ArrayList<>(recorded);
+    }
+
+    /** Fixture keys whose bodies were too large to save whole. */
+    List<String> getSkipped() {
+        return new ArrayList<>(skipped);
+    }
+}
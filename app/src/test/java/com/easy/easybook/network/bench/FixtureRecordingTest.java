@@ -0,0 +1,101 @@
+package com.easy.easybook.network.bench;
+
+import com.easy.easybook.network.ApiClient;
+import com.easy.easybook.network.ApiService;
+import com.easy.easybook.network.metrics.NetworkMetrics;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Call;
+
+import static org.junit.Assert.*;
+
+/**
+ * Records real response shapes from a running backend into test fixtures.
+ * The recording itself is skipped unless a backend is given, e.g.
+ * {@code ./gradlew :app:testDebugUnitTest --tests '*FixtureRecordingTest'
+ * -Dsmartserve.recordFrom=http://localhost:4000/api/ -Dsmartserve.token=<jwt>}
+ */
+public class FixtureRecordingTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void recordFixtures() throws IOException {
+        String baseUrl = System.getProperty("smartserve.recordFrom");
+        Assume.assumeTrue("smartserve.recordFrom not set", baseUrl != null && !baseUrl.isEmpty());
+        String token = "Bearer " + System.getProperty("smartserve.token", "");
+        File dir = new File(System.getProperty("smartserve.fixturesDir", "src/test/resources/fixtures"));
+
+        FixtureRecorder recorder = new FixtureRecorder(dir);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(recorder).build();
+        ApiService service = ApiClient.buildRetrofit(baseUrl, client, new NetworkMetrics())
+                .create(ApiService.class);
+
+        // Only successful responses are saved, so routes the backend lacks are simply skipped
+        execute(service.getServiceCategories());
+        execute(service.getFeaturedServicesSimple());
+        execute(service.getAllServices(token, null, 1, 20));
+        execute(service.getMyBookings(token, null, 1, 20));
+        execute(service.getCustomerDashboard(token));
+        execute(service.getProviderDashboard(token));
+        execute(service.getProviderServices(token, null, 1, 20));
+
+        for (File file : recorder.getRecorded()) {
+            System.out.println("Recorded " + file);
+        }
+        assertFalse("Nothing recorded from " + baseUrl, recorder.getRecorded().isEmpty());
+    }
+
+    @Test
+    public void oversizedBodiesAreSkippedNotTruncated() throws IOException {
+        File dir = temp.newFolder("fixtures");
+        MockWebServer server = new MockWebServer();
+        StringBuilder big = new StringBuilder("[");
+        while (big.length() <= FixtureRecorder.MAX_FIXTURE_BYTES) {
+            big.append("\"padding\",");
+        }
+        big.append("\"end\"]");
+        server.enqueue(new MockResponse().setBody(big.toString()));
+        server.enqueue(new MockResponse().setBody("[]"));
+        server.start();
+        try {
+            FixtureRecorder recorder = new FixtureRecorder(dir);
+            OkHttpClient client = new OkHttpClient.Builder().addInterceptor(recorder).build();
+
+            Request services = new Request.Builder().url(server.url("/api/services")).build();
+            try (Response response = client.newCall(services).execute()) {
+                // The caller still gets the whole body
+                assertEquals(big.length(), response.body().string().length());
+            }
+            client.newCall(new Request.Builder().url(server.url("/api/services/featured")).build()).execute().close();
+
+            assertEquals(Collections.singletonList("GET_services"), recorder.getSkipped());
+            assertEquals(1, recorder.getRecorded().size());
+            assertEquals("GET_services_featured.json", recorder.getRecorded().get(0).getName());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    private static void execute(Call<?> call) {
+        try {
+            call.execute();
+        } catch (Exception e) {
+            System.out.println(call.request().url() + " failed: " + e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.easy.easybook.network.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recorded response bodies, one JSON file per route under {@code fixtures/}.
+ * A route is the method plus the path with any "api/" prefix dropped, so
+ * {@code GET /api/services/categories} is stored as {@code GET_services_categories.json}.
+ */
+final class Fixtures {
+
+    static final String RESOURCE_DIR = "/fixtures/";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Path relative to the API root. Some ApiService paths repeat the "api/" segment
+     * that BASE_URL already ends with, so every leading "api" is dropped.
+     */
+    static String route(String encodedPath) {
+        String path = encodedPath;
+        while (path.startsWith("/api/") || path.equals("/api")) {
+            path = path.substring(4);
+        }
+        return path.isEmpty() ? "/" : path;
+    }
+
+    static String key(String method, String encodedPath) {
+        String route = route(encodedPath);
+        return method + route.replace('/', '_');
+    }
+
+    /**
+     * The fixture recorded for this key on the test classpath, or null if there is none.
+     */
+    static String load(String key) throws IOException {
+        InputStream in = Fixtures.class.getResourceAsStream(RESOURCE_DIR + key + ".json");
+        if (in == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } finally {
+            in.close();
+        }
+    }
+
+    static File save(File dir, String key, String body) throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        File file = new File(dir, key + ".json");
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+}
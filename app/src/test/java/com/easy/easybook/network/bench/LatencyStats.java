@@ -0,0 +1,54 @@
+package com.easy.easybook.network.bench;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Exact latency percentiles and throughput for one load run. Unlike the app's
+ * {@link com.easy.easybook.network.metrics.Histogram} this keeps every sample,
+ * which is fine for a few thousand calls in a test.
+ */
+class LatencyStats {
+
+    private final String name;
+    private final long[] sortedNanos;
+    private final long wallNanos;
+    private final int failures;
+
+    LatencyStats(String name, long[] nanos, long wallNanos, int failures) {
+        this.name = name;
+        this.sortedNanos = nanos.clone();
+        Arrays.sort(this.sortedNanos);
+        this.wallNanos = wallNanos;
+        this.failures = failures;
+    }
+
+    int getCount() {
+        return sortedNanos.length;
+    }
+
+    int getFailures() {
+        return failures;
+    }
+
+    /** Nearest-rank percentile (0-100) in milliseconds. */
+    double percentileMs(double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+        return sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, rank - 1))] / 1e6;
+    }
+
+    double getThroughputPerSecond() {
+        return wallNanos == 0 ? 0 : sortedNanos.length / (wallNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "%-28s calls=%5d failures=%d  p50=%8.2f ms  p99=%8.2f ms  max=%8.2f ms  throughput=%8.1f/s",
+                name, getCount(), failures, percentileMs(50), percentileMs(99), percentileMs(100),
+                getThroughputPerSecond());
+    }
+}
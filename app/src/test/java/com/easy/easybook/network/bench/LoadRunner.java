@@ -0,0 +1,66 @@
+package com.easy.easybook.network.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a call a fixed number of times from a fixed number of threads and times each one.
+ * All threads start together so bursts really overlap.
+ */
+final class LoadRunner {
+
+    private LoadRunner() {
+    }
+
+    /**
+     * @param call returns normally on success; a thrown exception counts as a failure
+     */
+    static LatencyStats run(String name, int concurrency, int totalCalls, final Callable<?> call)
+            throws InterruptedException {
+        final long[] nanos = new long[totalCalls];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < concurrency; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    int index;
+                    while ((index = next.getAndIncrement()) < totalCalls) {
+                        long begin = System.nanoTime();
+                        try {
+                            call.call();
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        nanos[index] = System.nanoTime() - begin;
+                    }
+                    return null;
+                }));
+            }
+            long wallStart = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return new LatencyStats(name, nanos, System.nanoTime() - wallStart, failures.get());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.easy.easybook.network.bench;
+
+/**
+ * Builds response bodies shaped like the SmartServe backend's, at any size.
+ * Bodies are plain strings so the fake server can cache and replay them cheaply.
+ */
+final class PayloadFactory {
+
+    private static final String[] CATEGORIES = {"Plumbing", "Electrical", "Cleaning", "Gardening", "Painting"};
+    private static final String[] STATUSES = {"pending", "confirmed", "in_progress", "completed", "cancelled"};
+
+    private PayloadFactory() {
+    }
+
+    static String auth(String email, String role) {
+        return "{\"success\":true,\"message\":\"Login successful\",\"data\":{\"user\":{"
+                + "\"id\":\"u1\",\"firstName\":\"Alice\",\"lastName\":\"Johnson\",\"email\":\"" + email + "\","
+                + "\"phone\":\"0412345678\",\"role\":\"" + role + "\",\"isVerified\":true},"
+                + "\"token\":\"bench-token\"}}";
+    }
+
+    static String categories() {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"data\":{\"categories\":[");
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"cat").append(i).append("\",\"name\":\"").append(CATEGORIES[i])
+                    .append("\",\"description\":\"").append(CATEGORIES[i]).append(" services\",")
+                    .append("\"icon\":\"ic_").append(CATEGORIES[i].toLowerCase()).append("\",")
+                    .append("\"isActive\":true,\"sortOrder\":").append(i).append('}');
+        }
+        return json.append("]}}").toString();
+    }
+
+    /**
+     * One page of a booking list out of {@code total}. Pages are 1-based like the backend's.
+     */
+    static String bookingsPage(int total, int page, int limit) {
+        int from = Math.min(total, (page - 1) * limit);
+        int to = Math.min(total, from + limit);
+        StringBuilder json = new StringBuilder((to - from) * 900 + 256);
+        json.append("{\"success\":true,\"data\":{\"bookings\":[");
+        appendBookings(json, from, to);
+        json.append("],");
+        appendPagination(json, total, page, limit);
+        return json.append("}}").toString();
+    }
+
+    /**
+     * A delta sync page: bookings {@code from} to {@code to} plus the cursor for the next call.
+     */
+    static String bookingsSync(int total, int from, int limit) {
+        int to = Math.min(total, from + limit);
+        StringBuilder json = new StringBuilder((to - from) * 900 + 256);
+        json.append("{\"success\":true,\"data\":{\"bookings\":[");
+        appendBookings(json, from, to);
+        json.append("],\"sync\":{\"cursor\":\"").append(updatedAt(Math.max(from, to - 1)))
+                .append("|b").append(Math.max(from, to - 1)).append("\",")
+                .append("\"hasMore\":").append(to < total).append(',')
+                .append("\"fullResync\":").append(from == 0).append("}}}");
+        return json.toString();
+    }
+
+    static String servicesPage(int total, int page, int limit) {
+        int from = Math.min(total, (page - 1) * limit);
+        int to = Math.min(total, from + limit);
+        StringBuilder json = new StringBuilder((to - from) * 600 + 256);
+        json.append("{\"success\":true,\"data\":{\"services\":[");
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                json.append(',');
+            }
+            appendService(json, i);
+        }
+        json.append("],");
+        appendPagination(json, total, page, limit);
+        return json.append("}}").toString();
+    }
+
+    static String dashboard(int totalBookings, int recent) {
+        StringBuilder json = new StringBuilder(recent * 900 + 512);
+        json.append("{\"success\":true,\"data\":{\"statistics\":{")
+                .append("\"totalBookings\":").append(totalBookings).append(',')
+                .append("\"pendingBookings\":").append(totalBookings / 5).append(',')
+                .append("\"confirmedBookings\":").append(totalBookings / 5).append(',')
+                .append("\"completedBookings\":").append(totalBookings / 5).append(',')
+                .append("\"totalServices\":14,\"totalSpent\":0,\"totalEarnings\":")
+                .append(totalBookings * 120).append("},\"recentBookings\":[");
+        appendBookings(json, 0, Math.min(recent, totalBookings));
+        return json.append("]}}").toString();
+    }
+
+    static String booking(String id, String status) {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\"success\":true,\"data\":{\"booking\":");
+        appendBooking(json, 0, id, status);
+        return json.append("}}").toString();
+    }
+
+    private static void appendBookings(StringBuilder json, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                json.append(',');
+            }
+            appendBooking(json, i, "b" + i, STATUSES[i % STATUSES.length]);
+        }
+    }
+
+    private static void appendBooking(StringBuilder json, int i, String id, String status) {
+        String category = CATEGORIES[i % CATEGORIES.length];
+        json.append("{\"_id\":\"").append(id).append("\",")
+                .append("\"bookingId\":\"BK-1700000000000-").append(i).append("\",")
+                .append("\"service\":{\"_id\":\"s").append(i % 14).append("\",\"name\":\"").append(category)
+                .append(" service ").append(i % 14).append("\",\"description\":\"Professional service with warranty\",")
+                .append("\"category\":\"").append(category).append("\",\"price\":120,\"duration\":\"60\",\"images\":[]},")
+                .append("\"customer\":{\"_id\":\"c").append(i % 50).append("\",\"firstName\":\"Alice\",\"lastName\":\"Johnson\",")
+                .append("\"email\":\"alice@email.com\",\"phone\":\"0412345678\",\"profileImage\":null},")
+                .append("\"provider\":{\"_id\":\"p").append(i % 5).append("\",\"firstName\":\"John\",\"lastName\":\"Smith\",")
+                .append("\"email\":\"john@email.com\",\"phone\":\"0498765432\"},")
+                .append("\"bookingDate\":\"2024-0").append(1 + i % 9).append("-15T10:00:00.000Z\",")
+                .append("\"timeSlot\":\"09:00 AM - 10:00 AM\",")
+                .append("\"address\":{\"street\":\"").append(i).append(" George St\",\"city\":\"Sydney\",\"state\":\"NSW\",\"zipCode\":\"2000\"},")
+                .append("\"status\":\"").append(status).append("\",")
+                .append("\"totalAmount\":").append(100 + i % 400).append(',')
+                .append("\"payment\":{\"status\":\"pending\",\"amount\":").append(100 + i % 400).append("},")
+                .append("\"notes\":\"Please call before arrival\",")
+                .append("\"customerPhone\":\"0412345678\",\"customerEmail\":\"alice@email.com\",")
+                .append("\"createdAt\":\"2024-01-01T08:00:00.000Z\",\"updatedAt\":\"").append(updatedAt(i)).append("\",")
+                .append("\"__v\":").append(i % 3).append('}');
+    }
+
+    private static void appendService(StringBuilder json, int i) {
+        String category = CATEGORIES[i % CATEGORIES.length];
+        json.append("{\"_id\":\"s").append(i).append("\",\"name\":\"").append(category).append(" service ").append(i).append("\",")
+                .append("\"description\":\"Professional ").append(category.toLowerCase()).append(" with a 12 month warranty\",")
+                .append("\"category\":\"").append(category).append("\",\"price\":").append(60 + i % 200).append(',')
+                .append("\"duration\":\"60\",\"rating\":{\"average\":4.").append(i % 10).append(",\"count\":").append(i % 120).append("},")
+                .append("\"images\":[\"https://cdn.example.com/services/").append(i).append(".jpg\"],")
+                .append("\"provider\":{\"_id\":\"p").append(i % 5).append("\",\"firstName\":\"John\",\"lastName\":\"Smith\"},")
+                .append("\"isActive\":true,\"isFeatured\":").append(i % 7 == 0).append(',')
+                .append("\"tags\":[\"").append(category.toLowerCase()).append("\",\"home\"],")
+                .append("\"createdAt\":\"2024-01-01T08:00:00.000Z\",\"updatedAt\":\"2024-01-02T08:00:00.000Z\"}");
+    }
+
+    private static void appendPagination(StringBuilder json, int total, int page, int limit) {
+        int totalPages = Math.max(1, (total + limit - 1) / limit);
+        json.append("\"pagination\":{\"currentPage\":").append(page)
+                .append(",\"totalPages\":").append(totalPages)
+                .append(",\"totalItems\":").append(total)
+                .append(",\"itemsPerPage\":").append(limit)
+                .append(",\"hasNext\":").append(page < totalPages)
+                .append(",\"hasPrev\":").append(page > 1).append('}');
+    }
+
+    private static String updatedAt(int i) {
+        // One booking per minute, so cursors sort the same way the ids do
+        return String.format(java.util.Locale.US, "2024-02-%02dT%02d:%02d:00.000Z",
+                1 + (i / 1440) % 28, (i / 60) % 24, i % 60);
+    }
+}
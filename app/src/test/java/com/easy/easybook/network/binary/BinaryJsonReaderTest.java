@@ -0,0 +1,122 @@
+package com.easy.easybook.network.binary;
+
+import com.easy.easybook.network.GsonProvider;
+import com.easy.easybook.network.responses.BookingsResponse;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.internal.bind.TypeAdapters;
+import com.google.gson.stream.JsonToken;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okio.Buffer;
+import okio.ByteString;
+
+import static org.junit.Assert.*;
+
+public class BinaryJsonReaderTest {
+
+    private static final String BOOKINGS = "{\"success\":true,\"data\":{\"bookings\":["
+            + "{\"_id\":\"b1\",\"status\":\"pending\",\"totalAmount\":120,\"notes\":null,"
+            + "\"service\":{\"_id\":\"s1\",\"name\":\"Pipe repair\",\"category\":\"Plumbing\",\"price\":99.5},"
+            + "\"address\":{\"street\":\"1 George St\",\"city\":\"Sydney\"},"
+            + "\"bookingDate\":\"2024-01-15T10:00:00.000Z\",\"__v\":0},"
+            + "{\"_id\":\"b2\",\"status\":\"pending\",\"totalAmount\":80.25,\"unknown\":[1,{\"x\":[]}],"
+            + "\"service\":{\"_id\":\"s1\",\"name\":\"Pipe repair\",\"category\":\"Plumbing\",\"price\":99.5},"
+            + "\"address\":{\"street\":\"2 George St\",\"city\":\"Sydney\"},"
+            + "\"bookingDate\":\"2024-02-15T10:00:00.000Z\",\"__v\":3}"
+            + "],\"pagination\":{\"currentPage\":1,\"totalPages\":1,\"totalItems\":2,\"itemsPerPage\":20}}}";
+
+    @Test
+    public void roundTripsEveryValueKind() throws IOException {
+        String json = "{\"a\":null,\"b\":true,\"c\":false,\"d\":0,\"e\":-1,\"f\":9007199254740993,"
+                + "\"g\":-2.5,\"h\":\"\",\"i\":\"h\u00e9llo \u2713\",\"j\":[],\"k\":{},\"l\":[\"h\",\"h\u00e9llo \u2713\",\"h\"],"
+                + "\"m\":\"" + repeat('x', 200) + "\",\"n\":\"" + repeat('x', 200) + "\"}";
+        JsonElement original = JsonParser.parseString(json);
+
+        JsonElement decoded = TypeAdapters.JSON_ELEMENT.read(reader(BinaryJsonEncoder.encode(original)));
+
+        assertEquals(original, decoded);
+    }
+
+    @Test
+    public void decodesWithTheJsonTypeAdapters() throws IOException {
+        BookingsResponse fromJson = GsonProvider.get().fromJson(BOOKINGS, BookingsResponse.class);
+        BinaryJsonReader reader = reader(BinaryJsonEncoder.encode(JsonParser.parseString(BOOKINGS)));
+
+        BookingsResponse fromBinary = GsonProvider.get().getAdapter(BookingsResponse.class).read(reader);
+
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+        assertEquals(2, fromBinary.getBookings().size());
+        assertEquals(GsonProvider.get().toJson(fromJson), GsonProvider.get().toJson(fromBinary));
+    }
+
+    @Test
+    public void repeatedKeysAndValuesAreSentOnce() {
+        ByteString binary = BinaryJsonEncoder.encode(JsonParser.parseString(BOOKINGS));
+
+        assertTrue(binary.size() < BOOKINGS.length());
+        assertEquals(1, count(binary, ByteString.encodeUtf8("Pipe repair")));
+        assertEquals(1, count(binary, ByteString.encodeUtf8("totalAmount")));
+    }
+
+    @Test
+    public void skipsNestedValues() throws IOException {
+        BinaryJsonReader reader = reader(BinaryJsonEncoder.encode(
+                JsonParser.parseString("{\"skip\":{\"a\":[1,2,{\"b\":null}]},\"keep\":7}")));
+
+        reader.beginObject();
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertEquals("keep", reader.nextName());
+        assertEquals(7, reader.nextInt());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void numbersReadAsStringsAndWholeDoublesAsInts() throws IOException {
+        BinaryJsonReader reader = reader(BinaryJsonEncoder.encode(JsonParser.parseString("[60,2.0,\"3\"]")));
+
+        reader.beginArray();
+        assertEquals("60", reader.nextString());
+        assertEquals(2, reader.nextInt());
+        assertEquals(3L, reader.nextLong());
+        reader.endArray();
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsJsonBodies() throws IOException {
+        reader(ByteString.encodeUtf8("{\"success\":true}")).peek();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void typeMismatchFailsLikeJsonReader() throws IOException {
+        BinaryJsonReader reader = reader(BinaryJsonEncoder.encode(JsonParser.parseString("[true]")));
+        reader.beginArray();
+        reader.nextString();
+    }
+
+    private static BinaryJsonReader reader(ByteString bytes) {
+        return new BinaryJsonReader(new Buffer().write(bytes));
+    }
+
+    private static int count(ByteString haystack, ByteString needle) {
+        int count = 0;
+        for (int i = haystack.indexOf(needle); i >= 0; i = haystack.indexOf(needle, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String repeat(char c, int times) {
+        StringBuilder builder = new StringBuilder(times);
+        for (int i = 0; i < times; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.easy.easybook.network.budget;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+public class DataModeTest {
+
+    @Test
+    public void select_followsDataSaverMeteringAndThroughput() {
+        assertEquals(DataMode.FULL, DataMode.select(false, false, 0, -1));
+        assertEquals(DataMode.FULL, DataMode.select(false, false, 20_000, 5_000));
+        assertEquals(DataMode.BALANCED, DataMode.select(true, false, 20_000, -1));
+        assertEquals(DataMode.BALANCED, DataMode.select(false, false, 20_000, 800));
+        assertEquals(DataMode.SAVER, DataMode.select(false, false, 20_000, 100));
+        assertEquals(DataMode.SAVER, DataMode.select(false, false, 100, -1));
+        assertEquals(DataMode.SAVER, DataMode.select(false, true, 20_000, 5_000));
+    }
+
+    @Test
+    public void measuredThroughputOverridesTheReportedLink() {
+        // The radio claims 100 Mbps but responses crawl in
+        assertEquals(DataMode.SAVER, DataMode.select(false, false, 100_000, 90));
+        // The radio estimate is pessimistic, responses are fast
+        assertEquals(DataMode.FULL, DataMode.select(false, false, 100, 10_000));
+    }
+
+    @Test
+    public void modesScaleTheKnobs() {
+        assertEquals(20, DataMode.FULL.scalePageSize(20));
+        assertEquals(10, DataMode.BALANCED.scalePageSize(20));
+        assertEquals(5, DataMode.SAVER.scalePageSize(20));
+        assertEquals(3, DataMode.SAVER.scalePageSize(3));
+
+        assertEquals(10, DataMode.FULL.scalePrefetchDistance(10));
+        assertEquals(0, DataMode.SAVER.scalePrefetchDistance(10));
+        assertFalse(DataMode.SAVER.allowsPrefetch());
+        assertTrue(DataMode.BALANCED.allowsPrefetch());
+
+        assertEquals(270, DataMode.SAVER.scaleImageWidth(1080));
+        assertEquals(64, DataMode.SAVER.scaleImageWidth(100));
+
+        assertEquals(0, DataMode.FULL.getMinSyncIntervalMs());
+        assertTrue(DataMode.SAVER.getMinSyncIntervalMs() > DataMode.BALANCED.getMinSyncIntervalMs());
+    }
+
+    @Test
+    public void estimator_ignoresSmallBodiesAndSmooths() {
+        ThroughputEstimator estimator = new ThroughputEstimator();
+        estimator.record(1_000, TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(-1, estimator.getKbps());
+
+        // 100 KB in 1 s = 800 kbps, then 100 KB in 0.5 s = 1600 kbps
+        estimator.record(100_000, TimeUnit.SECONDS.toNanos(1));
+        assertEquals(-1, estimator.getKbps());
+        estimator.record(100_000, TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(1040, estimator.getKbps());
+
+        estimator.reset();
+        assertEquals(-1, estimator.getKbps());
+    }
+
+    @Test
+    public void estimator_expiresSoTheLinkEstimateTakesOver() {
+        final long[] now = {0};
+        ThroughputEstimator estimator = new ThroughputEstimator() {
+            @Override
+            long now() {
+                return now[0];
+            }
+        };
+        // 100 KB in 8 s = 100 kbps: poor enough for SAVER
+        estimator.record(100_000, TimeUnit.SECONDS.toNanos(8));
+        estimator.record(100_000, TimeUnit.SECONDS.toNanos(8));
+        assertEquals(100, estimator.getKbps());
+        assertEquals(DataMode.SAVER, DataMode.select(false, false, 20_000, estimator.getKbps()));
+
+        // SAVER's small pages bring no new samples; the old reading must not pin the mode
+        now[0] += ThroughputEstimator.MAX_SAMPLE_AGE_MS + 1;
+        assertEquals(-1, estimator.getKbps());
+        assertEquals(DataMode.FULL, DataMode.select(false, false, 20_000, estimator.getKbps()));
+
+        // A fresh sample after expiry starts a new average instead of smoothing against the old one
+        estimator.record(100_000, TimeUnit.MILLISECONDS.toNanos(100));
+        estimator.record(100_000, TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(8_000, estimator.getKbps());
+    }
+
+    @Test
+    public void sampler_measuresThrottledResponses() throws Exception {
+        ThroughputEstimator estimator = new ThroughputEstimator();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addNetworkInterceptor(new ThroughputSampler(estimator))
+                .build();
+        MockWebServer server = new MockWebServer();
+        try {
+            for (int i = 0; i < 2; i++) {
+                // 32 KB at 100 KB/s: about 800 kbps
+                server.enqueue(new MockResponse()
+                        .setBody(new Buffer().write(new byte[32 * 1024]))
+                        .throttleBody(1000, 10, TimeUnit.MILLISECONDS));
+            }
+            server.start();
+            for (int i = 0; i < 2; i++) {
+                try (Response response = client.newCall(new Request.Builder().url(server.url("/")).build()).execute()) {
+                    assertEquals(32 * 1024, response.body().bytes().length);
+                }
+            }
+        } finally {
+            server.shutdown();
+        }
+
+        long kbps = estimator.getKbps();
+        assertTrue("measured " + kbps, kbps > 500 && kbps < 1000);
+        assertEquals(DataMode.BALANCED, DataMode.select(false, false, 0, kbps));
+    }
+}
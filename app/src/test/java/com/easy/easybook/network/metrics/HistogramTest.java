@@ -0,0 +1,75 @@
+package com.easy.easybook.network.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HistogramTest {
+
+    private static final long[] BOUNDS = {10, 100, 1_000};
+
+    @Test
+    public void emptyHistogramReportsZeros() {
+        Histogram histogram = new Histogram(BOUNDS);
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void percentilesAreTheUpperBoundOfTheirBucket() {
+        Histogram histogram = new Histogram(BOUNDS);
+        // 90 fast values, 9 medium, 1 slow
+        for (int i = 0; i < 90; i++) {
+            histogram.record(5);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(50);
+        }
+        histogram.record(700);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(10, histogram.percentile(50));
+        assertEquals(10, histogram.percentile(90));
+        assertEquals(100, histogram.percentile(99));
+        // The top bucket's bound is capped at what was actually seen
+        assertEquals(700, histogram.percentile(100));
+    }
+
+    @Test
+    public void valuesAboveTheLastBoundLandInTheOverflowBucket() {
+        Histogram histogram = new Histogram(BOUNDS);
+        histogram.record(1);
+        histogram.record(50_000);
+
+        assertEquals(50_000, histogram.percentile(99));
+        assertEquals(50_000, histogram.getMax());
+        assertEquals(25_000.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void jsonListsOnlyNonEmptyBuckets() {
+        Histogram histogram = new Histogram(BOUNDS);
+        histogram.record(5);
+        histogram.record(5);
+        histogram.record(5_000);
+
+        JsonObject json = histogram.toJson();
+
+        assertEquals(3, json.get("count").getAsLong());
+        assertEquals(5, json.get("min").getAsLong());
+        assertEquals(5_000, json.get("max").getAsLong());
+        assertEquals(10, json.get("p50").getAsLong());
+        assertEquals(5_000, json.get("p99").getAsLong());
+        JsonArray buckets = json.getAsJsonArray("buckets");
+        assertEquals(2, buckets.size());
+        assertEquals("10", buckets.get(0).getAsJsonObject().get("le").getAsString());
+        assertEquals(2, buckets.get(0).getAsJsonObject().get("count").getAsLong());
+        assertEquals("inf", buckets.get(1).getAsJsonObject().get("le").getAsString());
+    }
+}
@@ -0,0 +1,120 @@
+package com.easy.easybook.network.metrics;
+
+import com.google.gson.JsonObject;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.*;
+
+public class NetworkMetricsTest {
+
+    // Stands in for Gson: returns the body as a string, or fails on "bad"
+    private static final Converter.Factory STRING_FACTORY = new Converter.Factory() {
+        @Override
+        public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                                Retrofit retrofit) {
+            return value -> {
+                try {
+                    String body = value.string();
+                    if ("bad".equals(body)) {
+                        throw new IOException("malformed");
+                    }
+                    return body;
+                } finally {
+                    value.close();
+                }
+            };
+        }
+    };
+
+    private final NetworkMetrics metrics = new NetworkMetrics();
+
+    @After
+    public void tearDown() {
+        NetworkMetrics.clearCurrentEndpoint();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Converter<ResponseBody, Object> converter() {
+        return (Converter<ResponseBody, Object>) new TimedConverterFactory(STRING_FACTORY, metrics)
+                .responseBodyConverter(String.class, new Annotation[0], null);
+    }
+
+    private static ResponseBody body(String content) {
+        return ResponseBody.create(content, MediaType.get("application/json"));
+    }
+
+    @Test
+    public void decodeIsRecordedAgainstTheCurrentEndpointWhichIsThenCleared() throws IOException {
+        NetworkMetrics.setCurrentEndpoint("getMyBookings");
+
+        assertEquals("[]", converter().convert(body("[]")));
+
+        assertEquals(1, metrics.forEndpoint("getMyBookings").phase(NetworkMetrics.PHASE_DECODE).getCount());
+        assertNull(NetworkMetrics.currentEndpoint());
+    }
+
+    @Test
+    public void aLaterDecodeOnTheSameThreadIsNotPinnedToAStaleEndpoint() throws IOException {
+        NetworkMetrics.setCurrentEndpoint("getMyBookings");
+        converter().convert(body("[]"));
+
+        converter().convert(body("[]"));
+
+        assertEquals(1, metrics.forEndpoint("getMyBookings").phase(NetworkMetrics.PHASE_DECODE).getCount());
+        assertEquals(1, metrics.forEndpoint("String").phase(NetworkMetrics.PHASE_DECODE).getCount());
+    }
+
+    @Test
+    public void decodeFailuresAreCounted() {
+        NetworkMetrics.setCurrentEndpoint("getAllServices");
+
+        try {
+            converter().convert(body("bad"));
+            fail("Expected the decode to fail");
+        } catch (IOException expected) {
+            // recorded below
+        }
+
+        NetworkMetrics.EndpointMetrics endpoint = metrics.forEndpoint("getAllServices");
+        assertEquals(1, endpoint.getCounter(NetworkMetrics.COUNT_DECODE_ERRORS));
+        assertEquals(1, endpoint.phase(NetworkMetrics.PHASE_DECODE).getCount());
+        assertNull(NetworkMetrics.currentEndpoint());
+    }
+
+    @Test
+    public void jsonSnapshotHasCountersAndPhasesPerEndpoint() {
+        NetworkMetrics.EndpointMetrics bookings = metrics.forEndpoint("getMyBookings");
+        bookings.increment(NetworkMetrics.COUNT_CALLS);
+        bookings.increment(NetworkMetrics.COUNT_CALLS);
+        bookings.increment(NetworkMetrics.COUNT_FAILURES);
+        bookings.phase(NetworkMetrics.PHASE_TTFB).record(40_000);
+        bookings.getResponseBytes().record(2_000);
+        metrics.forEndpoint("getAllServices").increment(NetworkMetrics.COUNT_CALLS);
+
+        JsonObject json = metrics.toJson();
+
+        assertTrue(json.has("startedAt"));
+        assertTrue(json.get("capturedAt").getAsLong() >= json.get("startedAt").getAsLong());
+        JsonObject endpoints = json.getAsJsonObject("endpoints");
+        assertEquals(2, endpoints.size());
+        JsonObject bookingsJson = endpoints.getAsJsonObject("getMyBookings");
+        assertEquals(2, bookingsJson.get(NetworkMetrics.COUNT_CALLS).getAsLong());
+        assertEquals(1, bookingsJson.get(NetworkMetrics.COUNT_FAILURES).getAsLong());
+        // 50 ms bucket, capped at the 40 ms actually seen
+        assertEquals(40_000, bookingsJson.getAsJsonObject("phasesUs")
+                .getAsJsonObject(NetworkMetrics.PHASE_TTFB).get("p50").getAsLong());
+        assertEquals(1, bookingsJson.getAsJsonObject("responseBytes").get("count").getAsLong());
+        assertEquals(1, endpoints.getAsJsonObject("getAllServices").get(NetworkMetrics.COUNT_CALLS).getAsLong());
+    }
+}
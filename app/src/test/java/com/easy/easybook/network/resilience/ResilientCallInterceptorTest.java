@@ -0,0 +1,344 @@
+package com.easy.easybook.network.resilience;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives ResilientCallInterceptor against a scripted MockWebServer.
+ * Sleeps and the breaker clock are faked so the suite runs in milliseconds.
+ */
+public class ResilientCallInterceptorTest {
+
+    private MockWebServer server;
+    private final List<Long> sleeps = new ArrayList<>();
+    private final long[] now = {0};
+
+    private final ResilientCallInterceptor.Sleeper recordingSleeper = new ResilientCallInterceptor.Sleeper() {
+        @Override
+        public void sleep(long millis) {
+            sleeps.add(millis);
+        }
+    };
+
+    private final CircuitBreaker.Clock fakeClock = new CircuitBreaker.Clock() {
+        @Override
+        public long nowMs() {
+            return now[0];
+        }
+    };
+
+    interface TestService {
+        @GET("services")
+        Call<ResponseBody> getAllServices();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private ResilientCallInterceptor interceptor(RetryPolicy policy, CircuitBreaker breaker) {
+        return new ResilientCallInterceptor(policy, breaker, recordingSleeper, new Random(42));
+    }
+
+    private OkHttpClient client(ResilientCallInterceptor interceptor) {
+        return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).build();
+    }
+
+    @Test
+    public void get_retriesServerErrorsThenSucceeds() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        ResilientCallInterceptor interceptor = interceptor(new RetryPolicy(3, 100, 1000),
+                new CircuitBreaker(10, 30_000, fakeClock));
+        try (Response response = client(interceptor).newCall(get("/services")).execute()) {
+            assertEquals(200, response.code());
+            assertEquals("ok", response.body().string());
+        }
+
+        assertEquals(3, server.getRequestCount());
+        ResilienceMetrics.EndpointStats stats = interceptor.getMetrics().getStats("GET /services");
+        assertEquals(1, stats.getCalls());
+        assertEquals(3, stats.getAttempts());
+        assertEquals(2, stats.getRetries());
+        assertEquals(1, stats.getSuccesses());
+        assertEquals(0, stats.getFailures());
+
+        // Full jitter: each wait is within [0, base * 2^(retry-1)]
+        assertEquals(2, sleeps.size());
+        assertTrue(sleeps.get(0) <= 100);
+        assertTrue(sleeps.get(1) <= 200);
+    }
+
+    @Test
+    public void get_retriesDroppedConnection() throws IOException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        ResilientCallInterceptor interceptor = interceptor(new RetryPolicy(3, 100, 1000),
+                new CircuitBreaker(10, 30_000, fakeClock));
+        try (Response response = client(interceptor).newCall(get("/bookings")).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(1, interceptor.getMetrics().getStats("GET /bookings").getRetries());
+    }
+
+    @Test
+    public void get_givesUpAfterMaxAttempts() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        ResilientCallInterceptor interceptor = interceptor(new RetryPolicy(3, 100, 1000),
+                new CircuitBreaker(10, 30_000, fakeClock));
+        try (Response response = client(interceptor).newCall(get("/services")).execute()) {
+            assertEquals(500, response.code());
+        }
+        assertEquals(3, server.getRequestCount());
+        assertEquals(1, interceptor.getMetrics().getStats("GET /services").getFailures());
+    }
+
+    @Test
+    public void post_isNeverRetried() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("should not be reached"));
+
+        ResilientCallInterceptor interceptor = interceptor(new RetryPolicy(5, 100, 1000),
+                new CircuitBreaker(10, 30_000, fakeClock));
+        Request post = new Request.Builder()
+                .url(server.url("/bookings"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+        try (Response response = client(interceptor).newCall(post).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    public void clientErrors_areReturnedWithoutRetry() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        ResilientCallInterceptor interceptor = interceptor(new RetryPolicy(3, 100, 1000),
+                new CircuitBreaker(1, 30_000, fakeClock));
+        try (Response response = client(interceptor).newCall(get("/services/missing")).execute()) {
+            assertEquals(404, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+        // A 4xx proves the backend is reachable, so it never trips the breaker
+        assertEquals(CircuitBreaker.State.CLOSED, interceptor.getMetrics().getBreakerState());
+    }
+
+    @Test
+    public void retryAfter_isHonouredButCappedByPolicy() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "120"));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        ResilientCallInterceptor interceptor = interceptor(new RetryPolicy(2, 100, 1500),
+                new CircuitBreaker(10, 30_000, fakeClock));
+        try (Response response = client(interceptor).newCall(get("/services")).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(1, sleeps.size());
+        assertEquals(1500L, (long) sleeps.get(0));
+    }
+
+    @Test
+    public void breaker_opensAndFailsFastThenRecoversThroughHalfOpen() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        CircuitBreaker breaker = new CircuitBreaker(3, 10_000, fakeClock);
+        ResilientCallInterceptor interceptor = interceptor(RetryPolicy.none(), breaker);
+        OkHttpClient client = client(interceptor);
+
+        for (int i = 0; i < 3; i++) {
+            client.newCall(get("/services")).execute().close();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, interceptor.getMetrics().getBreakerOpenCount());
+
+        // While open nothing reaches the server
+        try {
+            client.newCall(get("/services")).execute();
+            fail("Expected the open circuit to fail fast");
+        } catch (CircuitOpenException expected) {
+            assertEquals(10_000, expected.getRetryAfterMs());
+        }
+        assertEquals(3, server.getRequestCount());
+        assertEquals(1, interceptor.getMetrics().getStats("GET /services").getShortCircuited());
+
+        // After the cool-down one trial request is allowed and closes the circuit
+        now[0] += 10_000;
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        server.enqueue(new MockResponse().setBody("ok"));
+        try (Response response = client.newCall(get("/services")).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void breaker_failedTrialReopensCircuit() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        CircuitBreaker breaker = new CircuitBreaker(1, 5_000, fakeClock);
+        OkHttpClient client = client(interceptor(RetryPolicy.none(), breaker));
+
+        client.newCall(get("/services")).execute().close();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now[0] += 5_000;
+        client.newCall(get("/services")).execute().close();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getTimesOpened());
+    }
+
+    @Test
+    public void breaker_halfOpenLetsOnlyOneTrialThrough() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1_000, fakeClock);
+        breaker.recordFailure();
+        assertFalse(breaker.allowRequest());
+
+        now[0] += 1_000;
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void breaker_ignoresCallsWeCancelled() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 30_000, fakeClock);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(interceptor(new RetryPolicy(3, 100, 1000), breaker))
+                .addInterceptor(chain -> {
+                    // As if the screen went away while the request was in flight
+                    chain.call().cancel();
+                    throw new IOException("Canceled");
+                })
+                .build();
+
+        try {
+            client.newCall(get("/services")).execute();
+            fail("Expected the cancelled call to fail");
+        } catch (IOException expected) {
+            // the caller still sees its own cancellation
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveFailures());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    public void breaker_trialThatThrowsDoesNotWedgeHalfOpen() throws IOException {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1_000, fakeClock);
+        breaker.recordFailure();
+        now[0] += 1_000;
+        OkHttpClient throwing = new OkHttpClient.Builder()
+                .addInterceptor(interceptor(RetryPolicy.none(), breaker))
+                .addInterceptor(chain -> {
+                    throw new IllegalStateException("bug in a later interceptor");
+                })
+                .build();
+
+        try {
+            throwing.newCall(get("/services")).execute();
+            fail("Expected the trial to throw");
+        } catch (IllegalStateException expected) {
+            // the trial ended without a verdict
+        }
+
+        server.enqueue(new MockResponse().setBody("ok"));
+        try (Response response = client(interceptor(RetryPolicy.none(), breaker))
+                .newCall(get("/services")).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void retrofitCalls_areKeyedByServiceMethod() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        ResilientCallInterceptor interceptor = interceptor(new RetryPolicy(3, 100, 1000),
+                new CircuitBreaker(10, 30_000, fakeClock));
+        TestService service = new Retrofit.Builder()
+                .baseUrl(server.url("/api/"))
+                .client(client(interceptor))
+                .build()
+                .create(TestService.class);
+
+        assertTrue(service.getAllServices().execute().isSuccessful());
+        ResilienceMetrics.EndpointStats stats = interceptor.getMetrics().getStats("getAllServices");
+        assertEquals(2, stats.getAttempts());
+        assertEquals(1, stats.getRetries());
+    }
+
+    @Test
+    public void endpointPolicy_overridesDefault() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        ResilientCallInterceptor interceptor = interceptor(new RetryPolicy(5, 100, 1000),
+                new CircuitBreaker(10, 30_000, fakeClock))
+                .setPolicy("GET /services/search", new RetryPolicy(2, 50, 100));
+        try (Response response = client(interceptor).newCall(get("/services/search")).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void backoff_growsExponentiallyAndRespectsCap() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 800);
+        Random random = new Random(7);
+        long[] ceilings = {100, 200, 400, 800, 800, 800};
+        for (int retry = 1; retry <= ceilings.length; retry++) {
+            for (int sample = 0; sample < 200; sample++) {
+                long delay = policy.delayForRetry(retry, random);
+                assertTrue(delay >= 0);
+                assertTrue("retry " + retry + " waited " + delay, delay <= ceilings[retry - 1]);
+            }
+        }
+    }
+}
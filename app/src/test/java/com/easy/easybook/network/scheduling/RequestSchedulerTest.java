@@ -0,0 +1,215 @@
+package com.easy.easybook.network.scheduling;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class RequestSchedulerTest {
+
+    private static final int BACKGROUND_CALLS = 12;
+    private static final long BACKGROUND_SERVICE_MS = 150;
+    private static final int FOREGROUND_CALLS = 20;
+    private static final long FOREGROUND_SERVICE_MS = 10;
+    // The backend (or the radio) can only work on this many requests at once
+    private static final int SERVER_CAPACITY = 4;
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        final Semaphore capacity = new Semaphore(SERVER_CAPACITY, true);
+        server = new MockWebServer();
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                capacity.acquire();
+                try {
+                    boolean background = request.getPath().startsWith("/sync");
+                    Thread.sleep(background ? BACKGROUND_SERVICE_MS : FOREGROUND_SERVICE_MS);
+                    return new MockResponse().setBody("{\"success\":true}");
+                } finally {
+                    capacity.release();
+                }
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void foregroundTailLatency_staysBoundedUnderBackgroundLoad() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(128);
+        dispatcher.setMaxRequestsPerHost(128);
+        OkHttpClient scheduled = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .addInterceptor(scheduler)
+                .build();
+
+        List<Long> withScheduler = runMixedLoad(scheduled);
+        List<Long> baseline = runMixedLoad(new OkHttpClient());
+
+        long scheduledP99 = percentile(withScheduler, 99);
+        long baselineP99 = percentile(baseline, 99);
+        System.out.printf("foreground under background load: p50 %d ms / p99 %d ms scheduled, "
+                        + "p50 %d ms / p99 %d ms unscheduled%n",
+                percentile(withScheduler, 50), scheduledP99, percentile(baseline, 50), baselineP99);
+
+        // A foreground call never waits out even one background request
+        assertTrue("p99 " + scheduledP99 + " ms", scheduledP99 < BACKGROUND_SERVICE_MS);
+        assertTrue(baselineP99 > scheduledP99);
+        // Deferred, not dropped
+        assertEquals(BACKGROUND_CALLS, scheduler.getAdmitted(RequestPriority.BACKGROUND));
+        assertEquals(0, scheduler.getInFlight(RequestPriority.BACKGROUND));
+    }
+
+    @Test
+    public void deferrableLanes_waitWhileUserBlockingCallsRun() throws Exception {
+        final RequestScheduler scheduler = new RequestScheduler();
+        scheduler.acquire(RequestPriority.USER_BLOCKING);
+
+        final AtomicBoolean admitted = new AtomicBoolean();
+        Thread background = new Thread(() -> {
+            try {
+                scheduler.acquire(RequestPriority.BACKGROUND);
+                admitted.set(true);
+            } catch (IOException e) {
+                fail(e.toString());
+            }
+        });
+        background.start();
+        background.join(100);
+        assertFalse(admitted.get());
+        assertEquals(1, scheduler.getWaiting(RequestPriority.BACKGROUND));
+
+        // Visible content is not deferred
+        scheduler.acquire(RequestPriority.VISIBLE);
+        assertEquals(1, scheduler.getInFlight(RequestPriority.VISIBLE));
+
+        scheduler.release(RequestPriority.USER_BLOCKING);
+        background.join(1000);
+        assertTrue(admitted.get());
+    }
+
+    @Test
+    public void laneLimit_capsConcurrencyPerLane() throws Exception {
+        final RequestScheduler scheduler = new RequestScheduler();
+        scheduler.setLimit(RequestPriority.PREFETCH, 2);
+        scheduler.acquire(RequestPriority.PREFETCH);
+        scheduler.acquire(RequestPriority.PREFETCH);
+
+        final CountDownLatch third = new CountDownLatch(1);
+        Thread prefetch = new Thread(() -> {
+            try {
+                scheduler.acquire(RequestPriority.PREFETCH);
+                third.countDown();
+            } catch (IOException e) {
+                fail(e.toString());
+            }
+        });
+        prefetch.start();
+        assertFalse(third.await(100, TimeUnit.MILLISECONDS));
+
+        scheduler.release(RequestPriority.PREFETCH);
+        assertTrue(third.await(1, TimeUnit.SECONDS));
+        assertEquals(2, scheduler.getInFlight(RequestPriority.PREFETCH));
+    }
+
+    @Test
+    public void priorityOf_prefersTagThenThreadThenMethod() {
+        Request get = new Request.Builder().url(server.url("/services")).build();
+        Request post = new Request.Builder().url(server.url("/bookings"))
+                .post(okhttp3.RequestBody.create(new byte[0], null)).build();
+        assertEquals(RequestPriority.VISIBLE, RequestScheduler.priorityOf(get));
+        assertEquals(RequestPriority.USER_BLOCKING, RequestScheduler.priorityOf(post));
+
+        RequestScheduler.setThreadPriority(RequestPriority.BACKGROUND);
+        try {
+            assertEquals(RequestPriority.BACKGROUND, RequestScheduler.priorityOf(post));
+            Request tagged = post.newBuilder().tag(RequestPriority.class, RequestPriority.USER_BLOCKING).build();
+            assertEquals(RequestPriority.USER_BLOCKING, RequestScheduler.priorityOf(tagged));
+        } finally {
+            RequestScheduler.setThreadPriority(null);
+        }
+    }
+
+    /**
+     * Floods the client with background sync calls, then fires user taps one at a time
+     * while the flood is still running. Returns each tap's latency in milliseconds.
+     */
+    private List<Long> runMixedLoad(OkHttpClient client) throws InterruptedException {
+        final CountDownLatch backgroundDone = new CountDownLatch(BACKGROUND_CALLS);
+        for (int i = 0; i < BACKGROUND_CALLS; i++) {
+            Request request = new Request.Builder().url(server.url("/sync?page=" + i))
+                    .tag(RequestPriority.class, RequestPriority.BACKGROUND).build();
+            client.newCall(request).enqueue(countDown(backgroundDone, null));
+        }
+        Thread.sleep(20);
+
+        final List<Long> latencies = Collections.synchronizedList(new ArrayList<Long>());
+        for (int i = 0; i < FOREGROUND_CALLS; i++) {
+            CountDownLatch done = new CountDownLatch(1);
+            Request request = new Request.Builder().url(server.url("/bookings/" + i))
+                    .post(okhttp3.RequestBody.create(new byte[0], null)).build();
+            final long start = System.nanoTime();
+            client.newCall(request).enqueue(countDown(done, () ->
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))));
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            Thread.sleep(15);
+        }
+        assertTrue("background calls never finished", backgroundDone.await(30, TimeUnit.SECONDS));
+        return latencies;
+    }
+
+    private static Callback countDown(final CountDownLatch latch, final Runnable onSuccess) {
+        return new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                response.body().string();
+                response.close();
+                if (onSuccess != null) {
+                    onSuccess.run();
+                }
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                latch.countDown();
+            }
+        };
+    }
+
+    private static long percentile(List<Long> values, int percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+}
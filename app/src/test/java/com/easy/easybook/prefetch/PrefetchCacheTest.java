@@ -0,0 +1,102 @@
+package com.easy.easybook.prefetch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PrefetchCacheTest {
+
+    private long now;
+    private PrefetchCache cache;
+
+    @Before
+    public void setUp() {
+        now = 1_000;
+        cache = new PrefetchCache(1_000, 60_000) {
+            @Override
+            long now() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        cache.put("service:1", "plumbing", 100, cache.generation());
+
+        assertEquals("plumbing", cache.get("service:1"));
+        assertNull(cache.get("service:2"));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedToStayInBudget() {
+        long generation = cache.generation();
+        cache.put("a", "a", 400, generation);
+        cache.put("b", "b", 400, generation);
+        cache.get("a");
+
+        cache.put("c", "c", 400, generation);
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(800, cache.getUsedBytes());
+        // b was never read
+        assertEquals(1, cache.getWasted());
+    }
+
+    @Test
+    public void rejectsValuesLargerThanTheBudget() {
+        assertFalse(cache.put("huge", "huge", 1_001, cache.generation()));
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    public void expiredEntriesAreMissesAndCountAsWasted() {
+        cache.put("bookings:u1", "list", 100, cache.generation());
+
+        now += 60_001;
+
+        assertNull(cache.get("bookings:u1"));
+        assertEquals(1, cache.getWasted());
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    public void invalidateDropsMatchingKeysOnly() {
+        long generation = cache.generation();
+        cache.put("bookings:u1", "list", 100, generation);
+        cache.put("service:1", "plumbing", 100, generation);
+
+        cache.invalidate("bookings:");
+
+        assertFalse(cache.contains("bookings:u1"));
+        assertTrue(cache.contains("service:1"));
+    }
+
+    @Test
+    public void loadStartedBeforeAnInvalidateIsDiscarded() {
+        long generation = cache.generation();
+
+        cache.invalidate("bookings:");
+
+        assertFalse(cache.put("bookings:u1", "stale", 100, generation));
+        assertFalse(cache.contains("bookings:u1"));
+        assertTrue(cache.put("bookings:u1", "fresh", 100, cache.generation()));
+    }
+
+    @Test
+    public void replacingAnEntryKeepsTheByteCountRight() {
+        long generation = cache.generation();
+        cache.put("a", "old", 300, generation);
+        cache.put("a", "new", 200, generation);
+
+        assertEquals(200, cache.getUsedBytes());
+        assertEquals("new", cache.get("a"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.easy.easybook.prefetch;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class TransitionStatsTest {
+
+    private static class MemoryStore implements TransitionStats.Store {
+        String json;
+
+        @Override
+        public String load() {
+            return json;
+        }
+
+        @Override
+        public void save(String json) {
+            this.json = json;
+        }
+    }
+
+    @Test
+    public void priorPredictsUntilTheUserHasHistory() {
+        TransitionStats stats = new TransitionStats(new MemoryStore());
+        stats.seed("home", "search", 3);
+        stats.seed("home", "detail", 1);
+
+        assertEquals(0.75, stats.probability("home", "search"), 1e-9);
+        assertEquals(Arrays.asList("search", "detail"), stats.likelyNext("home", 0.25));
+        assertEquals(Collections.singletonList("search"), stats.likelyNext("home", 0.5));
+    }
+
+    @Test
+    public void recordedTransitionsOutweighThePrior() {
+        TransitionStats stats = new TransitionStats(new MemoryStore());
+        stats.seed("home", "search", 3);
+        for (int i = 0; i < 9; i++) {
+            stats.record("home", "myBookings");
+        }
+
+        assertEquals(0.75, stats.probability("home", "myBookings"), 1e-9);
+        assertEquals("myBookings", stats.likelyNext("home", 0.25).get(0));
+    }
+
+    @Test
+    public void countsSurviveARestartAndThePriorNoLongerApplies() {
+        MemoryStore store = new MemoryStore();
+        TransitionStats stats = new TransitionStats(store);
+        stats.record("search", "detail");
+        stats.record("search", "home");
+
+        TransitionStats restarted = new TransitionStats(store);
+        restarted.seed("search", "book", 10);
+
+        assertEquals(0.5, restarted.probability("search", "detail"), 1e-9);
+        assertEquals(0, restarted.probability("search", "book"), 0.0);
+    }
+
+    @Test
+    public void oldCountsAreHalvedSoNewHabitsTakeOver() {
+        TransitionStats stats = new TransitionStats(new MemoryStore());
+        for (int i = 0; i < TransitionStats.MAX_COUNT_PER_SCREEN; i++) {
+            stats.record("detail", "search");
+        }
+        stats.record("detail", "book");
+
+        // 64 + 1 went over the cap: 32 search, book's single count halved away
+        assertEquals(1.0, stats.probability("detail", "search"), 1e-9);
+        for (int i = 0; i < 40; i++) {
+            stats.record("detail", "book");
+        }
+        assertEquals("book", stats.likelyNext("detail", 0.25).get(0));
+    }
+
+    @Test
+    public void ignoresRepeatsAndUnknownOrigins() {
+        TransitionStats stats = new TransitionStats(new MemoryStore());
+        stats.record(null, "home");
+        stats.record("home", "home");
+
+        assertEquals(0, stats.probability("home", "home"), 0.0);
+        assertTrue(stats.likelyNext("home", 0).isEmpty());
+    }
+
+    @Test
+    public void corruptSavedCountsStartOver() {
+        MemoryStore store = new MemoryStore();
+        store.json = "{\"home\":";
+
+        TransitionStats stats = new TransitionStats(store);
+        stats.seed("home", "search", 1);
+
+        assertEquals(1.0, stats.probability("home", "search"), 1e-9);
+    }
+}
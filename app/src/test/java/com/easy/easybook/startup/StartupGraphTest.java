@@ -0,0 +1,169 @@
+package com.easy.easybook.startup;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class StartupGraphTest {
+
+    private ExecutorService pool;
+    private List<String> order;
+
+    @Before
+    public void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        order = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void dependentsRunAfterTheirDependencies() {
+        StartupGraph graph = new StartupGraph.Builder()
+                .add("prefs", () -> order.add("prefs"))
+                .add("data", () -> order.add("data"), "prefs")
+                .add("catalog", () -> order.add("catalog"), "data")
+                .build();
+
+        graph.start(pool);
+
+        assertTrue(graph.await("catalog", 2000));
+        assertEquals(3, order.size());
+        assertEquals("prefs", order.get(0));
+        assertEquals("data", order.get(1));
+        assertEquals("catalog", order.get(2));
+    }
+
+    @Test
+    public void independentTasksRunInParallel() {
+        // Each task waits for the other to start, which only finishes if both run at once
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        StartupGraph.Task task = () -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(2, TimeUnit.SECONDS)) {
+                throw new AssertionError("ran one at a time");
+            }
+        };
+        StartupGraph graph = new StartupGraph.Builder()
+                .add("network", task)
+                .add("images", task)
+                .build();
+        RecordingListener listener = new RecordingListener();
+        graph.setListener(listener);
+
+        graph.start(pool);
+
+        assertTrue(graph.await("network", 3000));
+        assertTrue(graph.await("images", 3000));
+        assertTrue(listener.awaitAll());
+        assertTrue(listener.failures.isEmpty());
+    }
+
+    @Test
+    public void awaitOnlyBlocksOnTheNamedTask() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StartupGraph graph = new StartupGraph.Builder()
+                .add("prefs", () -> order.add("prefs"))
+                .add("slow", release::await)
+                .build();
+
+        graph.start(pool);
+
+        assertTrue(graph.await("prefs", 2000));
+        assertFalse(graph.isFinished("slow"));
+        assertFalse(graph.await("slow", 50));
+        release.countDown();
+        assertTrue(graph.await("slow", 2000));
+    }
+
+    @Test
+    public void failedTaskStillReleasesDependents() {
+        RecordingListener listener = new RecordingListener();
+        StartupGraph graph = new StartupGraph.Builder()
+                .add("broken", () -> {
+                    throw new IllegalStateException("no disk");
+                })
+                .add("after", () -> order.add("after"), "broken")
+                .build();
+        graph.setListener(listener);
+
+        graph.start(pool);
+
+        assertTrue(graph.await("after", 2000));
+        assertTrue(listener.awaitAll());
+        assertEquals(Collections.singletonList("broken"), listener.failures);
+        assertEquals(Collections.singletonList("after"), order);
+    }
+
+    @Test
+    public void recordsDurationOfEachFinishedTask() {
+        StartupGraph graph = new StartupGraph.Builder()
+                .add("sleepy", () -> Thread.sleep(20))
+                .add("quick", () -> { })
+                .build();
+        RecordingListener listener = new RecordingListener();
+        graph.setListener(listener);
+
+        graph.start(pool);
+
+        assertTrue(listener.awaitAll());
+        assertEquals(2, graph.getDurationsMicros().size());
+        assertTrue(graph.getDurationsMicros().get("sleepy") >= 20_000);
+        assertTrue(listener.totalMicros >= graph.getDurationsMicros().get("sleepy"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builder_rejectsUndeclaredDependency() {
+        new StartupGraph.Builder().add("catalog", () -> { }, "data");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builder_rejectsDuplicateNames() {
+        new StartupGraph.Builder().add("prefs", () -> { }).add("prefs", () -> { });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void await_rejectsUnknownTask() {
+        new StartupGraph.Builder().build().await("missing", 10);
+    }
+
+    private static class RecordingListener implements StartupGraph.Listener {
+        final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch all = new CountDownLatch(1);
+        volatile long totalMicros;
+
+        @Override
+        public void onTaskFinished(String name, long waitedMicros, long ranMicros, Throwable failure) {
+            if (failure != null) {
+                failures.add(name);
+            }
+        }
+
+        @Override
+        public void onAllFinished(long totalMicros) {
+            this.totalMicros = totalMicros;
+            all.countDown();
+        }
+
+        boolean awaitAll() {
+            try {
+                return all.await(3, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.easy.easybook.ui.diff;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.Service;
+import com.easy.easybook.ui.model.CustomerBookingRow;
+import com.easy.easybook.ui.model.ServiceRow;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DiffCallbacksTest {
+
+    @Test
+    public void stableIds_areDistinctAndKeptPerKey() {
+        StableIds ids = new StableIds();
+        long first = ids.idFor("booking-1", 0);
+        long second = ids.idFor("booking-2", 1);
+
+        assertNotEquals(first, second);
+        // Moving to another position keeps the id
+        assertEquals(first, ids.idFor("booking-1", 7));
+        // Placeholders get their own negative id per position
+        assertTrue(ids.idFor(null, 3) < 0);
+        assertNotEquals(ids.idFor(null, 3), ids.idFor(null, 4));
+        assertNotEquals(ids.idFor(null, 0), first);
+    }
+
+    @Test
+    public void rowCallback_matchesByKeyAndComparesShownFields() {
+        RowDiffCallback<CustomerBookingRow> callback = new RowDiffCallback<>();
+        CustomerBookingRow before = CustomerBookingRow.of(booking("b1", "pending"));
+        CustomerBookingRow reloaded = CustomerBookingRow.of(booking("b1", "pending"));
+        Booking confirmed = booking("b1", "pending");
+        confirmed.setStatus("confirmed");
+
+        assertTrue(callback.areItemsTheSame(before, reloaded));
+        assertTrue(callback.areContentsTheSame(before, reloaded));
+        assertFalse(callback.areContentsTheSame(before, CustomerBookingRow.of(confirmed)));
+        assertFalse(callback.areItemsTheSame(before, CustomerBookingRow.of(booking("b2", "pending"))));
+        assertFalse(callback.areItemsTheSame(CustomerBookingRow.of(booking(null, "pending")),
+                CustomerBookingRow.of(booking(null, "pending"))));
+    }
+
+    @Test
+    public void rowCallback_seesPriceChanges() {
+        RowDiffCallback<ServiceRow> callback = new RowDiffCallback<>();
+        ServiceRow before = ServiceRow.of(new Service("s1", "Leak repair", "Pipes", "Plumbing", 120, 4.5f, "1h"));
+        ServiceRow same = ServiceRow.of(new Service("s1", "Leak repair", "Pipes", "Plumbing", 120, 4.5f, "1h"));
+        ServiceRow repriced = ServiceRow.of(new Service("s1", "Leak repair", "Pipes", "Plumbing", 110, 4.5f, "1h"));
+
+        assertTrue(callback.areItemsTheSame(before, repriced));
+        assertTrue(callback.areContentsTheSame(before, same));
+        assertFalse(callback.areContentsTheSame(before, repriced));
+    }
+
+    private static Booking booking(String id, String status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setServiceName("Leak repair");
+        booking.setStatus(status);
+        return booking;
+    }
+}
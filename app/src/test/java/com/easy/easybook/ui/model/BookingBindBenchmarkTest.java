@@ -0,0 +1,111 @@
+package com.easy.easybook.ui.model;
+
+import com.easy.easybook.models.Booking;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares what the customer booking list did per bind before display rows (formatting on
+ * the main thread) with reading a prebuilt CustomerBookingRow. The one-off cost of building
+ * the rows, which now happens on a background thread, is printed too. Timings are printed,
+ * not asserted; view calls are left out of both sides.
+ */
+public class BookingBindBenchmarkTest {
+
+    private static final int BOOKING_COUNT = 1000;
+    private static final int WARMUP_RUNS = 10;
+    private static final int MEASURED_RUNS = 30;
+
+    @Test
+    public void benchmark_formatOnBindVersusPrebuiltRows() {
+        List<Booking> bookings = new ArrayList<>(BOOKING_COUNT);
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            bookings.add(DisplayRowsTest.booking("b" + i, i % 2 == 0 ? "pending" : "completed"));
+        }
+        List<CustomerBookingRow> rows = buildRows(bookings);
+
+        long[] legacyTimes = new long[MEASURED_RUNS];
+        long[] rowTimes = new long[MEASURED_RUNS];
+        long[] buildTimes = new long[MEASURED_RUNS];
+        long sink = 0;
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            sink += legacyBindAll(bookings);
+            sink += rowBindAll(rows);
+            sink += buildRows(bookings).size();
+        }
+        sink = 0;
+
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            sink += legacyBindAll(bookings);
+            legacyTimes[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink -= rowBindAll(rows);
+            rowTimes[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            buildRows(bookings);
+            buildTimes[i] = System.nanoTime() - start;
+        }
+
+        // Both sides produce the same text
+        assertEquals(0, sink);
+
+        System.out.println(String.format("Booking binds: %d rows", BOOKING_COUNT));
+        System.out.println(String.format("  format on bind : median %.2f us/bind", median(legacyTimes) / 1e3 / BOOKING_COUNT));
+        System.out.println(String.format("  prebuilt row   : median %.2f us/bind", median(rowTimes) / 1e3 / BOOKING_COUNT));
+        System.out.println(String.format("  build rows     : median %.2f ms (background)", median(buildTimes) / 1e6));
+    }
+
+    private static List<CustomerBookingRow> buildRows(List<Booking> bookings) {
+        List<CustomerBookingRow> rows = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            rows.add(CustomerBookingRow.of(booking));
+        }
+        return rows;
+    }
+
+    // Baseline: the strings BookingsAdapter used to build in bind()
+    private static long legacyBindAll(List<Booking> bookings) {
+        long length = 0;
+        for (Booking booking : bookings) {
+            length += booking.getServiceName().length();
+            length += booking.getProviderName().length();
+            length += String.format("$%.2f", booking.getTotalAmount()).length();
+            length += (booking.getAddress() + ", " + booking.getCity() + ", " + booking.getState()).length();
+            SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+            length += (dateFormat.format(booking.getBookingDate()) + " \u2022 " + booking.getTimeSlot()).length();
+            length += booking.getStatus().toUpperCase().length();
+        }
+        return length;
+    }
+
+    private static long rowBindAll(List<CustomerBookingRow> rows) {
+        long length = 0;
+        for (CustomerBookingRow row : rows) {
+            length += row.getServiceName().length();
+            length += row.getProviderName().length();
+            length += row.getAmountText().length();
+            length += row.getAddressText().length();
+            length += row.getDateTimeText().length();
+            length += row.getStatusText().length();
+        }
+        return length;
+    }
+
+    private static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
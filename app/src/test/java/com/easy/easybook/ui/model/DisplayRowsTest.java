@@ -0,0 +1,100 @@
+package com.easy.easybook.ui.model;
+
+import android.view.View;
+
+import com.easy.easybook.models.Booking;
+import com.easy.easybook.models.Service;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class DisplayRowsTest {
+
+    @BeforeClass
+    public static void useUsLocale() {
+        Locale.setDefault(Locale.US);
+    }
+
+    @Test
+    public void customerRow_preformatsEverythingTheListShows() {
+        CustomerBookingRow row = CustomerBookingRow.of(booking("b1", "pending"));
+
+        assertEquals("b1", row.getKey());
+        assertEquals("$120.50", row.getAmountText());
+        assertEquals("1 George St, Sydney, NSW", row.getAddressText());
+        assertEquals("Mar 05, 2024 \u2022 09:00 AM", row.getDateTimeText());
+        assertEquals("PENDING", row.getStatusText());
+        assertEquals(StatusStyle.PENDING, row.getStatusStyle());
+        assertEquals(View.VISIBLE, row.getCancelVisibility());
+        assertEquals(View.VISIBLE, row.getRescheduleVisibility());
+        assertEquals(View.GONE, row.getRateVisibility());
+
+        CustomerBookingRow completed = CustomerBookingRow.of(booking("b1", "completed"));
+        assertEquals(View.GONE, completed.getCancelVisibility());
+        assertEquals(View.VISIBLE, completed.getRateVisibility());
+        assertNotEquals(row, completed);
+    }
+
+    @Test
+    public void providerRow_showsOnlyTheNextAction() {
+        ProviderBookingRow pending = ProviderBookingRow.of(booking("b1", "pending"));
+        assertEquals(View.VISIBLE, pending.getAcceptVisibility());
+        assertEquals(View.VISIBLE, pending.getDeclineVisibility());
+        assertEquals(View.GONE, pending.getStartVisibility());
+
+        ProviderBookingRow started = ProviderBookingRow.of(booking("b1", "in_progress"));
+        assertEquals(View.GONE, started.getAcceptVisibility());
+        assertEquals(View.VISIBLE, started.getCompleteVisibility());
+        assertEquals("Date: Mar 05, 2024", started.getDateText());
+
+        Booking unscheduled = booking("b2", "confirmed");
+        unscheduled.setBookingDate(null);
+        assertEquals("Date: To be scheduled", ProviderBookingRow.of(unscheduled).getDateText());
+    }
+
+    @Test
+    public void feedbackRow_fillsInMissingFields() {
+        Booking booking = booking("b1", "completed");
+        booking.setCustomerName(null);
+        booking.setRating(4f);
+        FeedbackRow row = FeedbackRow.of(booking);
+
+        assertEquals("Anonymous Customer", row.getCustomerName());
+        assertEquals("4.0", row.getRatingText());
+        assertEquals("No comment provided", row.getCommentText());
+        assertEquals("Mar 05, 2024", row.getDateText());
+    }
+
+    @Test
+    public void serviceRow_formatsPriceWithCents() {
+        ServiceRow row = ServiceRow.of(new Service("s1", "Leak repair", "Pipes", "Plumbing", 120, 4.5f, "1h"));
+
+        assertEquals("$120.00", row.getPriceText());
+        assertEquals("4.5 \u2b50", row.getRatingText());
+        assertEquals(row, ServiceRow.of(new Service("s1", "Leak repair", "Pipes", "Plumbing", 120, 4.5f, "1h")));
+    }
+
+    static Booking booking(String id, String status) {
+        Calendar date = Calendar.getInstance();
+        date.clear();
+        date.set(2024, Calendar.MARCH, 5, 9, 0);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setServiceName("Leak repair");
+        booking.setProviderName("John Smith");
+        booking.setCustomerName("Alice Johnson");
+        booking.setAddress("1 George St");
+        booking.setCity("Sydney");
+        booking.setState("NSW");
+        booking.setBookingDate(date.getTime());
+        booking.setTimeSlot("09:00 AM");
+        booking.setTotalAmount(120.5);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,140 @@
+// Compact binary encoding for large list responses, negotiated with the Accept header.
+// Mirrors com.easy.easybook.network.binary on the Android side (see BinaryJson.java for
+// the layout). Clients that do not ask for it keep getting plain JSON.
+
+const MEDIA_TYPE = 'application/x-smartserve-binary';
+const VERSION = 1;
+const MAX_INTERNED_BYTES = 64;
+
+const TAG_NULL = 0;
+const TAG_FALSE = 1;
+const TAG_TRUE = 2;
+const TAG_INT = 3;
+const TAG_DOUBLE = 4;
+const TAG_STRING_NEW = 5;
+const TAG_STRING_REF = 6;
+const TAG_STRING_RAW = 7;
+const TAG_ARRAY = 8;
+const TAG_OBJECT = 9;
+
+class Writer {
+  constructor() {
+    this.chunks = [];
+    this.strings = new Map();
+  }
+
+  byte(value) {
+    this.chunks.push(Buffer.from([value]));
+  }
+
+  varint(value) {
+    const bytes = [];
+    let remaining = BigInt(value);
+    while (remaining > 0x7fn) {
+      bytes.push(Number(remaining & 0x7fn) | 0x80);
+      remaining >>= 7n;
+    }
+    bytes.push(Number(remaining));
+    this.chunks.push(Buffer.from(bytes));
+  }
+
+  string(value) {
+    const index = this.strings.get(value);
+    if (index !== undefined) {
+      this.byte(TAG_STRING_REF);
+      this.varint(index);
+      return;
+    }
+    const utf8 = Buffer.from(value, 'utf8');
+    const intern = utf8.length <= MAX_INTERNED_BYTES;
+    this.byte(intern ? TAG_STRING_NEW : TAG_STRING_RAW);
+    this.varint(utf8.length);
+    this.chunks.push(utf8);
+    if (intern) {
+      this.strings.set(value, this.strings.size);
+    }
+  }
+
+  number(value) {
+    if (!Number.isFinite(value)) {
+      // JSON.stringify turns these into null as well
+      this.byte(TAG_NULL);
+    } else if (Number.isSafeInteger(value)) {
+      const big = BigInt(value);
+      this.byte(TAG_INT);
+      this.varint(big >= 0n ? big << 1n : ((-big) << 1n) - 1n);
+    } else {
+      const buffer = Buffer.alloc(8);
+      buffer.writeDoubleBE(value);
+      this.byte(TAG_DOUBLE);
+      this.chunks.push(buffer);
+    }
+  }
+
+  // Follows JSON.stringify: toJSON() first (mongoose documents, ObjectIds, Dates),
+  // undefined and functions dropped from objects and written as null in arrays
+  value(input) {
+    const value = input !== null && typeof input === 'object' && typeof input.toJSON === 'function'
+      ? input.toJSON()
+      : input;
+
+    if (value === null || value === undefined || typeof value === 'function') {
+      this.byte(TAG_NULL);
+    } else if (typeof value === 'boolean') {
+      this.byte(value ? TAG_TRUE : TAG_FALSE);
+    } else if (typeof value === 'number') {
+      this.number(value);
+    } else if (typeof value === 'string') {
+      this.string(value);
+    } else if (Array.isArray(value)) {
+      this.byte(TAG_ARRAY);
+      this.varint(value.length);
+      value.forEach((item) => this.value(item));
+    } else if (typeof value === 'object') {
+      const entries = Object.entries(value)
+        .filter(([, item]) => item !== undefined && typeof item !== 'function');
+      this.byte(TAG_OBJECT);
+      this.varint(entries.length);
+      entries.forEach(([key, item]) => {
+        this.string(key);
+        this.value(item);
+      });
+    } else {
+      this.string(String(value));
+    }
+  }
+
+  toBuffer() {
+    return Buffer.concat(this.chunks);
+  }
+}
+
+const encode = (body) => {
+  const writer = new Writer();
+  writer.chunks.push(Buffer.from([0x53, 0x53, 0x42, VERSION]));
+  writer.value(body);
+  return writer.toBuffer();
+};
+
+// Route middleware: answer with the binary encoding when the client prefers it
+const binaryJson = (req, res, next) => {
+  res.vary('Accept');
+  if (req.accepts(['application/json', MEDIA_TYPE]) !== MEDIA_TYPE) {
+    return next();
+  }
+
+  res.json = (body) => {
+    res.type(MEDIA_TYPE);
+    return res.send(encode(body));
+  };
+  next();
+};
+
+// The compression module only gzips types it knows; the string table already removes
+// repeated keys, but descriptions and addresses still shrink
+const isCompressible = (res) => {
+  const type = res.getHeader('Content-Type');
+  return typeof type === 'string' && type.startsWith(MEDIA_TYPE);
+};
+
+module.exports = { binaryJson, encode, isCompressible, MEDIA_TYPE };
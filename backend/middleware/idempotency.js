@@ -0,0 +1,71 @@
+// Idempotency-Key support for mutating routes.
+// The Android app replays queued booking changes after reconnecting; if a response was
+// lost on the way back, the replay must return the original result instead of acting twice.
+
+const TTL_MS = 24 * 60 * 60 * 1000;
+const MAX_ENTRIES = 10000;
+
+// key -> { status, body, expiresAt } or { pending: true }
+const responses = new Map();
+
+const purgeExpired = () => {
+  const now = Date.now();
+  for (const [key, entry] of responses) {
+    if (entry.expiresAt && entry.expiresAt <= now) {
+      responses.delete(key);
+    }
+  }
+  // Map keeps insertion order, so the oldest entries go first
+  while (responses.size > MAX_ENTRIES) {
+    responses.delete(responses.keys().next().value);
+  }
+};
+
+// Must run after `protect` so keys are scoped to the caller
+const idempotent = (req, res, next) => {
+  const header = req.get('Idempotency-Key');
+  if (!header) {
+    return next();
+  }
+
+  const userId = req.user ? req.user.id : 'anonymous';
+  const key = `${userId}:${req.method}:${req.baseUrl}${req.path}:${header}`;
+  const existing = responses.get(key);
+
+  if (existing && existing.pending) {
+    return res.status(409).json({
+      success: false,
+      message: 'A request with this Idempotency-Key is still being processed'
+    });
+  }
+
+  if (existing) {
+    res.set('Idempotent-Replayed', 'true');
+    return res.status(existing.status).json(existing.body);
+  }
+
+  responses.set(key, { pending: true });
+
+  const originalJson = res.json.bind(res);
+  res.json = (body) => {
+    if (res.statusCode < 500) {
+      responses.set(key, { status: res.statusCode, body, expiresAt: Date.now() + TTL_MS });
+      purgeExpired();
+    } else {
+      // Server errors are not final, let the client try again with the same key
+      responses.delete(key);
+    }
+    return originalJson(body);
+  };
+
+  res.on('close', () => {
+    const entry = responses.get(key);
+    if (entry && entry.pending) {
+      responses.delete(key);
+    }
+  });
+
+  next();
+};
+
+module.exports = { idempotent };
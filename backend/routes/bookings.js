@@ -4,6 +4,8 @@ const Booking = require('../models/Booking');
 const Service = require('../models/Service');
 const User = require('../models/User');
 const { protect, authorize } = require('../middleware/auth');
+const { idempotent } = require('../middleware/idempotency');
+const { binaryJson } = require('../middleware/binaryJson');
 const { sendNotification } = require('../services/NotificationService');
 
 const router = express.Router();
@@ -11,7 +13,7 @@ const router = express.Router();
 // @route   POST /api/bookings
 // @desc    Create new booking
 // @access  Private (Customer only)
-router.post('/', protect, authorize('customer'), [
+router.post('/', protect, authorize('customer'), idempotent, [
   body('service').isMongoId().withMessage('Valid service ID is required'),
   body('bookingDate').isISO8601().withMessage('Valid booking date is required'),
   body('timeSlot').trim().notEmpty().withMessage('Time slot is required'),
@@ -98,13 +100,38 @@ router.post('/', protect, authorize('customer'), [
   }
 });
 
-// @route   GET /api/bookings
-// @desc    Get user's bookings
+// Delta sync cursors older than this force the client into a full resync
+const SYNC_CURSOR_MAX_AGE_MS = 30 * 24 * 60 * 60 * 1000;
+
+// Cursor format: "<ISO updatedAt>|<booking id>|<ISO issuedAt>", opaque to the client.
+// updatedAt and id mark the last change sent; issuedAt is when the server handed the cursor
+// out, and is what ages. Every sync issues a new one, even when nothing changed.
+const parseSyncCursor = (cursor) => {
+  const [timestamp, id, issued] = String(cursor).split('|');
+  const updatedAt = new Date(timestamp);
+  if (isNaN(updatedAt.getTime())) {
+    return null;
+  }
+  // Cursors issued before issuedAt existed age from their last change
+  const issuedAt = issued ? new Date(issued) : updatedAt;
+  if (isNaN(issuedAt.getTime())) {
+    return null;
+  }
+  return { updatedAt, id, issuedAt };
+};
+
+const formatSyncCursor = (updatedAt, id) =>
+  `${updatedAt.toISOString()}|${id || ''}|${new Date().toISOString()}`;
+
+// @route   GET /api/bookings (also /api/bookings/my-bookings)
+// @desc    Get user's bookings. With ?updatedSince=<cursor> only bookings changed after
+//          the cursor are returned, oldest change first, for delta sync.
 // @access  Private
-router.get('/', protect, [
+router.get(['/', '/my-bookings'], protect, binaryJson, [
   query('status').optional().isIn(['pending', 'accepted', 'declined', 'in_progress', 'completed', 'cancelled']),
   query('page').optional().isInt({ min: 1 }),
-  query('limit').optional().isInt({ min: 1, max: 50 })
+  query('limit').optional().isInt({ min: 1, max: 50 }),
+  query('updatedSince').optional().isString()
 ], async (req, res) => {
   try {
     const errors = validationResult(req);
@@ -116,7 +143,7 @@ router.get('/', protect, [
       });
     }
 
-    const { status, page = 1, limit = 10 } = req.query;
+    const { status, page = 1, limit = 10, updatedSince } = req.query;
     const skip = (parseInt(page) - 1) * parseInt(limit);
 
     // Build filter based on user role
@@ -131,6 +158,51 @@ router.get('/', protect, [
       filter.status = status;
     }
 
+    if (updatedSince !== undefined) {
+      const cursor = updatedSince ? parseSyncCursor(updatedSince) : null;
+      if (updatedSince && (!cursor || Date.now() - cursor.issuedAt.getTime() > SYNC_CURSOR_MAX_AGE_MS)) {
+        return res.status(410).json({
+          success: false,
+          message: 'Sync cursor expired, full resync required',
+          data: { resyncRequired: true }
+        });
+      }
+
+      if (cursor) {
+        // Ties on updatedAt are broken by _id so a page boundary never skips or repeats a booking
+        filter.$or = [{ updatedAt: { $gt: cursor.updatedAt } }];
+        if (cursor.id) {
+          filter.$or.push({ updatedAt: cursor.updatedAt, _id: { $gt: cursor.id } });
+        }
+      }
+
+      const changed = await Booking.find(filter)
+        .populate('service', 'name description category price duration images')
+        .populate('customer', 'firstName lastName email phone profileImage')
+        .populate('provider', 'firstName lastName email phone profileImage')
+        .sort({ updatedAt: 1, _id: 1 })
+        .limit(parseInt(limit));
+
+      // With nothing new, keep the position but refresh issuedAt; with no position yet,
+      // start from the epoch so an empty account still gets a cursor
+      const last = changed[changed.length - 1];
+      const nextCursor = last
+        ? formatSyncCursor(last.updatedAt, last._id)
+        : formatSyncCursor(cursor ? cursor.updatedAt : new Date(0), cursor && cursor.id);
+
+      return res.json({
+        success: true,
+        data: {
+          bookings: changed,
+          sync: {
+            cursor: nextCursor,
+            hasMore: changed.length === parseInt(limit),
+            fullResync: !cursor
+          }
+        }
+      });
+    }
+
     const bookings = await Booking.find(filter)
       .populate('service', 'name description category price duration images')
       .populate('customer', 'firstName lastName email phone profileImage')
@@ -204,7 +276,7 @@ router.get('/:id', protect, async (req, res) => {
 // @route   PUT /api/bookings/:id/accept
 // @desc    Accept booking (Provider only)
 // @access  Private (Provider only)
-router.put('/:id/accept', protect, authorize('provider'), [
+router.put('/:id/accept', protect, authorize('provider'), idempotent, [
   body('estimatedArrival').optional().isISO8601().withMessage('Valid estimated arrival time is required'),
   body('notes').optional().isLength({ max: 500 }).withMessage('Notes cannot exceed 500 characters')
 ], async (req, res) => {
@@ -281,7 +353,7 @@ router.put('/:id/accept', protect, authorize('provider'), [
 // @route   PUT /api/bookings/:id/decline
 // @desc    Decline booking (Provider only)
 // @access  Private (Provider only)
-router.put('/:id/decline', protect, authorize('provider'), [
+router.put('/:id/decline', protect, authorize('provider'), idempotent, [
   body('declineReason').trim().notEmpty().withMessage('Decline reason is required'),
   body('notes').optional().isLength({ max: 500 }).withMessage('Notes cannot exceed 500 characters')
 ], async (req, res) => {
@@ -358,7 +430,7 @@ router.put('/:id/decline', protect, authorize('provider'), [
 // @route   PUT /api/bookings/:id/start
 // @desc    Start service (Provider only)
 // @access  Private (Provider only)
-router.put('/:id/start', protect, authorize('provider'), async (req, res) => {
+router.put('/:id/start', protect, authorize('provider'), idempotent, async (req, res) => {
   try {
     const booking = await Booking.findById(req.params.id);
 
@@ -414,7 +486,7 @@ router.put('/:id/start', protect, authorize('provider'), async (req, res) => {
 // @route   PUT /api/bookings/:id/complete
 // @desc    Complete service (Provider only)
 // @access  Private (Provider only)
-router.put('/:id/complete', protect, authorize('provider'), [
+router.put('/:id/complete', protect, authorize('provider'), idempotent, [
   body('completionNotes').optional().isLength({ max: 500 }).withMessage('Completion notes cannot exceed 500 characters'),
   body('beforePhotos').optional().isArray().withMessage('Before photos must be an array'),
   body('afterPhotos').optional().isArray().withMessage('After photos must be an array')
@@ -492,7 +564,7 @@ router.put('/:id/complete', protect, authorize('provider'), [
 // @route   PUT /api/bookings/:id/cancel
 // @desc    Cancel booking
 // @access  Private
-router.put('/:id/cancel', protect, [
+router.put('/:id/cancel', protect, idempotent, [
   body('reason').trim().notEmpty().withMessage('Cancellation reason is required')
 ], async (req, res) => {
   try {
@@ -568,4 +640,67 @@ router.put('/:id/cancel', protect, [
   }
 });
 
-module.exports = router;
\ No newline at end of file
+// @route   POST /api/bookings/:id/rating
+// @desc    Rate a completed booking
+// @access  Private (Customer only)
+router.post('/:id/rating', protect, authorize('customer'), idempotent, [
+  body('rating').isFloat({ min: 1, max: 5 }).withMessage('Rating must be between 1 and 5'),
+  body('review').optional({ nullable: true }).isLength({ max: 500 }).withMessage('Review cannot exceed 500 characters')
+], async (req, res) => {
+  try {
+    const errors = validationResult(req);
+    if (!errors.isEmpty()) {
+      return res.status(400).json({
+        success: false,
+        message: 'Validation failed',
+        errors: errors.array()
+      });
+    }
+
+    const { rating, review } = req.body;
+
+    const booking = await Booking.findById(req.params.id);
+
+    if (!booking) {
+      return res.status(404).json({
+        success: false,
+        message: 'Booking not found'
+      });
+    }
+
+    // Check if customer owns this booking
+    if (booking.customer.toString() !== req.user.id) {
+      return res.status(403).json({
+        success: false,
+        message: 'Not authorized to rate this booking'
+      });
+    }
+
+    // Check if booking is completed
+    if (booking.status !== 'completed') {
+      return res.status(400).json({
+        success: false,
+        message: 'Only completed bookings can be rated'
+      });
+    }
+
+    // Update booking
+    booking.rating = rating;
+    booking.review = review;
+    await booking.save();
+
+    res.json({
+      success: true,
+      message: 'Booking rated successfully',
+      data: { booking }
+    });
+  } catch (error) {
+    console.error('Rate booking error:', error);
+    res.status(500).json({
+      success: false,
+      message: 'Server error while rating booking'
+    });
+  }
+});
+
+module.exports = router;
@@ -4,13 +4,14 @@ const Service = require('../models/Service');
 const Booking = require('../models/Booking');
 const Review = require('../models/Review');
 const { protect, authorize } = require('../middleware/auth');
+const { binaryJson } = require('../middleware/binaryJson');
 
 const router = express.Router();
 
 // @route   GET /api/services
 // @desc    Get all services with filtering and pagination
 // @access  Public
-router.get('/', [
+router.get('/', binaryJson, [
   query('page').optional().isInt({ min: 1 }).withMessage('Page must be a positive integer'),
   query('limit').optional().isInt({ min: 1, max: 50 }).withMessage('Limit must be between 1 and 50'),
   query('category').optional().isIn(['Cleaning', 'Plumbing', 'HVAC', 'Beauty', 'Tutoring', 'Fitness', 'Electrical', 'Other']),
@@ -212,7 +213,7 @@ router.get('/featured', async (req, res) => {
 // @route   GET /api/services/category/:category
 // @desc    Get services by category
 // @access  Public
-router.get('/category/:category', async (req, res) => {
+router.get('/category/:category', binaryJson, async (req, res) => {
   try {
     const { category } = req.params;
     const { sort = 'rating', page = 1, limit = 20 } = req.query;
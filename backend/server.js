@@ -5,6 +5,7 @@ const helmet = require('helmet');
 const compression = require('compression');
 const morgan = require('morgan');
 const rateLimit = require('express-rate-limit');
+const { isCompressible } = require('./middleware/binaryJson');
 require('dotenv').config({ path: './config.env' });
 
 // Firebase Admin SDK initialization
@@ -57,7 +58,9 @@ const app = express();
 app.use(helmet());
 
 // Compression middleware
-app.use(compression());
+app.use(compression({
+  filter: (req, res) => isCompressible(res) || compression.filter(req, res)
+}));
 
 // Logging middleware
 app.use(morgan('combined'));